@@ -23,9 +23,13 @@
  */
 package org.cloudsimplus.heuristics;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.stream.IntStream;
 
+import org.cloudbus.cloudsim.cloudlets.Cloudlet;
 import org.cloudbus.cloudsim.cloudlets.CloudletSimple;
+import org.cloudbus.cloudsim.vms.Vm;
 import org.cloudbus.cloudsim.vms.VmSimple;
 import org.cloudbus.cloudsim.distributions.UniformDistr;
 import org.cloudbus.cloudsim.utilizationmodels.UtilizationModel;
@@ -37,7 +41,8 @@ import org.openjdk.jmh.annotations.Setup;
 import org.openjdk.jmh.annotations.State;
 
 /**
- * A set of benchmarks for the {@link CloudletToVmMappingSolution} class.
+ * A set of benchmarks for the {@link CloudletToVmMappingSolution} class,
+ * comparing it with the {@link CloudletToVmMappingArraySolution} one.
  *
  * @author Manoel Campos da Silva Filho
  */
@@ -47,28 +52,33 @@ public class CloudletToVmMappingSolutionBenchmark {
     private CloudletToVmMappingSimulatedAnnealing heuristic;
     private CloudletToVmMappingSolution instance1;
     private CloudletToVmMappingSolution instance2;
+    private CloudletToVmMappingArraySolution arrayInstance;
+    private List<Cloudlet> cloudletList;
+    private List<Vm> vmList;
 
     @Setup
     public void doSetup() {
-        CloudletToVmMappingSimulatedAnnealing heuristic =
-            new CloudletToVmMappingSimulatedAnnealing(0, new UniformDistr(0, 1));
+        heuristic = new CloudletToVmMappingSimulatedAnnealing(0, new UniformDistr(0, 1));
+        cloudletList = new ArrayList<>(100);
+        vmList = new ArrayList<>(100);
+        UtilizationModel um = UtilizationModel.NULL;
+        IntStream.range(0, 100).forEach(i -> {
+            cloudletList.add(new CloudletSimple(i, 1, 1).setUtilizationModel(um));
+            vmList.add(new VmSimple(i, 1000, 1));
+        });
+
         instance1 = createInstance();
         instance2 = createInstance();
         /*Call the getCost the first time without measure it
         in order to measure the time for the second call,
         when the cost is already computed*/
         instance2.getCost();
+        arrayInstance = new CloudletToVmMappingArraySolution(instance1, cloudletList, vmList);
     }
 
     private CloudletToVmMappingSolution createInstance() {
         final CloudletToVmMappingSolution result = new CloudletToVmMappingSolution(heuristic);
-        UtilizationModel um = UtilizationModel.NULL;
-        IntStream.range(0, 100).forEach(i
-                -> result.bindCloudletToVm(
-                        new CloudletSimple(i, 1, 1).setUtilizationModel(um),
-                        new VmSimple(i, 1000, 1))
-        );
-
+        IntStream.range(0, 100).forEach(i -> result.bindCloudletToVm(cloudletList.get(i), vmList.get(i)));
         return result;
     }
 
@@ -77,6 +87,39 @@ public class CloudletToVmMappingSolutionBenchmark {
         return heuristic.createNeighbor(instance1);
     }
 
+    /**
+     * Generates a neighbor for a {@link CloudletToVmMappingArraySolution}
+     * by swapping the VMs of two Cloudlets in place,
+     * as it happens when a neighbor is accepted.
+     *
+     * @return the cost change of the neighbor
+     */
+    @Benchmark
+    public double testSwapArraySolution() {
+        final int firstIdx = heuristic.getRandomValue(cloudletList.size());
+        final int secondIdx = heuristic.getRandomValue(cloudletList.size());
+        return arrayInstance.swapVms(firstIdx, secondIdx);
+    }
+
+    @Benchmark
+    public double testGetSwapCostDeltaMapSolution() {
+        final int firstIdx = heuristic.getRandomValue(cloudletList.size());
+        final int secondIdx = heuristic.getRandomValue(cloudletList.size());
+        return instance2.getSwapCostDelta(firstIdx, secondIdx);
+    }
+
+    @Benchmark
+    public double testGetSwapCostDeltaArraySolution() {
+        final int firstIdx = heuristic.getRandomValue(cloudletList.size());
+        final int secondIdx = heuristic.getRandomValue(cloudletList.size());
+        return arrayInstance.getSwapCostDelta(firstIdx, secondIdx);
+    }
+
+    @Benchmark
+    public CloudletToVmMappingArraySolution testCopyArraySolution() {
+        return new CloudletToVmMappingArraySolution(arrayInstance);
+    }
+
     @Benchmark
     public double testGetCostWhenFirstCall() {
         return instance1.getCost(true);
@@ -0,0 +1,174 @@
+/*
+ * CloudSim Plus: A modern, highly-extensible and easier-to-use Framework for
+ * Modeling and Simulation of Cloud Computing Infrastructures and Services.
+ * http://cloudsimplus.org
+ *
+ *     Copyright (C) 2015-2018 Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Plus.
+ *
+ *     CloudSim Plus is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Plus. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudsimplus.selectionpolicies;
+
+import org.cloudbus.cloudsim.brokers.DatacenterBroker;
+import org.cloudbus.cloudsim.brokers.DatacenterBrokerSimple;
+import org.cloudbus.cloudsim.cloudlets.Cloudlet;
+import org.cloudbus.cloudsim.cloudlets.CloudletSimple;
+import org.cloudbus.cloudsim.core.CloudSim;
+import org.cloudbus.cloudsim.datacenters.DatacenterSimple;
+import org.cloudbus.cloudsim.hosts.Host;
+import org.cloudbus.cloudsim.hosts.HostSimple;
+import org.cloudbus.cloudsim.resources.Pe;
+import org.cloudbus.cloudsim.resources.PeSimple;
+import org.cloudbus.cloudsim.selectionpolicies.VmSelectionPolicyMaximumCorrelation;
+import org.cloudbus.cloudsim.selectionpolicies.VmSelectionPolicyRandomSelection;
+import org.cloudbus.cloudsim.util.MathUtil;
+import org.cloudbus.cloudsim.utilizationmodels.UtilizationModelFull;
+import org.cloudbus.cloudsim.utilizationmodels.UtilizationModelStochastic;
+import org.cloudbus.cloudsim.vms.Vm;
+import org.cloudbus.cloudsim.vms.VmSimple;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A set of benchmarks for the {@link VmSelectionPolicyMaximumCorrelation} class,
+ * comparing the selection of a VM from the co-moment sums kept between calls
+ * with the previous implementation, which fitted a linear regression for each VM
+ * using {@link MathUtil#correlationCoefficients(double[][])}.
+ *
+ * <p>The utilization history of VMs is collected by running a simulation
+ * in the {@link #doSetup()} method.</p>
+ *
+ * @author Manoel Campos da Silva Filho
+ */
+@BenchmarkMode({Mode.AverageTime, Mode.Throughput})
+@State(Scope.Thread)
+public class VmSelectionPolicyMaximumCorrelationBenchmark {
+    /**
+     * The number of seconds to run the simulation,
+     * which defines the number of entries in the utilization history of each VM.
+     */
+    private static final int HISTORY_SIZE = 300;
+
+    /**
+     * The number of VMs in the Host.
+     */
+    @Param({"5", "10", "20"})
+    private int vmsNumber;
+
+    private Host host;
+    private List<Vm> vmList;
+    private VmSelectionPolicyMaximumCorrelation policy;
+
+    @Setup
+    public void doSetup() {
+        final CloudSim simulation = new CloudSim();
+        final List<Pe> peList = new ArrayList<>();
+        for (int i = 0; i < vmsNumber; i++) {
+            peList.add(new PeSimple(1000));
+        }
+
+        host = new HostSimple(100_000, 100_000, 1_000_000, peList);
+        final DatacenterSimple datacenter = new DatacenterSimple(simulation, Collections.singletonList(host));
+        datacenter.setSchedulingInterval(1);
+        final DatacenterBroker broker = new DatacenterBrokerSimple(simulation);
+
+        vmList = new ArrayList<>();
+        final List<Cloudlet> cloudletList = new ArrayList<>();
+        for (int i = 0; i < vmsNumber; i++) {
+            final Vm vm = new VmSimple(1000, 1);
+            vm.getUtilizationHistory().enable();
+            vmList.add(vm);
+
+            final Cloudlet cloudlet = new CloudletSimple(Long.MAX_VALUE / 2, 1)
+                .setUtilizationModelCpu(new UtilizationModelStochastic(i))
+                .setUtilizationModelRam(new UtilizationModelFull())
+                .setUtilizationModelBw(new UtilizationModelFull());
+            cloudlet.setVm(vm);
+            cloudletList.add(cloudlet);
+        }
+
+        broker.submitVmList(vmList);
+        broker.submitCloudletList(cloudletList);
+        simulation.terminateAt(HISTORY_SIZE);
+        simulation.start();
+
+        policy = createPolicy();
+        /*Call the getVmToMigrate the first time without measure it
+        in order to measure the time for the next calls,
+        when the co-moment sums are already computed*/
+        policy.getVmToMigrate(host, vmList);
+    }
+
+    private VmSelectionPolicyMaximumCorrelation createPolicy() {
+        return new VmSelectionPolicyMaximumCorrelation(new VmSelectionPolicyRandomSelection());
+    }
+
+    /**
+     * Selects a VM when the co-moment sums weren't computed yet.
+     * @return the selected VM
+     */
+    @Benchmark
+    public Vm testGetVmToMigrateWhenFirstCall() {
+        return createPolicy().getVmToMigrate(host, vmList);
+    }
+
+    /**
+     * Selects a VM when the co-moment sums were already computed in a previous call.
+     * @return the selected VM
+     */
+    @Benchmark
+    public Vm testGetVmToMigrateWhenNextCall() {
+        return policy.getVmToMigrate(host, vmList);
+    }
+
+    /**
+     * Selects a VM when some VMs were already selected to migrate,
+     * using the co-moment sums computed for all VMs.
+     * @return the selected VM
+     */
+    @Benchmark
+    public Vm testGetVmToMigrateFromSubList() {
+        return policy.getVmToMigrate(host, vmList.subList(1, vmList.size()));
+    }
+
+    /**
+     * Computes the correlation coefficients using linear regressions,
+     * as the previous implementation of the {@link VmSelectionPolicyMaximumCorrelation} did.
+     * @return the correlation coefficients
+     */
+    @Benchmark
+    public List<Double> testRegressionCorrelationCoefficients() {
+        final double[][] utilization = new double[vmList.size()][];
+        for (int i = 0; i < vmList.size(); i++) {
+            final double[] history = new double[HISTORY_SIZE];
+            final int size = Math.min(HISTORY_SIZE, vmList.get(i).getUtilizationHistory().getUtilizationView().remaining());
+            vmList.get(i).getUtilizationHistory().getUtilizationView().get(history, 0, size);
+            utilization[i] = history;
+        }
+
+        return MathUtil.correlationCoefficients(utilization);
+    }
+}
@@ -0,0 +1,9 @@
+/**
+ * A set of benchmarks created using the
+ * <a href="http://openjdk.java.net/projects/code-tools/jmh/">JMH (Java Microbenchmark Harness framework)</a>
+ * to assess performance of {@link org.cloudbus.cloudsim.selectionpolicies.VmSelectionPolicy} implementations.
+ *
+ * <p>The main class that starts the benchmarks is the {@link org.cloudsimplus.benchmarks.Run}</p>.
+ * @author Manoel Campos da Silva Filho
+ */
+package org.cloudsimplus.selectionpolicies;
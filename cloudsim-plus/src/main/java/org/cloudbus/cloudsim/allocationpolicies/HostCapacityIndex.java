@@ -0,0 +1,216 @@
+package org.cloudbus.cloudsim.allocationpolicies;
+
+import org.cloudbus.cloudsim.hosts.Host;
+import org.cloudbus.cloudsim.vms.Vm;
+import org.cloudsimplus.listeners.EventListener;
+import org.cloudsimplus.listeners.HostEventInfo;
+
+import java.util.*;
+import java.util.stream.Stream;
+
+/**
+ * An index of the Hosts from a {@link VmAllocationPolicy}, grouping them into buckets
+ * by their active state and {@link Host#getFreePesNumber() number of free PEs}.
+ * Hosts inside a bucket are ordered by their position in the {@link VmAllocationPolicy#getHostList() Host list}.
+ *
+ * <p>It enables finding the Host with the fewest or most free PEs that is suitable for a VM
+ * by visiting the buckets in order and checking Hosts until a suitable one is found,
+ * instead of checking every Host and then selecting the best one.
+ * If the first Hosts visited are suitable, a Host is found in logarithmic time.
+ * The selected Host is the same one selected by comparing all Hosts, giving priority to active Hosts
+ * and, for Hosts with the same number of free PEs, to the first one in the Host list.
+ * If the {@link VmAllocationPolicy#isParallelHostSearchEnabled() parallel Host search is enabled},
+ * the Hosts inside each bucket are checked in parallel.
+ * </p>
+ *
+ * <p>The index is built when the first search is performed and then it is updated
+ * every time a Host notifies a change in its free PEs or active state
+ * (see {@link Host#addOnCapacityChangeListener(EventListener)}).
+ * If any Host is added, removed or replaced in the Host list, the index is rebuilt.
+ * Detecting such changes just requires comparing the references
+ * of the indexed Hosts with the ones in the list, which is much cheaper
+ * than checking if every Host is suitable for a VM.</p>
+ *
+ * @author Manoel Campos da Silva Filho
+ * @since CloudSim Plus 5.5.0
+ */
+final class HostCapacityIndex {
+    private final VmAllocationPolicy policy;
+
+    /** A map where each key is a Host and each value is the Host's entry inside the index. */
+    private final Map<Host, Entry> entries;
+
+    /** The Hosts indexed, in the order they were in the Host list when the index was built. */
+    private Host[] indexedHosts;
+
+    /** Buckets of active Hosts, where each key is a number of free PEs. */
+    private final NavigableMap<Integer, NavigableSet<Entry>> activeBuckets;
+
+    /** Buckets of inactive Hosts, where each key is a number of free PEs. */
+    private final NavigableMap<Integer, NavigableSet<Entry>> inactiveBuckets;
+
+    /** Indicates if the index must be (re)built before the next search. */
+    private boolean outdated;
+
+    /** A listener registered in every indexed Host to update the index when the Host changes. */
+    private final EventListener<HostEventInfo> capacityChangeListener;
+
+    HostCapacityIndex(final VmAllocationPolicy policy) {
+        this.policy = policy;
+        this.entries = new IdentityHashMap<>();
+        this.activeBuckets = new TreeMap<>();
+        this.inactiveBuckets = new TreeMap<>();
+        this.indexedHosts = new Host[0];
+        this.outdated = true;
+        this.capacityChangeListener = info -> update(info.getHost());
+    }
+
+    /**
+     * Requests the index to be rebuilt before the next search,
+     * for instance, because the Host list was changed.
+     */
+    synchronized void invalidate() {
+        outdated = true;
+    }
+
+    /**
+     * Updates the position of a Host inside the index,
+     * after its number of free PEs or its active state was changed.
+     * @param host the Host to update
+     */
+    private synchronized void update(final Host host) {
+        final Entry entry = entries.get(host);
+        if (entry == null || (entry.active == host.isActive() && entry.freePes == host.getFreePesNumber())) {
+            return;
+        }
+
+        remove(entry);
+        entry.active = host.isActive();
+        entry.freePes = host.getFreePesNumber();
+        add(entry);
+    }
+
+    /**
+     * Gets the first suitable Host for a VM with the fewest free PEs,
+     * giving priority to active Hosts.
+     * @param vm the VM to find a Host to
+     * @return an {@link Optional} containing the Host or an empty {@link Optional} if no suitable Host was found
+     */
+    synchronized Optional<Host> findHostWithFewestFreePes(final Vm vm) {
+        buildIfOutdated();
+        final Optional<Host> host = findHost(activeBuckets, vm);
+        return host.isPresent() ? host : findHost(inactiveBuckets, vm);
+    }
+
+    /**
+     * Gets the first suitable Host for a VM with the most free PEs,
+     * giving priority to active Hosts.
+     * @param vm the VM to find a Host to
+     * @return an {@link Optional} containing the Host or an empty {@link Optional} if no suitable Host was found
+     */
+    synchronized Optional<Host> findHostWithMostFreePes(final Vm vm) {
+        buildIfOutdated();
+        final Optional<Host> host = findHost(activeBuckets.descendingMap(), vm);
+        return host.isPresent() ? host : findHost(inactiveBuckets.descendingMap(), vm);
+    }
+
+    private Optional<Host> findHost(final Map<Integer, NavigableSet<Entry>> buckets, final Vm vm) {
+        final boolean parallel = policy.isParallelHostSearchEnabled();
+        for (final NavigableSet<Entry> bucket : buckets.values()) {
+            final Stream<Entry> stream = parallel ? bucket.parallelStream() : bucket.stream();
+            final Optional<Entry> entry = stream.filter(candidate -> candidate.host.isSuitableForVm(vm)).findFirst();
+            if (entry.isPresent()) {
+                return Optional.of(entry.get().host);
+            }
+        }
+
+        return Optional.empty();
+    }
+
+    private void buildIfOutdated() {
+        final List<Host> hostList = policy.getHostList();
+        if (!outdated && isHostListUnchanged(hostList)) {
+            return;
+        }
+
+        for (final Host host : indexedHosts) {
+            host.removeOnCapacityChangeListener(capacityChangeListener);
+        }
+
+        entries.clear();
+        activeBuckets.clear();
+        inactiveBuckets.clear();
+        indexedHosts = hostList.toArray(new Host[0]);
+        for (int i = 0; i < indexedHosts.length; i++) {
+            final Host host = indexedHosts[i];
+            final Entry entry = new Entry(host, i);
+            entries.put(host, entry);
+            add(entry);
+            host.addOnCapacityChangeListener(capacityChangeListener);
+        }
+
+        outdated = false;
+    }
+
+    /**
+     * Checks if the Host list has exactly the same Hosts (in the same order) that were indexed.
+     * @param hostList the current Host list
+     * @return true if the list is unchanged, false otherwise
+     */
+    private boolean isHostListUnchanged(final List<Host> hostList) {
+        if (hostList.size() != indexedHosts.length) {
+            return false;
+        }
+
+        for (int i = 0; i < indexedHosts.length; i++) {
+            if (hostList.get(i) != indexedHosts[i]) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private void add(final Entry entry) {
+        getBuckets(entry).computeIfAbsent(entry.freePes, key -> new TreeSet<>()).add(entry);
+    }
+
+    private void remove(final Entry entry) {
+        final NavigableMap<Integer, NavigableSet<Entry>> buckets = getBuckets(entry);
+        final NavigableSet<Entry> bucket = buckets.get(entry.freePes);
+        bucket.remove(entry);
+        if (bucket.isEmpty()) {
+            buckets.remove(entry.freePes);
+        }
+    }
+
+    private NavigableMap<Integer, NavigableSet<Entry>> getBuckets(final Entry entry) {
+        return entry.active ? activeBuckets : inactiveBuckets;
+    }
+
+    /**
+     * A Host inside the index, with the values of the attributes used to index it
+     * when it was added.
+     */
+    private static final class Entry implements Comparable<Entry> {
+        private final Host host;
+
+        /** The position of the Host in the Host list. */
+        private final int position;
+
+        private boolean active;
+        private int freePes;
+
+        private Entry(final Host host, final int position) {
+            this.host = host;
+            this.position = position;
+            this.active = host.isActive();
+            this.freePes = host.getFreePesNumber();
+        }
+
+        @Override
+        public int compareTo(final Entry other) {
+            return Integer.compare(position, other.position);
+        }
+    }
+}
@@ -7,6 +7,7 @@
  */
 package org.cloudbus.cloudsim.allocationpolicies;
 
+import org.cloudbus.cloudsim.brokers.DatacenterBroker;
 import org.cloudbus.cloudsim.datacenters.Datacenter;
 import org.cloudbus.cloudsim.hosts.Host;
 import org.cloudbus.cloudsim.vms.Vm;
@@ -15,6 +16,7 @@ import org.cloudsimplus.autoscaling.VerticalVmScaling;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -81,6 +83,33 @@ public interface VmAllocationPolicy {
      */
     boolean allocateHostForVm(Vm vm, Host host);
 
+    /**
+     * Allocates Hosts for a list of {@link Vm}s or {@link VmGroup}s at once.
+     * It's used when many VMs are requested to be created in the {@link Datacenter} at the same time,
+     * enabling implementing classes to place the VMs in a different order
+     * or to consider all of them when selecting Hosts.
+     *
+     * <p>The default implementation just calls {@link #allocateHostForVm(Vm)} for each VM in the list.
+     * VMs already created are not placed again, but they are included in the returned map with their current Host.
+     * Some policies (such as {@link VmAllocationPolicyFirstFit} and {@link VmAllocationPolicyBestFit})
+     * place VMs from the largest to the smallest one, using decreasing bin-packing heuristics,
+     * unless a {@link #setFindHostForVmFunction(BiFunction) Function to find a Host} is set.</p>
+     *
+     * @param vmList the list of {@link Vm}s or {@link VmGroup}s to allocate Hosts to
+     * @return a map where each key is a VM that could be placed and each value is the Host where it was placed
+     * @see DatacenterBroker#setBatchVmCreation(boolean)
+     */
+    default Map<Vm, Host> allocateHostForVmList(final List<? extends Vm> vmList) {
+        final Map<Vm, Host> placement = new LinkedHashMap<>();
+        for (final Vm vm : vmList) {
+            if (vm.isCreated() || allocateHostForVm(vm)) {
+                placement.put(vm, vm.getHost());
+            }
+        }
+
+        return placement;
+    }
+
     /**
      * Try to scale some Vm's resource vertically up or down, respectively if:
      * <ul>
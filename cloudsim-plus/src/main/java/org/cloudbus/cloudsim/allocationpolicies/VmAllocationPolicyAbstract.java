@@ -60,6 +60,14 @@ public abstract class VmAllocationPolicyAbstract implements VmAllocationPolicy {
     /**@see #getHostCountForParallelSearch() */
     private int hostCountForParallelSearch;
 
+    /**
+     * An index of Hosts by their active state and number of free PEs,
+     * used to find a Host for a VM without checking every Host.
+     * @see #findHostWithFewestFreePes(Vm)
+     * @see #findHostWithMostFreePes(Vm)
+     */
+    private final HostCapacityIndex hostCapacityIndex;
+
     /**
      * Creates a VmAllocationPolicy.
      */
@@ -74,6 +82,7 @@ public abstract class VmAllocationPolicyAbstract implements VmAllocationPolicy {
      * @see VmAllocationPolicy#setFindHostForVmFunction(BiFunction)
      */
     public VmAllocationPolicyAbstract(final BiFunction<VmAllocationPolicy, Vm, Optional<Host>> findHostForVmFunction) {
+        this.hostCapacityIndex = new HostCapacityIndex(this);
         setDatacenter(Datacenter.NULL);
         setFindHostForVmFunction(findHostForVmFunction);
         this.hostCountForParallelSearch = DEF_HOST_COUNT_FOR_PARALLEL_SEARCH;
@@ -97,6 +106,7 @@ public abstract class VmAllocationPolicyAbstract implements VmAllocationPolicy {
     @Override
     public final void setDatacenter(final Datacenter datacenter) {
         this.datacenter = requireNonNull(datacenter);
+        hostCapacityIndex.invalidate();
     }
 
     @Override
@@ -289,6 +299,25 @@ public abstract class VmAllocationPolicyAbstract implements VmAllocationPolicy {
         return false;
     }
 
+    /**
+     * Allocates Hosts for a list of VMs from the largest to the smallest one,
+     * using a decreasing bin-packing heuristic over the available capacity of all Hosts.
+     * If a {@link #setFindHostForVmFunction(BiFunction) Function to find a Host} is set,
+     * it's used to place each VM in the given order instead.
+     *
+     * @param vmList the list of VMs to allocate Hosts to
+     * @param fit the heuristic to select a Host for each VM
+     * @return a map where each key is a VM that could be placed and each value is the Host where it was placed
+     * @see #allocateHostForVmList(List)
+     */
+    final Map<Vm, Host> allocateHostForVmListDecreasing(final List<? extends Vm> vmList, final VmBatchPlacement.Fit fit) {
+        if (findHostForVmFunction != null || getHostList().isEmpty()) {
+            return VmAllocationPolicy.super.allocateHostForVmList(vmList);
+        }
+
+        return new VmBatchPlacement(this, fit).place(vmList);
+    }
+
     @Override
     public boolean allocateHostForVm(final Vm vm, final Host host) {
         if(vm instanceof VmGroup){
@@ -353,6 +382,32 @@ public abstract class VmAllocationPolicyAbstract implements VmAllocationPolicy {
      */
     protected abstract Optional<Host> defaultFindHostForVm(Vm vm);
 
+    /**
+     * Gets the first suitable Host for a VM (according to the {@link #getHostList() Host list} order)
+     * that has the fewest free PEs, giving priority to active Hosts.
+     * It uses an index of Hosts, visiting them from the fewest to the most free PEs
+     * until a suitable one is found.
+     *
+     * @param vm the VM to find a suitable Host to
+     * @return an {@link Optional} containing a suitable Host to place the VM or an empty {@link Optional} if not found
+     */
+    protected final Optional<Host> findHostWithFewestFreePes(final Vm vm) {
+        return hostCapacityIndex.findHostWithFewestFreePes(vm);
+    }
+
+    /**
+     * Gets the first suitable Host for a VM (according to the {@link #getHostList() Host list} order)
+     * that has the most free PEs, giving priority to active Hosts.
+     * It uses an index of Hosts, visiting them from the most to the fewest free PEs
+     * until a suitable one is found.
+     *
+     * @param vm the VM to find a suitable Host to
+     * @return an {@link Optional} containing a suitable Host to place the VM or an empty {@link Optional} if not found
+     */
+    protected final Optional<Host> findHostWithMostFreePes(final Vm vm) {
+        return hostCapacityIndex.findHostWithMostFreePes(vm);
+    }
+
     /**
      * {@inheritDoc}
      *
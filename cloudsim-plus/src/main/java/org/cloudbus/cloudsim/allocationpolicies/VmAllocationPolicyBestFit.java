@@ -26,18 +26,22 @@ package org.cloudbus.cloudsim.allocationpolicies;
 import org.cloudbus.cloudsim.hosts.Host;
 import org.cloudbus.cloudsim.vms.Vm;
 
-import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
-import java.util.stream.Stream;
+import java.util.function.BiFunction;
 
 /**
  * A Worst Fit VmAllocationPolicy implementation that chooses, as
  * the host for a VM, that one with the most number of PEs in use,
  * which are enough for a VM.
  *
- * <p>This is a really computationally complex policy since the worst-case complexity
- * to allocate a Host for a VM is O(N), where N is the number of Hosts.
- * Such an implementation is not appropriate for large scale scenarios.</p>
+ * <p>Hosts are kept in an index by their active state and number of free PEs,
+ * which is visited from the fewest free PEs until a suitable Host is found.
+ * This way, a Host is usually found in logarithmic time.
+ * The worst-case complexity is still O(N), where N is the number of Hosts,
+ * when most of the Hosts visited first are not suitable for the VM
+ * (for instance, because they don't have enough RAM).</p>
  *
  * <p><b>NOTE: This policy doesn't perform optimization of VM allocation by means of VM migration.</b></p>
  *
@@ -55,15 +59,20 @@ public class VmAllocationPolicyBestFit extends VmAllocationPolicyAbstract {
      */
     @Override
     protected Optional<Host> defaultFindHostForVm(final Vm vm) {
-        /* Since it's being used the min operation, the active comparator must be reversed so that
-         * we get active hosts with minimum number of free PEs. */
-        final Comparator<Host> activeComparator = Comparator.comparing(Host::isActive).reversed();
-        final Comparator<Host> comparator = activeComparator.thenComparingLong(Host::getFreePesNumber);
-
-        final Stream<Host> stream = isParallelHostSearchEnabled() ? getHostList().stream().parallel() : getHostList().stream();
-        return stream
-                .filter(host -> host.isSuitableForVm(vm))
-                .min(comparator);
+        return findHostWithFewestFreePes(vm);
     }
 
+    /**
+     * {@inheritDoc}
+     * This implementation places VMs from the largest to the smallest one,
+     * using the Best Fit Decreasing heuristic, unless a
+     * {@link #setFindHostForVmFunction(BiFunction) Function to find a Host} is set.
+     *
+     * @param vmList {@inheritDoc}
+     * @return {@inheritDoc}
+     */
+    @Override
+    public Map<Vm, Host> allocateHostForVmList(final List<? extends Vm> vmList) {
+        return allocateHostForVmListDecreasing(vmList, VmBatchPlacement.Fit.BEST);
+    }
 }
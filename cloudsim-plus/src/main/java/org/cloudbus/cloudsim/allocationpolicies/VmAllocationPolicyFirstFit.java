@@ -4,7 +4,9 @@ import org.cloudbus.cloudsim.hosts.Host;
 import org.cloudbus.cloudsim.vms.Vm;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.BiFunction;
 
 /**
  * A <b>First Fit VM allocation policy</b>
@@ -67,4 +69,18 @@ public class VmAllocationPolicyFirstFit extends VmAllocationPolicyAbstract imple
     protected void incLastHostIndex() {
         lastHostIndex = ++lastHostIndex % getHostList().size();
     }
+
+    /**
+     * {@inheritDoc}
+     * This implementation places VMs from the largest to the smallest one,
+     * using the First Fit Decreasing heuristic, unless a
+     * {@link #setFindHostForVmFunction(BiFunction) Function to find a Host} is set.
+     *
+     * @param vmList {@inheritDoc}
+     * @return {@inheritDoc}
+     */
+    @Override
+    public Map<Vm, Host> allocateHostForVmList(final List<? extends Vm> vmList) {
+        return allocateHostForVmListDecreasing(vmList, VmBatchPlacement.Fit.FIRST);
+    }
 }
@@ -10,20 +10,23 @@ package org.cloudbus.cloudsim.allocationpolicies;
 import org.cloudbus.cloudsim.hosts.Host;
 import org.cloudbus.cloudsim.vms.Vm;
 
-import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.function.BiFunction;
 import java.util.function.Function;
-import java.util.stream.Stream;
 
 /**
  * A VmAllocationPolicy implementation that chooses, as
  * the host for a VM, that one with the fewest PEs in use.
  * <b>It is therefore a Worst Fit policy</b>, allocating each VM into the host with most available PEs.
  *
- * <p>This is a really computationally complex policy since the worst-case complexity
- * to allocate a Host for a VM is O(N), where N is the number of Hosts.
- * Such an implementation is not appropriate for large scale scenarios.</p>
+ * <p>Hosts are kept in an index by their active state and number of free PEs,
+ * which is visited from the most free PEs until a suitable Host is found.
+ * This way, a Host is usually found in logarithmic time.
+ * The worst-case complexity is still O(N), where N is the number of Hosts,
+ * when most of the Hosts visited first are not suitable for the VM
+ * (for instance, because they don't have enough RAM).</p>
  *
  * <p><b>NOTE: This policy doesn't perform optimization of VM allocation by means of VM migration.</b></p>
  *
@@ -61,13 +64,20 @@ public class VmAllocationPolicySimple extends VmAllocationPolicyAbstract {
      */
     @Override
     protected Optional<Host> defaultFindHostForVm(final Vm vm) {
-        final Comparator<Host> comparator = Comparator.comparing(Host::isActive)
-                                                      .thenComparingLong(Host::getFreePesNumber);
-
-        final Stream<Host> stream = isParallelHostSearchEnabled() ? getHostList().stream().parallel() : getHostList().stream();
-        return stream
-                .filter(host -> host.isSuitableForVm(vm))
-                .max(comparator);
+        return findHostWithMostFreePes(vm);
     }
 
+    /**
+     * {@inheritDoc}
+     * This implementation places VMs from the largest to the smallest one,
+     * using the Worst Fit Decreasing heuristic (which selects the Host with the most free PEs), unless a
+     * {@link #setFindHostForVmFunction(BiFunction) Function to find a Host} is set.
+     *
+     * @param vmList {@inheritDoc}
+     * @return {@inheritDoc}
+     */
+    @Override
+    public Map<Vm, Host> allocateHostForVmList(final List<? extends Vm> vmList) {
+        return allocateHostForVmListDecreasing(vmList, VmBatchPlacement.Fit.WORST);
+    }
 }
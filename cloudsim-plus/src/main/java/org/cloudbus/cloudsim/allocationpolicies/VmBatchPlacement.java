@@ -0,0 +1,260 @@
+package org.cloudbus.cloudsim.allocationpolicies;
+
+import org.cloudbus.cloudsim.hosts.Host;
+import org.cloudbus.cloudsim.vms.Vm;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+/**
+ * Places a batch of VMs into the Hosts of a {@link VmAllocationPolicy}
+ * in a single pass, using a decreasing bin-packing heuristic
+ * (First Fit Decreasing, Best Fit Decreasing or Worst Fit Decreasing).
+ *
+ * <p>VMs are sorted from the largest to the smallest one (by number of PEs, MIPS and RAM)
+ * and each one is placed before the next one is considered.
+ * The available capacity of every Host is kept in primitive arrays,
+ * which are scanned to discard Hosts that cannot place a VM
+ * (because they are failed or don't have enough PEs, RAM, BW or storage)
+ * without calling any Host method.
+ * Since a Host suitability also depends on its {@link org.cloudbus.cloudsim.schedulers.vm.VmScheduler},
+ * the selected Host is confirmed by {@link Host#isSuitableForVm(Vm)}
+ * before the VM is created. If it's not suitable,
+ * the next best Host is selected.
+ * After a VM is created, only the arrays entries for the selected Host are updated.</p>
+ *
+ * <p>If the {@link VmAllocationPolicy#isParallelHostSearchEnabled() parallel Host search is enabled},
+ * the arrays are split into partitions which are scanned in parallel.
+ * The selected Host is the same one selected by a sequential scan.</p>
+ *
+ * @author Manoel Campos da Silva Filho
+ * @since CloudSim Plus 5.5.0
+ */
+final class VmBatchPlacement {
+    /**
+     * The heuristics to select a Host for each VM.
+     */
+    enum Fit {
+        /** Selects the first Host in the {@link VmAllocationPolicy#getHostList() Host list} which can place a VM. */
+        FIRST,
+
+        /**
+         * Selects the Host with the fewest free PEs which can place a VM,
+         * giving priority to active Hosts.
+         */
+        BEST,
+
+        /**
+         * Selects the Host with the most free PEs which can place a VM,
+         * giving priority to active Hosts.
+         */
+        WORST
+    }
+
+    /**
+     * Sorts VMs from the largest to the smallest one.
+     * VMs with the same size keep the order they were submitted.
+     */
+    private static final Comparator<Vm> DECREASING_SIZE =
+        Comparator.comparingLong(Vm::getNumberOfPes)
+                  .thenComparingDouble(Vm::getTotalMipsCapacity)
+                  .thenComparingLong(Vm::getCurrentRequestedRam)
+                  .reversed();
+
+    private final VmAllocationPolicy policy;
+    private final Fit fit;
+    private final List<Host> hostList;
+    private final boolean parallel;
+
+    private final boolean[] failed;
+    private final boolean[] active;
+    private final long[] workingPes;
+    private final long[] freePes;
+    private final long[] availableRam;
+    private final long[] availableBw;
+    private final long[] availableStorage;
+
+    /**
+     * The number of PEs of the last VM which a Host was found not suitable for
+     * (since the Host was last updated).
+     * @see #rejectedMips
+     */
+    private final long[] rejectedPes;
+
+    /**
+     * The MIPS of each PE of the last VM which a Host was found not suitable for
+     * (since the Host was last updated).
+     * It's assumed that if a Host isn't suitable for a VM, it isn't suitable
+     * for any VM requiring at least the same number of PEs and MIPS.
+     * This way, such a Host isn't selected again until it changes.
+     */
+    private final double[] rejectedMips;
+
+    /**
+     * Creates an object to place VMs into the Hosts from a {@link VmAllocationPolicy}.
+     * @param policy the policy to get the Hosts from and to allocate Hosts for VMs
+     * @param fit the heuristic to select a Host for each VM
+     */
+    VmBatchPlacement(final VmAllocationPolicy policy, final Fit fit) {
+        this.policy = policy;
+        this.fit = fit;
+        this.hostList = policy.getHostList();
+        this.parallel = policy.isParallelHostSearchEnabled();
+
+        final int count = hostList.size();
+        this.failed = new boolean[count];
+        this.active = new boolean[count];
+        this.workingPes = new long[count];
+        this.freePes = new long[count];
+        this.availableRam = new long[count];
+        this.availableBw = new long[count];
+        this.availableStorage = new long[count];
+        this.rejectedPes = new long[count];
+        this.rejectedMips = new double[count];
+        for (int i = 0; i < count; i++) {
+            updateHost(i);
+        }
+    }
+
+    /**
+     * Places a list of VMs, from the largest to the smallest one.
+     * VMs already created are not placed again, but they are included in the returned map with their current Host.
+     * @param vmList the VMs to place
+     * @return a map where each key is a placed VM and each value is its Host,
+     *         following the order in which VMs were placed
+     */
+    Map<Vm, Host> place(final List<? extends Vm> vmList) {
+        final List<Vm> sortedList = new ArrayList<>(vmList);
+        sortedList.sort(DECREASING_SIZE);
+
+        final Map<Vm, Host> placement = new LinkedHashMap<>();
+        for (final Vm vm : sortedList) {
+            if (vm.isCreated()) {
+                placement.put(vm, vm.getHost());
+                continue;
+            }
+
+            final int index = place(vm);
+            if (index < 0) {
+                VmAllocationPolicy.LOGGER.warn(
+                    "{}: {}: No suitable host found for {} in {}",
+                    vm.getSimulation().clockStr(), policy.getClass().getSimpleName(), vm, policy.getDatacenter());
+                continue;
+            }
+
+            placement.put(vm, hostList.get(index));
+        }
+
+        return placement;
+    }
+
+    /**
+     * Selects Hosts for a VM until one is able to create it.
+     * @param vm the VM to place
+     * @return the index of the Host where the VM was created or -1 if it couldn't be placed
+     */
+    private int place(final Vm vm) {
+        final long pes = vm.getNumberOfPes();
+        final double mips = vm.getMips();
+        final long ram = vm.getCurrentRequestedRam();
+        final long bw = vm.getCurrentRequestedBw();
+        final long storage = vm.getStorage().getCapacity();
+
+        for (int index = findHost(pes, mips, ram, bw, storage); index >= 0; index = findHost(pes, mips, ram, bw, storage)) {
+            final Host host = hostList.get(index);
+            if (host.isSuitableForVm(vm) && policy.allocateHostForVm(vm, host.setActive(true))) {
+                updateHost(index);
+                return index;
+            }
+
+            updateHost(index);
+            rejectedPes[index] = pes;
+            rejectedMips[index] = mips;
+        }
+
+        return -1;
+    }
+
+    private int findHost(final long pes, final double mips, final long ram, final long bw, final long storage) {
+        final int count = hostList.size();
+        if (!parallel) {
+            return findHost(0, count, pes, mips, ram, bw, storage);
+        }
+
+        final int partitions = Math.min(count, Runtime.getRuntime().availableProcessors());
+        final int partitionSize = (count + partitions - 1) / partitions;
+        return IntStream.range(0, partitions)
+                        .parallel()
+                        .map(p -> findHost(p * partitionSize, Math.min(count, (p + 1) * partitionSize), pes, mips, ram, bw, storage))
+                        .filter(index -> index >= 0)
+                        .reduce((index1, index2) -> isBetter(index1, index2) ? index1 : index2)
+                        .orElse(-1);
+    }
+
+    /**
+     * Finds the best Host inside a range of the Host list which may be able to place a VM,
+     * according to the VM requirements.
+     * @param from the index of the first Host in the range (inclusive)
+     * @param to the index of the last Host in the range (exclusive)
+     * @return the index of the best Host found or -1 if none was found
+     */
+    private int findHost(
+        final int from, final int to,
+        final long pes, final double mips, final long ram, final long bw, final long storage)
+    {
+        int selected = -1;
+        for (int i = from; i < to; i++) {
+            if (failed[i] || (pes >= rejectedPes[i] && mips >= rejectedMips[i]) || workingPes[i] < pes ||
+                availableRam[i] < ram || availableBw[i] < bw || availableStorage[i] < storage)
+            {
+                continue;
+            }
+
+            if (fit == Fit.FIRST) {
+                return i;
+            }
+
+            if (selected < 0 || isBetter(i, selected)) {
+                selected = i;
+            }
+        }
+
+        return selected;
+    }
+
+    /**
+     * Checks if a Host is a better choice than another one.
+     * Hosts equally good are ordered by their position in the Host list.
+     * @param index1 the index of the first Host
+     * @param index2 the index of the second Host
+     * @return true if the first Host is better, false otherwise
+     */
+    private boolean isBetter(final int index1, final int index2) {
+        if (fit != Fit.FIRST && active[index1] != active[index2]) {
+            return active[index1];
+        }
+
+        if (fit == Fit.FIRST || freePes[index1] == freePes[index2]) {
+            return index1 < index2;
+        }
+
+        return fit == Fit.BEST ? freePes[index1] < freePes[index2] : freePes[index1] > freePes[index2];
+    }
+
+    private void updateHost(final int index) {
+        final Host host = hostList.get(index);
+        failed[index] = host.isFailed();
+        active[index] = host.isActive();
+        workingPes[index] = host.getWorkingPesNumber();
+        freePes[index] = host.getFreePesNumber();
+        availableRam[index] = host.getRam().getAvailableResource();
+        availableBw[index] = host.getBw().getAvailableResource();
+        availableStorage[index] = host.getStorage().getAvailableResource();
+        rejectedPes[index] = Long.MAX_VALUE;
+        rejectedMips[index] = Double.MAX_VALUE;
+    }
+}
@@ -0,0 +1,150 @@
+package org.cloudbus.cloudsim.allocationpolicies.migration;
+
+import org.cloudbus.cloudsim.hosts.Host;
+
+import java.util.*;
+import java.util.function.Predicate;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+
+/**
+ * Classifies the Hosts from a {@link VmAllocationPolicyMigration} as overloaded, underloaded or normal
+ * in a single pass.
+ * Since computing the load state of a Host may be expensive
+ * (for instance, when the over utilization threshold is computed from the Host utilization history),
+ * each Host is checked just once when VM migrations are planned.
+ * Hosts are checked sequentially because such a computation may update
+ * utilization caches and the state of the policy, which are not thread-safe.
+ *
+ * <p>Underloaded Hosts are kept in a min-heap ordered by their CPU utilization
+ * (and then by their position in the Host list),
+ * so that the most underloaded Host is got in logarithmic time,
+ * instead of checking all Hosts again every time an underloaded Host is requested.</p>
+ *
+ * @author Manoel Campos da Silva Filho
+ * @since CloudSim Plus 5.5.0
+ */
+final class HostLoadClassification {
+    /** @see #getOverloadedHosts() */
+    private final Set<Host> overloadedHosts;
+
+    /** A min-heap of the underloaded Hosts, ordered by their CPU utilization. */
+    private final PriorityQueue<Entry> underloadedHosts;
+
+    /**
+     * A function to get the CPU utilization of a Host,
+     * used to order the underloaded Hosts.
+     */
+    private final ToDoubleFunction<Host> cpuUtilizationFunction;
+
+    /**
+     * A predicate to check if a Host is (still) underloaded.
+     */
+    private final Predicate<Host> underloadedPredicate;
+
+    /**
+     * A function to get the version of the planned state of a Host,
+     * which changes every time VMs are planned to migrate into or out of the Host.
+     */
+    private final ToIntFunction<Host> versionFunction;
+
+    /**
+     * Classifies a list of Hosts.
+     *
+     * @param hostList the list of Hosts to classify
+     * @param overloadedPredicate a predicate to check if a Host is overloaded
+     * @param underloadedPredicate a predicate to check if a Host is underloaded
+     * @param cpuUtilizationFunction a function to get the CPU utilization of a Host
+     * @param versionFunction a function to get the version of the planned state of a Host
+     */
+    HostLoadClassification(
+        final List<Host> hostList,
+        final Predicate<Host> overloadedPredicate,
+        final Predicate<Host> underloadedPredicate,
+        final ToDoubleFunction<Host> cpuUtilizationFunction,
+        final ToIntFunction<Host> versionFunction)
+    {
+        this.cpuUtilizationFunction = cpuUtilizationFunction;
+        this.underloadedPredicate = underloadedPredicate;
+        this.versionFunction = versionFunction;
+
+        this.overloadedHosts = new HashSet<>();
+        this.underloadedHosts = new PriorityQueue<>(Math.max(1, hostList.size()));
+        for (int i = 0; i < hostList.size(); i++) {
+            final Host host = hostList.get(i);
+            if (overloadedPredicate.test(host)) {
+                overloadedHosts.add(host);
+            }
+
+            if (underloadedPredicate.test(host)) {
+                underloadedHosts.add(newEntry(host, i));
+            }
+        }
+    }
+
+    private Entry newEntry(final Host host, final int position) {
+        return new Entry(host, position, cpuUtilizationFunction.applyAsDouble(host), versionFunction.applyAsInt(host));
+    }
+
+    /**
+     * Gets the Hosts classified as overloaded.
+     * @return
+     */
+    Set<Host> getOverloadedHosts() {
+        return overloadedHosts;
+    }
+
+    /**
+     * Removes the most underloaded Host from the classification.
+     * Since VMs may be planned to migrate into a Host after it was classified,
+     * the Host state is checked again when it's polled.
+     * If its planned state has changed, it's put back into the heap
+     * in the position given by its current CPU utilization.
+     *
+     * @param excludedHosts the Hosts that have to be ignored
+     * @return the most underloaded Host or {@link Host#NULL} if there is no underloaded Host
+     */
+    Host pollUnderloadedHost(final Set<? extends Host> excludedHosts) {
+        while (!underloadedHosts.isEmpty()) {
+            final Entry entry = underloadedHosts.poll();
+            if (excludedHosts.contains(entry.host) || !underloadedPredicate.test(entry.host)) {
+                continue;
+            }
+
+            if (versionFunction.applyAsInt(entry.host) == entry.version) {
+                return entry.host;
+            }
+
+            underloadedHosts.add(newEntry(entry.host, entry.position));
+        }
+
+        return Host.NULL;
+    }
+
+    /**
+     * An underloaded Host inside the heap, with its CPU utilization and planned state version when it was added.
+     */
+    private static final class Entry implements Comparable<Entry> {
+        private final Host host;
+
+        /** The position of the Host in the Host list. */
+        private final int position;
+
+        private final double cpuUtilization;
+
+        private final int version;
+
+        private Entry(final Host host, final int position, final double cpuUtilization, final int version) {
+            this.host = host;
+            this.position = position;
+            this.cpuUtilization = cpuUtilization;
+            this.version = version;
+        }
+
+        @Override
+        public int compareTo(final Entry other) {
+            final int result = Double.compare(cpuUtilization, other.cpuUtilization);
+            return result == 0 ? Integer.compare(position, other.position) : result;
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package org.cloudbus.cloudsim.allocationpolicies.migration;
+
+import org.cloudbus.cloudsim.hosts.Host;
+import org.cloudbus.cloudsim.util.SlidingWindowStatistics;
+import org.cloudbus.cloudsim.vms.Vm;
+
+import java.util.DoubleSummaryStatistics;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Incrementally keeps the latest values from the {@link Host#getUtilizationHistorySum()}
+ * inside a {@link SlidingWindowStatistics}, so that statistics over such a history
+ * can be computed without rebuilding the entire history from the VMs' utilization history
+ * every time a Host is checked.
+ *
+ * <p>Only the VMs' history entries that were collected after the last update are read
+ * (by getting a sub-map of each VM history). Entries for the current second of the simulation
+ * may still be collected or updated by VMs. This way, they are added as provisional values,
+ * which are removed and added again at every update.
+ * If the list of VMs created inside the Host changes (including when a VM is replaced by another one),
+ * the window is rebuilt, since the history of the new VM must be included.</p>
+ *
+ * <p>Values are stored as they were when collected. If the VMs' histories are changed
+ * in a different way (such as when the history of a VM has its oldest entries removed),
+ * the window isn't updated.</p>
+ *
+ * @author Manoel Campos da Silva Filho
+ * @since CloudSim Plus 5.5.0
+ */
+final class HostUtilizationWindow {
+    private final Host host;
+    private final SlidingWindowStatistics statistics;
+
+    /** The VMs in the {@link Host#getVmCreatedList()} at the last update. */
+    private Vm[] lastVms;
+
+    /**
+     * The time from which history entries are provisional,
+     * since they may yet be collected or changed.
+     * Entries before such a time are permanently added to the window.
+     */
+    private double provisionalTime;
+
+    /** The number of provisional values currently inside the window. */
+    private int provisionalValues;
+
+    HostUtilizationWindow(final Host host, final int maxSize) {
+        this.host = requireNonNull(host);
+        this.statistics = new SlidingWindowStatistics(maxSize);
+        reset();
+    }
+
+    private void reset() {
+        statistics.clear();
+        lastVms = host.getVmCreatedList().toArray(new Vm[0]);
+        provisionalTime = Double.NEGATIVE_INFINITY;
+        provisionalValues = 0;
+    }
+
+    /**
+     * Updates the window with the Host's history entries collected since the last update
+     * and gets its statistics.
+     * @return the statistics for the Host's utilization history window
+     */
+    SlidingWindowStatistics update() {
+        final double time = host.getSimulation().clock();
+        final List<Vm> vms = host.getVmCreatedList();
+        if (isVmListChanged(vms) || !removeProvisionalValues()) {
+            reset();
+        }
+
+        /* VMs collect history entries for the integer part of the current time
+         * or for the exact current time, so that entries before the current second
+         * cannot be changed anymore. */
+        final double currentSecond = Math.floor(time);
+        if (currentSecond > provisionalTime) {
+            addHistory(vms, provisionalTime, currentSecond);
+            provisionalTime = currentSecond;
+        }
+
+        provisionalValues = addHistory(vms, provisionalTime, Double.POSITIVE_INFINITY);
+        return statistics;
+    }
+
+    /**
+     * Checks if a given list of VMs is different from the one at the last update,
+     * comparing the VMs by identity.
+     * @param vms the current list of VMs created inside the Host
+     * @return true if the VMs changed, false otherwise
+     */
+    private boolean isVmListChanged(final List<Vm> vms) {
+        if (vms.size() != lastVms.length) {
+            return true;
+        }
+
+        for (int i = 0; i < lastVms.length; i++) {
+            if (vms.get(i) != lastVms[i]) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private boolean removeProvisionalValues() {
+        for (; provisionalValues > 0; provisionalValues--) {
+            if (!statistics.removeNewest()) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Adds to the window the Host's CPU utilization for each time inside a given interval,
+     * computed as the sum of the utilization of its VMs, relative to the Host capacity
+     * (as the {@link Host#getUtilizationHistorySum()} does).
+     *
+     * @param vms the VMs created inside the Host
+     * @param fromTime the start time of the interval (inclusive)
+     * @param toTime the end time of the interval (exclusive)
+     * @return the number of values added
+     */
+    private int addHistory(final List<Vm> vms, final double fromTime, final double toTime) {
+        final SortedMap<Double, DoubleSummaryStatistics> utilizationByTime = new TreeMap<>();
+        for (final Vm vm : vms) {
+            for (final Map.Entry<Double, Double> entry : vm.getUtilizationHistory().getHistory().subMap(fromTime, toTime).entrySet()) {
+                final double usage = host.getExpectedRelativeCpuUtilization(vm, entry.getValue());
+                utilizationByTime.computeIfAbsent(entry.getKey(), key -> new DoubleSummaryStatistics()).accept(usage);
+            }
+        }
+
+        utilizationByTime.values().forEach(usage -> statistics.add(usage.getSum()));
+        return utilizationByTime.size();
+    }
+}
@@ -12,7 +12,6 @@ import org.cloudbus.cloudsim.allocationpolicies.VmAllocationPolicyAbstract;
 import org.cloudbus.cloudsim.hosts.Host;
 import org.cloudbus.cloudsim.selectionpolicies.VmSelectionPolicy;
 import org.cloudbus.cloudsim.vms.Vm;
-import org.cloudbus.cloudsim.vms.VmSimple;
 
 import java.util.*;
 import java.util.function.BiFunction;
@@ -23,7 +22,6 @@ import java.util.stream.Stream;
 
 import static java.util.Comparator.comparingDouble;
 import static java.util.stream.Collectors.toList;
-import static java.util.stream.Collectors.toSet;
 
 /**
  * An abstract VM allocation policy that dynamically optimizes the
@@ -59,9 +57,11 @@ public abstract class VmAllocationPolicyMigrationAbstract extends VmAllocationPo
     private VmSelectionPolicy vmSelectionPolicy;
 
     /**
-     * A map between a VM and the host where it is placed.
+     * The shadow model of the VM placement, changed while VM migrations are being planned
+     * instead of changing the actual placement.
+     * @see #getOptimizedAllocationMap(List)
      */
-    private final Map<Vm, Host> savedAllocation;
+    private VmPlacementPlan placementPlan;
 
     /** @see #areHostsUnderloaded() */
     private boolean hostsUnderloaded;
@@ -95,38 +95,47 @@ public abstract class VmAllocationPolicyMigrationAbstract extends VmAllocationPo
     {
         super(findHostForVmFunction);
         this.underUtilizationThreshold = DEF_UNDER_UTILIZATION_THRESHOLD;
-        this.savedAllocation = new HashMap<>();
+        this.placementPlan = new VmPlacementPlan();
         setVmSelectionPolicy(vmSelectionPolicy);
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * <p>The new placement is planned on a {@link VmPlacementPlan shadow model} of the Hosts,
+     * which is discarded after the migration map is built.
+     * This way, the actual placement of VMs is never changed while planning migrations.</p>
+     *
+     * <p>Hosts are classified as overloaded or underloaded just once.</p>
+     *
+     * @param vmList {@inheritDoc}
+     * @return {@inheritDoc}
+     */
     @Override
     public Map<Vm, Host> getOptimizedAllocationMap(final List<? extends Vm> vmList) {
-        //@TODO See https://github.com/manoelcampos/cloudsim-plus/issues/94
-        final Set<Host> overloadedHosts = getOverloadedHosts();
+        placementPlan.clear();
+        final HostLoadClassification classification = classifyHosts();
+        final Set<Host> overloadedHosts = classification.getOverloadedHosts();
         this.hostsOverloaded = !overloadedHosts.isEmpty();
         printOverUtilizedHosts(overloadedHosts);
-        saveAllocation();
 
         final Map<Vm, Host> migrationMap = getMigrationMapFromOverloadedHosts(overloadedHosts);
-        updateMigrationMapFromUnderloadedHosts(overloadedHosts, migrationMap);
-        if(migrationMap.isEmpty()){
-            return migrationMap;
-        }
-
-        restoreAllocation();
+        updateMigrationMapFromUnderloadedHosts(classification, migrationMap);
+        placementPlan.clear();
         return migrationMap;
     }
 
     /**
      * Updates the  map of VMs that will be migrated from under utilized hosts.
      *
-     * @param overloadedHosts the List of over utilized hosts
+     * @param classification the classification of Hosts as overloaded and underloaded
      * @param migrationMap current migration map that will be updated
      */
     private void updateMigrationMapFromUnderloadedHosts(
-        final Set<Host> overloadedHosts,
+        final HostLoadClassification classification,
         final Map<Vm, Host> migrationMap)
     {
+        final Set<Host> overloadedHosts = classification.getOverloadedHosts();
         final List<Host> switchedOffHosts = getSwitchedOffHosts();
 
         // overloaded hosts + hosts that are selected to migrate VMs from overloaded hosts
@@ -134,13 +143,10 @@ public abstract class VmAllocationPolicyMigrationAbstract extends VmAllocationPo
 
         /*
         During the computation of the new placement for VMs,
-        the current VM placement is changed temporarily, before the actual migration of VMs.
-        If VMs are being migrated from overloaded Hosts, they in fact already were removed
-        from such Hosts and moved to destination ones.
+        VMs from overloaded Hosts are planned to be moved to destination ones.
         The target Host that maybe was shut down, might become underloaded too.
         This way, such Hosts are added to be ignored when
         looking for underloaded Hosts.
-        See https://github.com/manoelcampos/cloudsim-plus/issues/94
          */
         ignoredSourceHosts.addAll(migrationMap.values());
 
@@ -155,7 +161,7 @@ public abstract class VmAllocationPolicyMigrationAbstract extends VmAllocationPo
                 break;
             }
 
-            final Host underloadedHost = getUnderloadedHost(ignoredSourceHosts);
+            final Host underloadedHost = classification.pollUnderloadedHost(ignoredSourceHosts);
             if (underloadedHost == Host.NULL) {
                 break;
             }
@@ -225,7 +231,7 @@ public abstract class VmAllocationPolicyMigrationAbstract extends VmAllocationPo
     protected double getPowerDifferenceAfterAllocation(final Host host, final Vm vm){
         final double powerAfterAllocation = getPowerAfterAllocation(host, vm);
         if (powerAfterAllocation > 0) {
-            return powerAfterAllocation - host.getPowerModel().getPower();
+            return powerAfterAllocation - host.getPowerModel().getPowerFromLookupTable(getHostCpuPercentUtilization(host));
         }
 
         return 0;
@@ -240,28 +246,21 @@ public abstract class VmAllocationPolicyMigrationAbstract extends VmAllocationPo
      *         false otherwise
      */
     private boolean isNotHostOverloadedAfterAllocation(final Host host, final Vm vm) {
-        final Vm tempVm = new VmSimple(vm);
-
-        if (!host.createTemporaryVm(tempVm)) {
-            return false;
-        }
-
-        final double usagePercent = getHostCpuPercentRequested(host);
-        final boolean notOverloadedAfterAllocation = !isHostOverloaded(host, usagePercent);
-        host.destroyTemporaryVm(tempVm);
-        return notOverloadedAfterAllocation;
+        final double usagePercent = (getHostTotalRequestedMips(host) + vm.getTotalMipsCapacity()) / host.getTotalMipsCapacity();
+        return !isHostOverloaded(host, usagePercent);
     }
 
     /**
      * {@inheritDoc}
      * It's based on current CPU usage.
+     * If VM migrations are being planned, it considers the planned VMs of the Host.
      *
      * @param host {@inheritDoc}
      * @return {@inheritDoc}
      */
     @Override
     public boolean isHostOverloaded(final Host host) {
-        return isHostOverloaded(host, host.getCpuPercentUtilization());
+        return isHostOverloaded(host, getHostCpuPercentUtilization(host));
     }
 
     /**
@@ -270,11 +269,8 @@ public abstract class VmAllocationPolicyMigrationAbstract extends VmAllocationPo
      * @param cpuUsagePercent the Host's CPU utilization percent. The values may be:
      *                        <ul>
      *                          <li>the current CPU utilization if you want to check if the Host is overloaded right now;</li>
-     *                          <li>the requested CPU utilization after temporarily placing a VM into the Host
+     *                          <li>the requested CPU utilization after supposedly placing a VM into the Host
      *                          just to check if it supports that VM without being overloaded.
-     *                          In this case, if the Host doesn't support the already placed temporary VM,
-     *                          the method will return true to indicate the Host will be overloaded
-     *                          if the VM is actually placed into it.
      *                          </li>
      *                        </ul>
      * @return true if the Host is overloaded, false otherwise
@@ -338,7 +334,7 @@ public abstract class VmAllocationPolicyMigrationAbstract extends VmAllocationPo
     private Optional<Host> findHostForVm(final Vm vm, final Set<? extends Host> excludedHosts, final Predicate<Host> predicate) {
         final Stream<Host> stream = this.getHostList().stream()
             .filter(host -> !excludedHosts.contains(host))
-            .filter(host -> host.isSuitableForVm(vm))
+            .filter(host -> placementPlan.isSuitableForVm(host, vm))
             .filter(host -> isNotHostOverloadedAfterAllocation(host, vm))
             .filter(predicate);
 
@@ -380,7 +376,6 @@ public abstract class VmAllocationPolicyMigrationAbstract extends VmAllocationPo
      * @param overloadedHosts the list of overloaded Hosts
      * @return the new VM placement map where each key is a VM
      * and each value is the Host to place it.
-     * @TODO See issue in {@link #getVmsToMigrateFromOverloadedHost(Host)}
      */
     private Map<Vm, Host> getMigrationMapFromOverloadedHosts(final Set<Host> overloadedHosts) {
         if(overloadedHosts.isEmpty()) {
@@ -455,13 +450,13 @@ public abstract class VmAllocationPolicyMigrationAbstract extends VmAllocationPo
 
     private <T extends Host> void addVmToMigrationMap(final Map<Vm, T> migrationMap, final Vm vm, final T targetHost) {
         /*
-        Temporarily creates the VM into the target Host so that
+        Plans the placement of the VM into the target Host so that
         when the next VM is got to be migrated, if the same Host
         is selected as destination, the resource to be
         used by the previous VM will be considered when
         assessing the suitability of such a Host for the next VM.
          */
-        targetHost.createTemporaryVm(vm);
+        placementPlan.addVm(targetHost, vm);
         migrationMap.put(vm, targetHost);
     }
 
@@ -481,21 +476,16 @@ public abstract class VmAllocationPolicyMigrationAbstract extends VmAllocationPo
     }
 
     private List<Vm> getVmsToMigrateFromOverloadedHost(final Host host) {
-        /*
-        @TODO The method doesn't just gets a list of VMs to migrate from an overloaded Host,
-        but it temporarily destroys VMs on such Hosts.
-        See https://github.com/manoelcampos/cloudsim-plus/issues/94
-        */
         final List<Vm> vmsToMigrate = new LinkedList<>();
         while (true) {
-            final Vm vm = getVmSelectionPolicy().getVmToMigrate(host);
+            final Vm vm = getVmSelectionPolicy().getVmToMigrate(host, placementPlan.getMigratableVms(host));
             if (Vm.NULL == vm) {
                 break;
             }
             vmsToMigrate.add(vm);
-            /*Temporarily destroys the selected VM into the overloaded Host so that
+            /*Plans the removal of the selected VM from the overloaded Host so that
             the loop gets VMs from such a Host until it is not overloaded anymore.*/
-            host.destroyTemporaryVm(vm);
+            placementPlan.removeVm(host, vm);
             if (!isHostOverloaded(host)) {
                 break;
             }
@@ -511,7 +501,7 @@ public abstract class VmAllocationPolicyMigrationAbstract extends VmAllocationPo
      * @return the vms to migrate from under utilized host
      */
     protected List<? extends Vm> getVmsToMigrateFromUnderUtilizedHost(final Host host) {
-        return host.getMigratableVms();
+        return placementPlan.getMigratableVms(host);
     }
 
     /**
@@ -530,43 +520,52 @@ public abstract class VmAllocationPolicyMigrationAbstract extends VmAllocationPo
     }
 
     /**
-     * Gets the List of overloaded hosts.
+     * Classifies the Hosts as overloaded or underloaded.
+     * The most underloaded Hosts are selected first
+     * to have their VMs migrated.
+     *
+     * @return the Hosts classification
+     * @see #isOverloadedSourceHost(Host)
+     * @see #isUnderloadedSourceHost(Host)
+     */
+    private HostLoadClassification classifyHosts() {
+        return new HostLoadClassification(
+            getHostList(), this::isOverloadedSourceHost, this::isUnderloadedSourceHost,
+            this::getHostCpuPercentUtilization, placementPlan::getVersion);
+    }
+
+    /**
+     * Checks if a Host is overloaded and VMs can be migrated from it.
      * If a Host is overloaded but it has VMs migrating out,
-     * then it's not included in the returned List
+     * then VMs are not migrated from it
      * because the VMs to be migrated to move the Host from
      * the overload state already are in migration.
      *
-     * @return the over utilized hosts
+     * @param host the Host to check
+     * @return true if VMs have to be migrated from the overloaded Host, false otherwise
      */
-    private Set<Host> getOverloadedHosts() {
-        return this.getHostList().stream()
-            .filter(this::isHostOverloaded)
-            .filter(host -> host.getVmsMigratingOut().isEmpty())
-            .collect(toSet());
+    private boolean isOverloadedSourceHost(final Host host) {
+        return isHostOverloaded(host) && host.getVmsMigratingOut().isEmpty();
     }
 
     /**
-     * Gets the most underloaded Host.
+     * Checks if a Host is underloaded and VMs can be migrated from it.
      * If a Host is underloaded but it has VMs migrating in,
-     * then it's not included in the returned List
+     * then VMs are not migrated from it
      * because the VMs to be migrated to move the Host from
      * the underload state already are in migration to it.
      * Likewise, if all VMs are migrating out, nothing has to be
      * done anymore. It just has to wait the VMs to finish
      * the migration.
      *
-     * @param excludedHosts the Hosts that have to be ignored when looking for the under utilized Host
-     * @return the most under utilized host or {@link Host#NULL} if no Host is found
+     * @param host the Host to check
+     * @return true if VMs have to be migrated from the underloaded Host, false otherwise
      */
-    private Host getUnderloadedHost(final Set<? extends Host> excludedHosts) {
-        return this.getHostList().stream()
-            .filter(host -> !excludedHosts.contains(host))
-            .filter(Host::isActive)
-            .filter(this::isHostUnderloaded)
-            .filter(host -> host.getVmsMigratingIn().isEmpty())
-            .filter(this::notAllVmsAreMigratingOut)
-            .min(comparingDouble(Host::getCpuPercentUtilization))
-            .orElse(Host.NULL);
+    private boolean isUnderloadedSourceHost(final Host host) {
+        return host.isActive() &&
+               isHostUnderloaded(host) &&
+               host.getVmsMigratingIn().isEmpty() &&
+               notAllVmsAreMigratingOut(host);
     }
 
     private double getHostCpuPercentRequested(final Host host) {
@@ -574,13 +573,14 @@ public abstract class VmAllocationPolicyMigrationAbstract extends VmAllocationPo
     }
 
     /**
-     * Gets the total MIPS that is currently being used by all VMs inside the Host.
+     * Gets the total MIPS that is currently being requested by all VMs inside the Host,
+     * including the MIPS capacity of VMs planned to migrate into it.
      * @param host
      * @return
      */
     private double getHostTotalRequestedMips(final Host host) {
-        return host.getVmList().stream()
-            .mapToDouble(Vm::getCurrentRequestedTotalMips)
+        return getHostVmList(host).stream()
+            .mapToDouble(vm -> placementPlan.isAdded(host, vm) ? vm.getTotalMipsCapacity() : vm.getCurrentRequestedTotalMips())
             .sum();
     }
 
@@ -593,57 +593,51 @@ public abstract class VmAllocationPolicyMigrationAbstract extends VmAllocationPo
      * @return true if at least one VM isn't migrating, false if all VMs are migrating
      */
     private boolean notAllVmsAreMigratingOut(final Host host) {
-        return host.getVmList().stream().anyMatch(vm -> !vm.isInMigration());
+        return getHostVmList(host).stream().anyMatch(vm -> !vm.isInMigration());
     }
 
     /**
-     * Saves the current map between a VM and the host where it is placed.
+     * Gets the list of VMs of a Host, considering the VM migrations being planned.
+     * If no migration is being planned, it's the actual Host VM list.
      *
-     * @see #savedAllocation
+     * @param host the Host to get the VM list
+     * @return the Host VM list (which must not be changed)
+     * @see #getOptimizedAllocationMap(List)
      */
-    private void saveAllocation() {
-        savedAllocation.clear();
-        for (final Host host : getHostList()) {
-            for (final Vm vm : host.getVmList()) {
-                /* TODO: this VM loop has a quadratic wost-case complexity (when
-                    all Vms already in the VM list are migrating into this Host).
-                *  Instead of looping over the vmsMigratingIn list for every VM,
-                *  we could add a Host migratingIn attribute to the Vm.
-                * Then, for every VM on the Host, we check this VM attribute
-                * to see if the VM is migrating into the Host. */
-                if (!host.getVmsMigratingIn().contains(vm)) {
-                    savedAllocation.put(vm, host);
-                }
-            }
-        }
+    protected List<Vm> getHostVmList(final Host host) {
+        return placementPlan.getVmList(host);
     }
 
     /**
-     * Restore VM allocation from the allocation history.
-     *  TODO: The allocation map only needs to be restored because
-     *  VMs are destroyed in order to assess a new VM placement.
-     *  After fixing this issue, there will be no need to restore VM mapping.
-     *  https://github.com/manoelcampos/cloudsim-plus/issues/94
+     * Gets the CPU utilization of a Host in MIPS, considering the VM migrations being planned.
+     * If no migration is being planned, it's the actual Host CPU utilization.
      *
-     * @see #savedAllocation
+     * @param host the Host to get the CPU utilization
+     * @return the Host CPU utilization in MIPS
+     * @see Host#getCpuMipsUtilization()
      */
-    private void restoreAllocation() {
-        for (final Host host : getHostList()) {
-            host.destroyAllVms();
-            host.reallocateMigratingInVms();
-        }
+    protected double getHostCpuMipsUtilization(final Host host) {
+        return placementPlan.getCpuMipsUtilization(host);
+    }
 
-        for (final Vm vm : savedAllocation.keySet()) {
-            final Host host = savedAllocation.get(vm);
-            if (host.createTemporaryVm(vm))
-                vm.setCreated(true);
-            else LOGGER.error("VmAllocationPolicy: Couldn't restore {} on {}", vm, host);
-        }
+    /**
+     * Gets the CPU utilization percentage of a Host (in scale from 0 to 1),
+     * considering the VM migrations being planned.
+     * If no migration is being planned, it's the actual Host CPU utilization.
+     *
+     * @param host the Host to get the CPU utilization
+     * @return the Host CPU utilization percentage
+     * @see Host#getCpuPercentUtilization()
+     */
+    protected double getHostCpuPercentUtilization(final Host host) {
+        return placementPlan.getCpuPercentUtilization(host);
     }
 
     /**
      * Gets the power consumption of a host after the supposed placement of a candidate VM.
      * The VM is not in fact placed at the host.
+     * Since this method is called for every candidate Host, the power consumption is got from the
+     * {@link org.cloudbus.cloudsim.power.models.PowerModel#getPowerFromLookupTable(double) power model lookup table}.
      *
      * @param host the host to check the power consumption
      * @param vm the candidate vm
@@ -653,7 +647,7 @@ public abstract class VmAllocationPolicyMigrationAbstract extends VmAllocationPo
      */
     protected double getPowerAfterAllocation(final Host host, final Vm vm) {
         try {
-            return host.getPowerModel().getPower(getMaxUtilizationAfterAllocation(host, vm));
+            return host.getPowerModel().getPowerFromLookupTable(getMaxUtilizationAfterAllocation(host, vm));
         } catch (IllegalArgumentException e) {
             LOGGER.error("Power consumption for {} could not be determined: {}", host, e.getMessage());
         }
@@ -687,7 +681,12 @@ public abstract class VmAllocationPolicyMigrationAbstract extends VmAllocationPo
      */
     protected double getUtilizationOfCpuMips(final Host host) {
         double hostUtilizationMips = 0;
-        for (final Vm vm : host.getVmList()) {
+        for (final Vm vm : getHostVmList(host)) {
+            if (placementPlan.isAdded(host, vm)) {
+                hostUtilizationMips += vm.getTotalMipsCapacity();
+                continue;
+            }
+
             final double additionalMips = additionalCpuUtilizationDuringMigration(host, vm);
             hostUtilizationMips += additionalMips + host.getTotalAllocatedMipsForVm(vm);
         }
@@ -711,6 +710,25 @@ public abstract class VmAllocationPolicyMigrationAbstract extends VmAllocationPo
         return host.getTotalAllocatedMipsForVm(vm) * maxCpuUtilization / migrationOverhead;
     }
 
+    /**
+     * Sets the shadow model of the VM placement to be used when planning VM migrations.
+     * It enables a policy used as fallback by another one to share the same plan,
+     * so that both see the same planned VM placement.
+     *
+     * @param placementPlan the plan to set
+     */
+    final void setPlacementPlan(final VmPlacementPlan placementPlan) {
+        this.placementPlan = Objects.requireNonNull(placementPlan);
+    }
+
+    /**
+     * Gets the shadow model of the VM placement used when planning VM migrations.
+     * @return
+     */
+    final VmPlacementPlan getPlacementPlan() {
+        return placementPlan;
+    }
+
     @Override
     public final void setVmSelectionPolicy(final VmSelectionPolicy vmSelectionPolicy) {
         this.vmSelectionPolicy = Objects.requireNonNull(vmSelectionPolicy);
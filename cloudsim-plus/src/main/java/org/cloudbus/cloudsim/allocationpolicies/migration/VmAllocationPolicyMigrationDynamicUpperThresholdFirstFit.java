@@ -2,8 +2,11 @@ package org.cloudbus.cloudsim.allocationpolicies.migration;
 
 import org.cloudbus.cloudsim.hosts.Host;
 import org.cloudbus.cloudsim.selectionpolicies.VmSelectionPolicy;
+import org.cloudbus.cloudsim.util.SlidingWindowStatistics;
 
+import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * An abstract class that is the base for implementation of VM allocation policies which use
@@ -27,6 +30,17 @@ public abstract class VmAllocationPolicyMigrationDynamicUpperThresholdFirstFit e
      */
     private VmAllocationPolicyMigration fallbackVmAllocationPolicy;
 
+    /** @see #getHostUtilizationWindowSize() */
+    private int hostUtilizationWindowSize;
+
+    /**
+     * A map where each key is a Host and each value is the window
+     * containing the latest values of its utilization history.
+     * It's a concurrent map since Hosts may be checked in parallel.
+     * @see #getHostUtilizationWindow(Host)
+     */
+    private final Map<Host, HostUtilizationWindow> hostUtilizationWindows;
+
     /**
      * Creates a VmAllocationPolicyMigrationDynamicUpperThreshold
      * with a {@link #getSafetyParameter() safety parameter} equals to 0
@@ -52,6 +66,8 @@ public abstract class VmAllocationPolicyMigrationDynamicUpperThresholdFirstFit e
         final VmAllocationPolicyMigration fallbackVmAllocationPolicy)
     {
         super(vmSelectionPolicy);
+        this.hostUtilizationWindows = new ConcurrentHashMap<>();
+        this.hostUtilizationWindowSize = Integer.MAX_VALUE;
         setSafetyParameter(safetyParameter);
         setFallbackVmAllocationPolicy(fallbackVmAllocationPolicy);
     }
@@ -112,10 +128,67 @@ public abstract class VmAllocationPolicyMigrationDynamicUpperThresholdFirstFit e
     @Override
     public final void setFallbackVmAllocationPolicy(final VmAllocationPolicyMigration fallbackPolicy) {
         this.fallbackVmAllocationPolicy = Objects.requireNonNull(fallbackPolicy);
+        /*The fallback policy may be asked if a Host is overloaded while VM migrations are being planned.
+        * This way, it has to see the same planned VM placement.*/
+        if(fallbackPolicy instanceof VmAllocationPolicyMigrationAbstract){
+            ((VmAllocationPolicyMigrationAbstract) fallbackPolicy).setPlacementPlan(getPlacementPlan());
+        }
     }
 
     @Override
     public VmAllocationPolicyMigration getFallbackVmAllocationPolicy() {
         return fallbackVmAllocationPolicy;
     }
+
+    /**
+     * Gets the maximum number of the latest Host utilization history values
+     * used to compute the {@link #computeHostUtilizationMeasure(Host) Host utilization measure}.
+     * The default value is {@link Integer#MAX_VALUE}, meaning that the entire history is used
+     * (as it was before such a window was introduced).
+     *
+     * <p>Since the window keeps its values sorted, adding a value costs O(w),
+     * where w is the number of values inside the window
+     * (due to the array copy that opens room for the new value).
+     * This way, with the default unbounded window, the cost of each overload check
+     * grows with the Host history. For long simulations, consider
+     * {@link #setHostUtilizationWindowSize(int) limiting the window size}.</p>
+     * @return
+     */
+    public int getHostUtilizationWindowSize() {
+        return hostUtilizationWindowSize;
+    }
+
+    /**
+     * Sets the maximum number of the latest Host utilization history values
+     * used to compute the {@link #computeHostUtilizationMeasure(Host) Host utilization measure}.
+     * Limiting such a number bounds the memory and time required to compute that measure
+     * for Hosts with a long history.
+     *
+     * @param hostUtilizationWindowSize the maximum number of history values to set
+     * @return
+     */
+    public final VmAllocationPolicyMigrationDynamicUpperThresholdFirstFit setHostUtilizationWindowSize(final int hostUtilizationWindowSize) {
+        if (hostUtilizationWindowSize <= 0) {
+            throw new IllegalArgumentException("The Host utilization window size must be greater than zero.");
+        }
+
+        this.hostUtilizationWindowSize = hostUtilizationWindowSize;
+        hostUtilizationWindows.clear();
+        return this;
+    }
+
+    /**
+     * Gets the statistics for the latest values of the {@link Host#getUtilizationHistorySum() Host utilization history},
+     * up to the {@link #getHostUtilizationWindowSize() window size}.
+     * The window is kept for each Host and updated with the history entries collected since the last call,
+     * instead of rebuilding the entire history at every call.
+     *
+     * @param host the Host to get the utilization history statistics
+     * @return the statistics for the Host utilization history window
+     */
+    protected SlidingWindowStatistics getHostUtilizationWindow(final Host host) {
+        return hostUtilizationWindows
+                    .computeIfAbsent(host, key -> new HostUtilizationWindow(key, hostUtilizationWindowSize))
+                    .update();
+    }
 }
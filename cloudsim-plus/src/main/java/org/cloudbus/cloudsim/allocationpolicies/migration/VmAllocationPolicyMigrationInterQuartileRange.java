@@ -10,7 +10,7 @@ package org.cloudbus.cloudsim.allocationpolicies.migration;
 
 import org.cloudbus.cloudsim.hosts.Host;
 import org.cloudbus.cloudsim.selectionpolicies.VmSelectionPolicy;
-import org.cloudbus.cloudsim.util.MathUtil;
+import org.cloudbus.cloudsim.util.SlidingWindowStatistics;
 
 /**
  * A VM allocation policy that uses <a href="https://en.wikipedia.org/wiki/Interquartile_range">Inter Quartile Range (IQR)</a> to compute
@@ -74,9 +74,9 @@ public class VmAllocationPolicyMigrationInterQuartileRange extends VmAllocationP
      */
     @Override
     public double computeHostUtilizationMeasure(final Host host) throws IllegalStateException {
-        final double[] cpuUsageArray = getHostCpuUsageArray(host);
-        if (MathUtil.countNonZeroBeginning(cpuUsageArray) >= MIN_HISTORY_ENTRIES_FOR_IRQ) {
-            return MathUtil.iqr(cpuUsageArray);
+        final SlidingWindowStatistics utilizationWindow = getHostUtilizationWindow(host);
+        if (utilizationWindow.countNonZeroBeginning() >= MIN_HISTORY_ENTRIES_FOR_IRQ) {
+            return utilizationWindow.iqr();
         }
 
         throw new IllegalStateException("There is not enough Host history to compute Host utilization IRQ");
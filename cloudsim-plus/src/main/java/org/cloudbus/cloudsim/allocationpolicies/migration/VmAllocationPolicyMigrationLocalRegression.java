@@ -11,13 +11,9 @@ package org.cloudbus.cloudsim.allocationpolicies.migration;
 import org.cloudbus.cloudsim.hosts.Host;
 import org.cloudbus.cloudsim.resources.Resource;
 import org.cloudbus.cloudsim.selectionpolicies.VmSelectionPolicy;
-import org.cloudbus.cloudsim.util.MathUtil;
+import org.cloudbus.cloudsim.util.SlidingWindowStatistics;
 import org.cloudbus.cloudsim.vms.Vm;
 
-import java.util.Comparator;
-import java.util.DoubleSummaryStatistics;
-import java.util.Map;
-
 /**
  * A VM allocation policy that uses <a href="https://en.wikipedia.org/wiki/Local_regression">Local Regression (LR)</a> to predict host utilization (load)
  * and define if a host is overloaded or not.
@@ -39,6 +35,12 @@ import java.util.Map;
  * @since CloudSim Toolkit 3.0
  */
 public class VmAllocationPolicyMigrationLocalRegression extends VmAllocationPolicyMigrationDynamicUpperThresholdFirstFit {
+    /**
+     * The default number of the latest Host utilization history values used for the regression.
+     * 10 makes the regression responsive enough to latest values.
+     * @see #setHostUtilizationWindowSize(int)
+     */
+    public static final int DEF_HOST_UTILIZATION_WINDOW_SIZE = 10;
 
     /**
      * @see #getSchedulingInterval()
@@ -54,6 +56,7 @@ public class VmAllocationPolicyMigrationLocalRegression extends VmAllocationPoli
      */
     public VmAllocationPolicyMigrationLocalRegression(final VmSelectionPolicy vmSelectionPolicy) {
         super(vmSelectionPolicy);
+        setHostUtilizationWindowSize(DEF_HOST_UTILIZATION_WINDOW_SIZE);
     }
 
     /**
@@ -70,6 +73,7 @@ public class VmAllocationPolicyMigrationLocalRegression extends VmAllocationPoli
         final VmAllocationPolicyMigration fallbackVmAllocationPolicy)
     {
         super(vmSelectionPolicy, safetyParameter, fallbackVmAllocationPolicy);
+        setHostUtilizationWindowSize(DEF_HOST_UTILIZATION_WINDOW_SIZE);
     }
 
     /**
@@ -109,6 +113,8 @@ public class VmAllocationPolicyMigrationLocalRegression extends VmAllocationPoli
     /**
      * Computes a Local Regression of the host utilization history to <b>estimate</b> the current host utilization.
      * Such a value is used to generate the host over utilization threshold.
+     * The regression uses the latest {@link #getHostUtilizationWindowSize()} values of the history,
+     * which must be available.
      *
      * @param host the host
      * @return the host utilization Local Regression
@@ -116,34 +122,25 @@ public class VmAllocationPolicyMigrationLocalRegression extends VmAllocationPoli
      */
     @Override
     public double computeHostUtilizationMeasure(final Host host) throws IllegalStateException {
-        final int length = 10; // we use 10 to make the regression responsive enough to latest values
-
-        final Comparator<Map.Entry<Double, DoubleSummaryStatistics>> keyComparator = Comparator.comparingDouble(Map.Entry::getKey);
-        final double[] utilizationHistoryReversed = host.getUtilizationHistory()
-            .entrySet()
-            .stream()
-            .sorted(keyComparator.reversed())
-            .limit(length)
-            .mapToDouble(entry -> entry.getValue().getSum())
-            .toArray();
-
-        if (utilizationHistoryReversed.length < length) {
+        final SlidingWindowStatistics utilizationWindow = getHostUtilizationWindow(host);
+        if (!utilizationWindow.isFull()) {
             throw new IllegalStateException("There is not enough Host history to estimate its utilization using Local Regression");
         }
 
-        final double[] estimates = getParameterEstimates(utilizationHistoryReversed);
+        final double[] estimates = getParameterEstimates(utilizationWindow);
         final double migrationIntervals = Math.ceil(getMaximumVmMigrationTime(host) / getSchedulingInterval());
-        return estimates[0] + estimates[1] * (length + migrationIntervals);
+        return estimates[0] + estimates[1] * (utilizationWindow.size() + migrationIntervals);
     }
 
     /**
      * Gets utilization estimates.
      *
-     * @param utilizationHistoryReversed the utilization history in reverse order
+     * @param utilizationWindow the window with the latest values of the utilization history
      * @return the utilization estimates
+     * @see SlidingWindowStatistics#getLinearRegressionEstimates()
      */
-    protected double[] getParameterEstimates(final double... utilizationHistoryReversed) {
-        return MathUtil.getLoessParameterEstimates(utilizationHistoryReversed);
+    protected double[] getParameterEstimates(final SlidingWindowStatistics utilizationWindow) {
+        return utilizationWindow.getLinearRegressionEstimates();
     }
 
     /**
@@ -154,7 +151,7 @@ public class VmAllocationPolicyMigrationLocalRegression extends VmAllocationPoli
      */
     protected double getMaximumVmMigrationTime(final Host host) {
         //@TODO It must compute the migration time based on the current RAM usage, not the capacity.
-        final double maxRam = host.getVmList().stream()
+        final double maxRam = getHostVmList(host).stream()
             .map(Vm::getRam)
             .mapToDouble(Resource::getCapacity).max().orElse(0);
         return maxRam / (host.getBw().getCapacity() / (2.0 * 8.0));
@@ -10,6 +10,7 @@ package org.cloudbus.cloudsim.allocationpolicies.migration;
 
 import org.cloudbus.cloudsim.selectionpolicies.VmSelectionPolicy;
 import org.cloudbus.cloudsim.util.MathUtil;
+import org.cloudbus.cloudsim.util.SlidingWindowStatistics;
 
 /**
  * A VM allocation policy that uses Local Regression Robust (LRR) to predict host utilization (load)
@@ -61,12 +62,12 @@ public class VmAllocationPolicyMigrationLocalRegressionRobust extends VmAllocati
     /**
 	 * Gets the utilization estimates.
 	 *
-	 * @param reversedUsageHistory the utilization history in reverse order
+	 * @param utilizationWindow the window with the latest values of the utilization history
 	 * @return the utilization estimates
 	 */
 	@Override
-	protected double[] getParameterEstimates(final double[] reversedUsageHistory) {
-		return MathUtil.getRobustLoessParameterEstimates(reversedUsageHistory);
+	protected double[] getParameterEstimates(final SlidingWindowStatistics utilizationWindow) {
+		return MathUtil.getRobustLoessParameterEstimates(utilizationWindow.getValuesNewestFirst());
 	}
 
 }
@@ -10,7 +10,7 @@ package org.cloudbus.cloudsim.allocationpolicies.migration;
 
 import org.cloudbus.cloudsim.hosts.Host;
 import org.cloudbus.cloudsim.selectionpolicies.VmSelectionPolicy;
-import org.cloudbus.cloudsim.util.MathUtil;
+import org.cloudbus.cloudsim.util.SlidingWindowStatistics;
 
 /**
  * A VM allocation policy that uses <a href="https://en.wikipedia.org/wiki/Median_absolute_deviation">Median Absolute Deviation (MAD)</a>
@@ -74,9 +74,9 @@ public class VmAllocationPolicyMigrationMedianAbsoluteDeviation extends VmAlloca
      */
     @Override
     public double computeHostUtilizationMeasure(final Host host) throws IllegalStateException {
-        final double[] cpuUsageArray = getHostCpuUsageArray(host);
-        if (MathUtil.countNonZeroBeginning(cpuUsageArray) >= MIN_HISTORY_ENTRIES_FOR_MAD) {
-            return MathUtil.mad(cpuUsageArray);
+        final SlidingWindowStatistics utilizationWindow = getHostUtilizationWindow(host);
+        if (utilizationWindow.countNonZeroBeginning() >= MIN_HISTORY_ENTRIES_FOR_MAD) {
+            return utilizationWindow.mad();
         }
 
         throw new IllegalStateException("There is not enough Host history to compute Host utilization MAD");
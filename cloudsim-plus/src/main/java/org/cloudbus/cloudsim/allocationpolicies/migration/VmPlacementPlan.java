@@ -0,0 +1,207 @@
+package org.cloudbus.cloudsim.allocationpolicies.migration;
+
+import org.cloudbus.cloudsim.hosts.Host;
+import org.cloudbus.cloudsim.vms.Vm;
+
+import java.util.*;
+
+import static java.util.stream.Collectors.toList;
+
+/**
+ * A shadow model of the VM placement used while VM migrations are being planned.
+ * It keeps, for each Host changed by the plan, the list of VMs the Host would have
+ * and the resources reserved to VMs planned to migrate into it,
+ * without changing the actual state of any {@link Host} or {@link Vm}.
+ *
+ * <p>Hosts not changed by the plan are represented by their actual state.
+ * Resources of VMs planned to migrate into a Host are reserved
+ * according to the VMs capacity. Since a Host which VMs are planned to migrate out
+ * is never selected as a target Host, removing a VM from a Host doesn't release
+ * any resource.</p>
+ *
+ * @author Manoel Campos da Silva Filho
+ * @since CloudSim Plus 5.5.0
+ */
+final class VmPlacementPlan {
+    /** A map where each key is a Host changed by the plan and each value is the Host's planned state. */
+    private final Map<Host, HostPlan> hostPlans;
+
+    VmPlacementPlan() {
+        this.hostPlans = new HashMap<>();
+    }
+
+    /**
+     * Discards all planned changes.
+     */
+    void clear() {
+        hostPlans.clear();
+    }
+
+    /**
+     * Gets the list of VMs a Host will have if the plan is executed.
+     * @param host the Host to get the planned VM list
+     * @return the planned VM list (which must not be changed)
+     */
+    List<Vm> getVmList(final Host host) {
+        final HostPlan plan = hostPlans.get(host);
+        return plan == null ? host.getVmList() : plan.vmList;
+    }
+
+    /**
+     * Gets the VMs from a Host that are not in migration
+     * and were not planned to migrate out yet.
+     * @param host the Host to get the migratable VMs
+     * @return the list of migratable VMs
+     */
+    List<Vm> getMigratableVms(final Host host) {
+        final HostPlan plan = hostPlans.get(host);
+        if (plan == null) {
+            return host.getMigratableVms();
+        }
+
+        return plan.vmList.stream()
+                          .filter(vm -> !vm.isInMigration() && !plan.addedVms.contains(vm))
+                          .collect(toList());
+    }
+
+    /**
+     * Plans the removal of a VM from a Host.
+     * @param host the Host to remove the VM from
+     * @param vm the VM to remove
+     */
+    void removeVm(final Host host, final Vm vm) {
+        final HostPlan plan = getHostPlan(host);
+        plan.vmList.remove(vm);
+        plan.version++;
+    }
+
+    /**
+     * Plans the placement of a VM into a Host, reserving the resources the VM requires.
+     * @param host the Host to place the VM into
+     * @param vm the VM to place
+     */
+    void addVm(final Host host, final Vm vm) {
+        final HostPlan plan = getHostPlan(host);
+        plan.vmList.add(vm);
+        plan.addedVms.add(vm);
+        plan.reservedRam += vm.getRam().getCapacity();
+        plan.reservedBw += vm.getBw().getCapacity();
+        plan.reservedStorage += vm.getStorage().getCapacity();
+        plan.reservedMips.addAll(getMipsCapacityList(vm));
+        plan.version++;
+    }
+
+    /**
+     * Gets the number of changes planned for a Host,
+     * which enables checking if the planned state of the Host has changed
+     * since a previous call, without comparing the state itself.
+     *
+     * @param host the Host to get the number of planned changes
+     * @return the number of planned changes (0 if no change was planned for the Host)
+     */
+    int getVersion(final Host host) {
+        final HostPlan plan = hostPlans.get(host);
+        return plan == null ? 0 : plan.version;
+    }
+
+    /**
+     * Checks if a VM was planned to be placed into a Host.
+     * @param host the Host to check
+     * @param vm the VM to check
+     * @return true if the VM was planned to be placed into the Host, false otherwise
+     */
+    boolean isAdded(final Host host, final Vm vm) {
+        final HostPlan plan = hostPlans.get(host);
+        return plan != null && plan.addedVms.contains(vm);
+    }
+
+    /**
+     * Checks if a Host has enough resources to place a VM,
+     * considering the resources already reserved by the plan.
+     * @param host the Host to check
+     * @param vm the VM to check
+     * @return true if the VM can be placed into the Host, false otherwise
+     */
+    boolean isSuitableForVm(final Host host, final Vm vm) {
+        final HostPlan plan = hostPlans.get(host);
+        if (plan == null) {
+            return isSuitableForVm(host, vm, 0, 0, 0, Collections.emptyList());
+        }
+
+        return isSuitableForVm(host, vm, plan.reservedRam, plan.reservedBw, plan.reservedStorage, plan.reservedMips);
+    }
+
+    private boolean isSuitableForVm(
+        final Host host, final Vm vm,
+        final long reservedRam, final long reservedBw, final long reservedStorage,
+        final List<Double> reservedMips)
+    {
+        return host.getStorage().getAvailableResource() - reservedStorage >= vm.getStorage().getCapacity() &&
+               host.getRam().getAvailableResource() - reservedRam >= vm.getRam().getCapacity() &&
+               host.getBw().getAvailableResource() - reservedBw >= vm.getBw().getCapacity() &&
+               host.getVmScheduler().isSuitableForVm(vm, getMipsCapacityList(vm), reservedMips);
+    }
+
+    /**
+     * Gets the total CPU MIPS utilization of the VMs a Host will have if the plan is executed.
+     * @param host the Host to get the planned CPU utilization
+     * @return the planned CPU utilization in MIPS
+     */
+    double getCpuMipsUtilization(final Host host) {
+        final HostPlan plan = hostPlans.get(host);
+        if (plan == null) {
+            return host.getCpuMipsUtilization();
+        }
+
+        return plan.vmList.stream().mapToDouble(Vm::getTotalCpuMipsUtilization).sum();
+    }
+
+    /**
+     * Gets the CPU utilization percentage (in scale from 0 to 1)
+     * of the VMs a Host will have if the plan is executed.
+     * @param host the Host to get the planned CPU utilization
+     * @return the planned CPU utilization percentage
+     */
+    double getCpuPercentUtilization(final Host host) {
+        if (!hostPlans.containsKey(host)) {
+            return host.getCpuPercentUtilization();
+        }
+
+        final double totalMips = host.getTotalMipsCapacity();
+        if (totalMips == 0) {
+            return 0;
+        }
+
+        final double utilization = getCpuMipsUtilization(host) / totalMips;
+        return utilization > 1 && utilization < 1.01 ? 1 : utilization;
+    }
+
+    private List<Double> getMipsCapacityList(final Vm vm) {
+        return Collections.nCopies((int) vm.getNumberOfPes(), vm.getMips());
+    }
+
+    private HostPlan getHostPlan(final Host host) {
+        return hostPlans.computeIfAbsent(host, HostPlan::new);
+    }
+
+    /**
+     * The planned state of a Host.
+     */
+    private static final class HostPlan {
+        private final List<Vm> vmList;
+        private final Set<Vm> addedVms;
+        private final List<Double> reservedMips;
+        private long reservedRam;
+        private long reservedBw;
+        private long reservedStorage;
+
+        /** @see #getVersion(Host) */
+        private int version;
+
+        private HostPlan(final Host host) {
+            this.vmList = new ArrayList<>(host.getVmList());
+            this.addedVms = new HashSet<>();
+            this.reservedMips = new ArrayList<>();
+        }
+    }
+}
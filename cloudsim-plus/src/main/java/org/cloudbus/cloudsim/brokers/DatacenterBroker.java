@@ -67,8 +67,8 @@ public interface DatacenterBroker extends SimEntity {
     boolean bindCloudletToVm(Cloudlet cloudlet, Vm vm);
 
     /**
-     * Gets the list of cloudlets submitted to the broker that are waiting to be created inside
-     * some Vm yet.
+     * Gets a <b>copy</b> of the list of cloudlets submitted to the broker that are waiting to be created inside
+     * some Vm yet, to avoid the original list to be changed.
      *
      * @param <T> the class of Cloudlets inside the list
      * @return the cloudlet waiting list
@@ -446,4 +446,31 @@ public interface DatacenterBroker extends SimEntity {
      * </ul>
      */
     void setRetryFailedVms(boolean retryFailedVms);
+
+    /**
+     * Checks if the broker requests the creation of waiting VMs in batches.
+     * @return
+     * @see #setBatchVmCreation(boolean)
+     */
+    boolean isBatchVmCreation();
+
+    /**
+     * Sets if the broker requests the creation of waiting VMs in batches.
+     *
+     * Setting the attribute to:
+     * <ul>
+     *  <li>{@code true}, all VMs selected for the same Datacenter and having the same
+     *  {@link Vm#getSubmissionDelay() submission delay} are sent in a single request.
+     *  The Datacenter then allocates Hosts for all of them at once,
+     *  which is much faster when a large number of VMs is submitted.
+     *  Since the {@link org.cloudbus.cloudsim.allocationpolicies.VmAllocationPolicy}
+     *  may place such VMs in a different order (for instance, from the largest to the smallest one),
+     *  the resulting placement may be different from the one obtained when VMs are requested individually.</li>
+     * <li>{@code false} (default), the creation of each VM is requested individually,
+     * in the order they are in the {@link #getVmWaitingList()}.</li>
+     * </ul>
+     *
+     * @see org.cloudbus.cloudsim.allocationpolicies.VmAllocationPolicy#allocateHostForVmList(List)
+     */
+    void setBatchVmCreation(boolean batchVmCreation);
 }
@@ -14,7 +14,9 @@ import org.cloudbus.cloudsim.core.events.CloudSimEvent;
 import org.cloudbus.cloudsim.core.events.SimEvent;
 import org.cloudbus.cloudsim.datacenters.Datacenter;
 import org.cloudbus.cloudsim.datacenters.TimeZoned;
+import org.cloudbus.cloudsim.network.WanNetwork;
 import org.cloudbus.cloudsim.schedulers.cloudlet.CloudletScheduler;
+import org.cloudbus.cloudsim.util.Conversion;
 import org.cloudbus.cloudsim.utilizationmodels.UtilizationModel;
 import org.cloudbus.cloudsim.vms.Vm;
 import org.cloudbus.cloudsim.vms.VmGroup;
@@ -76,6 +78,9 @@ public abstract class DatacenterBrokerAbstract extends CloudSimEntity implements
     /** @see #isRetryFailedVms() */
     private boolean retryFailedVms;
 
+    /** @see #isBatchVmCreation() */
+    private boolean batchVmCreation;
+
     /** @see #getVmFailedList() */
     private final List<Vm> vmFailedList;
 
@@ -88,8 +93,52 @@ public abstract class DatacenterBrokerAbstract extends CloudSimEntity implements
     /** @see #getVmCreatedList() */
     private final List<Vm> vmCreatedList;
 
-    /** @see #getCloudletWaitingList() */
-    private final List<Cloudlet> cloudletWaitingList;
+    /**
+     * The Cloudlets waiting to be created inside some VM.
+     * It's a {@link LinkedHashSet} so that created Cloudlets are removed in constant time,
+     * keeping the submission order.
+     * @see #getCloudletWaitingList()
+     */
+    private final Set<Cloudlet> cloudletWaitingList;
+
+    /**
+     * The Cloudlets from the {@link #cloudletWaitingList} which have to be mapped to a VM
+     * the next time {@link #requestDatacentersToCreateWaitingCloudlets()} is called.
+     * It doesn't include the Cloudlets in the {@link #cloudletsWaitingVmMap}
+     * or in the {@link #unboundCloudletsWaitingVmList}
+     * and is a LinkedList so that Cloudlets are removed in constant time while iterating over it.
+     */
+    private final List<Cloudlet> cloudletsToMapList;
+
+    /**
+     * A map where each key is a VM which is not created yet
+     * and each value is the list of waiting Cloudlets bound to that VM.
+     * This way, such Cloudlets are just examined again when their VM is created.
+     * @see #vmsReadyForWaitingCloudletsList
+     */
+    private final Map<Vm, List<Cloudlet>> cloudletsWaitingVmMap;
+
+    /**
+     * The VMs from the {@link #cloudletsWaitingVmMap} that were created since
+     * the last time {@link #requestDatacentersToCreateWaitingCloudlets()} was called.
+     */
+    private final List<Vm> vmsReadyForWaitingCloudletsList;
+
+    /**
+     * The waiting Cloudlets not bound to a VM which were postponed because the
+     * {@link #setVmMapper(Function) VM mapper} selected a VM that isn't created yet.
+     * They are just mapped again after some VM is created,
+     * since the mapper may select such a VM then.
+     * @see #vmCreatedForUnboundCloudlets
+     */
+    private final List<Cloudlet> unboundCloudletsWaitingVmList;
+
+    /**
+     * Indicates if some VM was created since the last time
+     * {@link #requestDatacentersToCreateWaitingCloudlets()} was called,
+     * so that the Cloudlets in the {@link #unboundCloudletsWaitingVmList} have to be mapped again.
+     */
+    private boolean vmCreatedForUnboundCloudlets;
 
     /** @see #getCloudletSubmittedList() */
     private final List<Cloudlet> cloudletSubmittedList;
@@ -134,6 +183,11 @@ public abstract class DatacenterBrokerAbstract extends CloudSimEntity implements
      */
     private Function<Vm, Double> vmDestructionDelayFunction;
 
+    /**
+     * @see #getWanNetwork()
+     */
+    private WanNetwork wanNetwork;
+
     /**
      * Creates a DatacenterBroker giving a specific name.
      * Subclasses usually should provide this constructor and
@@ -162,7 +216,11 @@ public abstract class DatacenterBrokerAbstract extends CloudSimEntity implements
         this.vmWaitingList = new ArrayList<>();
         this.vmExecList = new ArrayList<>();
         this.vmCreatedList = new ArrayList<>();
-        this.cloudletWaitingList = new ArrayList<>();
+        this.cloudletWaitingList = new LinkedHashSet<>();
+        this.cloudletsToMapList = new LinkedList<>();
+        this.cloudletsWaitingVmMap = new HashMap<>();
+        this.vmsReadyForWaitingCloudletsList = new ArrayList<>();
+        this.unboundCloudletsWaitingVmList = new ArrayList<>();
         this.cloudletsFinishedList = new ArrayList<>();
         this.cloudletsCreatedList = new ArrayList<>();
         this.cloudletSubmittedList = new ArrayList<>();
@@ -331,6 +389,7 @@ public abstract class DatacenterBrokerAbstract extends CloudSimEntity implements
         cloudletSubmittedList.addAll(list);
         setSimulationForCloudletUtilizationModels(list);
         cloudletWaitingList.addAll(list);
+        cloudletsToMapList.addAll(list);
         wereThereWaitingCloudlets = true;
 
         if (!isStarted()) {
@@ -697,12 +756,20 @@ public abstract class DatacenterBrokerAbstract extends CloudSimEntity implements
      * @see #submitVmList(java.util.List)
      */
     private boolean requestDatacenterToCreateWaitingVms(final boolean isFallbackDatacenter) {
+        /* Each key is a Datacenter and each value is a map
+         * where each key is a submission delay and each value is the batch of VMs with such a delay. */
+        final Map<Datacenter, Map<Double, List<Vm>>> batches = new LinkedHashMap<>();
         for (final Vm vm : vmWaitingList) {
             this.lastSelectedDc = isFallbackDatacenter && selectClosestDatacenter ?
                                         defaultDatacenterMapper(lastSelectedDc, vm) :
                                         datacenterMapper.apply(lastSelectedDc, vm);
-            this.vmCreationRequests += requestVmCreation(lastSelectedDc, isFallbackDatacenter, vm);
+            this.vmCreationRequests += batchVmCreation ?
+                                            addVmToCreationBatch(batches, lastSelectedDc, isFallbackDatacenter, vm) :
+                                            requestVmCreation(lastSelectedDc, isFallbackDatacenter, vm);
         }
+
+        batches.forEach((datacenter, batchesByDelay) ->
+            batchesByDelay.forEach((delay, vmList) -> send(datacenter, delay, CloudSimTags.VM_CREATE_BATCH, vmList)));
         return lastSelectedDc != Datacenter.NULL;
     }
 
@@ -734,6 +801,7 @@ public abstract class DatacenterBrokerAbstract extends CloudSimEntity implements
 
             if(createdVms == vmGroup.size()){
                 vmWaitingList.remove(vmGroup);
+                addVmReadyForWaitingCloudlets(vmGroup);
             }
 
             return;
@@ -742,6 +810,19 @@ public abstract class DatacenterBrokerAbstract extends CloudSimEntity implements
         vmWaitingList.remove(vm);
         vmExecList.add(vm);
         vmCreatedList.add(vm);
+        addVmReadyForWaitingCloudlets(vm);
+        vmCreatedForUnboundCloudlets = true;
+    }
+
+    /**
+     * Adds a just created VM to the {@link #vmsReadyForWaitingCloudletsList}
+     * if there are Cloudlets waiting for it.
+     * @param vm the created VM
+     */
+    private void addVmReadyForWaitingCloudlets(final Vm vm) {
+        if(cloudletsWaitingVmMap.containsKey(vm)) {
+            vmsReadyForWaitingCloudletsList.add(vm);
+        }
     }
 
     /**
@@ -896,6 +977,35 @@ public abstract class DatacenterBrokerAbstract extends CloudSimEntity implements
         return 1;
     }
 
+    /**
+     * Adds a VM to the batch of VMs to be requested to be created into a given datacenter,
+     * according to its submission delay.
+     * @param batches a map where each key is a Datacenter and each value is a map
+     *                containing the batches of VMs for each submission delay
+     * @param datacenter the Datacenter to try creating the VM (or {@link Datacenter#NULL} if not Datacenter is available)
+     * @param isFallbackDatacenter indicate if the given Datacenter was selected when
+     *                             a previous one don't have enough capacity to place the requested VM
+     * @param vm the VM to be placed
+     * @return 1 to indicate a VM creation request will be sent to the datacenter,
+     *         0 to indicate the request will not be sent due to lack of available datacenter
+     * @see #setBatchVmCreation(boolean)
+     */
+    private int addVmToCreationBatch(
+        final Map<Datacenter, Map<Double, List<Vm>>> batches,
+        final Datacenter datacenter, final boolean isFallbackDatacenter, final Vm vm)
+    {
+        if (datacenter == Datacenter.NULL || datacenter.equals(vm.getLastTriedDatacenter())) {
+            return 0;
+        }
+
+        logVmCreationRequest(datacenter, isFallbackDatacenter, vm);
+        batches.computeIfAbsent(datacenter, key -> new LinkedHashMap<>())
+               .computeIfAbsent(vm.getSubmissionDelay(), key -> new ArrayList<>())
+               .add(vm);
+        vm.setLastTriedDatacenter(datacenter);
+        return 1;
+    }
+
     private void logVmCreationRequest(final Datacenter datacenter, final boolean isFallbackDatacenter, final Vm vm) {
         final String fallbackMsg = isFallbackDatacenter ? " (due to lack of a suitable Host in previous one)" : "";
         if(vm.getSubmissionDelay() == 0)
@@ -918,41 +1028,118 @@ public abstract class DatacenterBrokerAbstract extends CloudSimEntity implements
      * <p>This method is called after all submitted VMs are created
      * in some Datacenter.</p>
      *
+     * <p>Cloudlets bound to a VM which is not created yet are indexed by that VM
+     * and just examined again when it's created.
+     * This way, the method doesn't map the same postponed Cloudlets again and again,
+     * which would degrade performance in large scale simulations.</p>
+     *
      * @see #submitCloudletList(java.util.List)
      */
     protected void requestDatacentersToCreateWaitingCloudlets() {
-        /* Uses Iterator to remove Cloudlets from the waiting list
-         * while iterating over that List. This avoids the collection of successfully
-         * created Cloudlets into a separate list.
-         * Cloudlets in such new list were removed just after the loop,
-         * degrading performance in large scale simulations. */
-        for (final Iterator<Cloudlet> it = cloudletWaitingList.iterator(); it.hasNext(); ) {
+        for (final Vm vm : vmsReadyForWaitingCloudletsList) {
+            final List<Cloudlet> cloudlets = cloudletsWaitingVmMap.remove(vm);
+            if(cloudlets != null) {
+                cloudletsToMapList.addAll(cloudlets);
+            }
+        }
+        vmsReadyForWaitingCloudletsList.clear();
+
+        if(vmCreatedForUnboundCloudlets) {
+            cloudletsToMapList.addAll(unboundCloudletsWaitingVmList);
+            unboundCloudletsWaitingVmList.clear();
+            vmCreatedForUnboundCloudlets = false;
+        }
+
+        /* Uses Iterator to remove Cloudlets from the list to map
+         * while iterating over that List. Created Cloudlets are removed
+         * from the waiting list in constant time, so that the cost of this method
+         * depends just on the number of Cloudlets to map. */
+        for (final Iterator<Cloudlet> it = cloudletsToMapList.iterator(); it.hasNext(); ) {
             final CloudletSimple cloudlet = (CloudletSimple)it.next();
             if (!cloudlet.getLastTriedDatacenter().equals(Datacenter.NULL)) {
                 continue;
             }
 
-            //selects a VM for the given Cloudlet
-            lastSelectedVm = vmMapper.apply(cloudlet);
-            if (!lastSelectedVm.isCreated()) {
-                logPostponingCloudletExecution(cloudlet);
-                continue;
+            if (requestDatacenterToCreateCloudlet(cloudlet)) {
+                cloudletWaitingList.remove(cloudlet);
+            } else if (!addCloudletWaitingVm(cloudlet)) {
+                unboundCloudletsWaitingVmList.add(cloudlet);
             }
 
-            ((VmSimple) lastSelectedVm).removeExpectedFreePesNumber(cloudlet.getNumberOfPes());
-
-            logCloudletCreationRequest(cloudlet);
-            cloudlet.setVm(lastSelectedVm);
-            send(getDatacenter(lastSelectedVm),
-                cloudlet.getSubmissionDelay(), CloudSimTags.CLOUDLET_SUBMIT, cloudlet);
-            cloudlet.setLastTriedDatacenter(getDatacenter(lastSelectedVm));
-            cloudletsCreatedList.add(cloudlet);
             it.remove();
         }
 
         allWaitingCloudletsSubmittedToVm();
     }
 
+    /**
+     * Request the Datacenter of the VM selected by the {@link #setVmMapper(Function) VM mapper}
+     * to create a given Cloudlet.
+     *
+     * @param cloudlet the Cloudlet to be created
+     * @return true if the Cloudlet creation was requested,
+     *         false if it was postponed because the selected VM isn't created yet
+     */
+    private boolean requestDatacenterToCreateCloudlet(final CloudletSimple cloudlet) {
+        //selects a VM for the given Cloudlet
+        lastSelectedVm = vmMapper.apply(cloudlet);
+        if (!lastSelectedVm.isCreated()) {
+            logPostponingCloudletExecution(cloudlet);
+            return false;
+        }
+
+        ((VmSimple) lastSelectedVm).removeExpectedFreePesNumber(cloudlet.getNumberOfPes());
+
+        logCloudletCreationRequest(cloudlet);
+        cloudlet.setVm(lastSelectedVm);
+        sendCloudletToDatacenter(cloudlet, getDatacenter(lastSelectedVm));
+        cloudlet.setLastTriedDatacenter(getDatacenter(lastSelectedVm));
+        cloudletsCreatedList.add(cloudlet);
+        return true;
+    }
+
+    /**
+     * Sends a Cloudlet to the Datacenter where it will run.
+     * If a {@link #getWanNetwork() WAN network} is set, the Cloudlet
+     * is just submitted after its input file is transferred to the Datacenter.
+     * The Cloudlet submission delay is counted from the transfer start.
+     *
+     * @param cloudlet the Cloudlet to send
+     * @param datacenter the Datacenter to send the Cloudlet to
+     */
+    private void sendCloudletToDatacenter(final Cloudlet cloudlet, final Datacenter datacenter) {
+        if(wanNetwork == null || cloudlet.getFileSize() <= 0) {
+            send(datacenter, cloudlet.getSubmissionDelay(), CloudSimTags.CLOUDLET_SUBMIT, cloudlet);
+            return;
+        }
+
+        final double fileSize = Conversion.bytesToMegaBits(cloudlet.getFileSize());
+        wanNetwork.transfer(this, datacenter, fileSize, transfer -> {
+            final double elapsedTime = transfer.getFinishTime() - transfer.getStartTime();
+            final double delay = Math.max(cloudlet.getSubmissionDelay() - elapsedTime, 0);
+            //The transfer time already includes the network delay between the broker and the Datacenter
+            schedule(datacenter, delay, CloudSimTags.CLOUDLET_SUBMIT, cloudlet);
+        });
+    }
+
+    /**
+     * Adds a postponed Cloudlet to the {@link #cloudletsWaitingVmMap}
+     * if it's bound to the last selected VM, which is not created yet.
+     * Cloudlets not bound to a VM are mapped again after some VM is created,
+     * since the {@link #setVmMapper(Function) VM mapper} may select a different VM.
+     *
+     * @param cloudlet the postponed Cloudlet
+     * @return true if the Cloudlet was added to the map, false otherwise
+     */
+    private boolean addCloudletWaitingVm(final Cloudlet cloudlet) {
+        if(!cloudlet.isBoundToVm() || !lastSelectedVm.equals(cloudlet.getVm())) {
+            return false;
+        }
+
+        cloudletsWaitingVmMap.computeIfAbsent(lastSelectedVm, vm -> new ArrayList<>()).add(cloudlet);
+        return true;
+    }
+
     private void logPostponingCloudletExecution(final Cloudlet cloudlet) {
         final String vmMsg = cloudlet.getVm() == Vm.NULL ?
                                 "it couldn't be mapped to any VM" :
@@ -1038,7 +1225,7 @@ public abstract class DatacenterBrokerAbstract extends CloudSimEntity implements
 
     @Override
     public <T extends Cloudlet> List<T> getCloudletWaitingList() {
-        return (List<T>) cloudletWaitingList;
+        return (List<T>) new ArrayList<>(cloudletWaitingList);
     }
 
     @Override
@@ -1165,6 +1352,28 @@ public abstract class DatacenterBrokerAbstract extends CloudSimEntity implements
         return this;
     }
 
+    /**
+     * Gets the WAN network used to transfer Cloudlet input files to Datacenters,
+     * or null if such transfers are not simulated.
+     * @return
+     */
+    public WanNetwork getWanNetwork() {
+        return wanNetwork;
+    }
+
+    /**
+     * Sets the WAN network used to transfer Cloudlet input files to Datacenters.
+     * Cloudlets are submitted to a Datacenter only after their
+     * {@link Cloudlet#getFileSize() input file} arrives there.
+     *
+     * @param wanNetwork the WAN network to set or null to not simulate such transfers
+     * @return
+     */
+    public DatacenterBroker setWanNetwork(final WanNetwork wanNetwork) {
+        this.wanNetwork = wanNetwork;
+        return this;
+    }
+
     @Override
     public List<Cloudlet> getCloudletSubmittedList() {
         return cloudletSubmittedList;
@@ -1229,4 +1438,14 @@ public abstract class DatacenterBrokerAbstract extends CloudSimEntity implements
     public void setRetryFailedVms(final boolean retryFailedVms) {
         this.retryFailedVms = retryFailedVms;
     }
+
+    @Override
+    public boolean isBatchVmCreation() {
+        return batchVmCreation;
+    }
+
+    @Override
+    public void setBatchVmCreation(final boolean batchVmCreation) {
+        this.batchVmCreation = batchVmCreation;
+    }
 }
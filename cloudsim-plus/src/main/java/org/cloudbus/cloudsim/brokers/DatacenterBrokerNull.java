@@ -59,6 +59,8 @@ final class DatacenterBrokerNull implements DatacenterBroker, SimEntityNullBase
     @Override public <T extends Vm> List<T> getVmFailedList() { return Collections.emptyList(); }
     @Override public boolean isRetryFailedVms() { return false; }
     @Override public void setRetryFailedVms(boolean retryFailedVms) {/**/}
+    @Override public boolean isBatchVmCreation() { return false; }
+    @Override public void setBatchVmCreation(boolean batchVmCreation) {/**/}
     @Override public DatacenterBroker setVmComparator(Comparator<Vm> comparator) { return this; }
     @Override public void setCloudletComparator(Comparator<Cloudlet> comparator) {/**/}
     @Override public DatacenterBroker submitCloudlet(Cloudlet cloudlet) { return this; }
@@ -608,6 +608,11 @@ public class CloudSim implements Simulation {
     @Override
     public void send(final SimEvent evt) {
         requireNonNull(evt);
+        if(DeferredActions.isDeferring()) {
+            DeferredActions.defer(() -> send(evt));
+            return;
+        }
+
         //Events with a negative tag have higher priority (except the "end of the simulation" event)
         if(evt.getTag() < 0 && evt.getTag() != CloudSimTags.END_OF_SIMULATION)
             future.addEventFirst(evt);
@@ -621,6 +626,11 @@ public class CloudSim implements Simulation {
 
     @Override
     public void sendFirst(SimEvent evt) {
+        if(DeferredActions.isDeferring()) {
+            DeferredActions.defer(() -> sendFirst(evt));
+            return;
+        }
+
         future.addEventFirst(evt);
     }
 
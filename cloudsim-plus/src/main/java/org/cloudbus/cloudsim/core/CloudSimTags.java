@@ -227,6 +227,15 @@ public final class CloudSimTags {
      */
     public static final int VM_CREATE_ACK = BASE + 32;
 
+    /**
+     * Denotes a request to create a batch of VMs in a {@link Datacenter},
+     * where the {@link SimEvent#getData()} of the event
+     * is a {@link java.util.List} of {@link Vm} objects.
+     * The Datacenter allocates Hosts for all VMs at once
+     * and then sends a {@link #VM_CREATE_ACK} for each VM.
+     */
+    public static final int VM_CREATE_BATCH = BASE + 37;
+
     /**
      * Denotes a request to destroy a VM in a {@link Datacenter}.
      * When an event of this type is sent, the {@link SimEvent#getData()}
@@ -281,18 +290,48 @@ public final class CloudSimTags {
 
     /**
      * Denotes the transmission of packets up through the network topology.
+     * When an event of this type is sent, the {@link SimEvent#getData()}
+     * is a {@link org.cloudbus.cloudsim.network.HostPacket} or, if several packets
+     * with the same transfer delay are sent together, a {@link java.util.List} of them.
      */
     public static final int NETWORK_EVENT_UP = BASE + 43;
 
     public static final int NETWORK_EVENT_SEND = BASE + 44;
 
+    /**
+     * Denotes the finish of the next data flow in a
+     * {@link org.cloudbus.cloudsim.network.FlowLevelNetwork}.
+     */
+    public static final int NETWORK_FLOW_FINISH = BASE + 45;
+
     /**
      * Denotes the transmission of packets down through the network topology.
+     * When an event of this type is sent, the {@link SimEvent#getData()}
+     * is a {@link org.cloudbus.cloudsim.network.HostPacket} or, if several packets
+     * with the same transfer delay are sent together, a {@link java.util.List} of them.
      */
     public static final int NETWORK_EVENT_DOWN = BASE + 46;
 
+    /**
+     * Denotes the transmission of packets from a switch to the Hosts connected to it.
+     * When an event of this type is sent, the {@link SimEvent#getData()}
+     * is a {@link org.cloudbus.cloudsim.network.HostPacket} or, if several packets
+     * with the same transfer delay are sent together, a {@link java.util.List} of them.
+     */
     public static final int NETWORK_EVENT_HOST = BASE + 47;
 
+    /**
+     * Denotes the finish of the next data transfer in a path of a
+     * {@link org.cloudbus.cloudsim.network.WanNetwork}.
+     */
+    public static final int WAN_TRANSFER_UPDATE = BASE + 50;
+
+    /**
+     * Denotes the arrival of the data of a transfer in a
+     * {@link org.cloudbus.cloudsim.network.WanNetwork} at its destination.
+     */
+    public static final int WAN_TRANSFER_FINISH = BASE + 51;
+
     /**
      * Denotes failure events such as hosts or VMs failures.
     */
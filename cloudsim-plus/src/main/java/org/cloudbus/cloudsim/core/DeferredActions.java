@@ -0,0 +1,132 @@
+package org.cloudbus.cloudsim.core;
+
+import org.cloudbus.cloudsim.datacenters.DatacenterSimple;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Collects side effects (such as events to be sent or broker notifications)
+ * produced by a thread that is updating simulation objects in parallel,
+ * so that such side effects can be later applied by the simulation thread
+ * in a deterministic order.
+ *
+ * <p>Objects such as Hosts and VMs aren't entities, so their processing
+ * can be updated concurrently when they don't share state.
+ * However, the {@link Simulation} event queues and entities such as brokers
+ * are shared, thus they must be changed only by the simulation thread.
+ * Code that changes such shared objects during an object update
+ * must call {@link #runOrDefer(Runnable)}, which executes the given action
+ * right away when there is no parallel update going on.</p>
+ *
+ * @author Manoel Campos da Silva Filho
+ * @since CloudSim Plus 5.5.0
+ * @see DatacenterSimple#enableParallelHostsProcessing()
+ */
+public final class DeferredActions {
+    /**
+     * The list of deferred actions for the current thread,
+     * which is null when the thread isn't collecting actions.
+     */
+    private static final ThreadLocal<List<Runnable>> CURRENT = new ThreadLocal<>();
+
+    /**
+     * The number of threads currently collecting actions.
+     * It enables avoiding a {@link ThreadLocal} lookup for
+     * every sent event when no parallel update is going on
+     * (which is the case for the vast majority of simulations).
+     */
+    private static final AtomicInteger COLLECTING_THREADS = new AtomicInteger();
+
+    /**
+     * A private constructor to avoid class instantiation.
+     */
+    private DeferredActions(){/**/}
+
+    /**
+     * Checks if the current thread is collecting actions to be applied later.
+     * @return true if actions are being deferred, false otherwise
+     */
+    public static boolean isDeferring() {
+        return COLLECTING_THREADS.get() > 0 && CURRENT.get() != null;
+    }
+
+    /**
+     * Executes a given action right away if the current thread
+     * isn't collecting actions, or defers it otherwise.
+     *
+     * @param action the action to execute or defer
+     * @return true if the action was deferred, false if it was executed right away
+     */
+    public static boolean runOrDefer(final Runnable action) {
+        if(defer(action)) {
+            return true;
+        }
+
+        action.run();
+        return false;
+    }
+
+    /**
+     * Defers a given action if the current thread is collecting actions.
+     *
+     * @param action the action to defer
+     * @return true if the action was deferred, false if the current thread
+     *         isn't collecting actions (in which case the caller is responsible
+     *         for executing it)
+     */
+    public static boolean defer(final Runnable action) {
+        requireNonNull(action);
+        if(COLLECTING_THREADS.get() == 0) {
+            return false;
+        }
+
+        final List<Runnable> actions = CURRENT.get();
+        if(actions == null) {
+            return false;
+        }
+
+        actions.add(action);
+        return true;
+    }
+
+    /**
+     * Executes a given work in the current thread, collecting every action
+     * deferred during its execution.
+     *
+     * @param work the work to execute
+     * @return the list of deferred actions, in the order they were requested,
+     *         that must be {@link #apply(List) applied} by the simulation thread
+     */
+    public static List<Runnable> collect(final Runnable work) {
+        if(CURRENT.get() != null) {
+            throw new IllegalStateException("The current thread is already collecting deferred actions.");
+        }
+
+        final List<Runnable> actions = new ArrayList<>();
+        CURRENT.set(actions);
+        COLLECTING_THREADS.incrementAndGet();
+        try {
+            work.run();
+        } finally {
+            COLLECTING_THREADS.decrementAndGet();
+            CURRENT.remove();
+        }
+
+        return actions.isEmpty() ? Collections.emptyList() : actions;
+    }
+
+    /**
+     * Applies a list of deferred actions, in the order they are in the list.
+     * @param actions the actions to apply
+     */
+    public static void apply(final List<Runnable> actions) {
+        for (final Runnable action : actions) {
+            action.run();
+        }
+    }
+}
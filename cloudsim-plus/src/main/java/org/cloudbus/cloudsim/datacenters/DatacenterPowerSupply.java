@@ -1,55 +1,164 @@
 package org.cloudbus.cloudsim.datacenters;
 
+import org.cloudbus.cloudsim.core.DeferredActions;
 import org.cloudbus.cloudsim.hosts.Host;
 import org.cloudbus.cloudsim.power.models.PowerAware;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
 /**
  * Computes current amount of power being consumed by the {@link Host}s of a {@link Datacenter}.
  *
+ * <p>The power supplied to each Host is considered constant between two changes
+ * in the Host's CPU utilization (or in its active state).
+ * Each Host informs its utilization by calling {@link #updateHostPower(Host)}
+ * when its processing is updated, but the power model is evaluated
+ * only when the utilization of that Host changes.
+ * The Datacenter total is kept incrementally from the power supplied to each Host,
+ * so that the work performed at every Datacenter update is proportional
+ * to the number of Hosts which utilization has changed,
+ * and the consumed power can be got exactly at any time.</p>
+ *
  * @author Manoel Campos da Silva Filho
  * @since CloudSim Plus 4.2.0
  */
 public class DatacenterPowerSupply implements PowerAware {
     public static final DatacenterPowerSupply NULL = new DatacenterPowerSupply(Datacenter.NULL){
         @Override protected double computePowerUtilizationForTimeSpan(double lastDatacenterProcessTime) { return -1; }
+        @Override public void updateHostPower(Host host) {/**/}
         @Override public double getPower() { return -1; }
+        @Override public double getHostPower(Host host) { return -1; }
     };
 
     private Datacenter datacenter;
 
-    /** @see #getPower() */
+    /**
+     * The total power consumed by the Datacenter (in Watt-Second) up to the {@link #lastUpdateTime}.
+     * @see #getPower()
+     */
     private double power;
 
-    public DatacenterPowerSupply(){}
+    /**
+     * The sum of the power currently supplied to all Hosts in Watts (W).
+     */
+    private double currentPower;
+
+    /**
+     * The last time the {@link #power} was integrated.
+     */
+    private double lastUpdateTime;
+
+    /**
+     * The value of the {@link #power} integrated up to the last time
+     * the {@link #computePowerUtilizationForTimeSpan(double)} was called.
+     */
+    private double lastTimeSpanPower;
+
+    /**
+     * A map where each key is a Host and each value is the power supplied to that Host.
+     * Each value is just changed by the thread processing the respective Host,
+     * but entries may be added by threads processing Hosts in parallel.
+     */
+    private final Map<Host, HostPower> hostPowerMap;
+
+    public DatacenterPowerSupply(){
+        this.hostPowerMap = new ConcurrentHashMap<>();
+    }
 
     protected DatacenterPowerSupply(final Datacenter datacenter){
+        this();
         this.datacenter = datacenter;
     }
 
     /**
-     * Computes an <b>estimation</b> of total power consumed (in Watts-sec) by all Hosts of the Datacenter
-     * since the last time the processing of Cloudlets in this Host was updated.
+     * Computes the total power consumed (in Watts-sec) by all Hosts of the Datacenter
+     * since the last time this method was called.
      * It also updates the {@link #getPower() Datacenter's total consumed power up to now}.
      *
-     * @return the <b>estimated</b> total power consumed (in Watts-sec) by all Hosts in the elapsed time span
+     * @return the total power consumed (in Watts-sec) by all Hosts in the elapsed time span
      */
     protected double computePowerUtilizationForTimeSpan(final double lastDatacenterProcessTime) {
-        final double clock = datacenter.getSimulation().clock();
-        if (clock - lastDatacenterProcessTime == 0) { //time span
-            return 0;
+        integratePower(datacenter.getSimulation().clock());
+        final double timeSpanPower = power - lastTimeSpanPower;
+        lastTimeSpanPower = power;
+        return timeSpanPower;
+    }
+
+    /**
+     * Informs the CPU utilization of a Host after its processing is updated.
+     * The {@link Host#getPreviousUtilizationOfCpu() utilization before the update} is the one
+     * the Host had since its processing was last updated,
+     * while the {@link Host#getCpuPercentUtilization() current utilization} is the one
+     * the Host will have from now on.
+     * The power supplied to the Host is just changed if such values (or the Host active state)
+     * have changed since the last call. Otherwise, nothing is computed.
+     *
+     * <p>Since Hosts may be processed in parallel,
+     * the Datacenter total is changed by a {@link DeferredActions deferred action},
+     * making the results the same as processing Hosts sequentially.</p>
+     *
+     * @param host the Host which processing was updated
+     */
+    public void updateHostPower(final Host host) {
+        final double time = datacenter.getSimulation().clock();
+        final HostPower hostPower = hostPowerMap.computeIfAbsent(host, h -> new HostPower());
+        final double previousUtilization = host.getPreviousUtilizationOfCpu();
+        if(previousUtilization != hostPower.utilization) {
+            changeHostPower(host, hostPower, hostPower.lastProcessingTime, previousUtilization);
         }
 
-        double datacenterTimeSpanPowerUse = 0;
-        for (final Host host : datacenter.getHostList()) {
-            final double prevCpuUsage = host.getPreviousUtilizationOfCpu();
-            final double cpuUsage = host.getCpuPercentUtilization();
-            final double timeFrameHostEnergy =
-                host.getPowerModel().getEnergyLinearInterpolation(prevCpuUsage, cpuUsage, clock - lastDatacenterProcessTime);
-            datacenterTimeSpanPowerUse += timeFrameHostEnergy;
+        final double utilization = host.getCpuPercentUtilization();
+        if(utilization != hostPower.utilization || host.isActive() != hostPower.active) {
+            changeHostPower(host, hostPower, time, utilization);
         }
 
-        power += datacenterTimeSpanPowerUse;
-        return datacenterTimeSpanPowerUse;
+        hostPower.lastProcessingTime = time;
+    }
+
+    /**
+     * Changes the power supplied to a Host starting from a given time.
+     *
+     * @param host the Host to change the power
+     * @param hostPower the power supplied to the Host
+     * @param fromTime the time the new power starts to be supplied
+     * @param utilization the Host CPU utilization percentage from the given time on
+     */
+    private void changeHostPower(final Host host, final HostPower hostPower, final double fromTime, final double utilization) {
+        final double newPower = host.getPowerModel().getPower(utilization);
+        hostPower.integrate(fromTime);
+        final double delta = newPower - hostPower.power;
+        hostPower.power = newPower;
+        hostPower.utilization = utilization;
+        hostPower.active = host.isActive();
+        if(delta != 0) {
+            DeferredActions.runOrDefer(() -> changeTotalPower(fromTime, delta));
+        }
+    }
+
+    /**
+     * Changes the sum of the power supplied to all Hosts starting from a given time.
+     * If the total consumed power was already integrated beyond that time,
+     * it's corrected according to the change.
+     *
+     * @param fromTime the time the power supply changed
+     * @param delta the change in the power supply in Watts (W)
+     */
+    private void changeTotalPower(final double fromTime, final double delta) {
+        integratePower(fromTime);
+        power += delta * (lastUpdateTime - fromTime);
+        currentPower += delta;
+    }
+
+    /**
+     * Integrates the power supplied to all Hosts since the {@link #lastUpdateTime} up to a given time.
+     * @param time the time to integrate the power up to
+     */
+    private void integratePower(final double time) {
+        if(time > lastUpdateTime) {
+            power += currentPower * (time - lastUpdateTime);
+            lastUpdateTime = time;
+        }
     }
 
     /**
@@ -60,11 +169,67 @@ public class DatacenterPowerSupply implements PowerAware {
      */
     @Override
     public double getPower() {
-        return power;
+        return power + currentPower * getElapsedTime(lastUpdateTime);
+    }
+
+    /**
+     * Gets the total power consumed by a given Host of the Datacenter up to now in Watt-Second (Ws).
+     *
+     * @param host the Host to get the power consumption
+     * @return the Host total power consumption in Watt-Second (Ws)
+     */
+    public double getHostPower(final Host host) {
+        final HostPower hostPower = hostPowerMap.get(host);
+        if(hostPower == null) {
+            return 0;
+        }
+
+        return hostPower.energy + hostPower.power * getElapsedTime(hostPower.lastUpdateTime);
+    }
+
+    private double getElapsedTime(final double since) {
+        return Math.max(0, datacenter.getSimulation().clock() - since);
     }
 
     protected DatacenterPowerSupply setDatacenter(final Datacenter datacenter) {
         this.datacenter = datacenter;
         return this;
     }
+
+    /**
+     * The power supplied to a Host, which is constant since the Host utilization last changed.
+     */
+    private static final class HostPower {
+        /** The Host CPU utilization percentage when the power was last changed. */
+        private double utilization;
+
+        /** Indicates if the Host was active when the power was last changed. */
+        private boolean active;
+
+        /** The power currently supplied to the Host in Watts (W). */
+        private double power;
+
+        /** The power consumed by the Host (in Watt-Second) up to the {@link #lastUpdateTime}. */
+        private double energy;
+
+        /** The last time the power consumed by the Host was integrated. */
+        private double lastUpdateTime;
+
+        /** The last time the Host processing was updated. */
+        private double lastProcessingTime;
+
+        /**
+         * Creates an object to store the power supplied to a Host.
+         * Since the Host utilization is unknown until its processing is updated,
+         * the utilization reported at that time is considered since the simulation start.
+         */
+        private HostPower() {
+            this.utilization = -1;
+        }
+
+        private void integrate(final double time) {
+            energy += power * (time - lastUpdateTime);
+            lastUpdateTime = time;
+        }
+    }
 }
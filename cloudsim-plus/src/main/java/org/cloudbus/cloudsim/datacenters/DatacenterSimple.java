@@ -10,27 +10,33 @@ import org.cloudbus.cloudsim.allocationpolicies.VmAllocationPolicy;
 import org.cloudbus.cloudsim.allocationpolicies.VmAllocationPolicySimple;
 import org.cloudbus.cloudsim.allocationpolicies.migration.VmAllocationPolicyMigration;
 import org.cloudbus.cloudsim.cloudlets.Cloudlet;
+import org.cloudbus.cloudsim.cloudlets.CloudletExecution;
 import org.cloudbus.cloudsim.core.CloudSimEntity;
 import org.cloudbus.cloudsim.core.CloudSimTags;
+import org.cloudbus.cloudsim.core.DeferredActions;
 import org.cloudbus.cloudsim.core.Simulation;
 import org.cloudbus.cloudsim.core.events.PredicateType;
 import org.cloudbus.cloudsim.core.events.SimEvent;
 import org.cloudbus.cloudsim.hosts.Host;
 import org.cloudbus.cloudsim.network.IcmpPacket;
+import org.cloudbus.cloudsim.network.WanNetwork;
 import org.cloudbus.cloudsim.resources.DatacenterStorage;
 import org.cloudbus.cloudsim.resources.FileStorage;
 import org.cloudbus.cloudsim.schedulers.cloudlet.CloudletScheduler;
 import org.cloudbus.cloudsim.util.Conversion;
 import org.cloudbus.cloudsim.util.MathUtil;
 import org.cloudbus.cloudsim.util.TimeUtil;
+import org.cloudbus.cloudsim.utilizationmodels.UtilizationModel;
 import org.cloudbus.cloudsim.vms.Vm;
 import org.cloudbus.cloudsim.vms.VmSimple;
 import org.cloudsimplus.autoscaling.VerticalVmScaling;
 import org.cloudsimplus.faultinjection.HostFaultInjection;
+import org.cloudsimplus.listeners.CloudletVmEventInfo;
 import org.cloudsimplus.listeners.EventListener;
 import org.cloudsimplus.listeners.HostEventInfo;
 
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
 
 import static java.util.Objects.requireNonNull;
 import static java.util.stream.Collectors.toList;
@@ -45,6 +51,12 @@ import static java.util.stream.Collectors.toList;
  * @since CloudSim Toolkit 1.0
  */
 public class DatacenterSimple extends CloudSimEntity implements Datacenter {
+    /**
+     * The minimum number of Hosts processed by each parallel task
+     * when {@link #isParallelHostsProcessing() parallel Hosts processing} is enabled.
+     * Datacenters with fewer Hosts than that are always processed sequentially.
+     */
+    private static final int MIN_HOSTS_BY_PARTITION = 128;
 
     /**
      * The last time some Host on the Datacenter was under or overloaded.
@@ -98,6 +110,48 @@ public class DatacenterSimple extends CloudSimEntity implements Datacenter {
     /** @see #getHostSearchForMigrationDelay() */
     private double hostSearchForMigrationDelay;
 
+    /**
+     * The pool used to update Hosts processing in parallel,
+     * or null if Hosts are processed sequentially.
+     * @see #enableParallelHostsProcessing(ForkJoinPool)
+     */
+    private ForkJoinPool hostsProcessingPool;
+
+    /**
+     * Indicates if a warning was already logged because Hosts couldn't be processed
+     * in parallel, due to {@link UtilizationModel}s shared among Hosts.
+     * @see #isUtilizationModelSharedAmongPartitions(int)
+     */
+    private boolean sharedUtilizationModelWarned;
+
+    /**
+     * Indicates if some {@link UtilizationModel} which isn't stateless is used by Cloudlets
+     * from Hosts in different partitions, or null if that must be checked again.
+     * It is kept among Host processing updates and just invalidated
+     * when Cloudlets or VMs change in a way that may change such a result.
+     * @see #isUtilizationModelSharedAmongPartitions(int)
+     * @see #invalidateUtilizationModelsSharing(boolean)
+     */
+    private Boolean utilizationModelSharedAmongPartitions;
+
+    /**
+     * The number of Hosts in each partition when the {@link #utilizationModelSharedAmongPartitions}
+     * was checked.
+     */
+    private int utilizationModelSharingHostsByPartition;
+
+    /**
+     * A listener for the finish of Cloudlets using some {@link UtilizationModel} which isn't stateless,
+     * that invalidates the {@link #utilizationModelSharedAmongPartitions}.
+     */
+    private final EventListener<CloudletVmEventInfo> statefulCloudletFinishListener =
+        info -> invalidateUtilizationModelsSharing(true);
+
+    /**
+     * @see #getWanNetwork()
+     */
+    private WanNetwork wanNetwork;
+
     /**
      * Creates a Datacenter with an empty {@link #getDatacenterStorage() storage}
      * and a {@link VmAllocationPolicySimple} by default.
@@ -305,6 +359,9 @@ public class DatacenterSimple extends CloudSimEntity implements Datacenter {
             case CloudSimTags.VM_CREATE_ACK:
                 processVmCreate(evt);
                 return true;
+            case CloudSimTags.VM_CREATE_BATCH:
+                processVmCreateBatch(evt);
+                return true;
             case CloudSimTags.VM_VERTICAL_SCALING:
                 requestVmVerticalScaling(evt);
                 return true;
@@ -447,9 +504,20 @@ public class DatacenterSimple extends CloudSimEntity implements Datacenter {
         }
 
         cloudlet.assignToDatacenter(this);
+        if(isUsingStatefulUtilizationModel(cloudlet)) {
+            invalidateUtilizationModelsSharing(false);
+            cloudlet.addOnFinishListener(statefulCloudletFinishListener);
+        }
+
         submitCloudletToVm(cloudlet, ack);
     }
 
+    private static boolean isUsingStatefulUtilizationModel(final Cloudlet cloudlet) {
+        return !cloudlet.getUtilizationModelCpu().isStateless() ||
+               !cloudlet.getUtilizationModelRam().isStateless() ||
+               !cloudlet.getUtilizationModelBw().isStateless();
+    }
+
     /**
      * Submits a cloudlet to be executed inside its bind VM.
      *
@@ -553,6 +621,7 @@ public class DatacenterSimple extends CloudSimEntity implements Datacenter {
      */
     protected void processCloudletCancel(final Cloudlet cloudlet) {
         cloudlet.getVm().getCloudletScheduler().cloudletCancel(cloudlet);
+        invalidateUtilizationModelsSharing(true);
         sendNow(cloudlet.getBroker(), CloudSimTags.CLOUDLET_CANCEL, cloudlet);
     }
 
@@ -569,15 +638,39 @@ public class DatacenterSimple extends CloudSimEntity implements Datacenter {
         final Vm vm = (Vm) evt.getData();
 
         final boolean hostAllocatedForVm = vmAllocationPolicy.allocateHostForVm(vm);
+        acknowledgeVmCreation(vm, hostAllocatedForVm);
+        return hostAllocatedForVm;
+    }
+
+    /**
+     * Process the event for a Broker which wants to create a batch of VMs in this
+     * Datacenter, allocating Hosts for all of them at once.
+     * This Datacenter will then send the status of each VM back to the Broker.
+     *
+     * @param evt information about the event just happened
+     * @see VmAllocationPolicy#allocateHostForVmList(List)
+     */
+    @SuppressWarnings("unchecked")
+    private void processVmCreateBatch(final SimEvent evt) {
+        final List<Vm> vmList = (List<Vm>) evt.getData();
+        final Map<Vm, Host> placement = vmAllocationPolicy.allocateHostForVmList(vmList);
+        vmList.forEach(vm -> acknowledgeVmCreation(vm, placement.containsKey(vm)));
+    }
+
+    /**
+     * Starts the processing of a VM, if a Host was allocated to it,
+     * and acknowledges that its creation request was received by the Datacenter
+     * (the broker is expecting to know if the Vm was created or not).
+     *
+     * @param vm the VM requested to be created
+     * @param hostAllocatedForVm true if a host was allocated to the VM; false otherwise
+     */
+    private void acknowledgeVmCreation(final Vm vm, final boolean hostAllocatedForVm) {
         if (hostAllocatedForVm) {
             vm.updateProcessing(vm.getHost().getVmScheduler().getAllocatedMips(vm));
         }
 
-        /* Acknowledges that the request was received by the Datacenter,
-          (the broker is expecting that if the Vm was created or not). */
         send(vm.getBroker(), getSimulation().getMinTimeBetweenEvents(), CloudSimTags.VM_CREATE_ACK, vm);
-
-        return hostAllocatedForVm;
     }
 
     /**
@@ -592,6 +685,7 @@ public class DatacenterSimple extends CloudSimEntity implements Datacenter {
     protected void processVmDestroy(final SimEvent evt, final boolean ack) {
         final Vm vm = (Vm) evt.getData();
         vmAllocationPolicy.deallocateHostForVm(vm);
+        invalidateUtilizationModelsSharing(true);
 
         if (ack) {
             sendNow(vm.getBroker(), CloudSimTags.VM_DESTROY_ACK, vm);
@@ -645,6 +739,8 @@ public class DatacenterSimple extends CloudSimEntity implements Datacenter {
 
         targetHost.removeMigratingInVm(vm);
         final boolean migrated = vmAllocationPolicy.allocateHostForVm(vm, targetHost);
+        //The Cloudlets of the VM may now be in another partition of Hosts
+        utilizationModelSharedAmongPartitions = null;
         if(migrated) {
             ((VmSimple)vm).updateMigrationFinishListeners(targetHost);
             /*When the VM is destroyed from the source host, it's removed from the vmExecList.
@@ -723,11 +819,10 @@ public class DatacenterSimple extends CloudSimEntity implements Datacenter {
      * or {@link Double#MAX_VALUE} if there is no next Cloudlet to execute
      */
     private double updateHostsProcessing() {
-        double nextSimulationDelay = Double.MAX_VALUE;
-        for (final Host host : getHostList()) {
-            final double delay = host.updateProcessing(clock());
-            nextSimulationDelay = Math.min(delay, nextSimulationDelay);
-        }
+        double nextSimulationDelay =
+            isParallelHostsProcessing() && hostList.size() >= MIN_HOSTS_BY_PARTITION * 2 ?
+                updateHostsProcessingInParallel() :
+                updateHostsProcessingSequentially();
 
         // Guarantees a minimal interval before scheduling the event
         final double minTimeBetweenEvents = getSimulation().getMinTimeBetweenEvents() + 0.001;
@@ -742,6 +837,145 @@ public class DatacenterSimple extends CloudSimEntity implements Datacenter {
         return nextSimulationDelay;
     }
 
+    private double updateHostsProcessingSequentially() {
+        double nextSimulationDelay = Double.MAX_VALUE;
+        for (final Host host : getHostList()) {
+            final double delay = host.updateProcessing(clock());
+            nextSimulationDelay = Math.min(delay, nextSimulationDelay);
+        }
+
+        return nextSimulationDelay;
+    }
+
+    /**
+     * Splits the Host list into partitions that are processed in parallel by the {@link #hostsProcessingPool}.
+     * Actions changing objects shared among Hosts (such as sending events)
+     * are then applied in the order of the Host list, making the simulation results
+     * the same as processing Hosts sequentially.
+     *
+     * @return the predicted completion time of the earliest finishing cloudlet
+     * (which is a relative delay from the current simulation time),
+     * or {@link Double#MAX_VALUE} if there is no next Cloudlet to execute
+     * @see DeferredActions
+     */
+    private double updateHostsProcessingInParallel() {
+        final int partitionsNumber = Math.min(
+                                        hostList.size() / MIN_HOSTS_BY_PARTITION,
+                                        hostsProcessingPool.getParallelism() * 4);
+        final int hostsByPartition = (int)Math.ceil(hostList.size() / (double)partitionsNumber);
+        if(isUtilizationModelSharedAmongPartitions(hostsByPartition)) {
+            if(!sharedUtilizationModelWarned) {
+                LOGGER.warn(
+                    "{}: {}: Cloudlets from different Hosts share UtilizationModels which aren't stateless. Hosts are being processed sequentially.",
+                    getSimulation().clockStr(), getName());
+                sharedUtilizationModelWarned = true;
+            }
+
+            return updateHostsProcessingSequentially();
+        }
+
+        final List<HostsProcessingPartition> partitions = new ArrayList<>(partitionsNumber);
+        for (int from = 0; from < hostList.size(); from += hostsByPartition) {
+            final int to = Math.min(from + hostsByPartition, hostList.size());
+            final HostsProcessingPartition partition = new HostsProcessingPartition(hostList, from, to, clock());
+            partitions.add(partition);
+            hostsProcessingPool.execute(partition);
+        }
+
+        double nextSimulationDelay = Double.MAX_VALUE;
+        for (final HostsProcessingPartition partition : partitions) {
+            partition.join();
+            nextSimulationDelay = Math.min(partition.getNextSimulationDelay(), nextSimulationDelay);
+            DeferredActions.apply(partition.getDeferredActions());
+        }
+
+        return nextSimulationDelay;
+    }
+
+    /**
+     * Checks if any {@link UtilizationModel} which isn't {@link UtilizationModel#isStateless() stateless}
+     * is used by Cloudlets from Hosts in different partitions.
+     * Since requesting the utilization from such models changes their state,
+     * they cannot be used by different threads.
+     * The Cloudlets of all Hosts are just checked again when
+     * the last result was {@link #invalidateUtilizationModelsSharing(boolean) invalidated}
+     * or the number of Hosts by partition has changed.
+     *
+     * @param hostsByPartition the number of Hosts in each partition
+     * @return true if some stateful model is shared among partitions, false otherwise
+     */
+    private boolean isUtilizationModelSharedAmongPartitions(final int hostsByPartition) {
+        if(utilizationModelSharedAmongPartitions == null || utilizationModelSharingHostsByPartition != hostsByPartition) {
+            utilizationModelSharedAmongPartitions = checkUtilizationModelSharedAmongPartitions(hostsByPartition);
+            utilizationModelSharingHostsByPartition = hostsByPartition;
+        }
+
+        return utilizationModelSharedAmongPartitions;
+    }
+
+    /**
+     * Invalidates the last result of {@link #isUtilizationModelSharedAmongPartitions(int)},
+     * if it may have been changed by Cloudlets added to or removed from the Hosts.
+     *
+     * @param cloudletsRemoved true to indicate that Cloudlets were removed from the Hosts
+     *                         (which may just make a shared model not to be shared anymore);
+     *                         false to indicate that Cloudlets were added
+     *                         (which may just make a model to become shared)
+     */
+    private void invalidateUtilizationModelsSharing(final boolean cloudletsRemoved) {
+        /* When Hosts are processed in parallel, no model is shared,
+         * so that Cloudlets finishing inside the partitions don't change such a field. */
+        if(utilizationModelSharedAmongPartitions != null && utilizationModelSharedAmongPartitions == cloudletsRemoved) {
+            utilizationModelSharedAmongPartitions = null;
+        }
+    }
+
+    private boolean checkUtilizationModelSharedAmongPartitions(final int hostsByPartition) {
+        final Map<UtilizationModel, Integer> partitionByModel = new IdentityHashMap<>();
+        for (int i = 0; i < hostList.size(); i++) {
+            final int partition = i / hostsByPartition;
+            for (final Vm vm : hostList.get(i).getVmList()) {
+                final CloudletScheduler scheduler = vm.getCloudletScheduler();
+                if (isUtilizationModelShared(scheduler.getCloudletExecList(), partition, partitionByModel) ||
+                    isUtilizationModelShared(scheduler.getCloudletWaitingList(), partition, partitionByModel))
+                {
+                    return true;
+                }
+            }
+        }
+
+        return false;
+    }
+
+    private static boolean isUtilizationModelShared(
+        final List<CloudletExecution> cloudletList, final int partition,
+        final Map<UtilizationModel, Integer> partitionByModel)
+    {
+        for (final CloudletExecution cle : cloudletList) {
+            final Cloudlet cloudlet = cle.getCloudlet();
+            if (isUtilizationModelShared(cloudlet.getUtilizationModelCpu(), partition, partitionByModel) ||
+                isUtilizationModelShared(cloudlet.getUtilizationModelRam(), partition, partitionByModel) ||
+                isUtilizationModelShared(cloudlet.getUtilizationModelBw(), partition, partitionByModel))
+            {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private static boolean isUtilizationModelShared(
+        final UtilizationModel model, final int partition,
+        final Map<UtilizationModel, Integer> partitionByModel)
+    {
+        if(model.isStateless()) {
+            return false;
+        }
+
+        final Integer modelPartition = partitionByModel.putIfAbsent(model, partition);
+        return modelPartition != null && modelPartition != partition;
+    }
+
     /**
      * Updates processing of each Host, that fires the update of VMs,
      * which in turn updates cloudlets running in this Datacenter.
@@ -835,22 +1069,50 @@ public class DatacenterSimple extends CloudSimEntity implements Datacenter {
     public void requestVmMigration(final Vm sourceVm, final Host targetHost) {
         final String currentTime = getSimulation().clockStr();
         final Host sourceHost = sourceVm.getHost();
+        final Datacenter targetDc = targetHost.getDatacenter();
+        final boolean wanMigration = isWanMigration(targetDc);
 
-        final double delay = timeToMigrateVm(sourceVm, targetHost);
+        final double delay = wanMigration ? 0 : timeToMigrateVm(sourceVm, targetHost);
         final String msg1 =
             sourceHost == Host.NULL ?
                 String.format("%s to %s", sourceVm, targetHost) :
                 String.format("%s from %s to %s", sourceVm, sourceHost, targetHost);
-
-        final String msg2 = String.format(
-            "It's expected to finish in %.2f seconds, considering the %.0f%% of bandwidth allowed for migration and the VM RAM size.",
-            delay, getBandwidthPercentForMigration()*100);
+        final String msg2 = wanMigration ?
+            String.format("The VM RAM is being transferred to %s through the WAN network.", targetDc) :
+            String.format(
+                "It's expected to finish in %.2f seconds, considering the %.0f%% of bandwidth allowed for migration and the VM RAM size.",
+                delay, getBandwidthPercentForMigration()*100);
         LOGGER.info("{}: {}: Migration of {} is started. {}", currentTime, getName(), msg1, msg2);
 
-        if(targetHost.addMigratingInVm(sourceVm)) {
-            sourceHost.addVmMigratingOut(sourceVm);
-            send(this, delay, CloudSimTags.VM_MIGRATE, new TreeMap.SimpleEntry<>(sourceVm, targetHost));
+        if(!targetHost.addMigratingInVm(sourceVm)) {
+            return;
         }
+
+        sourceHost.addVmMigratingOut(sourceVm);
+        final Map.Entry<Vm, Host> entry = new TreeMap.SimpleEntry<>(sourceVm, targetHost);
+        if(!wanMigration) {
+            send(this, delay, CloudSimTags.VM_MIGRATE, entry);
+            return;
+        }
+
+        //RAM capacity in Megabytes converted to Megabits
+        final double ramSize = Conversion.bytesToBits(sourceVm.getRam().getCapacity());
+        wanNetwork.transfer(this, targetDc, ramSize, transfer -> send(this, 0, CloudSimTags.VM_MIGRATE, entry));
+    }
+
+    /**
+     * Checks if a VM migration to a given Datacenter must transfer the VM RAM
+     * through the {@link #getWanNetwork() WAN network}.
+     * That just happens when the target is another Datacenter and
+     * the bandwidth between the two Datacenters is known.
+     * Otherwise, the migration time is computed from the target Host bandwidth.
+     *
+     * @param targetDc the Datacenter the VM is being migrated to
+     * @return true if the migration is performed through the WAN network, false otherwise
+     */
+    private boolean isWanMigration(final Datacenter targetDc) {
+        return wanNetwork != null && targetDc != this && targetDc != Datacenter.NULL &&
+               getSimulation().getNetworkTopology().getBandwidth(getId(), targetDc.getId()) > 0;
     }
 
     /**
@@ -1015,6 +1277,7 @@ public class DatacenterSimple extends CloudSimEntity implements Datacenter {
 
         host.setDatacenter(this);
         ((List<T>)hostList).add(host);
+        utilizationModelSharedAmongPartitions = null;
 
         //Sets the Datacenter again so that the new Host is registered internally on the VmAllocationPolicy
         vmAllocationPolicy.setDatacenter(this);
@@ -1028,6 +1291,7 @@ public class DatacenterSimple extends CloudSimEntity implements Datacenter {
     @Override
     public <T extends Host> Datacenter removeHost(final T host) {
         hostList.remove(host);
+        utilizationModelSharedAmongPartitions = null;
         return this;
     }
 
@@ -1128,6 +1392,96 @@ public class DatacenterSimple extends CloudSimEntity implements Datacenter {
     @Override
     public DatacenterPowerSupply getPowerSupply(){ return powerSupply; }
 
+    /**
+     * Gets the WAN network used to transfer the RAM of VMs migrated to other Datacenters,
+     * or null if such transfers are not simulated.
+     * @return
+     */
+    public WanNetwork getWanNetwork() {
+        return wanNetwork;
+    }
+
+    /**
+     * Sets the WAN network used to transfer the RAM of VMs migrated to other Datacenters.
+     * When set, the migration time to a Host in another Datacenter
+     * depends on the bandwidth and delay between the Datacenters,
+     * instead of the bandwidth of the target Host.
+     * If the bandwidth between the Datacenters is unknown
+     * (such as when there is no network topology or the Datacenters are not mapped into it),
+     * the migration time is still computed from the target Host bandwidth.
+     *
+     * @param wanNetwork the WAN network to set or null to not simulate such transfers
+     * @return this Datacenter
+     */
+    public final Datacenter setWanNetwork(final WanNetwork wanNetwork) {
+        this.wanNetwork = wanNetwork;
+        return this;
+    }
+
+    /**
+     * Checks if the processing of Hosts is updated in parallel.
+     * @return true if Hosts are processed in parallel, false otherwise
+     * @see #enableParallelHostsProcessing(ForkJoinPool)
+     */
+    public boolean isParallelHostsProcessing() {
+        return hostsProcessingPool != null;
+    }
+
+    /**
+     * Enables updating the processing of Hosts in parallel,
+     * using the {@link ForkJoinPool#commonPool() common pool}.
+     *
+     * @return this Datacenter
+     * @see #enableParallelHostsProcessing(ForkJoinPool)
+     */
+    public final Datacenter enableParallelHostsProcessing() {
+        return enableParallelHostsProcessing(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Enables updating the processing of Hosts in parallel, using a given pool.
+     * The Host list is split into partitions and each one
+     * is processed by a different task.
+     * Actions that change objects shared among Hosts,
+     * such as sending events and notifying brokers,
+     * are deferred and applied afterwards in the order of the Host list,
+     * so that simulation results are the same as processing Hosts sequentially.
+     *
+     * <p>That just pays off for Datacenters with a large number of Hosts
+     * (a small Datacenter is always processed sequentially).
+     * <b>Listeners</b> attached to Hosts, VMs and Cloudlets which are called during
+     * Hosts processing (such as {@link Host#addOnUpdateProcessingListener(EventListener)})
+     * <b>will be called from different threads</b>. This way, they must not
+     * change objects shared among Hosts without synchronization.</p>
+     *
+     * <p>The same applies to the {@link UtilizationModel}s of Cloudlets, which are called
+     * from different threads and usually store the last requested utilization.
+     * Stateful models (the ones which aren't {@link UtilizationModel#isStateless() stateless},
+     * such as the {@link org.cloudbus.cloudsim.utilizationmodels.UtilizationModelDynamic})
+     * must be used just by Cloudlets in the same Host.
+     * If a stateful model is shared by Cloudlets from different Hosts,
+     * the Datacenter checks it at every processing update and processes Hosts sequentially,
+     * so that results are still correct, but the parallel processing is lost.</p>
+     *
+     * @param pool the pool to process Hosts
+     * @return this Datacenter
+     * @see #disableParallelHostsProcessing()
+     */
+    public final Datacenter enableParallelHostsProcessing(final ForkJoinPool pool) {
+        this.hostsProcessingPool = requireNonNull(pool);
+        return this;
+    }
+
+    /**
+     * Disables updating the processing of Hosts in parallel (the default behaviour).
+     * @return this Datacenter
+     * @see #enableParallelHostsProcessing(ForkJoinPool)
+     */
+    public final Datacenter disableParallelHostsProcessing() {
+        this.hostsProcessingPool = null;
+        return this;
+    }
+
     @Override
     public double getHostSearchForMigrationDelay() {
         return hostSearchForMigrationDelay;
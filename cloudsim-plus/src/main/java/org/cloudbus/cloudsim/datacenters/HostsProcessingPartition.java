@@ -0,0 +1,80 @@
+package org.cloudbus.cloudsim.datacenters;
+
+import org.cloudbus.cloudsim.core.DeferredActions;
+import org.cloudbus.cloudsim.hosts.Host;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * A task that updates the processing of a contiguous range of Hosts from a {@link Datacenter},
+ * enabling a {@link DatacenterSimple} to process its Hosts in parallel.
+ *
+ * <p>The processing of a Host just changes its own VMs and Cloudlets.
+ * Every action that changes objects shared among Hosts
+ * (such as sending events or notifying brokers) is collected
+ * as a {@link DeferredActions deferred action} that must be applied later,
+ * in the order of the partitions, by the simulation thread.</p>
+ *
+ * @author Manoel Campos da Silva Filho
+ * @since CloudSim Plus 5.5.0
+ */
+final class HostsProcessingPartition extends RecursiveAction {
+    private final List<? extends Host> hostList;
+    private final int fromIndex;
+    private final int toIndex;
+    private final double currentTime;
+
+    /** @see #getNextSimulationDelay() */
+    private double nextSimulationDelay;
+
+    /** @see #getDeferredActions() */
+    private List<Runnable> deferredActions;
+
+    /**
+     * Creates a partition to update the processing of Hosts in a given range of a list.
+     * @param hostList the list of Hosts
+     * @param fromIndex the index of the first Host to update (inclusive)
+     * @param toIndex the index of the last Host to update (exclusive)
+     * @param currentTime the current simulation time
+     */
+    HostsProcessingPartition(final List<? extends Host> hostList, final int fromIndex, final int toIndex, final double currentTime) {
+        this.hostList = hostList;
+        this.fromIndex = fromIndex;
+        this.toIndex = toIndex;
+        this.currentTime = currentTime;
+        this.nextSimulationDelay = Double.MAX_VALUE;
+        this.deferredActions = Collections.emptyList();
+    }
+
+    @Override
+    protected void compute() {
+        deferredActions = DeferredActions.collect(this::updateHostsProcessing);
+    }
+
+    private void updateHostsProcessing() {
+        for (int i = fromIndex; i < toIndex; i++) {
+            final double delay = hostList.get(i).updateProcessing(currentTime);
+            nextSimulationDelay = Math.min(delay, nextSimulationDelay);
+        }
+    }
+
+    /**
+     * Gets the minimum delay returned by the Hosts in this partition,
+     * after the partition is processed.
+     * @return the next simulation delay or {@link Double#MAX_VALUE} if there is no next Cloudlet to execute
+     */
+    double getNextSimulationDelay() {
+        return nextSimulationDelay;
+    }
+
+    /**
+     * Gets the actions deferred while the Hosts in this partition were processed,
+     * in the order they were requested.
+     * @return the list of deferred actions
+     */
+    List<Runnable> getDeferredActions() {
+        return deferredActions;
+    }
+}
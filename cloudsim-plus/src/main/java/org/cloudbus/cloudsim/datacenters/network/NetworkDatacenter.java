@@ -8,16 +8,20 @@
 package org.cloudbus.cloudsim.datacenters.network;
 
 import org.cloudbus.cloudsim.allocationpolicies.VmAllocationPolicy;
+import org.cloudbus.cloudsim.core.Identifiable;
 import org.cloudbus.cloudsim.core.Simulation;
 import org.cloudbus.cloudsim.datacenters.Datacenter;
 import org.cloudbus.cloudsim.datacenters.DatacenterSimple;
 import org.cloudbus.cloudsim.hosts.Host;
+import org.cloudbus.cloudsim.hosts.network.NetworkHost;
+import org.cloudbus.cloudsim.network.FlowLevelNetwork;
+import org.cloudbus.cloudsim.network.NetworkLink;
+import org.cloudbus.cloudsim.network.switches.EcmpRoutingTable;
 import org.cloudbus.cloudsim.network.switches.EdgeSwitch;
 import org.cloudbus.cloudsim.network.switches.Switch;
 
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.List;
+import java.util.*;
+import java.util.function.Function;
 
 import static java.util.stream.Collectors.toList;
 
@@ -50,6 +54,24 @@ public class NetworkDatacenter extends DatacenterSimple {
      */
     private final List<Switch> switchMap;
 
+    /**
+     * @see #getFlowLevelNetwork()
+     */
+    private FlowLevelNetwork flowLevelNetwork;
+
+    /**
+     * @see #getRoutingTable()
+     */
+    private EcmpRoutingTable routingTable;
+
+    /**
+     * A map where each key is the sender side of a link (a Host or Switch)
+     * and each value is a map where each key is the receiver side and
+     * each value is the link between the two sides.
+     * @see #getNetworkLinks()
+     */
+    private final Map<Identifiable, Map<Identifiable, NetworkLink>> linkMap;
+
     /**
      * Creates a NetworkDatacenter with the given parameters.
      *
@@ -70,6 +92,7 @@ public class NetworkDatacenter extends DatacenterSimple {
         super(simulation, hostList, vmAllocationPolicy);
 
         switchMap = new ArrayList<>();
+        linkMap = new LinkedHashMap<>();
     }
 
     /**
@@ -100,4 +123,124 @@ public class NetworkDatacenter extends DatacenterSimple {
     public List<Switch> getSwitchMap() {
         return Collections.unmodifiableList(switchMap);
     }
+
+    /**
+     * Enables the simulation of the Datacenter network at the flow level,
+     * where packets sent between Hosts are transferred as flows sharing
+     * the bandwidth of links in a max-min fair way,
+     * instead of being forwarded by each {@link Switch} in their path.
+     * It reduces the number of simulation events for data-intensive applications.
+     * The Switches must be connected before the simulation starts.
+     *
+     * @return
+     * @see FlowLevelNetwork
+     */
+    public NetworkDatacenter enableFlowLevelNetwork() {
+        if(flowLevelNetwork == null) {
+            flowLevelNetwork = new FlowLevelNetwork(getSimulation(), this);
+        }
+
+        return this;
+    }
+
+    /**
+     * Checks if the Datacenter network is simulated at the flow level.
+     * @return
+     * @see #enableFlowLevelNetwork()
+     */
+    public boolean isFlowLevelNetworkEnabled() {
+        return flowLevelNetwork != null;
+    }
+
+    /**
+     * Gets the flow-level network of the Datacenter.
+     * @return the flow-level network or null if it's not {@link #enableFlowLevelNetwork() enabled}
+     */
+    public FlowLevelNetwork getFlowLevelNetwork() {
+        return flowLevelNetwork;
+    }
+
+    /**
+     * Gets the routing table used by the {@link Switch}es to forward packets.
+     * @return the routing table or null if the Switches just follow the first uplink
+     *         until finding the destination Edge Switch
+     */
+    public EcmpRoutingTable getRoutingTable() {
+        return routingTable;
+    }
+
+    /**
+     * Sets the routing table used by the {@link Switch}es to forward packets,
+     * which enables Equal-Cost Multi-Path (ECMP) routing in the Datacenter network.
+     * The table must be created after all Switches are connected.
+     *
+     * @param routingTable the routing table to set or null to follow the first uplink
+     *                     until finding the destination Edge Switch
+     * @return
+     */
+    public NetworkDatacenter setRoutingTable(final EcmpRoutingTable routingTable) {
+        this.routingTable = routingTable;
+        return this;
+    }
+
+    /**
+     * Gets the link from a Host to the Switch it's connected to, creating it if it doesn't exist yet.
+     * If the link already exists, its bandwidth is kept, even if a different one is given
+     * (it can be changed by {@link NetworkLink#setBandwidth(double)}).
+     *
+     * @param sender the Host sending data through the link
+     * @param receiver the Switch receiving data through the link
+     * @param bandwidth the link bandwidth capacity (in Megabits/s), used just when the link is created
+     * @return the link
+     */
+    public NetworkLink getNetworkLink(final NetworkHost sender, final Switch receiver, final double bandwidth) {
+        return getOrCreateNetworkLink(sender, receiver, key -> new NetworkLink(sender, receiver, bandwidth));
+    }
+
+    /**
+     * Gets the link from a Switch to a Host connected to it, creating it if it doesn't exist yet.
+     * If the link already exists, its bandwidth is kept, even if a different one is given
+     * (it can be changed by {@link NetworkLink#setBandwidth(double)}).
+     *
+     * @param sender the Switch sending data through the link
+     * @param receiver the Host receiving data through the link
+     * @param bandwidth the link bandwidth capacity (in Megabits/s), used just when the link is created
+     * @return the link
+     */
+    public NetworkLink getNetworkLink(final Switch sender, final NetworkHost receiver, final double bandwidth) {
+        return getOrCreateNetworkLink(sender, receiver, key -> new NetworkLink(sender, receiver, bandwidth));
+    }
+
+    /**
+     * Gets the link between two Switches, creating it if it doesn't exist yet.
+     * If the link already exists, its bandwidth is kept, even if a different one is given
+     * (it can be changed by {@link NetworkLink#setBandwidth(double)}).
+     *
+     * @param sender the Switch sending data through the link
+     * @param receiver the Switch receiving data through the link
+     * @param bandwidth the link bandwidth capacity (in Megabits/s), used just when the link is created
+     * @return the link
+     */
+    public NetworkLink getNetworkLink(final Switch sender, final Switch receiver, final double bandwidth) {
+        return getOrCreateNetworkLink(sender, receiver, key -> new NetworkLink(sender, receiver, bandwidth));
+    }
+
+    private NetworkLink getOrCreateNetworkLink(
+        final Identifiable sender, final Identifiable receiver,
+        final Function<Identifiable, NetworkLink> linkCreator)
+    {
+        return linkMap.computeIfAbsent(sender, key -> new LinkedHashMap<>()).computeIfAbsent(receiver, linkCreator);
+    }
+
+    /**
+     * Gets the links between Hosts and Switches which have been used to transfer data,
+     * whose metrics enable finding bottlenecks in the Datacenter network.
+     *
+     * @return a new list of the used network links
+     */
+    public List<NetworkLink> getNetworkLinks() {
+        final List<NetworkLink> links = new ArrayList<>();
+        linkMap.values().forEach(map -> links.addAll(map.values()));
+        return links;
+    }
 }
@@ -532,6 +532,23 @@ public interface Host extends Machine, Comparable<Host> {
      */
     boolean removeOnShutdownListener(EventListener<HostEventInfo> listener);
 
+    /**
+     * Adds a listener object that will be notified every time
+     * the {@link #getFreePesNumber() number of free PEs}
+     * or the {@link #isActive() active state} of the host changes.
+     *
+     * @param listener the Listener to add
+     * @return
+     */
+    Host addOnCapacityChangeListener(EventListener<HostEventInfo> listener);
+
+    /**
+     * Removes a Listener object from the registered List.
+     * @param listener the Listener to remove
+     * @return true if the Listener was removed, false otherwise
+     */
+    boolean removeOnCapacityChangeListener(EventListener<HostEventInfo> listener);
+
     /**
      * Adds a listener object that will be notified every time
      * the host updates the processing of all its {@link Vm VMs}.
@@ -695,14 +712,39 @@ public interface Host extends Machine, Comparable<Host> {
      */
     boolean isStateHistoryEnabled();
 
+    /**
+     * Sets the maximum number of entries to keep in the {@link #getStateHistory() state history}.
+     * When the history is full, the oldest entry is discarded when a new one is added.
+     * If the history currently has more entries than the given maximum,
+     * the oldest ones are discarded right away.
+     *
+     * @param maxEntries the maximum number of entries or 0 to make the history unbounded
+     * @return
+     * @see HostStateHistory#getMaxEntries()
+     */
+    Host setStateHistoryMaxEntries(int maxEntries);
+
+    /**
+     * Sets the length of the time window used to downsample the {@link #getStateHistory() state history}.
+     * It applies just for entries added from now on.
+     *
+     * @param aggregationWindow the aggregation window length (in seconds) or 0 to disable aggregation
+     * @return
+     * @see HostStateHistory#getAggregationWindow()
+     */
+    Host setStateHistoryAggregationWindow(double aggregationWindow);
+
     /**
      * Gets a <b>read-only</b> host state history.
-     * This List is just populated if {@link #isStateHistoryEnabled()}
+     * This List is just populated if {@link #isStateHistoryEnabled()}.
+     * The history can be bounded and downsampled
+     * by calling {@link #setStateHistoryMaxEntries(int)}
+     * and {@link #setStateHistoryAggregationWindow(double)}.
      *
      * @return the state history
      * @see #enableStateHistory()
      */
-    List<HostStateHistoryEntry> getStateHistory();
+    HostStateHistory getStateHistory();
 
     /**
      * Gets the List of VMs that have finished executing.
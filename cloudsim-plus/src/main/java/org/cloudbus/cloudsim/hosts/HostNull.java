@@ -23,6 +23,8 @@ import java.util.*;
  * @see Host#NULL
  */
 final class HostNull implements Host {
+    private static final HostStateHistory STATE_HISTORY = new HostStateHistory();
+
     @Override public List<ResourceManageable> getResources() {
         return Collections.emptyList();
     }
@@ -123,6 +125,8 @@ final class HostNull implements Host {
     @Override public boolean removeOnStartupListener(EventListener<HostEventInfo> listener) { return false; }
     @Override public Host addOnShutdownListener(EventListener<HostEventInfo> listener) { return this; }
     @Override public boolean removeOnShutdownListener(EventListener<HostEventInfo> listener) { return false; }
+    @Override public Host addOnCapacityChangeListener(EventListener<HostEventInfo> listener) { return this; }
+    @Override public boolean removeOnCapacityChangeListener(EventListener<HostEventInfo> listener) { return false; }
     @Override public boolean removeOnUpdateProcessingListener(EventListener<HostUpdatesVmsProcessingEventInfo> listener) { return false; }
     @Override public Host addOnUpdateProcessingListener(EventListener<HostUpdatesVmsProcessingEventInfo> listener) { return Host.NULL; }
     @Override public long getAvailableStorage() {
@@ -164,7 +168,9 @@ final class HostNull implements Host {
     @Override public void enableStateHistory() {/**/}
     @Override public void disableStateHistory() {/**/}
     @Override public boolean isStateHistoryEnabled() { return false; }
-    @Override public List<HostStateHistoryEntry> getStateHistory() { return Collections.emptyList(); }
+    @Override public Host setStateHistoryMaxEntries(int maxEntries) { return this; }
+    @Override public Host setStateHistoryAggregationWindow(double aggregationWindow) { return this; }
+    @Override public HostStateHistory getStateHistory() { return STATE_HISTORY; }
     @Override public List<Vm> getFinishedVms() { return Collections.emptyList(); }
     @Override public List<Vm> getMigratableVms() { return Collections.emptyList(); }
     @Override public double getTotalUpTime() { return 0; }
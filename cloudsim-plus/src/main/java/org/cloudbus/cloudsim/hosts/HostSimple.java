@@ -54,7 +54,7 @@ public class HostSimple implements Host {
     private static long defaultStorageCapacity = (long)Conversion.gigaToMega(500);
 
     /** @see #getStateHistory() */
-    private final List<HostStateHistoryEntry> stateHistory;
+    private final HostStateHistory stateHistory;
 
     /**@see #getPowerModel() */
     private PowerModel powerModel;
@@ -125,6 +125,9 @@ public class HostSimple implements Host {
     /** @see #addOnShutdownListener(EventListener) (EventListener) */
     private final Set<EventListener<HostEventInfo>> onShutdownListeners;
 
+    /** @see #addOnCapacityChangeListener(EventListener) */
+    private final Set<EventListener<HostEventInfo>> onCapacityChangeListeners;
+
     /** @see #getSimulation() */
     private Simulation simulation;
 
@@ -139,6 +142,21 @@ public class HostSimple implements Host {
      */
     private double previousUtilizationMips;
 
+    /**
+     * The last CPU utilization (in MIPS) computed by {@link #getCpuMipsUtilization()},
+     * which is cached until some VM changes its CPU utilization
+     * or the VM list changes.
+     * @see #cpuUtilizationTime
+     */
+    private double cpuMipsUtilization;
+
+    /**
+     * The time the cached {@link #cpuMipsUtilization} refers to,
+     * or a negative value if it isn't valid anymore.
+     * @see #invalidateCpuUtilization()
+     */
+    private double cpuUtilizationTime = -1;
+
     /** @see #getFreePesNumber() */
     private int freePesNumber;
 
@@ -252,6 +270,7 @@ public class HostSimple implements Host {
      * @see #setVmScheduler(VmScheduler)
      */
     public HostSimple(final long ram, final long bw, final long storage, final List<Pe> peList, final boolean activate) {
+        this.onCapacityChangeListeners = new HashSet<>();
         this.setId(-1);
         this.setSimulation(Simulation.NULL);
         this.setActive(activate);
@@ -279,7 +298,7 @@ public class HostSimple implements Host {
         this.vmsMigratingIn = new HashSet<>();
         this.vmsMigratingOut = new HashSet<>();
         this.powerModel = PowerModel.NULL;
-        this.stateHistory = new LinkedList<>();
+        this.stateHistory = new HostStateHistory();
     }
 
     /**
@@ -360,6 +379,10 @@ public class HostSimple implements Host {
             nextSimulationDelay = delay > 0 ? Math.min(delay, nextSimulationDelay) : nextSimulationDelay;
         }
 
+        if(datacenter.getPowerSupply() != DatacenterPowerSupply.NULL) {
+            datacenter.getPowerSupply().updateHostPower(this);
+        }
+
         notifyOnUpdateProcessingListeners(currentTime);
         addStateHistory(currentTime);
 
@@ -401,6 +424,7 @@ public class HostSimple implements Host {
             return false;
         }
 
+        invalidateCpuUtilization();
         return vmList.add(vm);
     }
 
@@ -449,6 +473,7 @@ public class HostSimple implements Host {
         for (final Vm vm : getVmsMigratingIn()) {
             if (!vmList.contains(vm)) {
                 vmList.add(vm);
+                invalidateCpuUtilization();
             }
 
             allocateResourcesForVm(vm);
@@ -510,6 +535,10 @@ public class HostSimple implements Host {
 
         this.active = activate;
         notifyStartupOrShutdown(activate, wasActive);
+        if(activate != wasActive) {
+            notifyOnCapacityChangeListeners();
+        }
+
         return this;
     }
 
@@ -556,6 +585,7 @@ public class HostSimple implements Host {
     private void destroyVmInternal(final Vm vm) {
         deallocateResourcesOfVm(requireNonNull(vm));
         vmList.remove(vm);
+        invalidateCpuUtilization();
         vm.getBroker().getVmExecList().remove(vm);
     }
 
@@ -581,6 +611,7 @@ public class HostSimple implements Host {
         }
 
         vmList.clear();
+        invalidateCpuUtilization();
     }
 
     @Override
@@ -613,6 +644,30 @@ public class HostSimple implements Host {
         return onShutdownListeners.remove(listener);
     }
 
+    @Override
+    public Host addOnCapacityChangeListener(final EventListener<HostEventInfo> listener) {
+        if(EventListener.NULL.equals(listener)){
+            return this;
+        }
+
+        onCapacityChangeListeners.add(Objects.requireNonNull(listener));
+        return this;
+    }
+
+    @Override
+    public boolean removeOnCapacityChangeListener(final EventListener<HostEventInfo> listener) {
+        return onCapacityChangeListeners.remove(listener);
+    }
+
+    /**
+     * Notifies registered listeners that the number of free PEs
+     * or the active state of the Host has changed.
+     * @see #addOnCapacityChangeListener(EventListener)
+     */
+    private void notifyOnCapacityChangeListeners() {
+        onCapacityChangeListeners.forEach(l -> l.update(HostEventInfo.of(l, this, simulation.clock())));
+    }
+
     /**
      * Deallocate all resources that all VMs were using.
      */
@@ -857,6 +912,7 @@ public class HostSimple implements Host {
 
     protected void addVmToList(final Vm vm){
         vmList.add(requireNonNull(vm));
+        invalidateCpuUtilization();
     }
 
     protected void addVmToCreatedList(final Vm vm){
@@ -880,6 +936,7 @@ public class HostSimple implements Host {
         * it must remain inactive.*/
         if(failed && this.active){
             this.active = false;
+            notifyOnCapacityChangeListeners();
         }
 
         return true;
@@ -893,9 +950,14 @@ public class HostSimple implements Host {
     public final void setPeStatus(final List<Pe> peList, final Pe.Status newStatus){
         /*For performance reasons, stores the number of free and failed PEs
         instead of iterating over the PE list every time to find out.*/
+        final int previousFreePesNumber = freePesNumber;
         for (final Pe pe : peList) {
             updatePeStatus(pe, newStatus);
         }
+
+        if(freePesNumber != previousFreePesNumber) {
+            notifyOnCapacityChangeListeners();
+        }
     }
 
     private void updatePeStatus(final Pe pe, final Pe.Status newStatus) {
@@ -953,6 +1015,7 @@ public class HostSimple implements Host {
     public void removeMigratingInVm(final Vm vm) {
         vmsMigratingIn.remove(vm);
         vmList.remove(vm);
+        invalidateCpuUtilization();
         vm.setInMigration(false);
     }
 
@@ -1126,9 +1189,35 @@ public class HostSimple implements Host {
         return (utilization > 1 && utilization < 1.01 ? 1 : utilization);
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * <p>The value is cached and just computed again when
+     * the simulation time changes or some VM changes its CPU utilization,
+     * since this method is called multiple times at each Host processing update
+     * (such as by power computation and VM migration policies).</p>
+     *
+     * @return {@inheritDoc}
+     */
     @Override
     public double getCpuMipsUtilization() {
-        return vmList.stream().mapToDouble(Vm::getTotalCpuMipsUtilization).sum();
+        final double time = simulation.clock();
+        if(time != cpuUtilizationTime) {
+            cpuMipsUtilization = vmList.stream().mapToDouble(Vm::getTotalCpuMipsUtilization).sum();
+            cpuUtilizationTime = time;
+        }
+
+        return cpuMipsUtilization;
+    }
+
+    /**
+     * Discards the cached CPU utilization of this Host.
+     * It's called every time the VM list changes or
+     * some VM changes its CPU utilization.
+     * @see VmSimple#invalidateCpuUtilization()
+     */
+    public void invalidateCpuUtilization() {
+        cpuUtilizationTime = -1;
     }
 
     @Override
@@ -1259,6 +1348,18 @@ public class HostSimple implements Host {
         return this.stateHistoryEnabled;
     }
 
+    @Override
+    public Host setStateHistoryMaxEntries(final int maxEntries) {
+        stateHistory.setMaxEntries(maxEntries);
+        return this;
+    }
+
+    @Override
+    public Host setStateHistoryAggregationWindow(final double aggregationWindow) {
+        stateHistory.setAggregationWindow(aggregationWindow);
+        return this;
+    }
+
     /**
      * Sets the previous utilization of CPU in mips.
      *
@@ -1342,21 +1443,12 @@ public class HostSimple implements Host {
         final double requestedMips,
         final boolean isActive)
     {
-        final HostStateHistoryEntry newState = new HostStateHistoryEntry(time, allocatedMips, requestedMips, isActive);
-        if (!stateHistory.isEmpty()) {
-            final HostStateHistoryEntry previousState = stateHistory.get(stateHistory.size() - 1);
-            if (previousState.getTime() == time) {
-                stateHistory.set(stateHistory.size() - 1, newState);
-                return;
-            }
-        }
-
-        stateHistory.add(newState);
+        stateHistory.add(time, allocatedMips, requestedMips, isActive);
     }
 
     @Override
-    public List<HostStateHistoryEntry> getStateHistory() {
-        return Collections.unmodifiableList(stateHistory);
+    public HostStateHistory getStateHistory() {
+        return stateHistory;
     }
 
     @Override
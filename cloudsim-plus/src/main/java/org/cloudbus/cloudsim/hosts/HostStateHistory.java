@@ -0,0 +1,368 @@
+package org.cloudbus.cloudsim.hosts;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * Stores the history of {@link Host} states in a columnar way,
+ * using primitive arrays for the time, allocated and requested MIPS
+ * and a {@link BitSet} for the active flag of each entry.
+ * That avoids creating one {@link HostStateHistoryEntry} object
+ * for every Host update when {@link Host#enableStateHistory() state history is enabled},
+ * which may take a large amount of memory for long simulations with many Hosts.
+ *
+ * <p>Entries are stored in chunks of {@link #CHUNK_SIZE} elements,
+ * allocated as the history grows, so that it's never required
+ * to copy existing entries to a larger array.
+ * The history can be bounded by {@link Host#setStateHistoryMaxEntries(int) a maximum number of entries},
+ * making it work as a ring buffer which discards the oldest entries.
+ * It can also be downsampled by {@link Host#setStateHistoryAggregationWindow(double) aggregating entries}
+ * that fall into the same time window.</p>
+ *
+ * <p>The class is a <b>read-only</b> {@link java.util.List} of {@link HostStateHistoryEntry},
+ * whose entries are created just when requested.
+ * It's changed just by the {@link Host} it belongs to.
+ * To read the history without creating such objects,
+ * use the getter methods which receive an entry index,
+ * such as {@link #getTime(int)}.</p>
+ *
+ * @author Manoel Campos da Silva Filho
+ * @since CloudSim Plus 5.5.0
+ */
+public final class HostStateHistory extends AbstractList<HostStateHistoryEntry> {
+    /**
+     * The number of entries in each chunk.
+     */
+    public static final int CHUNK_SIZE = 1024;
+
+    /**
+     * The number of bits to shift an index to get the chunk it belongs to,
+     * where {@code 2^CHUNK_BITS == CHUNK_SIZE}.
+     */
+    private static final int CHUNK_BITS = 10;
+
+    private double[][] times;
+    private double[][] allocatedMips;
+    private double[][] requestedMips;
+    private final BitSet active;
+
+    /** @see #size() */
+    private int size;
+
+    /**
+     * The physical position of the oldest entry,
+     * which changes just when the history is bounded and full.
+     */
+    private int head;
+
+    /** @see #getMaxEntries() */
+    private int maxEntries;
+
+    /** @see #getAggregationWindow() */
+    private double aggregationWindow;
+
+    /**
+     * The number of samples aggregated into the last entry.
+     */
+    private int lastEntrySamples;
+    private double lastEntryAllocatedSum;
+    private double lastEntryRequestedSum;
+
+    /**
+     * Indicates if the Host was active in any sample
+     * aggregated into the last entry, before the last sample
+     * (used when the last sample is replaced).
+     */
+    private boolean lastEntryPreviouslyActive;
+    private double lastSampleAllocatedMips;
+    private double lastSampleRequestedMips;
+
+    /**
+     * Creates an unbounded history which doesn't aggregate entries.
+     */
+    HostStateHistory() {
+        this.times = new double[0][];
+        this.allocatedMips = new double[0][];
+        this.requestedMips = new double[0][];
+        this.active = new BitSet();
+    }
+
+    /**
+     * Adds a Host state to the history.
+     * If the given time is equal to the time of the last entry,
+     * the last state is replaced.
+     * If an {@link #getAggregationWindow() aggregation window} is set and
+     * the given time is inside the same window of the last entry,
+     * the state is aggregated into that entry.
+     *
+     * @param time the time of the Host state
+     * @param allocatedMips the total MIPS allocated from all PEs of the Host, to running VMs, at the given time
+     * @param requestedMips the total MIPS requested by running VMs to all PEs of the Host at the given time
+     * @param active if the Host is active at the given time
+     */
+    void add(final double time, final double allocatedMips, final double requestedMips, final boolean active) {
+        if(size > 0) {
+            final double lastTime = getTime(size - 1);
+            if (lastTime == time) {
+                replaceLastSample(time, allocatedMips, requestedMips, active);
+                return;
+            }
+
+            if (isSameAggregationWindow(lastTime, time)) {
+                aggregateIntoLastEntry(time, allocatedMips, requestedMips, active, isActive(size - 1));
+                return;
+            }
+        }
+
+        appendEntry();
+        lastEntrySamples = 0;
+        lastEntryAllocatedSum = 0;
+        lastEntryRequestedSum = 0;
+        aggregateIntoLastEntry(time, allocatedMips, requestedMips, active, false);
+    }
+
+    private boolean isSameAggregationWindow(final double lastTime, final double time) {
+        return aggregationWindow > 0 && Math.floor(lastTime / aggregationWindow) == Math.floor(time / aggregationWindow);
+    }
+
+    private void replaceLastSample(final double time, final double allocatedMips, final double requestedMips, final boolean active) {
+        lastEntrySamples--;
+        lastEntryAllocatedSum -= lastSampleAllocatedMips;
+        lastEntryRequestedSum -= lastSampleRequestedMips;
+        if(lastEntrySamples == 0){
+            /*Avoids accumulating rounding errors when the only sample is replaced,
+            * so that an entry is exactly the last state in a given time when aggregation is disabled.*/
+            lastEntryAllocatedSum = 0;
+            lastEntryRequestedSum = 0;
+        }
+
+        aggregateIntoLastEntry(time, allocatedMips, requestedMips, active, lastEntryPreviouslyActive);
+    }
+
+    /**
+     * Aggregates a Host state into the last entry.
+     * @param time the time of the Host state
+     * @param allocatedMips the allocated MIPS at the given time
+     * @param requestedMips the requested MIPS at the given time
+     * @param active if the Host is active at the given time
+     * @param previouslyActive if the Host was active in any state previously aggregated into the last entry
+     */
+    private void aggregateIntoLastEntry(
+        final double time, final double allocatedMips, final double requestedMips,
+        final boolean active, final boolean previouslyActive)
+    {
+        final int physicalIndex = physicalIndex(size - 1);
+        lastEntryPreviouslyActive = previouslyActive;
+        lastSampleAllocatedMips = allocatedMips;
+        lastSampleRequestedMips = requestedMips;
+        lastEntrySamples++;
+        lastEntryAllocatedSum += allocatedMips;
+        lastEntryRequestedSum += requestedMips;
+
+        final int chunk = physicalIndex >>> CHUNK_BITS;
+        final int offset = physicalIndex & (CHUNK_SIZE - 1);
+        this.times[chunk][offset] = time;
+        this.allocatedMips[chunk][offset] = lastEntrySamples == 1 ? allocatedMips : lastEntryAllocatedSum / lastEntrySamples;
+        this.requestedMips[chunk][offset] = lastEntrySamples == 1 ? requestedMips : lastEntryRequestedSum / lastEntrySamples;
+        this.active.set(physicalIndex, previouslyActive || active);
+    }
+
+    /**
+     * Adds an empty entry to the end of the history,
+     * allocating a new chunk if required or discarding the oldest entry
+     * if the history is full.
+     */
+    private void appendEntry() {
+        if(maxEntries > 0 && size == maxEntries){
+            head = (head + 1) % maxEntries;
+            return;
+        }
+
+        size++;
+        final int chunk = physicalIndex(size - 1) >>> CHUNK_BITS;
+        if(chunk == times.length) {
+            final int chunkSize = maxEntries > 0 ? Math.min(CHUNK_SIZE, maxEntries - chunk * CHUNK_SIZE) : CHUNK_SIZE;
+            times = Arrays.copyOf(times, chunk + 1);
+            allocatedMips = Arrays.copyOf(allocatedMips, chunk + 1);
+            requestedMips = Arrays.copyOf(requestedMips, chunk + 1);
+            times[chunk] = new double[chunkSize];
+            allocatedMips[chunk] = new double[chunkSize];
+            requestedMips[chunk] = new double[chunkSize];
+        }
+    }
+
+    /**
+     * Gets the position inside the chunks where an entry at a given index is stored.
+     * @param index the index of the entry, where 0 is the oldest one
+     * @return the physical position of the entry
+     */
+    private int physicalIndex(final int index) {
+        return maxEntries > 0 ? (head + index) % maxEntries : index;
+    }
+
+    private int checkedPhysicalIndex(final int index) {
+        if(index < 0 || index >= size){
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+
+        return physicalIndex(index);
+    }
+
+    /**
+     * Gets the time the data in an entry is related to.
+     * @param index the index of the entry, where 0 is the oldest one
+     * @return the entry time
+     */
+    public double getTime(final int index) {
+        final int physicalIndex = checkedPhysicalIndex(index);
+        return times[physicalIndex >>> CHUNK_BITS][physicalIndex & (CHUNK_SIZE - 1)];
+    }
+
+    /**
+     * Gets the total MIPS allocated from all PEs of the Host, to running VMs, at the time of an entry.
+     * @param index the index of the entry, where 0 is the oldest one
+     * @return the allocated MIPS (the average allocated MIPS if entries are aggregated)
+     */
+    public double getAllocatedMips(final int index) {
+        final int physicalIndex = checkedPhysicalIndex(index);
+        return allocatedMips[physicalIndex >>> CHUNK_BITS][physicalIndex & (CHUNK_SIZE - 1)];
+    }
+
+    /**
+     * Gets the total MIPS requested by running VMs to all PEs of the Host at the time of an entry.
+     * @param index the index of the entry, where 0 is the oldest one
+     * @return the requested MIPS (the average requested MIPS if entries are aggregated)
+     */
+    public double getRequestedMips(final int index) {
+        final int physicalIndex = checkedPhysicalIndex(index);
+        return requestedMips[physicalIndex >>> CHUNK_BITS][physicalIndex & (CHUNK_SIZE - 1)];
+    }
+
+    /**
+     * Gets the percentage (in scale from 0 to 1) of allocated MIPS from the total requested,
+     * at the time of an entry.
+     * @param index the index of the entry, where 0 is the oldest one
+     * @return the percentage of allocated MIPS
+     * @see HostStateHistoryEntry#getPercentUsage()
+     */
+    public double getPercentUsage(final int index) {
+        final double requested = getRequestedMips(index);
+        return requested > 0 ? getAllocatedMips(index)/requested : 0;
+    }
+
+    /**
+     * Checks if the Host was active at the time of an entry.
+     * @param index the index of the entry, where 0 is the oldest one
+     * @return true if the Host was active (at any time inside the window if entries are aggregated),
+     *         false otherwise
+     */
+    public boolean isActive(final int index) {
+        return active.get(checkedPhysicalIndex(index));
+    }
+
+    /**
+     * Gets a {@link HostStateHistoryEntry} object with the data of an entry.
+     * Such an object is created on each call.
+     *
+     * @param index the index of the entry, where 0 is the oldest one
+     * @return a new entry object
+     */
+    @Override
+    public HostStateHistoryEntry get(final int index) {
+        return new HostStateHistoryEntry(getTime(index), getAllocatedMips(index), getRequestedMips(index), isActive(index));
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Gets the maximum number of entries to keep.
+     * When the history is full, the oldest entry is discarded when a new one is added.
+     * @return the maximum number of entries or 0 if the history is unbounded
+     */
+    public int getMaxEntries() {
+        return maxEntries;
+    }
+
+    /**
+     * Sets the maximum number of entries to keep.
+     * When the history is full, the oldest entry is discarded when a new one is added.
+     * If the history currently has more entries than the given maximum,
+     * the oldest ones are discarded right away.
+     *
+     * @param maxEntries the maximum number of entries or 0 to make the history unbounded
+     * @return this history
+     * @see Host#setStateHistoryMaxEntries(int)
+     */
+    HostStateHistory setMaxEntries(final int maxEntries) {
+        if(maxEntries < 0){
+            throw new IllegalArgumentException("Maximum number of entries cannot be negative.");
+        }
+
+        if(maxEntries == this.maxEntries){
+            return this;
+        }
+
+        final int discarded = maxEntries > 0 ? Math.max(size - maxEntries, 0) : 0;
+        final HostStateHistory newHistory = new HostStateHistory();
+        newHistory.maxEntries = maxEntries;
+        for (int i = discarded; i < size; i++) {
+            newHistory.appendEntry();
+            newHistory.copyEntry(newHistory.size - 1, this, i);
+        }
+
+        this.times = newHistory.times;
+        this.allocatedMips = newHistory.allocatedMips;
+        this.requestedMips = newHistory.requestedMips;
+        this.active.clear();
+        this.active.or(newHistory.active);
+        this.size = newHistory.size;
+        this.head = 0;
+        this.maxEntries = maxEntries;
+        return this;
+    }
+
+    private void copyEntry(final int index, final HostStateHistory source, final int sourceIndex) {
+        final int physicalIndex = physicalIndex(index);
+        final int chunk = physicalIndex >>> CHUNK_BITS;
+        final int offset = physicalIndex & (CHUNK_SIZE - 1);
+        times[chunk][offset] = source.getTime(sourceIndex);
+        allocatedMips[chunk][offset] = source.getAllocatedMips(sourceIndex);
+        requestedMips[chunk][offset] = source.getRequestedMips(sourceIndex);
+        active.set(physicalIndex, source.isActive(sourceIndex));
+    }
+
+    /**
+     * Gets the length of the time window used to downsample the history.
+     * All states added inside the same window are aggregated into a single entry,
+     * whose time is the time of the last state added,
+     * allocated and requested MIPS are the average of the states in the window
+     * and the active flag indicates if the Host was active in any of those states.
+     *
+     * @return the aggregation window length (in seconds) or 0 if states are not aggregated
+     */
+    public double getAggregationWindow() {
+        return aggregationWindow;
+    }
+
+    /**
+     * Sets the length of the time window used to downsample the history.
+     * It applies just for entries added from now on.
+     *
+     * @param aggregationWindow the aggregation window length (in seconds) or 0 to disable aggregation
+     * @return this history
+     * @see #getAggregationWindow()
+     * @see Host#setStateHistoryAggregationWindow(double)
+     */
+    HostStateHistory setAggregationWindow(final double aggregationWindow) {
+        if(aggregationWindow < 0){
+            throw new IllegalArgumentException("Aggregation window cannot be negative.");
+        }
+
+        this.aggregationWindow = aggregationWindow;
+        return this;
+    }
+}
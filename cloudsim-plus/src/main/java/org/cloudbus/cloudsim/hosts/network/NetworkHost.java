@@ -8,8 +8,11 @@
 package org.cloudbus.cloudsim.hosts.network;
 
 import org.cloudbus.cloudsim.core.CloudSimTags;
+import org.cloudbus.cloudsim.datacenters.network.NetworkDatacenter;
 import org.cloudbus.cloudsim.hosts.HostSimple;
 import org.cloudbus.cloudsim.network.HostPacket;
+import org.cloudbus.cloudsim.network.HostPacketPool;
+import org.cloudbus.cloudsim.network.NetworkLink;
 import org.cloudbus.cloudsim.network.VmPacket;
 import org.cloudbus.cloudsim.network.switches.EdgeSwitch;
 import org.cloudbus.cloudsim.resources.Pe;
@@ -22,7 +25,9 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 
 /**
  * NetworkHost class extends {@link HostSimple} to support simulation of
@@ -67,6 +72,12 @@ public class NetworkHost extends HostSimple {
      */
     private final List<HostPacket> hostPktsReceived;
 
+    /**
+     * A pool of {@link HostPacket}s delivered to this Host,
+     * which are reused to send packets from its VMs.
+     */
+    private final HostPacketPool packetPool;
+
     /**
      * Edge switch in which the Host is connected.
      */
@@ -85,6 +96,7 @@ public class NetworkHost extends HostSimple {
         hostPktsReceived = new ArrayList<>();
         pktsToSendForExternalVms = new ArrayList<>();
         pktsToSendForLocalVms = new ArrayList<>();
+        packetPool = new HostPacketPool();
     }
 
     @Override
@@ -102,6 +114,7 @@ public class NetworkHost extends HostSimple {
     private void receivePackets() {
         for (final HostPacket hostPkt : hostPktsReceived) {
             receivePacket(hostPkt.getVmPacket());
+            packetPool.release(hostPkt);
         }
 
         hostPktsReceived.clear();
@@ -110,7 +123,7 @@ public class NetworkHost extends HostSimple {
     private void receivePacket(final VmPacket vmPacket) {
         final Vm destinationVm = receiveVmPacket(vmPacket);
         //Checks if the destinationVm is inside this host
-        if(getVmList().contains(destinationVm)){
+        if(isVmInside(destinationVm)){
             final CloudletTaskScheduler taskScheduler = getVmPacketScheduler(destinationVm);
             taskScheduler.addPacketToListOfPacketsSentFromVm(vmPacket);
             LOGGER.trace(
@@ -146,22 +159,32 @@ public class NetworkHost extends HostSimple {
         sendPacketsToExternalVms();
     }
 
+    private boolean isVmInside(final Vm vm) {
+        return vm.getHost() == this;
+    }
+
     /**
      * Gets the packets from the local packets buffer and sends them
      * to VMs inside this host.
+     * Just the VMs receiving packets have their processing updated.
      */
     private void sendPacketsToLocalVms() {
+        if (pktsToSendForLocalVms.isEmpty()) {
+            return;
+        }
+
+        final Set<Vm> receiverVms = new LinkedHashSet<>();
         for (final HostPacket hostPkt : pktsToSendForLocalVms) {
             hostPkt.setSendTime(hostPkt.getReceiveTime());
             final Vm destinationVm = receiveVmPacket(hostPkt.getVmPacket());
             // insert the packet in received list
             getVmPacketScheduler(destinationVm).addPacketToListOfPacketsSentFromVm(hostPkt.getVmPacket());
+            receiverVms.add(destinationVm);
+            packetPool.release(hostPkt);
         }
 
-        if (!pktsToSendForLocalVms.isEmpty()) {
-            for (final Vm vm : getVmList()) {
-                vm.updateProcessing(getVmScheduler().getAllocatedMips(vm));
-            }
+        for (final Vm vm : receiverVms) {
+            vm.updateProcessing(getVmScheduler().getAllocatedMips(vm));
         }
 
         pktsToSendForLocalVms.clear();
@@ -169,20 +192,40 @@ public class NetworkHost extends HostSimple {
 
     /**
      * Sends packets from the local packets buffer to VMs outside this host.
+     * If the Datacenter network is simulated at the {@link NetworkDatacenter#enableFlowLevelNetwork() flow level},
+     * each packet is sent as a flow, otherwise it's sent to the Edge Switch
+     * through the {@link NetworkLink} between them.
+     * In the latter case, packets with the same size (which have the same transfer delay)
+     * are sent in a batch by a single event.
      */
     private void sendPacketsToExternalVms() {
+        if (pktsToSendForExternalVms.isEmpty()) {
+            return;
+        }
+
         for (final HostPacket pkt : pktsToSendForExternalVms) {
-            final double delay = edgeSwitch.downlinkTransferDelay(pkt, pktsToSendForExternalVms.size());
             totalDataTransferBytes += pkt.getSize();
+        }
 
-            getSimulation().send(
-                    getDatacenter(), getEdgeSwitch(),
-                    delay, CloudSimTags.NETWORK_EVENT_UP, pkt);
+        if(isFlowLevelNetworkEnabled()) {
+            ((NetworkDatacenter)getDatacenter()).getFlowLevelNetwork().startFlows(pktsToSendForExternalVms);
+            pktsToSendForExternalVms.clear();
+            return;
         }
 
+        final NetworkLink link = edgeSwitch.getDatacenter().getNetworkLink(this, edgeSwitch, edgeSwitch.getDownlinkBandwidth());
+        link.transmit(
+            getSimulation().clock(), pktsToSendForExternalVms,
+            (batch, delay) -> getSimulation().send(getDatacenter(), getEdgeSwitch(), delay, CloudSimTags.NETWORK_EVENT_UP, HostPacket.toEventData(batch)));
+
         pktsToSendForExternalVms.clear();
     }
 
+    private boolean isFlowLevelNetworkEnabled() {
+        return getDatacenter() instanceof NetworkDatacenter &&
+               ((NetworkDatacenter)getDatacenter()).isFlowLevelNetworkEnabled();
+    }
+
     private CloudletTaskScheduler getVmPacketScheduler(final Vm vm) {
         return vm.getCloudletScheduler().getTaskScheduler();
     }
@@ -232,11 +275,11 @@ public class NetworkHost extends HostSimple {
      * @see #collectListOfPacketsToSendFromVm(Vm)
      */
     private void collectPacketToSendFromVm(final VmPacket vmPkt) {
-        final HostPacket hostPkt = new HostPacket(this, vmPkt);
+        final HostPacket hostPkt = packetPool.acquire(this, vmPkt);
         final Vm receiverVm = vmPkt.getDestination();
 
         //If the VM is inside this Host, the packet doesn't travel through the network
-        final List<HostPacket> pktsToSend = getVmList().contains(receiverVm) ? pktsToSendForLocalVms : pktsToSendForExternalVms;
+        final List<HostPacket> pktsToSend = isVmInside(receiverVm) ? pktsToSendForLocalVms : pktsToSendForExternalVms;
         pktsToSend.add(hostPkt);
     }
 
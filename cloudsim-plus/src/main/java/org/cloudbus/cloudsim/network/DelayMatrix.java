@@ -11,6 +11,8 @@ package org.cloudbus.cloudsim.network;
 import org.cloudbus.cloudsim.network.topologies.TopologicalGraph;
 import org.cloudbus.cloudsim.network.topologies.TopologicalLink;
 
+import java.util.Arrays;
+
 /**
  * This class represents a delay matrix between every pair or nodes
  * inside a network topology, storing every distance between connected nodes.
@@ -21,9 +23,11 @@ import org.cloudbus.cloudsim.network.topologies.TopologicalLink;
 public class DelayMatrix {
 
 	/**
-	 * Matrix holding delay information between any two nodes.
+	 * Matrix holding delay information between any two nodes,
+	 * stored as a flat row-major array where the delay from node i to node j
+	 * is at the index {@code i * mTotalNodeNum + j}.
 	 */
-    private double[][] mDelayMatrix;
+    private double[] mDelayMatrix;
 
 	/**
 	 * Number of nodes in the distance-aware-topology.
@@ -31,7 +35,7 @@ public class DelayMatrix {
     private int mTotalNodeNum;
 
 	public DelayMatrix() {
-        mDelayMatrix = new double[0][0];
+        mDelayMatrix = new double[0];
 	}
 
 	/**
@@ -58,11 +62,11 @@ public class DelayMatrix {
 	 */
 	public double getDelay(int srcID, int destID) {
 		// check the nodeIDs against internal array-boundaries
-		if (srcID > mTotalNodeNum || destID > mTotalNodeNum) {
-			throw new ArrayIndexOutOfBoundsException("srcID or destID is higher than highest stored node-ID!");
+		if (srcID < 0 || destID < 0 || srcID >= mTotalNodeNum || destID >= mTotalNodeNum) {
+			throw new ArrayIndexOutOfBoundsException("srcID or destID is out of the range of stored node-IDs!");
 		}
 
-		return mDelayMatrix[srcID][destID];
+		return mDelayMatrix[srcID * mTotalNodeNum + destID];
 	}
 
 	/**
@@ -78,21 +82,16 @@ public class DelayMatrix {
 		// number of nodes inside the network
 		mTotalNodeNum = graph.getNumberOfNodes();
 
-		mDelayMatrix = new double[mTotalNodeNum][mTotalNodeNum];
-
-		// cleanup the complete distance-matrix with "0"s
-		for (int row = 0; row < mTotalNodeNum; ++row) {
-			for (int col = 0; col < mTotalNodeNum; ++col) {
-				mDelayMatrix[row][col] = Double.MAX_VALUE;
-			}
-		}
+		mDelayMatrix = new double[mTotalNodeNum * mTotalNodeNum];
 
+		// cleanup the complete distance-matrix with infinite delays
+		Arrays.fill(mDelayMatrix, Double.MAX_VALUE);
 
         for (final TopologicalLink edge : graph.getLinksList()) {
-			mDelayMatrix[edge.getSrcNodeID()][edge.getDestNodeID()] = edge.getLinkDelay();
+			mDelayMatrix[edge.getSrcNodeID() * mTotalNodeNum + edge.getDestNodeID()] = edge.getLinkDelay();
 			if (!directed) {
 				// according to symmetry to all communication-paths
-				mDelayMatrix[edge.getDestNodeID()][edge.getSrcNodeID()] = edge.getLinkDelay();
+				mDelayMatrix[edge.getDestNodeID() * mTotalNodeNum + edge.getSrcNodeID()] = edge.getLinkDelay();
 			}
 		}
 	}
@@ -102,7 +101,7 @@ public class DelayMatrix {
 	 */
 	private void calculateShortestPath() {
 		final FloydWarshall floyd = new FloydWarshall(mTotalNodeNum);
-		mDelayMatrix = floyd.computeShortestPaths(mDelayMatrix);
+		floyd.computeShortestPaths(mDelayMatrix);
 	}
 
 	@Override
@@ -120,10 +119,11 @@ public class DelayMatrix {
 			builder.append(System.lineSeparator()).append(row);
 
 			for (int col = 0; col < mTotalNodeNum; ++col) {
-				if (mDelayMatrix[row][col] == Double.MAX_VALUE) {
+				final double delay = mDelayMatrix[row * mTotalNodeNum + col];
+				if (delay == Double.MAX_VALUE) {
 					builder.append("\t-");
 				} else {
-					builder.append('\t').append(mDelayMatrix[row][col]);
+					builder.append('\t').append(delay);
 				}
 			}
 		}
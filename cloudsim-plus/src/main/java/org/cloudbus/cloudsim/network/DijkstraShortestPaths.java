@@ -0,0 +1,385 @@
+/*
+ * CloudSim Plus: A modern, highly-extensible and easier-to-use Framework for
+ * Modeling and Simulation of Cloud Computing Infrastructures and Services.
+ * http://cloudsimplus.org
+ *
+ *     Copyright (C) 2015-2018 Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Plus.
+ *
+ *     CloudSim Plus is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Plus. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudbus.cloudsim.network;
+
+import org.cloudbus.cloudsim.network.topologies.SparseTopologicalGraph;
+import org.cloudbus.cloudsim.network.topologies.TopologicalGraph;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Computes the shortest path delay between network nodes using the
+ * <a href="https://en.wikipedia.org/wiki/Dijkstra%27s_algorithm">Dijkstra algorithm</a>.
+ * It's an alternative to the {@link FloydWarshall} algorithm for large sparse graphs,
+ * where just the delays from a few nodes are required.
+ *
+ * <p>The graph is stored in the
+ * <a href="https://en.wikipedia.org/wiki/Sparse_matrix#Compressed_sparse_row_(CSR,_CRS_or_Yale_format)">Compressed Sparse Row (CSR)</a>
+ * format, using primitive arrays (see {@link SparseTopologicalGraph}). The delays from a node to all the other ones
+ * are computed only when requested for the first time, then cached.
+ * The cache keeps at most {@link #getMaxCachedRows()} rows,
+ * discarding the Least Recently Used (LRU) ones when full.
+ * Since each row has one delay for every node, the default maximum number of rows
+ * is defined so that the cache takes at most {@link #DEFAULT_MAX_CACHE_SIZE} bytes
+ * (see {@link #getDefaultMaxCachedRows(int)}).
+ * This way, the memory required is proportional to the number of links
+ * plus the cache size, instead of the square of the number of nodes.</p>
+ *
+ * <p>To be consistent with the {@link FloydWarshall} algorithm,
+ * links with zero delay are considered nonexistent
+ * and the delay between unconnected nodes is {@link Double#MAX_VALUE}.</p>
+ *
+ * @author Manoel Campos da Silva Filho
+ * @since CloudSim Plus 5.5.0
+ */
+public class DijkstraShortestPaths {
+    /**
+     * The delay representing there is no path between two nodes.
+     */
+    public static final double NO_PATH = Double.MAX_VALUE;
+
+    /**
+     * The default maximum number of rows (the delays from a source node to all the other ones)
+     * to keep in the cache, for graphs whose rows fit into the {@link #DEFAULT_MAX_CACHE_SIZE}.
+     * @see #getDefaultMaxCachedRows(int)
+     * @see #setMaxCachedRows(int)
+     */
+    public static final int DEFAULT_MAX_CACHED_ROWS = 1000;
+
+    /**
+     * The default maximum size of the cache in bytes (32 MB),
+     * used to define the maximum number of rows according to the number of nodes.
+     * @see #getDefaultMaxCachedRows(int)
+     */
+    public static final long DEFAULT_MAX_CACHE_SIZE = 32L * 1024 * 1024;
+
+    /**
+     * The index in the {@link #targets} and {@link #delays} arrays
+     * where the links of each node start, where the links of the last node
+     * end at the last element of this array.
+     */
+    private final int[] offsets;
+
+    /**
+     * The node each link goes to.
+     */
+    private final int[] targets;
+
+    /**
+     * The delay of each link.
+     */
+    private final double[] delays;
+
+    /**
+     * A map where each key is a source node and each value is an array
+     * containing the shortest path delay from that node to every other one.
+     */
+    private final Map<Integer, double[]> cache;
+
+    /** @see #getMaxCachedRows() */
+    private int maxCachedRows;
+
+    /**
+     * Creates an object to compute the shortest paths between the nodes of a given graph.
+     *
+     * @param graph the network topological graph
+     * @param directed indicates if the graph is directed (true) or not (false)
+     */
+    public DijkstraShortestPaths(final TopologicalGraph graph, final boolean directed) {
+        this(new SparseTopologicalGraph(graph, directed));
+    }
+
+    /**
+     * Creates an object to compute the shortest paths between the nodes of a given sparse graph.
+     *
+     * @param graph the sparse network topological graph
+     */
+    public DijkstraShortestPaths(final SparseTopologicalGraph graph) {
+        this(graph.getOffsets(), graph.getTargets(), graph.getDelays());
+    }
+
+    /**
+     * Creates an object to compute the shortest paths between the nodes of a directed graph
+     * given in the CSR format.
+     * The arrays are not copied, so they must not be changed after calling this constructor.
+     *
+     * @param offsets the index in the targets and delays arrays where the links of each node start,
+     *                which must have the number of nodes + 1 elements,
+     *                where the last one is the number of links
+     * @param targets the node each link goes to
+     * @param delays the delay of each link
+     */
+    public DijkstraShortestPaths(final int[] offsets, final int[] targets, final double[] delays) {
+        if(offsets.length == 0 || targets.length != delays.length || offsets[offsets.length - 1] != targets.length) {
+            throw new IllegalArgumentException("Invalid graph in the CSR format.");
+        }
+
+        this.offsets = offsets;
+        this.targets = targets;
+        this.delays = delays;
+        this.maxCachedRows = getDefaultMaxCachedRows(getNumberOfNodes());
+        this.cache = newCache();
+    }
+
+    /**
+     * Gets the default maximum number of rows to keep in a cache
+     * where each row has one value for every node in a graph.
+     * It's the number of rows which fit into the {@link #DEFAULT_MAX_CACHE_SIZE},
+     * limited to the {@link #DEFAULT_MAX_CACHED_ROWS}.
+     *
+     * @param nodes the number of nodes in the graph
+     * @return the default maximum number of rows (at least 1)
+     */
+    public static int getDefaultMaxCachedRows(final int nodes) {
+        final long rowSize = (long) Double.BYTES * Math.max(nodes, 1);
+        return (int) Math.max(Math.min(DEFAULT_MAX_CACHE_SIZE / rowSize, DEFAULT_MAX_CACHED_ROWS), 1);
+    }
+
+    /**
+     * Creates a map ordered by access, that removes the least recently used row
+     * when the {@link #getMaxCachedRows() maximum number of rows} is exceeded.
+     * @return
+     */
+    private Map<Integer, double[]> newCache() {
+        return new LinkedHashMap<Integer, double[]>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<Integer, double[]> eldest) {
+                return size() > maxCachedRows;
+            }
+        };
+    }
+
+    /**
+     * Gets the shortest path delay between two nodes,
+     * computing the delays from the source node to all the other ones if not computed yet.
+     *
+     * @param srcID the id of the source node
+     * @param destID the id of the destination node
+     * @return the delay between the given two nodes or {@link #NO_PATH} if there is no path between them
+     * @throws ArrayIndexOutOfBoundsException when some of the node ids is out of the graph bounds
+     */
+    public double getDelay(final int srcID, final int destID) {
+        if (srcID < 0 || destID < 0 || srcID >= getNumberOfNodes() || destID >= getNumberOfNodes()) {
+            throw new ArrayIndexOutOfBoundsException("srcID or destID is out of the range of node IDs!");
+        }
+
+        return getDelays(srcID)[destID];
+    }
+
+    /**
+     * Gets the shortest path delays from a node to all the other ones,
+     * computing them if not computed yet.
+     *
+     * @param srcID the id of the source node
+     * @return an array containing the delay to each node
+     */
+    protected double[] getDelays(final int srcID) {
+        return cache.computeIfAbsent(srcID, this::computeShortestPaths);
+    }
+
+    /**
+     * Computes the shortest path delays from a node to all the other ones,
+     * using a binary heap indexed by node to select the next closest node.
+     *
+     * @param srcID the id of the source node
+     * @return an array containing the delay to each node
+     */
+    private double[] computeShortestPaths(final int srcID) {
+        final int nodes = getNumberOfNodes();
+        final double[] distances = new double[nodes];
+        Arrays.fill(distances, NO_PATH);
+        distances[srcID] = 0;
+
+        final NodeHeap heap = new NodeHeap(distances);
+        heap.insertOrDecrease(srcID);
+        while (!heap.isEmpty()) {
+            final int node = heap.removeMin();
+            for (int i = offsets[node]; i < offsets[node + 1]; i++) {
+                final double distance = distances[node] + delays[i];
+                if (distance < distances[targets[i]]) {
+                    distances[targets[i]] = distance;
+                    heap.insertOrDecrease(targets[i]);
+                }
+            }
+        }
+
+        return distances;
+    }
+
+    /**
+     * Gets the maximum number of rows (the delays from a source node to all the other ones)
+     * to keep in the cache.
+     * @return
+     */
+    public int getMaxCachedRows() {
+        return maxCachedRows;
+    }
+
+    /**
+     * Sets the maximum number of rows (the delays from a source node to all the other ones)
+     * to keep in the cache. If the cache has more rows than the given value,
+     * the least recently used ones are removed.
+     *
+     * @param maxCachedRows the maximum number of rows to set (at least 1)
+     * @return
+     */
+    public DijkstraShortestPaths setMaxCachedRows(final int maxCachedRows) {
+        if (maxCachedRows < 1) {
+            throw new IllegalArgumentException("The maximum number of cached rows must be at least 1.");
+        }
+
+        this.maxCachedRows = maxCachedRows;
+        final Iterator<Integer> iterator = cache.keySet().iterator();
+        while (cache.size() > maxCachedRows) {
+            iterator.next();
+            iterator.remove();
+        }
+
+        return this;
+    }
+
+    /**
+     * Gets the number of rows currently in the cache.
+     * @return
+     */
+    public int getCachedRowsNumber() {
+        return cache.size();
+    }
+
+    /**
+     * Gets the number of nodes in the graph.
+     * @return
+     */
+    public int getNumberOfNodes() {
+        return offsets.length - 1;
+    }
+
+    /**
+     * Gets the number of links in the graph
+     * (where each link in an undirected graph is counted twice, one for each direction).
+     * @return
+     */
+    public int getNumberOfLinks() {
+        return targets.length;
+    }
+
+    /**
+     * A binary min-heap of node ids ordered by their current distance,
+     * which allows decreasing the distance of a node already in the heap.
+     */
+    private static final class NodeHeap {
+        private final double[] distances;
+
+        /** The node ids in the heap. */
+        private final int[] heap;
+
+        /** The position of each node in the heap, or -1 if the node is not in the heap. */
+        private final int[] positions;
+
+        private int size;
+
+        private NodeHeap(final double[] distances) {
+            this.distances = distances;
+            this.heap = new int[distances.length];
+            this.positions = new int[distances.length];
+            Arrays.fill(positions, -1);
+        }
+
+        private boolean isEmpty() {
+            return size == 0;
+        }
+
+        /**
+         * Inserts a node into the heap or moves it up if its distance was decreased.
+         */
+        private void insertOrDecrease(final int node) {
+            if (positions[node] == -1) {
+                heap[size] = node;
+                positions[node] = size;
+                size++;
+            }
+
+            siftUp(positions[node]);
+        }
+
+        private int removeMin() {
+            final int min = heap[0];
+            positions[min] = -1;
+            size--;
+            if (size > 0) {
+                heap[0] = heap[size];
+                positions[heap[0]] = 0;
+                siftDown(0);
+            }
+
+            return min;
+        }
+
+        private void siftUp(int pos) {
+            final int node = heap[pos];
+            while (pos > 0) {
+                final int parent = (pos - 1) / 2;
+                if (distances[heap[parent]] <= distances[node]) {
+                    break;
+                }
+
+                move(heap[parent], pos);
+                pos = parent;
+            }
+
+            move(node, pos);
+        }
+
+        private void siftDown(int pos) {
+            final int node = heap[pos];
+            while (true) {
+                int child = 2 * pos + 1;
+                if (child >= size) {
+                    break;
+                }
+
+                if (child + 1 < size && distances[heap[child + 1]] < distances[heap[child]]) {
+                    child++;
+                }
+
+                if (distances[node] <= distances[heap[child]]) {
+                    break;
+                }
+
+                move(heap[child], pos);
+                pos = child;
+            }
+
+            move(node, pos);
+        }
+
+        private void move(final int node, final int pos) {
+            heap[pos] = node;
+            positions[node] = pos;
+        }
+    }
+}
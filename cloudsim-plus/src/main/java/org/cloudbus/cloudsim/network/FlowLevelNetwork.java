@@ -0,0 +1,556 @@
+/*
+ * CloudSim Plus: A modern, highly-extensible and easier-to-use Framework for
+ * Modeling and Simulation of Cloud Computing Infrastructures and Services.
+ * http://cloudsimplus.org
+ *
+ *     Copyright (C) 2015-2018 Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Plus.
+ *
+ *     CloudSim Plus is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Plus. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudbus.cloudsim.network;
+
+import org.cloudbus.cloudsim.core.CloudSimEntity;
+import org.cloudbus.cloudsim.core.CloudSimTags;
+import org.cloudbus.cloudsim.core.Simulation;
+import org.cloudbus.cloudsim.core.events.SimEvent;
+import org.cloudbus.cloudsim.datacenters.network.NetworkDatacenter;
+import org.cloudbus.cloudsim.hosts.network.NetworkHost;
+import org.cloudbus.cloudsim.network.switches.EcmpRoutingTable;
+import org.cloudbus.cloudsim.network.switches.EdgeSwitch;
+import org.cloudbus.cloudsim.network.switches.Switch;
+import org.cloudbus.cloudsim.util.Conversion;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.*;
+
+/**
+ * A flow-level (fluid) network model for a {@link NetworkDatacenter}, which is an alternative
+ * to moving every {@link HostPacket} through the {@link Switch}es, one event for each hop.
+ * Each packet sent from a {@link NetworkHost} to another one is a flow traversing the links
+ * between the Hosts and Switches in its path.
+ * The bandwidth of each link is shared among its flows according to the
+ * <a href="https://en.wikipedia.org/wiki/Max-min_fairness">max-min fairness</a> criterion.
+ *
+ * <p>Flow rates are recomputed only when some flow starts or finishes
+ * and just the next flow completion is scheduled,
+ * so that the number of events is proportional to the number of flows,
+ * instead of the number of packets times the number of hops.
+ * After a flow finishes, its packet is delivered to the destination Host
+ * after the sum of the {@link Switch#getSwitchingDelay() switching delays} in the path.
+ * The data transferred by flows is accounted in the {@link NetworkLink}s of the Datacenter.</p>
+ *
+ * @author Manoel Campos da Silva Filho
+ * @see NetworkDatacenter#enableFlowLevelNetwork()
+ * @since CloudSim Plus 5.5.0
+ */
+public class FlowLevelNetwork extends CloudSimEntity {
+    private static final Logger LOGGER = LoggerFactory.getLogger(FlowLevelNetwork.class.getSimpleName());
+
+    /**
+     * The amount of data (in Megabits) below which a flow is considered finished,
+     * avoiding precision issues with the remaining data of flows.
+     */
+    private static final double MIN_REMAINING_DATA = 0.000000001;
+
+    /**
+     * @see #getDatacenter()
+     */
+    private final NetworkDatacenter datacenter;
+
+    /**
+     * A map where each key is a link between two network elements (Hosts or Switches)
+     * of the Datacenter and each value holds the flows traversing such a link.
+     */
+    private final Map<NetworkLink, Link> linkMap;
+
+    /**
+     * The list of flows which are transferring data.
+     */
+    private final List<Flow> flowList;
+
+    /**
+     * The last time the data transferred by the flows was updated.
+     */
+    private double lastUpdateTime;
+
+    /**
+     * The identification of the last scheduled {@link CloudSimTags#NETWORK_FLOW_FINISH} event.
+     * Since flow rates change when flows start or finish, previously scheduled
+     * events with a different identification are just ignored,
+     * instead of searching the future event queue to cancel them.
+     */
+    private long lastFinishEventId;
+
+    /**
+     * @see #getFinishedFlowsNumber()
+     */
+    private long finishedFlowsNumber;
+
+    /**
+     * @see #getDroppedPacketsNumber()
+     */
+    private long droppedPacketsNumber;
+
+    /**
+     * Creates a flow-level network for a Datacenter.
+     *
+     * @param simulation The CloudSim instance that represents the simulation the Entity is related to
+     * @param datacenter the Datacenter whose network will be simulated at the flow level
+     */
+    public FlowLevelNetwork(final Simulation simulation, final NetworkDatacenter datacenter) {
+        super(simulation);
+        this.datacenter = Objects.requireNonNull(datacenter);
+        this.linkMap = new HashMap<>();
+        this.flowList = new ArrayList<>();
+    }
+
+    @Override
+    protected void startEntity() {
+        LOGGER.info("{} is starting...", getName());
+    }
+
+    @Override
+    public void processEvent(final SimEvent evt) {
+        switch (evt.getTag()) {
+            case CloudSimTags.NETWORK_FLOW_FINISH:
+                processFlowsFinish((long) evt.getData());
+            break;
+            case CloudSimTags.NETWORK_EVENT_HOST:
+                final HostPacket pkt = (HostPacket) evt.getData();
+                pkt.getDestination().addReceivedNetworkPacket(pkt);
+            break;
+        }
+    }
+
+    /**
+     * Starts a flow to send each given packet to the Host where its destination VM is placed.
+     * Rates of all flows are recomputed just once for all given packets.
+     * Packets whose destination Host cannot be reached are dropped
+     * and counted by {@link #getDroppedPacketsNumber()}.
+     *
+     * @param packets the packets to send
+     * @throws IllegalStateException when some link in the path of a packet has no bandwidth,
+     *         since the flow would never finish
+     */
+    public void startFlows(final Collection<HostPacket> packets) {
+        if(packets.isEmpty()) {
+            return;
+        }
+
+        updateFlowsTransferredData();
+        for (final HostPacket pkt : packets) {
+            startFlow(pkt);
+        }
+
+        updateFlowsRates();
+    }
+
+    private void startFlow(final HostPacket pkt) {
+        final NetworkHost destinationHost = (NetworkHost) pkt.getVmPacket().getDestination().getHost();
+        pkt.setDestination(destinationHost);
+
+        final Flow flow = new Flow(pkt);
+        if(!addLinksToFlowPath(flow, pkt.getSource(), destinationHost)) {
+            droppedPacketsNumber++;
+            LOGGER.error(
+                "{}: {}: No route found from {} to {}. Packet from {} dropped.",
+                getSimulation().clockStr(), getName(), pkt.getSource(), destinationHost, pkt.getVmPacket().getSource());
+            return;
+        }
+
+        flow.path.forEach(link -> link.addFlow(flow));
+        flowList.add(flow);
+    }
+
+    /**
+     * Adds to the path of a flow the links between a source and a destination Host.
+     * If the Datacenter has a {@link NetworkDatacenter#getRoutingTable() routing table},
+     * the path is given by it. Otherwise, it goes up from the source Host Edge Switch until finding a Switch connected
+     * (directly or indirectly) to the destination Host Edge Switch, then goes down to that Edge Switch.
+     *
+     * @param flow the flow to add links to its path
+     * @param sourceHost the Host sending the flow data
+     * @param destinationHost the Host receiving the flow data
+     * @return true if a route between the Hosts was found, false otherwise
+     */
+    private boolean addLinksToFlowPath(final Flow flow, final NetworkHost sourceHost, final NetworkHost destinationHost) {
+        final EdgeSwitch sourceEdgeSwitch = sourceHost.getEdgeSwitch();
+        final EdgeSwitch destinationEdgeSwitch = destinationHost.getEdgeSwitch();
+        flow.addLink(getLink(sourceHost, sourceEdgeSwitch, sourceEdgeSwitch.getDownlinkBandwidth()), sourceEdgeSwitch);
+
+        final boolean routeFound =
+            datacenter.getRoutingTable() == null ?
+                addSwitchLinksToFlowPath(flow, sourceEdgeSwitch, destinationEdgeSwitch) :
+                addRoutedSwitchLinksToFlowPath(flow, sourceEdgeSwitch, destinationEdgeSwitch);
+        if(!routeFound) {
+            return false;
+        }
+
+        flow.path.add(getLink(destinationEdgeSwitch, destinationHost, destinationEdgeSwitch.getDownlinkBandwidth()));
+        return true;
+    }
+
+    /**
+     * Adds to the path of a flow the links between two Edge Switches,
+     * following the Datacenter {@link NetworkDatacenter#getRoutingTable() routing table}.
+     *
+     * @param flow the flow to add links to its path
+     * @param sourceEdgeSwitch the Edge Switch connected to the Host sending the flow data
+     * @param destinationEdgeSwitch the Edge Switch connected to the Host receiving the flow data
+     * @return true if a route between the Switches was found, false otherwise
+     *         (including when any of them isn't in the routing table)
+     */
+    private boolean addRoutedSwitchLinksToFlowPath(
+        final Flow flow, final EdgeSwitch sourceEdgeSwitch, final EdgeSwitch destinationEdgeSwitch)
+    {
+        final EcmpRoutingTable routingTable = datacenter.getRoutingTable();
+        final int flowHash = EcmpRoutingTable.flowHash(flow.packet);
+        Switch current = sourceEdgeSwitch;
+        while (current != destinationEdgeSwitch) {
+            final Switch next;
+            try {
+                next = routingTable.getNextHop(current, destinationEdgeSwitch, flowHash);
+            } catch (final IllegalArgumentException e) {
+                return false;
+            }
+
+            if(next == Switch.NULL) {
+                return false;
+            }
+
+            final double bandwidth = next.getLevel() < current.getLevel() ? current.getUplinkBandwidth() : current.getDownlinkBandwidth();
+            flow.addLink(getLink(current, next, bandwidth), next);
+            current = next;
+        }
+
+        return true;
+    }
+
+    /**
+     * Adds to the path of a flow the links between two Edge Switches,
+     * going up through the first uplink Switch until finding a Switch
+     * connected to the destination Edge Switch.
+     *
+     * @param flow the flow to add links to its path
+     * @param sourceEdgeSwitch the Edge Switch connected to the Host sending the flow data
+     * @param destinationEdgeSwitch the Edge Switch connected to the Host receiving the flow data
+     * @return true if a route between the Switches was found, false otherwise
+     */
+    private boolean addSwitchLinksToFlowPath(
+        final Flow flow, final EdgeSwitch sourceEdgeSwitch, final EdgeSwitch destinationEdgeSwitch)
+    {
+        Switch current = sourceEdgeSwitch;
+        while (!isConnected(current, destinationEdgeSwitch)) {
+            if(current.getUplinkSwitches().isEmpty()) {
+                return false;
+            }
+
+            final Switch uplinkSwitch = current.getUplinkSwitches().get(0);
+            flow.addLink(getLink(current, uplinkSwitch, current.getUplinkBandwidth()), uplinkSwitch);
+            current = uplinkSwitch;
+        }
+
+        while (current != destinationEdgeSwitch) {
+            final Switch downlinkSwitch = getDownlinkSwitchConnectedTo(current, destinationEdgeSwitch);
+            flow.addLink(getLink(current, downlinkSwitch, current.getDownlinkBandwidth()), downlinkSwitch);
+            current = downlinkSwitch;
+        }
+
+        return true;
+    }
+
+    /**
+     * Checks if a Switch is a given Edge Switch or is connected to it through its downlink Switches.
+     */
+    private boolean isConnected(final Switch sw, final EdgeSwitch edgeSwitch) {
+        return sw == edgeSwitch || sw.getDownlinkSwitches().stream().anyMatch(downlink -> isConnected(downlink, edgeSwitch));
+    }
+
+    private Switch getDownlinkSwitchConnectedTo(final Switch sw, final EdgeSwitch edgeSwitch) {
+        for (final Switch downlinkSwitch : sw.getDownlinkSwitches()) {
+            if(isConnected(downlinkSwitch, edgeSwitch)) {
+                return downlinkSwitch;
+            }
+        }
+
+        return Switch.NULL;
+    }
+
+    /**
+     * Gets the link between two network elements, creating it if it doesn't exist yet.
+     *
+     * @param sender the Host or Switch sending data through the link
+     * @param receiver the Host or Switch receiving data through the link
+     * @param bandwidth the link bandwidth capacity (in Megabits/s)
+     * @return the link
+     * @throws IllegalStateException when the bandwidth is not greater than zero
+     */
+    private Link getLink(final NetworkHost sender, final Switch receiver, final double bandwidth) {
+        requireBandwidth(sender, receiver, bandwidth);
+        return getLink(datacenter.getNetworkLink(sender, receiver, bandwidth));
+    }
+
+    /**
+     * @see #getLink(NetworkHost, Switch, double)
+     */
+    private Link getLink(final Switch sender, final NetworkHost receiver, final double bandwidth) {
+        requireBandwidth(sender, receiver, bandwidth);
+        return getLink(datacenter.getNetworkLink(sender, receiver, bandwidth));
+    }
+
+    /**
+     * @see #getLink(NetworkHost, Switch, double)
+     */
+    private Link getLink(final Switch sender, final Switch receiver, final double bandwidth) {
+        requireBandwidth(sender, receiver, bandwidth);
+        return getLink(datacenter.getNetworkLink(sender, receiver, bandwidth));
+    }
+
+    private Link getLink(final NetworkLink networkLink) {
+        return linkMap.computeIfAbsent(networkLink, Link::new);
+    }
+
+    private static void requireBandwidth(final Object sender, final Object receiver, final double bandwidth) {
+        if(bandwidth <= 0) {
+            throw new IllegalStateException(
+                String.format("The link from %s to %s has no bandwidth, so flows through it would never finish.", sender, receiver));
+        }
+    }
+
+    /**
+     * Processes a {@link CloudSimTags#NETWORK_FLOW_FINISH} event,
+     * delivering the packets of finished flows and recomputing the rates of the remaining ones.
+     *
+     * @param finishEventId the identification of the event
+     * @see #lastFinishEventId
+     */
+    private void processFlowsFinish(final long finishEventId) {
+        if(finishEventId != lastFinishEventId) {
+            return;
+        }
+
+        updateFlowsTransferredData();
+        for (final Iterator<Flow> it = flowList.iterator(); it.hasNext(); ) {
+            final Flow flow = it.next();
+            if(flow.remainingData <= MIN_REMAINING_DATA) {
+                finishFlow(flow);
+                it.remove();
+            }
+        }
+
+        updateFlowsRates();
+    }
+
+    private void finishFlow(final Flow flow) {
+        flow.path.forEach(link -> link.removeFlow(flow));
+        finishedFlowsNumber++;
+        LOGGER.trace(
+            "{}: {}: Flow of packet from {} to {} finished.",
+            getSimulation().clockStr(), getName(), flow.packet.getVmPacket().getSource(), flow.packet.getVmPacket().getDestination());
+        schedule(this, flow.latency, CloudSimTags.NETWORK_EVENT_HOST, flow.packet);
+    }
+
+    /**
+     * Updates the data remaining to be transferred by each flow,
+     * according to its rate since the last update,
+     * accounting for such data in the links of the flow path.
+     */
+    private void updateFlowsTransferredData() {
+        final double elapsedTime = getSimulation().clock() - lastUpdateTime;
+        lastUpdateTime = getSimulation().clock();
+        if(elapsedTime <= 0) {
+            return;
+        }
+
+        for (final Flow flow : flowList) {
+            final double data = Math.min(flow.rate * elapsedTime, Math.max(flow.remainingData, 0));
+            flow.remainingData -= flow.rate * elapsedTime;
+            for (final Link link : flow.path) {
+                link.networkLink.addFlowsTransferredData(data);
+            }
+        }
+    }
+
+    /**
+     * Computes the max-min fair rate of each flow using the progressive filling algorithm,
+     * then schedules the finish of the next flow.
+     * At each step, the link giving the lowest fair share to its flows without a rate yet
+     * (the bottleneck) is selected, and such a share is assigned to those flows,
+     * reducing the available bandwidth of the other links they traverse.
+     */
+    private void updateFlowsRates() {
+        final Set<Link> activeLinks = new LinkedHashSet<>();
+        for (final Flow flow : flowList) {
+            flow.rate = -1;
+            activeLinks.addAll(flow.path);
+        }
+
+        for (final Link link : activeLinks) {
+            link.availableBandwidth = link.networkLink.getBandwidth();
+            link.flowsWithoutRate = link.flows.size();
+        }
+
+        int flowsWithoutRate = flowList.size();
+        while (flowsWithoutRate > 0) {
+            final Link bottleneck = getBottleneckLink(activeLinks);
+            final double fairShare = bottleneck.getFairShare();
+            for (final Flow flow : bottleneck.flows) {
+                if(flow.rate < 0) {
+                    flow.setRate(fairShare);
+                    flowsWithoutRate--;
+                }
+            }
+        }
+
+        scheduleNextFlowFinish();
+    }
+
+    private Link getBottleneckLink(final Set<Link> activeLinks) {
+        Link bottleneck = null;
+        for (final Link link : activeLinks) {
+            if(link.flowsWithoutRate > 0 && (bottleneck == null || link.getFairShare() < bottleneck.getFairShare())) {
+                bottleneck = link;
+            }
+        }
+
+        return bottleneck;
+    }
+
+    private void scheduleNextFlowFinish() {
+        double delay = Double.MAX_VALUE;
+        for (final Flow flow : flowList) {
+            if(flow.rate > 0) {
+                delay = Math.min(delay, Math.max(flow.remainingData, 0) / flow.rate);
+            }
+        }
+
+        lastFinishEventId++;
+        if(delay < Double.MAX_VALUE) {
+            schedule(this, delay, CloudSimTags.NETWORK_FLOW_FINISH, lastFinishEventId);
+        }
+    }
+
+    /**
+     * Gets the Datacenter whose network is simulated at the flow level.
+     * @return
+     */
+    public NetworkDatacenter getDatacenter() {
+        return datacenter;
+    }
+
+    /**
+     * Gets the number of flows which are transferring data.
+     * @return
+     */
+    public int getActiveFlowsNumber() {
+        return flowList.size();
+    }
+
+    /**
+     * Gets the number of flows which have finished transferring data.
+     * @return
+     */
+    public long getFinishedFlowsNumber() {
+        return finishedFlowsNumber;
+    }
+
+    /**
+     * Gets the number of packets dropped because there was no route
+     * between the source and destination Hosts.
+     * @return
+     */
+    public long getDroppedPacketsNumber() {
+        return droppedPacketsNumber;
+    }
+
+    /**
+     * The state of a {@link NetworkLink} used to compute the rates of the flows traversing it.
+     */
+    private static final class Link {
+        /** The link between two network elements (Hosts or Switches), which accounts for the transferred data. */
+        private final NetworkLink networkLink;
+
+        /** The flows traversing the link. */
+        private final List<Flow> flows = new ArrayList<>();
+
+        /** The bandwidth not assigned to flows yet while computing flows rates (in Megabits/s). */
+        private double availableBandwidth;
+
+        /** The number of flows traversing the link without a rate yet while computing flows rates. */
+        private int flowsWithoutRate;
+
+        private Link(final NetworkLink networkLink) {
+            this.networkLink = networkLink;
+        }
+
+        private void addFlow(final Flow flow) {
+            flows.add(flow);
+            networkLink.addFlow();
+        }
+
+        private void removeFlow(final Flow flow) {
+            flows.remove(flow);
+            networkLink.removeFlow();
+        }
+
+        private double getFairShare() {
+            return Math.max(availableBandwidth, 0) / flowsWithoutRate;
+        }
+    }
+
+    /**
+     * A flow transferring the data of a packet through a path of links.
+     */
+    private static final class Flow {
+        private final HostPacket packet;
+
+        /** The links the flow traverses, from the source to the destination Host. */
+        private final List<Link> path;
+
+        /** The sum of the switching delays of the Switches in the path (in seconds). */
+        private double latency;
+
+        /** The data remaining to be transferred (in Megabits). */
+        private double remainingData;
+
+        /** The current transfer rate (in Megabits/s), which is negative while it's being computed. */
+        private double rate;
+
+        private Flow(final HostPacket packet) {
+            this.packet = packet;
+            this.path = new ArrayList<>(6);
+            this.remainingData = Conversion.bytesToMegaBits(packet.getSize());
+        }
+
+        private void addLink(final Link link, final Switch receiverSwitch) {
+            path.add(link);
+            latency += receiverSwitch.getSwitchingDelay();
+        }
+
+        /**
+         * Sets the rate of the flow, reducing the available bandwidth of the links in its path.
+         */
+        private void setRate(final double rate) {
+            this.rate = rate;
+            for (final Link link : path) {
+                link.availableBandwidth -= rate;
+                link.flowsWithoutRate--;
+            }
+        }
+    }
+}
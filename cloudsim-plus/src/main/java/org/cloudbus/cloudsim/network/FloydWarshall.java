@@ -7,49 +7,49 @@
  */
 package org.cloudbus.cloudsim.network;
 
-import java.util.Arrays;
-import java.util.List;
-import java.util.function.BiConsumer;
 import java.util.stream.IntStream;
 
-import static java.util.stream.Collectors.toList;
-
 /**
  * <a href="https://en.wikipedia.org/wiki/Floyd-Warshall_algorithm">Floyd-Warshall algorithm</a> to calculate the predecessor matrix and the delay
  * between all pairs of nodes. The delay represents the distance between the two vertices and it works as the weight for the Floyd-Warshall algorithm.
  *
+ * <p>The matrices are stored as flat row-major arrays and updated in place,
+ * so that no intermediate matrix is created for each iteration
+ * and each row update goes through contiguous memory.
+ * Since the row and column of the intermediate vertex k don't change
+ * in the k-th iteration, rows are updated in parallel
+ * for graphs with at least {@link #PARALLEL_THRESHOLD} vertices.
+ * For large sparse graphs, where just the delays between a few vertices are required,
+ * consider using {@link DijkstraShortestPaths} instead.</p>
+ *
  * @author Rahul Simha
  * @author Weishuai Yang
  * @version 1.2, 6/20/2005
  * @since CloudSim Toolkit 1.0
  */
 public class FloydWarshall {
-
     /**
-     * Number of vertices (network nodes).
+     * The minimum number of vertices for rows to be updated in parallel.
+     * For smaller graphs, the overhead of parallelism doesn't pay off.
      */
-    private final int numVertices;
+    public static final int PARALLEL_THRESHOLD = 256;
 
     /**
-     * List with the indexes of all vertices, from 0 to {@link #numVertices}-1.
+     * The delay representing there is no path between two vertices.
      */
-    private final List<Integer> vertices;
+    private static final double NO_PATH = Double.MAX_VALUE;
 
     /**
-     * Weights when k is equal to -1.
-     * (used for dynamic programming).
-     */
-    private final double[][] dk_minus_one;
-
-    /**
-     * The predecessor matrix (used for dynamic programming).
+     * Number of vertices (network nodes).
      */
-    private final int[][] pk;
+    private final int numVertices;
 
     /**
-     * (used for dynamic programming).
+     * The predecessor matrix, stored as a flat row-major array,
+     * where the predecessor of vertex j in the path from vertex i is at the index
+     * {@code i * numVertices + j}.
      */
-    private final int[][] pk_minus_one;
+    private final int[] pk;
 
     /**
      * Creates a matrix of network nodes.
@@ -58,10 +58,7 @@ public class FloydWarshall {
      */
     public FloydWarshall(final int numVertices) {
         this.numVertices = numVertices;
-        this.vertices = IntStream.range(0, numVertices).boxed().collect(toList());
-        dk_minus_one = new double[numVertices][numVertices];
-        pk = new int[numVertices][numVertices];
-        pk_minus_one = new int[numVertices][numVertices];
+        this.pk = new int[numVertices * numVertices];
     }
 
     /**
@@ -69,26 +66,21 @@ public class FloydWarshall {
      * for all existing vertices.
      * This is represented by the delay between all pairs vertices.
      *
-     * @param originalDelayMatrix original delay matrix
+     * @param originalDelayMatrix original delay matrix, where a zero delay
+     *                            between two different vertices means they aren't connected
      * @return the new delay matrix (dk)
      */
-    public double[][] computeShortestPaths(double[][] originalDelayMatrix) {
-        savePreviousDelays(originalDelayMatrix);
-        return computeShortestPaths();
-    }
+    public double[][] computeShortestPaths(final double[][] originalDelayMatrix) {
+        final double[] delays = new double[numVertices * numVertices];
+        for (int i = 0; i < numVertices; i++) {
+            System.arraycopy(originalDelayMatrix[i], 0, delays, i * numVertices, numVertices);
+        }
 
-    /**
-     * Computes the shortest path between a vertex to all the other ones,
-     * for all existing vertices.
-     * This is represented by the delay between all pairs vertices.
-     *
-     * @return the new delay matrix (dk)
-     */
-    private double[][] computeShortestPaths() {
-        final double[][] dk = new double[numVertices][numVertices];
+        computeShortestPaths(delays);
 
-        for(final int k: vertices) {
-            computeShortestPathForSpecificNumberOfHops(dk, k);
+        final double[][] dk = new double[numVertices][numVertices];
+        for (int i = 0; i < numVertices; i++) {
+            System.arraycopy(delays, i * numVertices, dk[i], 0, numVertices);
         }
 
         return dk;
@@ -96,90 +88,101 @@ public class FloydWarshall {
 
     /**
      * Computes the shortest path between a vertex to all the other ones,
-     * for all existing vertices, limited to a maximum number of hops.
-     * This is represented by the delay between all pairs vertices.
+     * for all existing vertices, updating a given flat delay matrix in place.
      *
-     * @param dk the delay matrix to be updated
-     * @param k maximum number of hops to try finding the shortest path between each vertex i and j
+     * @param delays a flat row-major delay matrix, where the delay from vertex i to vertex j is at the index
+     *               {@code i * numVertices + j} and a zero delay
+     *               between two different vertices means they aren't connected.
+     *               After the method returns, it contains the shortest path delay between every pair of vertices,
+     *               which is {@link Double#MAX_VALUE} if there is no path.
+     * @return the given delay matrix
      */
-    private void computeShortestPathForSpecificNumberOfHops(double[][] dk, int k) {
-        for(final int i: vertices) {
-            computeShortestPathFromVertexToAllVertices(dk, k, i);
+    public double[] computeShortestPaths(final double[] delays) {
+        if(delays.length != pk.length) {
+            throw new IllegalArgumentException("The delay matrix must have " + pk.length + " elements.");
         }
 
-        updateMatrices((i,j) -> {
-            dk_minus_one[i][j] = dk[i][j];
-            pk_minus_one[i][j] = pk[i][j];
-        });
+        initMatrices(delays);
+        for (int k = 0; k < numVertices; k++) {
+            final int intermediate = k;
+            final IntStream rows = IntStream.range(0, numVertices);
+            (numVertices >= PARALLEL_THRESHOLD ? rows.parallel() : rows)
+                .forEach(i -> computeShortestPathsFromVertexThroughK(delays, i, intermediate));
+        }
+
+        return delays;
     }
 
     /**
-     * Iterates over the path from one vertex to all the other ones, for all existing vertices,
-     * updating some matrices as defined by a  {@link BiConsumer}.
+     * Updates the shortest paths from a vertex i to all the other ones,
+     * considering paths going through an intermediate vertex k.
      *
-     * @param updater a {@link BiConsumer} that updates all elements of any matrices, where the parameters
-     *                that this BiConsumer receives are the index i and j representing the path
-     *                between two vertices, for all existing vertices
+     * @param delays the flat delay matrix
+     * @param i the index of the vertex to update its distance to all the other vertices
+     * @param k the index of the intermediate vertex
      */
-    private void updateMatrices(BiConsumer<Integer, Integer> updater){
-        for(final int i: vertices) {
-            for(final int j: vertices) {
-                updater.accept(i, j);
+    private void computeShortestPathsFromVertexThroughK(final double[] delays, final int i, final int k) {
+        final int iRow = i * numVertices;
+        final int kRow = k * numVertices;
+        final double delayToK = delays[iRow + k];
+        if (delayToK == NO_PATH) {
+            return;
+        }
+
+        for (int j = 0; j < numVertices; j++) {
+            // D_k[i][j] = min ( D_k-1[i][j], D_k-1[i][k] + D_k-1[k][j].
+            final double delayThroughK = delayToK + delays[kRow + j];
+            if (delayThroughK < delays[iRow + j]) {
+                delays[iRow + j] = delayThroughK;
+                pk[iRow + j] = pk[kRow + j];
             }
         }
     }
 
     /**
-     * Computes the shortest path between only a specific vertex to all the other ones,
-     * limited to a maximum number of hops, and then updating the delay matrix.
-     * This is represented by the delay between all pairs vertices.
+     * Initializes the delay and predecessor matrices before computing the shortest paths.
      *
-     * @param dk the delay matrix to be updated
-     * @param k maximum number of hops to try finding the shortest path between each vertex i and j
-     * @param i the index of the vertex to compute its distance to all the other vertices
+     * @param delays the flat delay matrix to initialize
      */
-    private void computeShortestPathFromVertexToAllVertices(double[][] dk, int k, int i) {
-        for(final int j: vertices) {
-            pk[i][j] = -1;
-            if (i != j) {
-                // D_k[i][j] = min ( D_k-1[i][j], D_k-1[i][k] + D_k-1[k][j].
-                if (dk_minus_one[i][j] <= dk_minus_one[i][k] + dk_minus_one[k][j]) {
-                    dk[i][j] = dk_minus_one[i][j];
-                    pk[i][j] = pk_minus_one[i][j];
-                } else {
-                    dk[i][j] = dk_minus_one[i][k] + dk_minus_one[k][j];
-                    pk[i][j] = pk_minus_one[k][j];
+    private void initMatrices(final double[] delays) {
+        for (int i = 0; i < numVertices; i++) {
+            final int iRow = i * numVertices;
+            for (int j = 0; j < numVertices; j++) {
+                pk[iRow + j] = -1;
+                if (i == j) {
+                    delays[iRow + j] = 0;
+                } else if (delays[iRow + j] == 0) {
+                    delays[iRow + j] = NO_PATH;
+                } else if (delays[iRow + j] != NO_PATH) {
+                    pk[iRow + j] = i;
                 }
             }
         }
     }
 
     /**
-     * Saves the delay matrix before updating.
+     * Gets a <b>copy</b> of the predecessor matrix.
      *
-     * @param originalDelayMatrix the original delay matrix
+     * @return the predecessor matrix copy
      */
-    private void savePreviousDelays(double[][] originalDelayMatrix) {
-        for(final int i: vertices) {
-            for(final int j: vertices) {
-                dk_minus_one[i][j] = Double.MAX_VALUE;
-                pk_minus_one[i][j] = -1;
-                if (originalDelayMatrix[i][j] != 0) {
-                    dk_minus_one[i][j] = originalDelayMatrix[i][j];
-                    pk_minus_one[i][j] = i;
-                }
-                // NOTE: we have set the value to infinity and will exploit this to avoid a comparison.
-            }
+    public int[][] getPk() {
+        final int[][] copy = new int[numVertices][numVertices];
+        for (int i = 0; i < numVertices; i++) {
+            System.arraycopy(pk, i * numVertices, copy[i], 0, numVertices);
         }
+
+        return copy;
     }
 
     /**
-     * Gets a <b>copy</b> of the predecessor matrix.
+     * Gets the predecessor of a vertex j in the shortest path from a vertex i.
      *
-     * @return the predecessor matrix copy
+     * @param i the index of the source vertex
+     * @param j the index of the destination vertex
+     * @return the index of the predecessor vertex or -1 if there is no path
      */
-    public int[][] getPk() {
-        return Arrays.copyOf(pk, pk.length);
+    public int getPredecessor(final int i, final int j) {
+        return pk[i * numVertices + j];
     }
 
     public int getNumVertices(){
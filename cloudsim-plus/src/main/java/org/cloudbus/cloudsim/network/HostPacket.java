@@ -10,6 +10,8 @@ package org.cloudbus.cloudsim.network;
 import org.cloudbus.cloudsim.hosts.Host;
 import org.cloudbus.cloudsim.hosts.network.NetworkHost;
 
+import java.util.*;
+
 /**
  * Represents a packet which travels from one {@link Host} to another.
  * Each packet contains: IDs of the sender VM into the source Host and receiver VM into the destination Host which are
@@ -39,7 +41,7 @@ public class HostPacket implements NetworkPacket<NetworkHost> {
      * Information about the virtual sender and receiver entities of the packet
      * (the sender and receiver Cloudlet and their respective VMs).
      */
-    private final VmPacket vmPacket;
+    private VmPacket vmPacket;
 
     /**
      * Id of the sender host.
@@ -61,6 +63,21 @@ public class HostPacket implements NetworkPacket<NetworkHost> {
      */
     private double receiveTime;
 
+    /**
+     * @see #isReleased()
+     */
+    private boolean released;
+
+    /**
+     * @see #getFlowHash()
+     */
+    private int flowHash;
+
+    /**
+     * Indicates if the {@link #flowHash} was already computed for the current {@link #vmPacket}.
+     */
+    private boolean flowHashComputed;
+
     /**
      * Creates a new packet to be sent through the network between two hosts.
      *
@@ -68,9 +85,90 @@ public class HostPacket implements NetworkPacket<NetworkHost> {
      * @param vmPacket The vm packet containing information of sender and receiver Cloudlets and their VMs.
      */
     public HostPacket(NetworkHost senderHost, VmPacket vmPacket) {
+        reset(senderHost, vmPacket);
+    }
+
+    /**
+     * Resets all the attributes of the packet, so that it can be reused
+     * to send another {@link VmPacket}.
+     *
+     * @param senderHost The host sending the packet
+     * @param vmPacket The vm packet containing information of sender and receiver Cloudlets and their VMs.
+     * @return this packet
+     * @see HostPacketPool
+     */
+    HostPacket reset(final NetworkHost senderHost, final VmPacket vmPacket) {
         this.vmPacket = vmPacket;
         this.sendTime = vmPacket.getSendTime();
         this.senderHost = senderHost;
+        this.receiverHost = null;
+        this.receiveTime = 0;
+        this.released = false;
+        this.flowHashComputed = false;
+        return this;
+    }
+
+    /**
+     * Removes the references to the objects involved in the packet transmission,
+     * when it's returned to a {@link HostPacketPool}.
+     */
+    void clear() {
+        this.vmPacket = null;
+        this.senderHost = null;
+        this.receiverHost = null;
+        this.released = true;
+        this.flowHashComputed = false;
+    }
+
+    /**
+     * Checks if the packet was released to a {@link HostPacketPool}
+     * and wasn't acquired again yet.
+     * @return
+     */
+    boolean isReleased() {
+        return released;
+    }
+
+    /**
+     * Groups a list of packets into batches of packets having the same size.
+     * Since the transfer delay of a packet depends just on its size
+     * and on the number of packets simultaneously sent,
+     * the packets into each batch can be carried by a single event.
+     *
+     * @param packets the packets to group
+     * @return a collection of batches, each one being a new list containing packets with the same size,
+     *         in the order they are in the given list
+     */
+    public static Collection<List<HostPacket>> groupBySize(final List<HostPacket> packets) {
+        if (packets.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        final long firstSize = packets.get(0).getSize();
+        if (packets.stream().allMatch(pkt -> pkt.getSize() == firstSize)) {
+            return Collections.singletonList(new ArrayList<>(packets));
+        }
+
+        final Map<Long, List<HostPacket>> batches = new LinkedHashMap<>();
+        for (final HostPacket pkt : packets) {
+            batches.computeIfAbsent(pkt.getSize(), size -> new ArrayList<>()).add(pkt);
+        }
+
+        return batches.values();
+    }
+
+    /**
+     * Gets the data of an event that carries a batch of packets.
+     * Batches with a single packet are carried as the packet itself,
+     * as network events always did, while larger batches are carried as a list.
+     *
+     * @param batch the packets to be carried by the event
+     * @return the {@link HostPacket}, if the batch has just one,
+     *         or the list of packets otherwise
+     * @see #groupBySize(List)
+     */
+    public static Object toEventData(final List<HostPacket> batch) {
+        return batch.size() == 1 ? batch.get(0) : batch;
     }
 
     /**
@@ -142,4 +240,33 @@ public class HostPacket implements NetworkPacket<NetworkHost> {
     public VmPacket getVmPacket() {
         return vmPacket;
     }
+
+    /**
+     * Gets a hash identifying the communication the packet belongs to,
+     * given by its sender and receiver Cloudlets and VMs.
+     * It's computed just once for the packet, instead of at every Switch it passes through.
+     *
+     * @return the packet flow hash
+     * @see org.cloudbus.cloudsim.network.switches.EcmpRoutingTable
+     */
+    public int getFlowHash() {
+        if (!flowHashComputed) {
+            flowHash = computeFlowHash();
+            flowHashComputed = true;
+        }
+
+        return flowHash;
+    }
+
+    /**
+     * Computes the {@link #getFlowHash() flow hash} from the primitive ids,
+     * giving the same value as {@link Objects#hash(Object...)} without boxing them.
+     * @return
+     */
+    private int computeFlowHash() {
+        int hash = 31 + Long.hashCode(vmPacket.getSource().getId());
+        hash = 31 * hash + Long.hashCode(vmPacket.getDestination().getId());
+        hash = 31 * hash + Long.hashCode(vmPacket.getSenderCloudlet().getId());
+        return 31 * hash + Long.hashCode(vmPacket.getReceiverCloudlet().getId());
+    }
 }
@@ -0,0 +1,106 @@
+/*
+ * CloudSim Plus: A modern, highly-extensible and easier-to-use Framework for
+ * Modeling and Simulation of Cloud Computing Infrastructures and Services.
+ * http://cloudsimplus.org
+ *
+ *     Copyright (C) 2015-2018 Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Plus.
+ *
+ *     CloudSim Plus is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Plus. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudbus.cloudsim.network;
+
+import org.cloudbus.cloudsim.hosts.network.NetworkHost;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * A pool of {@link HostPacket}s that can be reused after being delivered,
+ * avoiding the creation of a new object for every packet sent
+ * when simulations exchange millions of packets.
+ *
+ * <p>A packet must be {@link #release(HostPacket) released} just when
+ * it's not referenced anymore by the network elements.
+ * The pool is not thread-safe, so each simulation must use its own pools.</p>
+ *
+ * @author Manoel Campos da Silva Filho
+ * @since CloudSim Plus 5.5.0
+ */
+public class HostPacketPool {
+    /**
+     * The default maximum number of packets to keep in the pool.
+     */
+    public static final int DEFAULT_CAPACITY = 4096;
+
+    private final Deque<HostPacket> packets;
+
+    private final int capacity;
+
+    /**
+     * Creates a pool with the {@link #DEFAULT_CAPACITY}.
+     */
+    public HostPacketPool() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates a pool with a given capacity.
+     * @param capacity the maximum number of released packets to keep in the pool
+     */
+    public HostPacketPool(final int capacity) {
+        this.capacity = capacity;
+        this.packets = new ArrayDeque<>();
+    }
+
+    /**
+     * Gets a packet from the pool or creates a new one if the pool is empty.
+     *
+     * @param senderHost The host sending the packet
+     * @param vmPacket The vm packet containing information of sender and receiver Cloudlets and their VMs.
+     * @return the packet to send the given {@link VmPacket}
+     */
+    public HostPacket acquire(final NetworkHost senderHost, final VmPacket vmPacket) {
+        final HostPacket pkt = packets.pollLast();
+        return pkt == null ? new HostPacket(senderHost, vmPacket) : pkt.reset(senderHost, vmPacket);
+    }
+
+    /**
+     * Returns a packet to the pool, if it isn't full, so that it can be reused.
+     * Releasing a packet which was already released does nothing,
+     * so that the same packet is never acquired twice.
+     *
+     * @param pkt the packet that isn't used anymore
+     */
+    public void release(final HostPacket pkt) {
+        if (pkt.isReleased()) {
+            return;
+        }
+
+        pkt.clear();
+        if (packets.size() < capacity) {
+            packets.addLast(pkt);
+        }
+    }
+
+    /**
+     * Gets the number of packets available in the pool.
+     * @return
+     */
+    public int size() {
+        return packets.size();
+    }
+}
@@ -0,0 +1,387 @@
+/*
+ * CloudSim Plus: A modern, highly-extensible and easier-to-use Framework for
+ * Modeling and Simulation of Cloud Computing Infrastructures and Services.
+ * http://cloudsimplus.org
+ *
+ *     Copyright (C) 2015-2018 Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Plus.
+ *
+ *     CloudSim Plus is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Plus. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudbus.cloudsim.network;
+
+import org.cloudbus.cloudsim.core.Identifiable;
+import org.cloudbus.cloudsim.datacenters.network.NetworkDatacenter;
+import org.cloudbus.cloudsim.hosts.network.NetworkHost;
+import org.cloudbus.cloudsim.network.switches.Switch;
+import org.cloudbus.cloudsim.util.Conversion;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.BiConsumer;
+
+/**
+ * A directional link between two network elements ({@link NetworkHost}s
+ * or {@link Switch}es) in a {@link NetworkDatacenter}, representing the output port of the sender side.
+ * It accounts for the data transferred through the link along the simulation,
+ * so that the delays of transfers depend on the actual load of the link
+ * and network bottlenecks can be found from the link metrics.
+ *
+ * <p>When the network is simulated at the packet level, the link works as a FIFO queue:
+ * the packets sent at a given time wait for the data already queued to be transmitted,
+ * then share the bandwidth equally among them.
+ * When the network is simulated at the {@link FlowLevelNetwork flow level},
+ * the bandwidth is shared among the flows traversing the link and
+ * the data transferred by such flows is accounted as they progress.</p>
+ *
+ * @author Manoel Campos da Silva Filho
+ * @see NetworkDatacenter#getNetworkLinks()
+ * @since CloudSim Plus 5.5.0
+ */
+public class NetworkLink {
+    /**
+     * @see #getSender()
+     */
+    private final Identifiable sender;
+
+    /**
+     * @see #getReceiver()
+     */
+    private final Identifiable receiver;
+
+    /**
+     * @see #getBandwidth()
+     */
+    private double bandwidth;
+
+    /**
+     * The time when the data queued in the link finishes being transmitted.
+     */
+    private double queueFinishTime;
+
+    /**
+     * @see #getTransferredData()
+     */
+    private double transferredData;
+
+    /**
+     * @see #getTransferredPackets()
+     */
+    private long transferredPackets;
+
+    /**
+     * The sum of the time each transmission waited in the queue (in seconds).
+     */
+    private double totalQueueingDelay;
+
+    /**
+     * @see #getMaxQueueingDelay()
+     */
+    private double maxQueueingDelay;
+
+    /**
+     * The number of transmissions of a group of simultaneous packets.
+     */
+    private long transmissions;
+
+    /**
+     * @see #getActiveFlowsNumber()
+     */
+    private int activeFlowsNumber;
+
+    /**
+     * @see #getMaxActiveFlowsNumber()
+     */
+    private int maxActiveFlowsNumber;
+
+    /**
+     * Creates a link from a Host to the Switch it's connected to.
+     *
+     * @param sender the Host sending data through the link
+     * @param receiver the Switch receiving data through the link
+     * @param bandwidth the link bandwidth capacity (in Megabits/s)
+     */
+    public NetworkLink(final NetworkHost sender, final Switch receiver, final double bandwidth) {
+        this((Identifiable) sender, receiver, bandwidth);
+    }
+
+    /**
+     * Creates a link from a Switch to a Host connected to it.
+     *
+     * @param sender the Switch sending data through the link
+     * @param receiver the Host receiving data through the link
+     * @param bandwidth the link bandwidth capacity (in Megabits/s)
+     */
+    public NetworkLink(final Switch sender, final NetworkHost receiver, final double bandwidth) {
+        this(sender, (Identifiable) receiver, bandwidth);
+    }
+
+    /**
+     * Creates a link between two Switches.
+     *
+     * @param sender the Switch sending data through the link
+     * @param receiver the Switch receiving data through the link
+     * @param bandwidth the link bandwidth capacity (in Megabits/s)
+     */
+    public NetworkLink(final Switch sender, final Switch receiver, final double bandwidth) {
+        this((Identifiable) sender, receiver, bandwidth);
+    }
+
+    private NetworkLink(final Identifiable sender, final Identifiable receiver, final double bandwidth) {
+        this.sender = Objects.requireNonNull(sender);
+        this.receiver = Objects.requireNonNull(receiver);
+        setBandwidth(bandwidth);
+    }
+
+    /**
+     * Transmits a list of packets sent at the same time through the link.
+     * The packets wait for the data already queued in the link to be transmitted,
+     * then share the link bandwidth equally, so that smaller packets finish first.
+     * Since packets with the same size finish at the same time, the given consumer
+     * is called just once for each group of such packets.
+     *
+     * @param time the current simulation time (in seconds)
+     * @param packets the packets to transmit
+     * @param consumer a {@link BiConsumer} that receives each group of packets having the same size
+     *                 and the delay (in seconds) to transmit them, counted from the current time
+     * @see HostPacket#groupBySize(List)
+     */
+    public void transmit(
+        final double time, final List<HostPacket> packets,
+        final BiConsumer<List<HostPacket>, Double> consumer)
+    {
+        if(packets.isEmpty()) {
+            return;
+        }
+
+        final List<List<HostPacket>> batches = new ArrayList<>(HostPacket.groupBySize(packets));
+        batches.sort(Comparator.comparingLong(batch -> batch.get(0).getSize()));
+
+        double totalData = 0;
+        for (final HostPacket pkt : packets) {
+            totalData += Conversion.bytesToMegaBits(pkt.getSize());
+        }
+
+        final double queueingDelay = enqueue(time, totalData, packets.size());
+
+        /* While a group of packets is transmitted, the remaining packets
+         * (including the ones in such a group) share the bandwidth equally. */
+        double previousData = 0;
+        int remainingPackets = packets.size();
+        for (final List<HostPacket> batch : batches) {
+            final double packetData = Conversion.bytesToMegaBits(batch.get(0).getSize());
+            consumer.accept(batch, queueingDelay + (previousData + remainingPackets * packetData) / bandwidth);
+            previousData += packetData * batch.size();
+            remainingPackets -= batch.size();
+        }
+    }
+
+    /**
+     * Transmits a given amount of data through the link, after the data already queued.
+     *
+     * @param time the current simulation time (in seconds)
+     * @param data the amount of data to transmit (in Megabits)
+     * @return the delay (in seconds) to transmit the data, counted from the current time,
+     *         including the time waiting in the queue
+     */
+    public double transmit(final double time, final double data) {
+        return enqueue(time, data, 1) + data / bandwidth;
+    }
+
+    /**
+     * Adds some data to the link queue and updates the link counters.
+     *
+     * @param time the current simulation time (in seconds)
+     * @param data the amount of data to transmit (in Megabits)
+     * @param packets the number of packets carrying the data
+     * @return the time the data waits in the queue before its transmission starts (in seconds)
+     */
+    private double enqueue(final double time, final double data, final int packets) {
+        final double queueingDelay = Math.max(queueFinishTime - time, 0);
+        queueFinishTime = time + queueingDelay + data / bandwidth;
+
+        transferredData += data;
+        transferredPackets += packets;
+        transmissions++;
+        totalQueueingDelay += queueingDelay;
+        maxQueueingDelay = Math.max(maxQueueingDelay, queueingDelay);
+        return queueingDelay;
+    }
+
+    /**
+     * Accounts for the data transferred by flows traversing the link.
+     * @param data the amount of data transferred (in Megabits)
+     */
+    void addFlowsTransferredData(final double data) {
+        transferredData += data;
+    }
+
+    /**
+     * Increments the number of flows traversing the link.
+     */
+    void addFlow() {
+        activeFlowsNumber++;
+        maxActiveFlowsNumber = Math.max(maxActiveFlowsNumber, activeFlowsNumber);
+    }
+
+    /**
+     * Decrements the number of flows traversing the link.
+     */
+    void removeFlow() {
+        activeFlowsNumber--;
+        transferredPackets++;
+    }
+
+    /**
+     * Gets the {@link NetworkHost} or {@link Switch} sending data through the link.
+     * @return
+     */
+    public Identifiable getSender() {
+        return sender;
+    }
+
+    /**
+     * Gets the {@link NetworkHost} or {@link Switch} receiving data through the link.
+     * @return
+     */
+    public Identifiable getReceiver() {
+        return receiver;
+    }
+
+    /**
+     * Gets the link bandwidth capacity (in Megabits/s).
+     * @return
+     */
+    public double getBandwidth() {
+        return bandwidth;
+    }
+
+    /**
+     * Sets the link bandwidth capacity (in Megabits/s).
+     * @param bandwidth the bandwidth to set
+     * @return
+     */
+    public final NetworkLink setBandwidth(final double bandwidth) {
+        if(bandwidth <= 0) {
+            throw new IllegalArgumentException("Link bandwidth must be greater than zero.");
+        }
+
+        this.bandwidth = bandwidth;
+        return this;
+    }
+
+    /**
+     * Gets the total amount of data transferred through the link (in Megabits).
+     * At the packet level, it includes the data queued to be transmitted.
+     * @return
+     */
+    public double getTransferredData() {
+        return transferredData;
+    }
+
+    /**
+     * Gets the number of packets transferred through the link.
+     * At the packet level, it includes the packets queued to be transmitted.
+     * At the flow level, it includes just the packets whose flow has finished.
+     * @return
+     */
+    public long getTransferredPackets() {
+        return transferredPackets;
+    }
+
+    /**
+     * Gets the time the link spent transferring data until a given time (in seconds),
+     * that is, the time it would take to transfer at the full link bandwidth
+     * all data whose transmission has finished until then.
+     * The data still {@link #getQueuedData(double) queued} at the given time is not included.
+     *
+     * @param time the time to compute the busy time (in seconds),
+     *             which must not be before the last transmission through the link started
+     * @return
+     */
+    public double getBusyTime(final double time) {
+        return Math.max(transferredData - getQueuedData(time), 0) / bandwidth;
+    }
+
+    /**
+     * Gets the average link utilization from the simulation start until a given time,
+     * considering just the data whose transmission has finished until then.
+     *
+     * @param time the time to compute the utilization (in seconds),
+     *             which must not be before the last transmission through the link started
+     * @return the utilization percentage, from 0 to 1
+     * @see #getBusyTime(double)
+     */
+    public double getUtilization(final double time) {
+        return time <= 0 ? 0 : Math.min(getBusyTime(time) / time, 1);
+    }
+
+    /**
+     * Gets the amount of data waiting to be transmitted at a given time (in Megabits),
+     * when the network is simulated at the packet level.
+     *
+     * @param time the time to get the queued data (in seconds)
+     * @return
+     */
+    public double getQueuedData(final double time) {
+        return Math.max(queueFinishTime - time, 0) * bandwidth;
+    }
+
+    /**
+     * Gets the average time packets sent at the same time waited for
+     * previously queued data to be transmitted (in seconds),
+     * when the network is simulated at the packet level.
+     * @return
+     */
+    public double getAverageQueueingDelay() {
+        return transmissions == 0 ? 0 : totalQueueingDelay / transmissions;
+    }
+
+    /**
+     * Gets the maximum time packets waited for previously
+     * queued data to be transmitted (in seconds),
+     * when the network is simulated at the packet level.
+     * @return
+     */
+    public double getMaxQueueingDelay() {
+        return maxQueueingDelay;
+    }
+
+    /**
+     * Gets the number of flows currently traversing the link,
+     * when the network is simulated at the {@link FlowLevelNetwork flow level}.
+     * @return
+     */
+    public int getActiveFlowsNumber() {
+        return activeFlowsNumber;
+    }
+
+    /**
+     * Gets the maximum number of flows which traversed the link at the same time,
+     * when the network is simulated at the {@link FlowLevelNetwork flow level}.
+     * @return
+     */
+    public int getMaxActiveFlowsNumber() {
+        return maxActiveFlowsNumber;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("NetworkLink(%s -> %s)", sender, receiver);
+    }
+}
@@ -0,0 +1,297 @@
+/*
+ * CloudSim Plus: A modern, highly-extensible and easier-to-use Framework for
+ * Modeling and Simulation of Cloud Computing Infrastructures and Services.
+ * http://cloudsimplus.org
+ *
+ *     Copyright (C) 2015-2018 Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Plus.
+ *
+ *     CloudSim Plus is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Plus. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudbus.cloudsim.network;
+
+import org.cloudbus.cloudsim.core.CloudSimEntity;
+import org.cloudbus.cloudsim.core.CloudSimTags;
+import org.cloudbus.cloudsim.core.SimEntity;
+import org.cloudbus.cloudsim.core.Simulation;
+import org.cloudbus.cloudsim.core.events.SimEvent;
+import org.cloudbus.cloudsim.network.topologies.NetworkTopology;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.*;
+import java.util.function.Consumer;
+
+/**
+ * A Wide Area Network (WAN) model to transfer large amounts of data between simulation entities,
+ * such as VMs migrated between federated {@link org.cloudbus.cloudsim.datacenters.Datacenter}s
+ * and Cloudlet input files sent by {@link org.cloudbus.cloudsim.brokers.DatacenterBroker}s.
+ * Transfer times are computed from the {@link NetworkTopology#getBandwidth(long, long) bandwidth}
+ * and {@link NetworkTopology#getDelay(long, long) delay} between the entities,
+ * given by the {@link Simulation#getNetworkTopology() simulation network topology}.
+ * Since the bandwidth is the one of the widest path and the delay is the one of the
+ * shortest-delay path, which may be different paths, transfer times are an approximation.
+ *
+ * <p>Concurrent transfers in the same path (from a given source to a given destination)
+ * share the path bandwidth equally. Rates are updated incrementally,
+ * just for the path where a transfer starts or finishes,
+ * and just the next transfer completion in each path is scheduled.
+ * After a transfer sends all its data, the data arrives at the
+ * destination after the path delay.</p>
+ *
+ * <p>If there is no bandwidth information for a path
+ * (such as when no network topology is set), its transfers just take the path delay.</p>
+ *
+ * @author Manoel Campos da Silva Filho
+ * @since CloudSim Plus 5.5.0
+ */
+public class WanNetwork extends CloudSimEntity {
+    private static final Logger LOGGER = LoggerFactory.getLogger(WanNetwork.class.getSimpleName());
+
+    /**
+     * The amount of data (in Megabits) below which a transfer is considered finished,
+     * avoiding precision issues with the remaining data of transfers.
+     */
+    private static final double MIN_REMAINING_DATA = 0.000000001;
+
+    /**
+     * The relative difference between the current time and the expected finish time
+     * of the next transfer in a path, below which a {@link CloudSimTags#WAN_TRANSFER_UPDATE}
+     * event is considered to be the one scheduled for such a finish time.
+     */
+    private static final double TIME_TOLERANCE = 0.000000001;
+
+    /**
+     * A map where each key is a source entity and each value is a map where each key
+     * is a destination entity and each value is the path between the two entities.
+     */
+    private final Map<SimEntity, Map<SimEntity, Path>> pathMap;
+
+    /**
+     * @see #getActiveTransfersNumber()
+     */
+    private int activeTransfersNumber;
+
+    /**
+     * @see #getFinishedTransfersNumber()
+     */
+    private long finishedTransfersNumber;
+
+    /**
+     * Creates a WAN network.
+     *
+     * @param simulation The CloudSim instance that represents the simulation the Entity is related to
+     */
+    public WanNetwork(final Simulation simulation) {
+        super(simulation);
+        this.pathMap = new HashMap<>();
+    }
+
+    @Override
+    protected void startEntity() {
+        LOGGER.info("{} is starting...", getName());
+    }
+
+    @Override
+    public void processEvent(final SimEvent evt) {
+        switch (evt.getTag()) {
+            case CloudSimTags.WAN_TRANSFER_UPDATE:
+                processPathUpdate((Path) evt.getData());
+            break;
+            case CloudSimTags.WAN_TRANSFER_FINISH:
+                finishTransfer((WanTransfer) evt.getData());
+            break;
+        }
+    }
+
+    /**
+     * Starts transferring data from a source to a destination entity.
+     *
+     * @param source the entity sending the data
+     * @param destination the entity receiving the data
+     * @param data the amount of data to transfer (in Megabits)
+     * @param onFinish the function to be called when all data arrives at the destination
+     * @return the started transfer
+     */
+    public WanTransfer transfer(
+        final SimEntity source, final SimEntity destination,
+        final double data, final Consumer<WanTransfer> onFinish)
+    {
+        Objects.requireNonNull(source);
+        Objects.requireNonNull(destination);
+        Objects.requireNonNull(onFinish);
+
+        final WanTransfer transfer = new WanTransfer(source, destination, data, getSimulation().clock(), onFinish);
+        activeTransfersNumber++;
+
+        final double bandwidth = getBandwidth(source, destination);
+        if(data <= MIN_REMAINING_DATA || bandwidth <= 0) {
+            schedule(this, getDelay(source, destination), CloudSimTags.WAN_TRANSFER_FINISH, transfer);
+            return transfer;
+        }
+
+        final Path path = pathMap.computeIfAbsent(source, key -> new HashMap<>())
+                                 .computeIfAbsent(destination, key -> new Path(source, destination));
+        path.updateTransferredData(getSimulation().clock());
+        path.transfers.add(transfer);
+        updatePathRates(path, bandwidth);
+        return transfer;
+    }
+
+    /**
+     * Starts transferring data from a source to a destination entity,
+     * sending an event from the source to the destination when all data arrives.
+     *
+     * @param source the entity sending the data
+     * @param destination the entity receiving the data
+     * @param data the amount of data to transfer (in Megabits)
+     * @param cloudSimTag the tag of the event to send when all data arrives
+     * @param eventData the data of the event to send when all data arrives
+     * @return the started transfer
+     */
+    public WanTransfer transfer(
+        final SimEntity source, final SimEntity destination, final double data,
+        final int cloudSimTag, final Object eventData)
+    {
+        return transfer(
+                    source, destination, data,
+                    transfer -> getSimulation().send(source, destination, 0, cloudSimTag, eventData));
+    }
+
+    /**
+     * Processes a {@link CloudSimTags#WAN_TRANSFER_UPDATE} event,
+     * scheduling the arrival of the finished transfers in a path
+     * and recomputing the rates of the remaining ones.
+     *
+     * @param path the path to update
+     */
+    private void processPathUpdate(final Path path) {
+        final double time = getSimulation().clock();
+        //Ignores events previously scheduled before the path rates were updated
+        if(path.nextFinishTime - time > TIME_TOLERANCE * Math.max(time, 1)) {
+            return;
+        }
+
+        path.updateTransferredData(time);
+        final double bandwidth = getBandwidth(path.source, path.destination);
+        final double delay = getDelay(path.source, path.destination);
+        for (final Iterator<WanTransfer> it = path.transfers.iterator(); it.hasNext(); ) {
+            final WanTransfer transfer = it.next();
+            //If the path bandwidth is not known anymore, transfers just take the path delay
+            if(transfer.getRemainingData() <= MIN_REMAINING_DATA || bandwidth <= 0) {
+                it.remove();
+                schedule(this, delay, CloudSimTags.WAN_TRANSFER_FINISH, transfer);
+            }
+        }
+
+        updatePathRates(path, bandwidth);
+    }
+
+    /**
+     * Shares the bandwidth of a path equally among its transfers
+     * and schedules the finish of the next transfer.
+     *
+     * @param path the path to update the rates of its transfers
+     * @param bandwidth the path bandwidth (in Megabits/s)
+     */
+    private void updatePathRates(final Path path, final double bandwidth) {
+        if(path.transfers.isEmpty()) {
+            path.nextFinishTime = Double.MAX_VALUE;
+            return;
+        }
+
+        final double rate = bandwidth / path.transfers.size();
+        double minRemainingData = Double.MAX_VALUE;
+        for (final WanTransfer transfer : path.transfers) {
+            transfer.setRate(rate);
+            minRemainingData = Math.min(minRemainingData, transfer.getRemainingData());
+        }
+
+        final double delay = Math.max(minRemainingData, 0) / rate;
+        path.nextFinishTime = getSimulation().clock() + delay;
+        schedule(this, delay, CloudSimTags.WAN_TRANSFER_UPDATE, path);
+    }
+
+    private void finishTransfer(final WanTransfer transfer) {
+        activeTransfersNumber--;
+        finishedTransfersNumber++;
+        LOGGER.trace("{}: {}: {} finished.", getSimulation().clockStr(), getName(), transfer);
+        transfer.finish(getSimulation().clock());
+    }
+
+    private double getBandwidth(final SimEntity source, final SimEntity destination) {
+        return getSimulation().getNetworkTopology().getBandwidth(source.getId(), destination.getId());
+    }
+
+    private double getDelay(final SimEntity source, final SimEntity destination) {
+        return getSimulation().getNetworkTopology().getDelay(source.getId(), destination.getId());
+    }
+
+    /**
+     * Gets the number of transfers whose data hasn't arrived at the destination yet.
+     * @return
+     */
+    public int getActiveTransfersNumber() {
+        return activeTransfersNumber;
+    }
+
+    /**
+     * Gets the number of transfers whose data has arrived at the destination.
+     * @return
+     */
+    public long getFinishedTransfersNumber() {
+        return finishedTransfersNumber;
+    }
+
+    /**
+     * The path from a source to a destination entity, whose bandwidth is
+     * shared by the transfers between such entities.
+     */
+    private static final class Path {
+        private final SimEntity source;
+        private final SimEntity destination;
+
+        /** The transfers sending data through the path. */
+        private final List<WanTransfer> transfers = new ArrayList<>();
+
+        /** The last time the data sent by the transfers was updated. */
+        private double lastUpdateTime;
+
+        /** The time the next transfer in the path is expected to send all its data. */
+        private double nextFinishTime = Double.MAX_VALUE;
+
+        private Path(final SimEntity source, final SimEntity destination) {
+            this.source = source;
+            this.destination = destination;
+        }
+
+        /**
+         * Updates the data remaining to be sent by each transfer,
+         * according to its rate since the last update.
+         */
+        private void updateTransferredData(final double time) {
+            final double elapsedTime = time - lastUpdateTime;
+            lastUpdateTime = time;
+            if(elapsedTime <= 0) {
+                return;
+            }
+
+            for (final WanTransfer transfer : transfers) {
+                transfer.setRemainingData(transfer.getRemainingData() - transfer.getRate() * elapsedTime);
+            }
+        }
+    }
+}
@@ -0,0 +1,174 @@
+/*
+ * CloudSim Plus: A modern, highly-extensible and easier-to-use Framework for
+ * Modeling and Simulation of Cloud Computing Infrastructures and Services.
+ * http://cloudsimplus.org
+ *
+ *     Copyright (C) 2015-2018 Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Plus.
+ *
+ *     CloudSim Plus is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Plus. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudbus.cloudsim.network;
+
+import org.cloudbus.cloudsim.core.SimEntity;
+
+import java.util.function.Consumer;
+
+/**
+ * A transfer of data between two simulation entities (such as {@link org.cloudbus.cloudsim.datacenters.Datacenter}s
+ * and {@link org.cloudbus.cloudsim.brokers.DatacenterBroker}s) through a {@link WanNetwork}.
+ *
+ * @author Manoel Campos da Silva Filho
+ * @since CloudSim Plus 5.5.0
+ */
+public class WanTransfer {
+    private final SimEntity source;
+    private final SimEntity destination;
+    private final double size;
+    private final double startTime;
+
+    /**
+     * The function to be called when the data arrives at the destination.
+     */
+    private final Consumer<WanTransfer> onFinish;
+
+    /**
+     * @see #getFinishTime()
+     */
+    private double finishTime;
+
+    /**
+     * @see #getRemainingData()
+     */
+    private double remainingData;
+
+    /**
+     * @see #getRate()
+     */
+    private double rate;
+
+    /**
+     * Creates a transfer.
+     *
+     * @param source the entity sending the data
+     * @param destination the entity receiving the data
+     * @param size the amount of data to transfer (in Megabits)
+     * @param startTime the time the transfer started (in seconds)
+     * @param onFinish the function to be called when the data arrives at the destination
+     */
+    WanTransfer(
+        final SimEntity source, final SimEntity destination, final double size,
+        final double startTime, final Consumer<WanTransfer> onFinish)
+    {
+        this.source = source;
+        this.destination = destination;
+        this.size = size;
+        this.startTime = startTime;
+        this.onFinish = onFinish;
+        this.remainingData = size;
+        this.finishTime = -1;
+    }
+
+    /**
+     * Finishes the transfer when its data arrives at the destination.
+     * @param time the current simulation time
+     */
+    void finish(final double time) {
+        this.finishTime = time;
+        this.remainingData = 0;
+        this.rate = 0;
+        onFinish.accept(this);
+    }
+
+    void setRemainingData(final double remainingData) {
+        this.remainingData = remainingData;
+    }
+
+    void setRate(final double rate) {
+        this.rate = rate;
+    }
+
+    /**
+     * Gets the entity sending the data.
+     * @return
+     */
+    public SimEntity getSource() {
+        return source;
+    }
+
+    /**
+     * Gets the entity receiving the data.
+     * @return
+     */
+    public SimEntity getDestination() {
+        return destination;
+    }
+
+    /**
+     * Gets the amount of data to transfer (in Megabits).
+     * @return
+     */
+    public double getSize() {
+        return size;
+    }
+
+    /**
+     * Gets the time the transfer started (in seconds).
+     * @return
+     */
+    public double getStartTime() {
+        return startTime;
+    }
+
+    /**
+     * Gets the time the data arrived at the destination (in seconds).
+     * @return the finish time or -1 if the transfer hasn't finished yet
+     */
+    public double getFinishTime() {
+        return finishTime;
+    }
+
+    /**
+     * Checks if the data has arrived at the destination.
+     * @return
+     */
+    public boolean isFinished() {
+        return finishTime >= 0;
+    }
+
+    /**
+     * Gets the amount of data remaining to be sent (in Megabits),
+     * as computed in the last rate update.
+     * @return
+     */
+    public double getRemainingData() {
+        return remainingData;
+    }
+
+    /**
+     * Gets the current transfer rate (in Megabits/s),
+     * which is the share of the path bandwidth assigned to the transfer.
+     * @return
+     */
+    public double getRate() {
+        return rate;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("WanTransfer of %.2f Megabits from %s to %s", size, source.getName(), destination.getName());
+    }
+}
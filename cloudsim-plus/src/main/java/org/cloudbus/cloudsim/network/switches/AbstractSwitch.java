@@ -10,20 +10,17 @@ package org.cloudbus.cloudsim.network.switches;
 import org.cloudbus.cloudsim.core.CloudSim;
 import org.cloudbus.cloudsim.core.CloudSimEntity;
 import org.cloudbus.cloudsim.core.CloudSimTags;
-import org.cloudbus.cloudsim.core.events.PredicateType;
 import org.cloudbus.cloudsim.core.events.SimEvent;
 import org.cloudbus.cloudsim.datacenters.network.NetworkDatacenter;
 import org.cloudbus.cloudsim.hosts.network.NetworkHost;
 import org.cloudbus.cloudsim.network.HostPacket;
+import org.cloudbus.cloudsim.network.NetworkLink;
 import org.cloudbus.cloudsim.util.Conversion;
 import org.cloudbus.cloudsim.vms.Vm;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
+import java.util.*;
 
 /**
  * A base class for implementing Network Switch.
@@ -87,6 +84,13 @@ public abstract class AbstractSwitch extends CloudSimEntity implements Switch {
      */
     private double switchingDelay;
 
+    /**
+     * Indicates if a {@link CloudSimTags#NETWORK_EVENT_SEND} event is already scheduled
+     * to forward the packets received by the switch.
+     * @see #scheduleForwarding()
+     */
+    private boolean forwardingScheduled;
+
     public AbstractSwitch(final CloudSim simulation, final NetworkDatacenter dc) {
         super(simulation);
         this.packetToHostMap = new HashMap<>();
@@ -129,9 +133,24 @@ public abstract class AbstractSwitch extends CloudSimEntity implements Switch {
      * @param evt The packet sent.
      */
     protected void processHostPacket(final SimEvent evt) {
-        final HostPacket pkt = (HostPacket) evt.getData();
-        final NetworkHost host = pkt.getDestination();
-        host.addReceivedNetworkPacket(pkt);
+        for (final HostPacket pkt : getEventPackets(evt)) {
+            final NetworkHost host = pkt.getDestination();
+            host.addReceivedNetworkPacket(pkt);
+        }
+    }
+
+    /**
+     * Gets the packets carried by an event, which may be either a single {@link HostPacket}
+     * or a list of packets sent together, since they have the same transfer delay.
+     *
+     * @param evt the event carrying the packets
+     * @return the list of packets carried by the event
+     * @see HostPacket#toEventData(List)
+     */
+    @SuppressWarnings("unchecked")
+    protected List<HostPacket> getEventPackets(final SimEvent evt) {
+        final Object data = evt.getData();
+        return data instanceof HostPacket ? Collections.singletonList((HostPacket) data) : (List<HostPacket>) data;
     }
 
     /**
@@ -141,8 +160,7 @@ public abstract class AbstractSwitch extends CloudSimEntity implements Switch {
      */
     protected void processPacketDown(final SimEvent evt) {
         // Packet coming from up level router has to send downward.
-        getSimulation().cancelAll(this, new PredicateType(CloudSimTags.NETWORK_EVENT_SEND));
-        schedule(this, getSwitchingDelay(), CloudSimTags.NETWORK_EVENT_SEND);
+        scheduleForwarding();
     }
 
     /**
@@ -161,14 +179,30 @@ public abstract class AbstractSwitch extends CloudSimEntity implements Switch {
      */
     protected void processPacketUp(final SimEvent evt) {
         // Packet coming from down level router has to be sent up.
-        getSimulation().cancelAll(this, new PredicateType(CloudSimTags.NETWORK_EVENT_SEND));
-        schedule(this, switchingDelay, CloudSimTags.NETWORK_EVENT_SEND);
+        scheduleForwarding();
+    }
+
+    /**
+     * Schedules the forwarding of received packets after the {@link #getSwitchingDelay() switching delay},
+     * if it isn't scheduled yet.
+     * This way, packets received before the forwarding takes place are all sent together
+     * by a single {@link CloudSimTags#NETWORK_EVENT_SEND} event,
+     * without searching the future event queue to cancel previously scheduled forwarding.
+     */
+    private void scheduleForwarding() {
+        if(forwardingScheduled) {
+            return;
+        }
+
+        forwardingScheduled = true;
+        schedule(this, getSwitchingDelay(), CloudSimTags.NETWORK_EVENT_SEND);
     }
 
     /**
      * Sends a packet to hosts connected to the switch.
      */
     private void processPacketForward() {
+        forwardingScheduled = false;
         forwardPacketsToDownlinkSwitches();
         forwardPacketsToUplinkSwitches();
         forwardPacketsToHosts();
@@ -183,20 +217,27 @@ public abstract class AbstractSwitch extends CloudSimEntity implements Switch {
     private void forwardPacketsToDownlinkSwitches() {
         for (final Switch destinationSwitch: downlinkSwitchPacketMap.keySet()) {
             final List<HostPacket> packetList = getDownlinkSwitchPacketList(destinationSwitch);
-            final double bandwidth = this.downlinkBandwidth;
-            forwardPacketsToSwitch(destinationSwitch, packetList, bandwidth, CloudSimTags.NETWORK_EVENT_DOWN);
+            final NetworkLink link = datacenter.getNetworkLink(this, destinationSwitch, downlinkBandwidth);
+            forwardPacketsToSwitch(destinationSwitch, link, packetList, CloudSimTags.NETWORK_EVENT_DOWN);
         }
     }
 
+    /**
+     * Sends a list of packets through the {@link NetworkLink} between this switch and a receiver,
+     * so that the transfer delay considers the data already queued in the link.
+     *
+     * @param destinationSwitch the switch to send the packets to
+     * @param link the link between this switch and the Host or Switch receiving the packets
+     * @param packetList the packets to send
+     * @param cloudSimTag the tag of the events to send the packets
+     */
     private void forwardPacketsToSwitch(
-        final Switch destinationSwitch, final List<HostPacket> packetList,
-        final double bandwidth, final int cloudSimTag)
+        final Switch destinationSwitch, final NetworkLink link,
+        final List<HostPacket> packetList, final int cloudSimTag)
     {
-        for (final HostPacket pkt : packetList) {
-            final double delay = packetTransferDelay(pkt, bandwidth, packetList.size());
-            send(destinationSwitch, delay, cloudSimTag, pkt);
-        }
-
+        /* Packets with the same size have the same transfer delay,
+         * so each batch of such packets is sent by a single event. */
+        link.transmit(getSimulation().clock(), packetList, (batch, delay) -> send(destinationSwitch, delay, cloudSimTag, HostPacket.toEventData(batch)));
         packetList.clear();
     }
 
@@ -209,8 +250,8 @@ public abstract class AbstractSwitch extends CloudSimEntity implements Switch {
     private void forwardPacketsToUplinkSwitches() {
         for (final Switch destinationSwitch : uplinkSwitchPacketMap.keySet()) {
             final List<HostPacket> packetList = getUplinkSwitchPacketList(destinationSwitch);
-            final double bandwidth = uplinkBandwidth;
-            forwardPacketsToSwitch(destinationSwitch, packetList, bandwidth, CloudSimTags.NETWORK_EVENT_UP);
+            final NetworkLink link = datacenter.getNetworkLink(this, destinationSwitch, uplinkBandwidth);
+            forwardPacketsToSwitch(destinationSwitch, link, packetList, CloudSimTags.NETWORK_EVENT_UP);
         }
     }
 
@@ -223,7 +264,8 @@ public abstract class AbstractSwitch extends CloudSimEntity implements Switch {
     private void forwardPacketsToHosts() {
         for (final NetworkHost host : packetToHostMap.keySet()) {
             final List<HostPacket> packetList = getHostPacketList(host);
-            forwardPacketsToSwitch(this, packetList, downlinkBandwidth, CloudSimTags.NETWORK_EVENT_HOST);
+            final NetworkLink link = datacenter.getNetworkLink(this, host, downlinkBandwidth);
+            forwardPacketsToSwitch(this, link, packetList, CloudSimTags.NETWORK_EVENT_HOST);
         }
     }
 
@@ -401,6 +443,51 @@ public abstract class AbstractSwitch extends CloudSimEntity implements Switch {
         return ((NetworkHost)receiverVm.getHost()).getEdgeSwitch();
     }
 
+    /**
+     * Adds a packet to be sent to the next Switch given by the
+     * {@link NetworkDatacenter#getRoutingTable() routing table} of the Datacenter, if it has one.
+     *
+     * @param pkt the packet to be sent
+     * @return true if the packet was routed (or dropped due to the lack of a route),
+     *         false if the Datacenter has no routing table
+     */
+    protected boolean addPacketToSendByRoutingTable(final HostPacket pkt) {
+        final EcmpRoutingTable routingTable = datacenter == null ? null : datacenter.getRoutingTable();
+        if(routingTable == null) {
+            return false;
+        }
+
+        final Switch nextHop = getNextHop(routingTable, pkt);
+        if(nextHop == Switch.NULL) {
+            LOGGER.error(
+                "{}: {}: No route found to {}. Packet from {} dropped.",
+                getSimulation().clockStr(), getName(), pkt.getVmPacket().getDestination(), pkt.getVmPacket().getSource());
+        } else if(nextHop.getLevel() < getLevel()) {
+            addPacketToSendToUplinkSwitch(nextHop, pkt);
+        } else {
+            addPacketToSendToDownlinkSwitch(nextHop, pkt);
+        }
+
+        return true;
+    }
+
+    /**
+     * Gets the next Switch to forward a packet to, according to a routing table.
+     * If this Switch or the destination one was connected after the table was created,
+     * it's not in the table, so there is no route for the packet.
+     *
+     * @param routingTable the routing table to get the next Switch from
+     * @param pkt the packet to be sent
+     * @return the next Switch or {@link Switch#NULL} if there is no route for the packet
+     */
+    private Switch getNextHop(final EcmpRoutingTable routingTable, final HostPacket pkt) {
+        try {
+            return routingTable.getNextHop(this, getVmEdgeSwitch(pkt), pkt);
+        } catch (final IllegalArgumentException e) {
+            return Switch.NULL;
+        }
+    }
+
     protected void addPacketToBeSentToFirstUplinkSwitch(HostPacket netPkt) {
         final Switch uplinkSw = getUplinkSwitches().get(0);
         addPacketToSendToUplinkSwitch(uplinkSw, netPkt);
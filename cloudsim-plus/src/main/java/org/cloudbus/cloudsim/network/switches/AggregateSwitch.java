@@ -78,9 +78,14 @@ public class AggregateSwitch extends AbstractSwitch {
         // packet is coming from root so need to be sent to edge switch
         // find the id for edge switch
         super.processPacketDown(evt);
-        final HostPacket netPkt = (HostPacket) evt.getData();
-        final Switch downlinkSw = getVmEdgeSwitch(netPkt);
-        addPacketToSendToDownlinkSwitch(downlinkSw, netPkt);
+        for (final HostPacket netPkt : getEventPackets(evt)) {
+            if(addPacketToSendByRoutingTable(netPkt)) {
+                continue;
+            }
+
+            final Switch downlinkSw = getVmEdgeSwitch(netPkt);
+            addPacketToSendToDownlinkSwitch(downlinkSw, netPkt);
+        }
     }
 
     @Override
@@ -89,13 +94,18 @@ public class AggregateSwitch extends AbstractSwitch {
         // either root or another edge switch
         // find the id for edge switch
         super.processPacketUp(evt);
-        final HostPacket netPkt = (HostPacket) evt.getData();
-        final Switch downlinkSw = getVmEdgeSwitch(netPkt);
+        for (final HostPacket netPkt : getEventPackets(evt)) {
+            if(addPacketToSendByRoutingTable(netPkt)) {
+                continue;
+            }
 
-        if (findConnectedEdgeSwitch(downlinkSw)) {
-            addPacketToSendToDownlinkSwitch(downlinkSw, netPkt);
-        } else { // send to up
-            addPacketToBeSentToFirstUplinkSwitch(netPkt);
+            final Switch downlinkSw = getVmEdgeSwitch(netPkt);
+
+            if (findConnectedEdgeSwitch(downlinkSw)) {
+                addPacketToSendToDownlinkSwitch(downlinkSw, netPkt);
+            } else { // send to up
+                addPacketToBeSentToFirstUplinkSwitch(netPkt);
+            }
         }
     }
 
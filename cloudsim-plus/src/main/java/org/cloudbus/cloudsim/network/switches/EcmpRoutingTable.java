@@ -0,0 +1,405 @@
+/*
+ * CloudSim Plus: A modern, highly-extensible and easier-to-use Framework for
+ * Modeling and Simulation of Cloud Computing Infrastructures and Services.
+ * http://cloudsimplus.org
+ *
+ *     Copyright (C) 2015-2018 Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Plus.
+ *
+ *     CloudSim Plus is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Plus. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudbus.cloudsim.network.switches;
+
+import org.cloudbus.cloudsim.network.HostPacket;
+
+import java.util.*;
+
+/**
+ * A precomputed routing table for the {@link Switch}es of a Datacenter network,
+ * which supports <a href="https://en.wikipedia.org/wiki/Equal-cost_multi-path_routing">Equal-Cost Multi-Path (ECMP)</a>
+ * routing. For each Switch and destination {@link EdgeSwitch}, it stores the group of
+ * next-hop Switches in a shortest up-down path to that Edge Switch.
+ * If the destination is below a Switch, the group contains the downlink Switches leading to it,
+ * otherwise, it contains the uplink Switches which can reach the destination.
+ *
+ * <p>Switches and Edge Switches are indexed by dense numbers and groups are stored
+ * in flat arrays (in a <a href="https://en.wikipedia.org/wiki/Sparse_matrix#Compressed_sparse_row_(CSR,_CRS_or_Yale_format)">CSR</a>
+ * layout), shared by all table entries having the same next hops.
+ * This way, getting the next hop of a packet is just a few array lookups,
+ * instead of traversing the lists of uplink and downlink Switches.
+ * The Switch inside a group is selected by hashing the sender and receiver of the packet,
+ * so that all packets of the same communication follow the same path
+ * (avoiding reordering), while different communications are spread across paths.</p>
+ *
+ * <p>The table reflects the connections of the Switches at the time it's created,
+ * so it must be created after all Switches are connected.</p>
+ *
+ * @author Manoel Campos da Silva Filho
+ * @since CloudSim Plus 5.5.0
+ */
+public final class EcmpRoutingTable {
+    /**
+     * The value of a {@link #groupIndexes} entry indicating there is
+     * no route from a Switch to a destination Edge Switch.
+     */
+    private static final int NO_ROUTE = -1;
+
+    /**
+     * The Switches in the table, where the index of a Switch is its position in the array.
+     */
+    private final Switch[] switches;
+
+    /**
+     * The smallest id among the Switches in the table, used to map ids to indexes.
+     */
+    private final long minSwitchId;
+
+    /**
+     * The index of a Switch in {@link #switches}, where each position is the
+     * Switch id minus the {@link #minSwitchId}, or -1 if the id doesn't belong to a Switch in the table.
+     */
+    private final int[] switchIndexById;
+
+    /**
+     * The index of each Switch among the Edge Switches,
+     * where each position is the index of a Switch in {@link #switches},
+     * or -1 if the Switch is not an Edge Switch.
+     */
+    private final int[] edgeIndexBySwitch;
+
+    /**
+     * The number of Edge Switches in the table.
+     */
+    private final int edgeSwitchesNumber;
+
+    /**
+     * The index of the ECMP group for each Switch and destination Edge Switch,
+     * where the position for a pair is {@code switchIndex * edgeSwitchesNumber + edgeIndex}.
+     */
+    private final int[] groupIndexes;
+
+    /**
+     * The position in {@link #groupSwitches} where each ECMP group starts.
+     * The group {@code g} ends right before the position {@code groupOffsets[g+1]}.
+     */
+    private final int[] groupOffsets;
+
+    /**
+     * The indexes of the Switches in all ECMP groups, stored one group after another.
+     */
+    private final int[] groupSwitches;
+
+    /**
+     * Creates a routing table for a list of connected Switches.
+     *
+     * @param switches the Switches in the Datacenter network,
+     *                 including all the Switches connected to them
+     * @throws IllegalArgumentException if a Switch connected to a given one is not in the list
+     */
+    public EcmpRoutingTable(final List<? extends Switch> switches) {
+        this.switches = switches.toArray(new Switch[0]);
+
+        long minId = Long.MAX_VALUE, maxId = Long.MIN_VALUE;
+        for (final Switch sw : this.switches) {
+            minId = Math.min(minId, sw.getId());
+            maxId = Math.max(maxId, sw.getId());
+        }
+
+        this.minSwitchId = this.switches.length == 0 ? 0 : minId;
+        this.switchIndexById = new int[this.switches.length == 0 ? 0 : Math.toIntExact(maxId - minId + 1)];
+        Arrays.fill(switchIndexById, -1);
+        this.edgeIndexBySwitch = new int[this.switches.length];
+
+        int edges = 0;
+        for (int i = 0; i < this.switches.length; i++) {
+            switchIndexById[(int)(this.switches[i].getId() - minSwitchId)] = i;
+            edgeIndexBySwitch[i] = this.switches[i] instanceof EdgeSwitch ? edges++ : -1;
+        }
+
+        this.edgeSwitchesNumber = edges;
+        this.groupIndexes = new int[this.switches.length * edgeSwitchesNumber];
+
+        final BitSet[] below = new BitSet[this.switches.length];
+        final BitSet[] reachable = new BitSet[this.switches.length];
+        for (int i = 0; i < this.switches.length; i++) {
+            computeEdgeSwitchesBelow(i, below);
+        }
+
+        for (int i = 0; i < this.switches.length; i++) {
+            computeReachableEdgeSwitches(i, below, reachable);
+        }
+
+        final List<int[]> groups = new ArrayList<>();
+        final BitSet key = new BitSet(this.switches.length);
+        for (int i = 0; i < this.switches.length; i++) {
+            computeSwitchGroups(i, below, reachable, groups, key);
+        }
+
+        this.groupOffsets = new int[groups.size() + 1];
+        int size = 0;
+        for (int g = 0; g < groups.size(); g++) {
+            groupOffsets[g] = size;
+            size += groups.get(g).length;
+        }
+
+        groupOffsets[groups.size()] = size;
+        this.groupSwitches = new int[size];
+        for (int g = 0; g < groups.size(); g++) {
+            System.arraycopy(groups.get(g), 0, groupSwitches, groupOffsets[g], groups.get(g).length);
+        }
+    }
+
+    /**
+     * Computes the Edge Switches below a Switch, that is,
+     * the ones reachable just going down from it.
+     *
+     * @param switchIndex the index of the Switch
+     * @param below an array where each position is a Switch index and each value
+     *              is the set of indexes of the Edge Switches below it
+     * @return the indexes of the Edge Switches below the Switch
+     */
+    private BitSet computeEdgeSwitchesBelow(final int switchIndex, final BitSet[] below) {
+        if(below[switchIndex] != null) {
+            return below[switchIndex];
+        }
+
+        final BitSet edges = new BitSet(edgeSwitchesNumber);
+        below[switchIndex] = edges;
+        if(edgeIndexBySwitch[switchIndex] >= 0) {
+            edges.set(edgeIndexBySwitch[switchIndex]);
+        }
+
+        for (final Switch downlinkSwitch : switches[switchIndex].getDownlinkSwitches()) {
+            edges.or(computeEdgeSwitchesBelow(getSwitchIndex(downlinkSwitch), below));
+        }
+
+        return edges;
+    }
+
+    /**
+     * Computes the Edge Switches a Switch can reach through an up-down path,
+     * that is, going up zero or more levels then going down.
+     *
+     * @param switchIndex the index of the Switch
+     * @param below the Edge Switches below each Switch
+     * @param reachable an array where each position is a Switch index and each value
+     *                  is the set of indexes of the Edge Switches it can reach
+     * @return the indexes of the Edge Switches reachable from the Switch
+     */
+    private BitSet computeReachableEdgeSwitches(final int switchIndex, final BitSet[] below, final BitSet[] reachable) {
+        if(reachable[switchIndex] != null) {
+            return reachable[switchIndex];
+        }
+
+        final BitSet edges = (BitSet) below[switchIndex].clone();
+        reachable[switchIndex] = edges;
+        for (final Switch uplinkSwitch : switches[switchIndex].getUplinkSwitches()) {
+            edges.or(computeReachableEdgeSwitches(getSwitchIndex(uplinkSwitch), below, reachable));
+        }
+
+        return edges;
+    }
+
+    /**
+     * Computes the ECMP group of a Switch for each destination Edge Switch.
+     * Groups with the same next hops are shared by the entries of the Switch.
+     *
+     * @param switchIndex the index of the Switch to compute its groups
+     * @param below the Edge Switches below each Switch
+     * @param reachable the Edge Switches each Switch can reach
+     * @param groups the list of groups, where the new groups are added
+     * @param key a reusable set to store the next hops of each entry,
+     *            which is copied just when a new group is found
+     */
+    private void computeSwitchGroups(
+        final int switchIndex, final BitSet[] below,
+        final BitSet[] reachable, final List<int[]> groups, final BitSet key)
+    {
+        final int[] downlinks = getSwitchIndexes(switches[switchIndex].getDownlinkSwitches());
+        final int[] uplinks = getSwitchIndexes(switches[switchIndex].getUplinkSwitches());
+        final Map<BitSet, Integer> switchGroups = new HashMap<>();
+        final int[] candidates = new int[Math.max(downlinks.length, uplinks.length)];
+
+        for (int edge = 0; edge < edgeSwitchesNumber; edge++) {
+            final int entry = switchIndex * edgeSwitchesNumber + edge;
+            if(edgeIndexBySwitch[switchIndex] == edge) {
+                groupIndexes[entry] = NO_ROUTE;
+                continue;
+            }
+
+            //Goes down whenever the destination is below the Switch, otherwise goes up
+            int size = selectSwitchesReaching(downlinks, edge, below, candidates);
+            if(size == 0) {
+                size = selectSwitchesReaching(uplinks, edge, reachable, candidates);
+            }
+
+            if(size == 0) {
+                groupIndexes[entry] = NO_ROUTE;
+                continue;
+            }
+
+            key.clear();
+            for (int i = 0; i < size; i++) {
+                key.set(candidates[i]);
+            }
+
+            final Integer group = switchGroups.get(key);
+            if(group == null) {
+                groups.add(Arrays.copyOf(candidates, size));
+                switchGroups.put((BitSet) key.clone(), groups.size() - 1);
+                groupIndexes[entry] = groups.size() - 1;
+            } else {
+                groupIndexes[entry] = group;
+            }
+        }
+    }
+
+    /**
+     * Selects the Switches which can reach a given Edge Switch.
+     *
+     * @param neighbours the indexes of the Switches to check
+     * @param edge the index of the destination Edge Switch
+     * @param reachable the Edge Switches each Switch can reach
+     * @param selected the array to store the indexes of the selected Switches
+     * @return the number of selected Switches
+     */
+    private static int selectSwitchesReaching(
+        final int[] neighbours, final int edge,
+        final BitSet[] reachable, final int[] selected)
+    {
+        int size = 0;
+        for (final int neighbour : neighbours) {
+            if(reachable[neighbour].get(edge)) {
+                selected[size++] = neighbour;
+            }
+        }
+
+        return size;
+    }
+
+    private int[] getSwitchIndexes(final List<Switch> list) {
+        final int[] indexes = new int[list.size()];
+        for (int i = 0; i < indexes.length; i++) {
+            indexes[i] = getSwitchIndex(list.get(i));
+        }
+
+        return indexes;
+    }
+
+    /**
+     * Gets the index of a Switch in the table.
+     *
+     * @param sw the Switch to get its index
+     * @return the Switch index
+     * @throws IllegalArgumentException if the Switch is not in the table
+     */
+    private int getSwitchIndex(final Switch sw) {
+        final long position = sw.getId() - minSwitchId;
+        final int index = position >= 0 && position < switchIndexById.length ? switchIndexById[(int)position] : -1;
+        if(index < 0 || switches[index] != sw) {
+            throw new IllegalArgumentException(sw + " is not in the routing table.");
+        }
+
+        return index;
+    }
+
+    /**
+     * Gets the next Switch to forward a packet to, in order to reach a destination Edge Switch.
+     *
+     * @param current the Switch where the packet currently is
+     * @param destination the Edge Switch connected to the Host receiving the packet
+     * @param pkt the packet to forward
+     * @return the next Switch in the path to the destination Edge Switch;
+     *         or {@link Switch#NULL} if the current Switch is the destination
+     *         or there is no route to it
+     * @throws IllegalArgumentException if any of the given Switches is not in the table
+     * @see #flowHash(HostPacket)
+     */
+    public Switch getNextHop(final Switch current, final EdgeSwitch destination, final HostPacket pkt) {
+        return getNextHop(current, destination, flowHash(pkt));
+    }
+
+    /**
+     * Gets the next Switch to forward a flow to, in order to reach a destination Edge Switch.
+     *
+     * @param current the Switch where the flow currently is
+     * @param destination the Edge Switch connected to the Host receiving the flow
+     * @param flowHash a hash identifying the flow, used to select one of the equal-cost paths
+     * @return the next Switch in the path to the destination Edge Switch;
+     *         or {@link Switch#NULL} if the current Switch is the destination
+     *         or there is no route to it
+     * @throws IllegalArgumentException if any of the given Switches is not in the table
+     */
+    public Switch getNextHop(final Switch current, final EdgeSwitch destination, final int flowHash) {
+        final int switchIndex = getSwitchIndex(current);
+        final int edge = edgeIndexBySwitch[getSwitchIndex(destination)];
+        final int group = groupIndexes[switchIndex * edgeSwitchesNumber + edge];
+        if(group == NO_ROUTE) {
+            return Switch.NULL;
+        }
+
+        final int start = groupOffsets[group];
+        final int size = groupOffsets[group + 1] - start;
+        return switches[groupSwitches[start + Math.floorMod(mix(flowHash, switchIndex), size)]];
+    }
+
+    /**
+     * Mixes the hash of a flow with the index of a Switch, so that the path
+     * selected at each level is not correlated to the one selected at the previous levels.
+     */
+    private static int mix(final int flowHash, final int switchIndex) {
+        int hash = (flowHash ^ switchIndex * 0x9E3779B9) * 0x85EBCA6B;
+        hash ^= hash >>> 13;
+        hash *= 0xC2B2AE35;
+        return hash ^ (hash >>> 16);
+    }
+
+    /**
+     * Gets a hash identifying the communication a packet belongs to,
+     * given by its sender and receiver Cloudlets and VMs.
+     *
+     * @param pkt the packet to get the hash
+     * @return the packet flow hash
+     * @see HostPacket#getFlowHash()
+     */
+    public static int flowHash(final HostPacket pkt) {
+        return pkt.getFlowHash();
+    }
+
+    /**
+     * Gets the number of Switches in the table.
+     * @return
+     */
+    public int getSwitchesNumber() {
+        return switches.length;
+    }
+
+    /**
+     * Gets the number of Edge Switches in the table, which are the possible destinations.
+     * @return
+     */
+    public int getEdgeSwitchesNumber() {
+        return edgeSwitchesNumber;
+    }
+
+    /**
+     * Gets the number of distinct ECMP groups in the table.
+     * @return
+     */
+    public int getGroupsNumber() {
+        return groupOffsets.length - 1;
+    }
+}
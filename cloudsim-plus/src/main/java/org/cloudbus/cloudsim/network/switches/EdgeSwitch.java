@@ -93,16 +93,16 @@ public class EdgeSwitch extends AbstractSwitch {
         super.processPacketDown(evt);
 
         // packet is to be received by host
-        final HostPacket pkt = extractReceivedHostPacket(evt);
-        addPacketToSendToHost(pkt.getDestination(), pkt);
+        for (final HostPacket pkt : getEventPackets(evt)) {
+            setReceiverHost(pkt);
+            addPacketToSendToHost(pkt.getDestination(), pkt);
+        }
     }
 
-    private HostPacket extractReceivedHostPacket(final SimEvent evt) {
-        final HostPacket pkt = (HostPacket) evt.getData();
+    private void setReceiverHost(final HostPacket pkt) {
         final Vm receiverVm = pkt.getVmPacket().getDestination();
         final NetworkHost host = getVmHost(receiverVm);
         pkt.setDestination(host);
-        return pkt;
     }
 
     @Override
@@ -111,20 +111,29 @@ public class EdgeSwitch extends AbstractSwitch {
 
         // packet is received from host
         // packet is to be sent to aggregate level or to another host in the same level
-        final HostPacket pkt = extractReceivedHostPacket(evt);
-
-        // packet needs to go to a host which is connected directly to switch
-        if (pkt.getDestination() != null && pkt.getDestination() != Host.NULL) {
-            addPacketToSendToHost(pkt.getDestination(), pkt);
-            return;
+        for (final HostPacket pkt : getEventPackets(evt)) {
+            setReceiverHost(pkt);
+            final NetworkHost host = pkt.getDestination();
+            final boolean hostFound = host != null && host != Host.NULL;
+
+            // packet to a host connected to another switch is routed if there is a routing table
+            if (hostFound && host.getEdgeSwitch() != this && addPacketToSendByRoutingTable(pkt)) {
+                continue;
+            }
+
+            // packet needs to go to a host which is connected directly to switch
+            if (hostFound) {
+                addPacketToSendToHost(host, pkt);
+                continue;
+            }
+
+            // otherwise, packet is to be sent to upper switch
+            /*
+             * ASSUMPTION: Each Edge is connected to one Aggregate Switch.
+             * If there are more than one Aggregate Switch, the following code has to be modified.
+            */
+            addPacketToBeSentToFirstUplinkSwitch(pkt);
         }
-
-        // otherwise, packet is to be sent to upper switch
-        /*
-         * ASSUMPTION: Each Edge is connected to one Aggregate Switch.
-         * If there are more than one Aggregate Switch, the following code has to be modified.
-        */
-        addPacketToBeSentToFirstUplinkSwitch(pkt);
     }
 
     @Override
@@ -81,17 +81,22 @@ public class RootSwitch extends AbstractSwitch {
     @Override
     protected void processPacketUp(SimEvent evt) {
         super.processPacketUp(evt);
-        final HostPacket netPkt = (HostPacket) evt.getData();
-        final Switch edgeSwitch = getVmEdgeSwitch(netPkt);
+        for (final HostPacket netPkt : getEventPackets(evt)) {
+            if(addPacketToSendByRoutingTable(netPkt)) {
+                continue;
+            }
 
-        final Switch aggSwitch = findAggregateSwitchConnectedToGivenEdgeSwitch(edgeSwitch);
+            final Switch edgeSwitch = getVmEdgeSwitch(netPkt);
 
-        if (aggSwitch == Switch.NULL) {
-            LOGGER.error("No destination switch for this packet");
-            return;
-        }
+            final Switch aggSwitch = findAggregateSwitchConnectedToGivenEdgeSwitch(edgeSwitch);
 
-        addPacketToSendToDownlinkSwitch(aggSwitch, netPkt);
+            if (aggSwitch == Switch.NULL) {
+                LOGGER.error("No destination switch for this packet");
+                continue;
+            }
+
+            addPacketToSendToDownlinkSwitch(aggSwitch, netPkt);
+        }
     }
 
     /**
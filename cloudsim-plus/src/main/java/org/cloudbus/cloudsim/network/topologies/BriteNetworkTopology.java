@@ -8,15 +8,21 @@
 package org.cloudbus.cloudsim.network.topologies;
 
 import org.cloudbus.cloudsim.network.DelayMatrix;
+import org.cloudbus.cloudsim.network.DijkstraShortestPaths;
 import org.cloudbus.cloudsim.network.topologies.readers.TopologyReaderBrite;
+import org.cloudbus.cloudsim.network.topologies.readers.TopologyReaderBriteMapped;
 import org.cloudbus.cloudsim.util.ResourceLoader;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.InputStreamReader;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.PriorityQueue;
 
 /**
  * Implements a network layer by reading the topology from a file in the
@@ -34,6 +40,20 @@ import java.util.Map;
  * to one (and only one) BRITE node to allow proper work of the network
  * simulation. Each BRITE node can be mapped to only one entity at a time.</p>
  *
+ * <p>By default, the delay and bandwidth between every pair of nodes are
+ * stored in dense matrices, which require memory proportional to the square of the number of nodes.
+ * For huge topologies, a {@link #isSparse() sparse} network topology can be created,
+ * which just computes the delays from a node when they are requested for the first time,
+ * keeping the most recently used ones in a bounded cache.
+ * See {@link #getInstance(String, boolean)} and {@link DijkstraShortestPaths} for details.
+ * Large topology files can be quickly loaded using the {@link TopologyReaderBriteMapped}
+ * and {@link #BriteNetworkTopology(SparseTopologicalGraph)}.</p>
+ *
+ * <p>The {@link #getBandwidth(long, long) bandwidth} from a node to all the other ones is computed on demand
+ * from the links bandwidth, when first requested,
+ * and kept in a bounded Least Recently Used (LRU) cache for further requests.
+ * See {@link #setMaxCachedDelayRows(int)} for details.</p>
+ *
  * @author Rodrigo N. Calheiros
  * @author Anton Beloglazov
  * @since CloudSim Toolkit 1.0
@@ -54,8 +74,44 @@ public final class BriteNetworkTopology implements NetworkTopology {
      */
     private DelayMatrix delayMatrix;
 
+    /**
+     * Computes the delays between nodes on demand, when the topology {@link #isSparse() is sparse}.
+     */
+    private DijkstraShortestPaths shortestPaths;
+
+    /**
+     * The graph used to compute the delays when the topology {@link #isSparse() is sparse}.
+     */
+    private SparseTopologicalGraph sparseGraph;
+
+    /** @see #isSparse() */
+    private final boolean sparse;
+
+    /**
+     * The links added to the topology by {@link #addLink(long, long, double, double)}
+     * which weren't added to the {@link #sparseGraph} yet, when the topology {@link #isSparse() is sparse}.
+     * They are all added at once when the delay or bandwidth between nodes is requested,
+     * so that the graph isn't rebuilt for every added link.
+     */
+    private final List<TopologicalLink> pendingSparseLinks;
+
+    /**
+     * The maximum number of delay and path bandwidth rows to keep cached,
+     * or 0 to use the default one for the number of nodes.
+     * @see #setMaxCachedDelayRows(int)
+     */
+    private int maxCachedDelayRows;
+
     private double[][] bwMatrix;
 
+    /**
+     * A Least Recently Used (LRU) cache where each key is the id of a source BRITE node
+     * and each value is an array with the path bandwidth from that node to every other one,
+     * keeping at most {@link #getMaxCachedBandwidthRows()} rows.
+     * @see #getBandwidth(long, long)
+     */
+    private final Map<Integer, double[]> pathBandwidthRows;
+
     /**
      * The Topological Graph of the network.
      */
@@ -74,20 +130,69 @@ public final class BriteNetworkTopology implements NetworkTopology {
      */
     public static BriteNetworkTopology getInstance(final String fileName){
         final InputStreamReader reader = ResourceLoader.newInputStreamReader(fileName, BriteNetworkTopology.class);
-        return new BriteNetworkTopology(reader);
+        return new BriteNetworkTopology(reader, false);
+    }
+
+    /**
+     * Instantiates a Network Topology from a file inside the <b>application's resource directory</b>,
+     * defining if the topology is sparse or not.
+     * @param fileName the <b>relative name</b> of the BRITE file
+     * @param sparse true to create a sparse network topology, false to create a dense one
+     * @return the BriteNetworkTopology instance.
+     * @see #isSparse()
+     */
+    public static BriteNetworkTopology getInstance(final String fileName, final boolean sparse){
+        final InputStreamReader reader = ResourceLoader.newInputStreamReader(fileName, BriteNetworkTopology.class);
+        return new BriteNetworkTopology(reader, sparse);
     }
 
     /**
      * Instantiates a Network Topology.
      * @see #BriteNetworkTopology(String)
-     * @see #BriteNetworkTopology(InputStreamReader)
      * @see #getInstance(String)
      */
     public BriteNetworkTopology() {
+        this(false);
+    }
+
+    /**
+     * Instantiates a Network Topology, defining if it is sparse or not.
+     * @param sparse true to create a sparse network topology, false to create a dense one
+     * @see #isSparse()
+     */
+    public BriteNetworkTopology(final boolean sparse) {
+        this.sparse = sparse;
         entitiesMap = new HashMap<>();
+        pendingSparseLinks = new ArrayList<>();
+        pathBandwidthRows = new LinkedHashMap<Integer, double[]>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<Integer, double[]> eldest) {
+                return size() > getMaxCachedBandwidthRows();
+            }
+        };
         bwMatrix = new double[0][0];
         graph = new TopologicalGraph();
         delayMatrix = new DelayMatrix();
+        sparseGraph = new SparseTopologicalGraph(false);
+    }
+
+    /**
+     * Instantiates a {@link #isSparse() sparse} Network Topology from a given sparse graph,
+     * such as one read by a {@link TopologyReaderBriteMapped}.
+     * The {@link #getTopologicalGraph()} is kept empty,
+     * just containing the links further added by {@link #addLink(long, long, double, double)}.
+     *
+     * @param sparseGraph the undirected sparse graph to compute delays from
+     * @see TopologyReaderBriteMapped#readSparseGraph(java.nio.file.Path, java.nio.file.Path)
+     */
+    public BriteNetworkTopology(final SparseTopologicalGraph sparseGraph) {
+        this(true);
+        if (sparseGraph.isDirected()) {
+            throw new IllegalArgumentException("The sparse graph must be undirected.");
+        }
+
+        this.sparseGraph = sparseGraph;
+        createShortestPaths();
     }
 
     /**
@@ -97,11 +202,24 @@ public final class BriteNetworkTopology implements NetworkTopology {
      *
      * @param filePath the path of the BRITE file
      * @see #BriteNetworkTopology()
-     * @see #BriteNetworkTopology(InputStreamReader)
      * @see #getInstance(String)
      */
     public BriteNetworkTopology(final String filePath) {
-        this(ResourceLoader.newInputStreamReader(filePath));
+        this(filePath, false);
+    }
+
+    /**
+     * Instantiates a Network Topology if a given file exists and can be successfully
+     * parsed, defining if the topology is sparse or not.
+     * File is written in the BRITE format and contains
+     * topological information on simulation entities.
+     *
+     * @param filePath the path of the BRITE file
+     * @param sparse true to create a sparse network topology, false to create a dense one
+     * @see #isSparse()
+     */
+    public BriteNetworkTopology(final String filePath, final boolean sparse) {
+        this(ResourceLoader.newInputStreamReader(filePath), sparse);
         LOGGER.info("Topology file: {}", filePath);
     }
 
@@ -111,12 +229,12 @@ public final class BriteNetworkTopology implements NetworkTopology {
      * topological information on simulation entities.
      *
      * @param reader the reader for the topology file
+     * @param sparse true to create a sparse network topology, false to create a dense one
      * @see #BriteNetworkTopology()
-     * @see #BriteNetworkTopology(InputStreamReader)
      * @see #getInstance(String)
      */
-    private BriteNetworkTopology(final InputStreamReader reader) {
-        this();
+    private BriteNetworkTopology(final InputStreamReader reader, final boolean sparse) {
+        this(sparse);
         final TopologyReaderBrite instance = new TopologyReaderBrite();
         graph = instance.readGraphFile(reader);
         generateMatrices();
@@ -125,8 +243,18 @@ public final class BriteNetworkTopology implements NetworkTopology {
     /**
      * Generates the matrices used internally to set latency and bandwidth
      * between elements.
+     * If the topology {@link #isSparse() is sparse}, no matrix is created
+     * and the delays are computed on demand.
      */
     private void generateMatrices() {
+        pathBandwidthRows.clear();
+        if (sparse) {
+            sparseGraph = new SparseTopologicalGraph(getTopologicalGraph(), false);
+            pendingSparseLinks.clear();
+            createShortestPaths();
+            return;
+        }
+
         // creates the delay matrix
         delayMatrix = new DelayMatrix(getTopologicalGraph(), false);
 
@@ -136,6 +264,34 @@ public final class BriteNetworkTopology implements NetworkTopology {
         networkEnabled = true;
     }
 
+    /**
+     * Creates the object that computes the delays on demand
+     * from the {@link #sparseGraph}, when the topology {@link #isSparse() is sparse}.
+     */
+    private void createShortestPaths() {
+        pathBandwidthRows.clear();
+        shortestPaths = new DijkstraShortestPaths(sparseGraph);
+        if (maxCachedDelayRows > 0) {
+            shortestPaths.setMaxCachedRows(maxCachedDelayRows);
+        }
+
+        networkEnabled = true;
+    }
+
+    /**
+     * Adds the {@link #pendingSparseLinks} to the {@link #sparseGraph} at once,
+     * when the topology {@link #isSparse() is sparse}.
+     */
+    private void addPendingSparseLinks() {
+        if (pendingSparseLinks.isEmpty()) {
+            return;
+        }
+
+        sparseGraph = sparseGraph.addLinks(pendingSparseLinks);
+        pendingSparseLinks.clear();
+        createShortestPaths();
+    }
+
     /**
      * Creates the matrix containing the available bandwidth between every pair
      * of nodes.
@@ -182,7 +338,17 @@ public final class BriteNetworkTopology implements NetworkTopology {
         addNodeMapping(destId);
 
         // generate a new link
-        getTopologicalGraph().addLink(new TopologicalLink(entitiesMap.get(srcId), entitiesMap.get(destId), (float) latency, (float) bandwidth));
+        final TopologicalLink link = new TopologicalLink(entitiesMap.get(srcId), entitiesMap.get(destId), (float) latency, (float) bandwidth);
+        getTopologicalGraph().addLink(link);
+
+        if (sparse) {
+            /* The sparse graph may have been given from a file, without the TopologicalGraph,
+             * so the link is added to the existing sparse graph instead of rebuilding it.
+             * That is just performed when the graph is required, adding all pending links at once. */
+            pendingSparseLinks.add(link);
+            networkEnabled = true;
+            return;
+        }
 
         generateMatrices();
     }
@@ -229,12 +395,107 @@ public final class BriteNetworkTopology implements NetworkTopology {
         }
 
         try {
-            return delayMatrix.getDelay(entitiesMap.getOrDefault(srcID, -1), entitiesMap.getOrDefault(destID, -1));
+            final int briteSrcId = entitiesMap.getOrDefault(srcID, -1);
+            final int briteDestId = entitiesMap.getOrDefault(destID, -1);
+            if (sparse) {
+                addPendingSparseLinks();
+            }
+
+            return sparse ? shortestPaths.getDelay(briteSrcId, briteDestId) : delayMatrix.getDelay(briteSrcId, briteDestId);
         } catch (ArrayIndexOutOfBoundsException e) {
             return 0.0;
         }
     }
 
+    @Override
+    public double getBandwidth(final long srcID, final long destID) {
+        if (!networkEnabled) {
+            return 0.0;
+        }
+
+        final int briteSrcId = entitiesMap.getOrDefault(srcID, -1);
+        final int briteDestId = entitiesMap.getOrDefault(destID, -1);
+        if (sparse) {
+            addPendingSparseLinks();
+        }
+
+        final int nodes = getNumberOfNodes();
+        if (briteSrcId < 0 || briteDestId < 0 || briteSrcId >= nodes || briteDestId >= nodes || briteSrcId == briteDestId) {
+            return 0.0;
+        }
+
+        return pathBandwidthRows.computeIfAbsent(briteSrcId, src -> computePathBandwidths(src, nodes))[briteDestId];
+    }
+
+    private int getNumberOfNodes() {
+        return sparse ? sparseGraph.getNumberOfNodes() : bwMatrix.length;
+    }
+
+    /**
+     * Gets the maximum number of rows of path bandwidths to keep in the {@link #pathBandwidthRows} cache,
+     * which is the one {@link #setMaxCachedDelayRows(int) set} or the
+     * {@link DijkstraShortestPaths#getDefaultMaxCachedRows(int) default} for the number of nodes.
+     */
+    private int getMaxCachedBandwidthRows() {
+        return maxCachedDelayRows > 0 ? maxCachedDelayRows : DijkstraShortestPaths.getDefaultMaxCachedRows(getNumberOfNodes());
+    }
+
+    /**
+     * Computes the bandwidth of the widest paths from a BRITE node to every other one.
+     * The widest path is the one whose link with the lowest bandwidth (the bottleneck)
+     * has the highest bandwidth among all paths.
+     * It uses a variation of the Dijkstra's algorithm that maximizes the
+     * bottleneck bandwidth instead of minimizing the path length.
+     *
+     * @param src the source node id
+     * @param nodes the number of nodes in the topology
+     * @return an array with the bandwidth of the widest path to each node
+     *         (0 for the nodes that cannot be reached)
+     */
+    private double[] computePathBandwidths(final int src, final int nodes) {
+        final double[] width = new double[nodes];
+        final boolean[] visited = new boolean[nodes];
+        final PriorityQueue<double[]> queue = new PriorityQueue<>((a, b) -> Double.compare(b[0], a[0]));
+        width[src] = Double.MAX_VALUE;
+        queue.add(new double[]{width[src], src});
+
+        while (!queue.isEmpty()) {
+            final int node = (int) queue.poll()[1];
+            if (visited[node]) {
+                continue;
+            }
+
+            visited[node] = true;
+            if (sparse) {
+                final int[] offsets = sparseGraph.getOffsets();
+                for (int i = offsets[node]; i < offsets[node + 1]; i++) {
+                    relaxPathBandwidth(width, queue, node, sparseGraph.getTargets()[i], sparseGraph.getBandwidths()[i]);
+                }
+            } else {
+                for (int neighbour = 0; neighbour < nodes; neighbour++) {
+                    relaxPathBandwidth(width, queue, node, neighbour, bwMatrix[node][neighbour]);
+                }
+            }
+        }
+
+        return width;
+    }
+
+    /**
+     * Updates the bandwidth of the widest path found so far to a neighbour node,
+     * if the path through a given node is wider.
+     */
+    private static void relaxPathBandwidth(
+        final double[] width, final PriorityQueue<double[]> queue,
+        final int node, final int neighbour, final double linkBw)
+    {
+        final double pathWidth = Math.min(width[node], linkBw);
+        if (pathWidth > width[neighbour]) {
+            width[neighbour] = pathWidth;
+            queue.add(new double[]{pathWidth, neighbour});
+        }
+    }
+
     @Override
     public boolean isNetworkEnabled() {
         return networkEnabled;
@@ -245,9 +506,48 @@ public final class BriteNetworkTopology implements NetworkTopology {
         return graph;
     }
 
+    /**
+     * Checks if the network topology is sparse,
+     * storing just the links between nodes instead of dense delay and bandwidth matrices.
+     * In this case, the delays from a node to all the other ones are computed
+     * when requested for the first time and kept in a bounded
+     * Least Recently Used (LRU) cache.
+     *
+     * @return true if the topology is sparse, false if it's dense
+     * @see #setMaxCachedDelayRows(int)
+     */
+    public boolean isSparse() {
+        return sparse;
+    }
+
+    /**
+     * Sets the maximum number of rows (the delays from a node to all the other ones)
+     * to keep cached when the topology {@link #isSparse() is sparse}.
+     * It also sets the maximum number of rows of path bandwidths
+     * (the {@link #getBandwidth(long, long) bandwidth} from a node to all the other ones)
+     * to keep cached, for both sparse and dense topologies.
+     * If not set, the maximum number of rows is defined so that each cache takes at most
+     * {@link DijkstraShortestPaths#DEFAULT_MAX_CACHE_SIZE} bytes.
+     *
+     * @param maxCachedRows the maximum number of rows to set (at least 1)
+     * @return
+     */
+    public BriteNetworkTopology setMaxCachedDelayRows(final int maxCachedRows) {
+        if (maxCachedRows < 1) {
+            throw new IllegalArgumentException("The maximum number of cached delay rows must be at least 1.");
+        }
+
+        this.maxCachedDelayRows = maxCachedRows;
+        if (shortestPaths != null) {
+            shortestPaths.setMaxCachedRows(maxCachedRows);
+        }
+
+        return this;
+    }
+
     /**
      * Gets a<b>copy</b> of the matrix containing the bandwidth between every pair of nodes in the
-     * network.
+     * network. If the topology {@link #isSparse() is sparse}, the matrix is empty.
      */
     public double[][] getBwMatrix() {
         return Arrays.copyOf(bwMatrix, bwMatrix.length);
@@ -69,6 +69,26 @@ public interface NetworkTopology {
      */
     double getDelay(long srcID, long destID);
 
+    /**
+     * Gets the bandwidth available to transfer data between two nodes,
+     * which is the bandwidth of the bottleneck link in the widest path between them.
+     *
+     * <p>The widest path may not be the one used to compute the {@link #getDelay(long, long) delay}
+     * (the path with the shortest delay). This way, they are an approximation,
+     * considering that data goes through the widest path and arrives
+     * after the shortest delay.</p>
+     *
+     * <p>The default implementation returns 0, meaning that the bandwidth is unknown.</p>
+     *
+     * @param srcID ID of the CloudSim entity that represents the source node
+     * @param destID ID of the CloudSim entity that represents the destination node
+     * @return the bandwidth between the two nodes (in Megabits/s)
+     *         or 0 if it's unknown (when there is no path between the nodes or the network is not enabled)
+     */
+    default double getBandwidth(long srcID, long destID) {
+        return 0;
+    }
+
     /**
      * Checks if the network simulation is working. If there were some problem
      * during creation of network (e.g., during parsing of BRITE file) that does
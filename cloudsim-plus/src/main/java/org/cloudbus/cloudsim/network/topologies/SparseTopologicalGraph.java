@@ -0,0 +1,436 @@
+/*
+ * CloudSim Plus: A modern, highly-extensible and easier-to-use Framework for
+ * Modeling and Simulation of Cloud Computing Infrastructures and Services.
+ * http://cloudsimplus.org
+ *
+ *     Copyright (C) 2015-2018 Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Plus.
+ *
+ *     CloudSim Plus is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Plus. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudbus.cloudsim.network.topologies;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * An immutable network graph stored in the
+ * <a href="https://en.wikipedia.org/wiki/Sparse_matrix#Compressed_sparse_row_(CSR,_CRS_or_Yale_format)">Compressed Sparse Row (CSR)</a>
+ * format, using primitive arrays instead of {@link TopologicalNode} and {@link TopologicalLink} objects.
+ * It requires memory proportional to the number of links, being suitable for huge topologies.
+ *
+ * <p>The links going out of a node {@code i} are stored from the index {@code offsets[i]} (inclusive)
+ * to {@code offsets[i+1]} (exclusive) of the {@link #getTargets() targets}, {@link #getDelays() delays}
+ * and {@link #getBandwidths() bandwidths} arrays.
+ * For undirected graphs, each link is stored twice, one for each direction.</p>
+ *
+ * <p>To be consistent with the {@link org.cloudbus.cloudsim.network.DelayMatrix}, links with zero delay are ignored.</p>
+ *
+ * <p>The graph can be saved to a compact binary file using {@link #write(Path)},
+ * which can be instantly loaded later using {@link #read(Path)}.</p>
+ *
+ * @author Manoel Campos da Silva Filho
+ * @since CloudSim Plus 5.5.0
+ * @see org.cloudbus.cloudsim.network.topologies.readers.TopologyReaderBriteMapped
+ */
+public final class SparseTopologicalGraph {
+    /**
+     * An integer identifying binary files created by {@link #write(Path)}.
+     */
+    private static final int MAGIC_NUMBER = 0x43535247;
+
+    /**
+     * The version of the binary file format created by {@link #write(Path)}.
+     */
+    private static final int FILE_VERSION = 1;
+
+    /**
+     * The number of int values in the binary file header.
+     */
+    private static final int HEADER_INTS = 5;
+
+    /** @see #isDirected() */
+    private final boolean directed;
+
+    /** @see #getOffsets() */
+    private final int[] offsets;
+
+    /** @see #getTargets() */
+    private final int[] targets;
+
+    /** @see #getDelays() */
+    private final double[] delays;
+
+    /** @see #getBandwidths() */
+    private final double[] bandwidths;
+
+    /**
+     * Creates a sparse graph from a list of links given as primitive arrays,
+     * where the values of the link {@code i} are at the position {@code i} of every array.
+     *
+     * @param nodesNumber the number of nodes in the graph
+     *                    (it's increased if some link refers to a node with a greater id)
+     * @param linksNumber the number of links in the arrays (which may be greater than that)
+     * @param sources the source node of each link
+     * @param destinations the destination node of each link
+     * @param delays the delay of each link
+     * @param bandwidths the bandwidth of each link
+     * @param directed true if the graph is directed; false otherwise
+     */
+    public SparseTopologicalGraph(
+        final int nodesNumber, final int linksNumber,
+        final int[] sources, final int[] destinations,
+        final double[] delays, final double[] bandwidths,
+        final boolean directed)
+    {
+        this.directed = directed;
+        int nodes = nodesNumber;
+        for (int i = 0; i < linksNumber; i++) {
+            nodes = Math.max(nodes, Math.max(sources[i], destinations[i]) + 1);
+        }
+
+        this.offsets = new int[nodes + 1];
+        for (int i = 0; i < linksNumber; i++) {
+            if (delays[i] != 0) {
+                offsets[sources[i] + 1]++;
+                if (!directed) {
+                    offsets[destinations[i] + 1]++;
+                }
+            }
+        }
+
+        for (int i = 0; i < nodes; i++) {
+            offsets[i + 1] += offsets[i];
+        }
+
+        this.targets = new int[offsets[nodes]];
+        this.delays = new double[offsets[nodes]];
+        this.bandwidths = new double[offsets[nodes]];
+        final int[] nextPositions = Arrays.copyOf(offsets, nodes);
+        for (int i = 0; i < linksNumber; i++) {
+            if (delays[i] != 0) {
+                addLink(nextPositions, sources[i], destinations[i], delays[i], bandwidths[i]);
+                if (!directed) {
+                    addLink(nextPositions, destinations[i], sources[i], delays[i], bandwidths[i]);
+                }
+            }
+        }
+    }
+
+    /**
+     * Creates a sparse graph from a {@link TopologicalGraph}.
+     *
+     * @param graph the graph to get the nodes and links from
+     * @param directed true if the graph is directed; false otherwise
+     */
+    public SparseTopologicalGraph(final TopologicalGraph graph, final boolean directed) {
+        this(graph.getNumberOfNodes(), graph.getNumberOfLinks(),
+            graph.getLinksList().stream().mapToInt(TopologicalLink::getSrcNodeID).toArray(),
+            graph.getLinksList().stream().mapToInt(TopologicalLink::getDestNodeID).toArray(),
+            graph.getLinksList().stream().mapToDouble(TopologicalLink::getLinkDelay).toArray(),
+            graph.getLinksList().stream().mapToDouble(TopologicalLink::getLinkBw).toArray(),
+            directed);
+    }
+
+    /**
+     * Creates an empty sparse graph.
+     * @param directed true if the graph is directed; false otherwise
+     */
+    public SparseTopologicalGraph(final boolean directed) {
+        this(0, 0, new int[0], new int[0], new double[0], new double[0], directed);
+    }
+
+    private SparseTopologicalGraph(
+        final boolean directed, final int[] offsets, final int[] targets,
+        final double[] delays, final double[] bandwidths)
+    {
+        this.directed = directed;
+        this.offsets = offsets;
+        this.targets = targets;
+        this.delays = delays;
+        this.bandwidths = bandwidths;
+    }
+
+    private void addLink(final int[] nextPositions, final int src, final int dest, final double delay, final double bw) {
+        final int pos = nextPositions[src]++;
+        targets[pos] = dest;
+        delays[pos] = delay;
+        bandwidths[pos] = bw;
+    }
+
+    /**
+     * Creates a new graph containing all the links from this one, plus a given link.
+     * Since the graph is immutable, it requires rebuilding the CSR arrays.
+     * To add multiple links, use {@link #addLinks(List)} to rebuild such arrays just once.
+     *
+     * @param src the source node of the link
+     * @param dest the destination node of the link
+     * @param delay the link delay
+     * @param bw the link bandwidth
+     * @return the new graph
+     */
+    public SparseTopologicalGraph addLink(final int src, final int dest, final double delay, final double bw) {
+        return addLinks(1, new int[]{src}, new int[]{dest}, new double[]{delay}, new double[]{bw});
+    }
+
+    /**
+     * Creates a new graph containing all the links from this one, plus the given links.
+     * Since the graph is immutable, it requires rebuilding the CSR arrays,
+     * which is performed just once for all the given links.
+     *
+     * @param links the links to add
+     * @return the new graph (or this one if the list of links is empty)
+     */
+    public SparseTopologicalGraph addLinks(final List<TopologicalLink> links) {
+        if (links.isEmpty()) {
+            return this;
+        }
+
+        return addLinks(
+            links.size(),
+            links.stream().mapToInt(TopologicalLink::getSrcNodeID).toArray(),
+            links.stream().mapToInt(TopologicalLink::getDestNodeID).toArray(),
+            links.stream().mapToDouble(TopologicalLink::getLinkDelay).toArray(),
+            links.stream().mapToDouble(TopologicalLink::getLinkBw).toArray());
+    }
+
+    private SparseTopologicalGraph addLinks(
+        final int count, final int[] srcs, final int[] dests,
+        final double[] linkDelays, final double[] linkBandwidths)
+    {
+        /* The existing links are already stored in both directions for undirected graphs,
+         * so they are given as directed ones, adding each new link twice in such a case.*/
+        final int linksByNewLink = directed ? 1 : 2;
+        final int links = getNumberOfLinks() + count * linksByNewLink;
+        final int[] sources = new int[links];
+        final int[] destinations = Arrays.copyOf(targets, links);
+        final double[] newDelays = Arrays.copyOf(delays, links);
+        final double[] newBandwidths = Arrays.copyOf(bandwidths, links);
+        for (int node = 0; node < getNumberOfNodes(); node++) {
+            Arrays.fill(sources, offsets[node], offsets[node + 1], node);
+        }
+
+        int i = getNumberOfLinks();
+        for (int link = 0; link < count; link++) {
+            for (int direction = 0; direction < linksByNewLink; direction++, i++) {
+                final boolean reverse = direction == 1;
+                sources[i] = reverse ? dests[link] : srcs[link];
+                destinations[i] = reverse ? srcs[link] : dests[link];
+                newDelays[i] = linkDelays[link];
+                newBandwidths[i] = linkBandwidths[link];
+            }
+        }
+
+        final SparseTopologicalGraph graph =
+            new SparseTopologicalGraph(getNumberOfNodes(), links, sources, destinations, newDelays, newBandwidths, true);
+        return new SparseTopologicalGraph(directed, graph.offsets, graph.targets, graph.delays, graph.bandwidths);
+    }
+
+    /**
+     * Gets the delay of the direct link between two nodes.
+     *
+     * @param src the source node
+     * @param dest the destination node
+     * @return the link delay or 0 if there is no such a link
+     */
+    public double getLinkDelay(final int src, final int dest) {
+        final int pos = findLink(src, dest);
+        return pos < 0 ? 0 : delays[pos];
+    }
+
+    /**
+     * Gets the bandwidth of the direct link between two nodes.
+     *
+     * @param src the source node
+     * @param dest the destination node
+     * @return the link bandwidth or 0 if there is no such a link
+     */
+    public double getLinkBw(final int src, final int dest) {
+        final int pos = findLink(src, dest);
+        return pos < 0 ? 0 : bandwidths[pos];
+    }
+
+    private int findLink(final int src, final int dest) {
+        if (src < 0 || src >= getNumberOfNodes()) {
+            return -1;
+        }
+
+        for (int i = offsets[src]; i < offsets[src + 1]; i++) {
+            if (targets[i] == dest) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    /**
+     * Checks if the graph is directed.
+     * @return true if the graph is directed; false otherwise
+     */
+    public boolean isDirected() {
+        return directed;
+    }
+
+    /**
+     * Gets the number of nodes in the graph.
+     * @return
+     */
+    public int getNumberOfNodes() {
+        return offsets.length - 1;
+    }
+
+    /**
+     * Gets the number of links stored in the graph
+     * (where each link in an undirected graph is counted twice, one for each direction).
+     * @return
+     */
+    public int getNumberOfLinks() {
+        return targets.length;
+    }
+
+    /**
+     * Gets the index in the {@link #getTargets() targets}, {@link #getDelays() delays}
+     * and {@link #getBandwidths() bandwidths} arrays where the links of each node start.
+     * The array has the {@link #getNumberOfNodes() number of nodes} + 1 elements,
+     * where the last one is the {@link #getNumberOfLinks() number of links}.
+     *
+     * <p><b>It returns the internal array, to avoid copying it. It must not be changed.</b></p>
+     * @return
+     */
+    public int[] getOffsets() {
+        return offsets;
+    }
+
+    /**
+     * Gets the node each link goes to.
+     * <p><b>It returns the internal array, to avoid copying it. It must not be changed.</b></p>
+     * @return
+     * @see #getOffsets()
+     */
+    public int[] getTargets() {
+        return targets;
+    }
+
+    /**
+     * Gets the delay of each link.
+     * <p><b>It returns the internal array, to avoid copying it. It must not be changed.</b></p>
+     * @return
+     * @see #getOffsets()
+     */
+    public double[] getDelays() {
+        return delays;
+    }
+
+    /**
+     * Gets the bandwidth of each link.
+     * <p><b>It returns the internal array, to avoid copying it. It must not be changed.</b></p>
+     * @return
+     * @see #getOffsets()
+     */
+    public double[] getBandwidths() {
+        return bandwidths;
+    }
+
+    /**
+     * Writes the graph to a compact binary file,
+     * which can be loaded later by {@link #read(Path)}.
+     *
+     * @param file the path of the file to write
+     * @throws UncheckedIOException when the file cannot be written
+     */
+    public void write(final Path file) {
+        final int links = getNumberOfLinks();
+        final long size = getFileSize(getNumberOfNodes(), links);
+        if (size > Integer.MAX_VALUE) {
+            throw new IllegalStateException("The graph is too large to be written to a single binary file.");
+        }
+
+        final ByteBuffer buffer = ByteBuffer.allocate((int) size);
+        buffer.putInt(MAGIC_NUMBER).putInt(FILE_VERSION)
+              .putInt(directed ? 1 : 0).putInt(getNumberOfNodes()).putInt(links);
+        buffer.asIntBuffer().put(offsets).put(targets);
+        buffer.position(buffer.position() + (offsets.length + links) * Integer.BYTES);
+        buffer.asDoubleBuffer().put(delays).put(bandwidths);
+        buffer.rewind();
+
+        try (FileChannel channel = FileChannel.open(file,
+            StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING))
+        {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Reads a graph from a binary file created by {@link #write(Path)},
+     * mapping the file into memory.
+     *
+     * @param file the path of the file to read
+     * @return the graph read
+     * @throws UncheckedIOException when the file cannot be read
+     * @throws IllegalArgumentException when the file is not a valid graph file
+     */
+    public static SparseTopologicalGraph read(final Path file) {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            final MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (channel.size() < HEADER_INTS * Integer.BYTES ||
+                buffer.getInt() != MAGIC_NUMBER || buffer.getInt() != FILE_VERSION)
+            {
+                throw new IllegalArgumentException(file + " is not a valid sparse graph file.");
+            }
+
+            final boolean directed = buffer.getInt() == 1;
+            final int nodes = buffer.getInt();
+            final int links = buffer.getInt();
+            if (nodes < 0 || links < 0 || channel.size() != getFileSize(nodes, links)) {
+                throw new IllegalArgumentException(file + " is not a valid sparse graph file.");
+            }
+
+            final int[] offsets = new int[nodes + 1];
+            final int[] targets = new int[links];
+            final double[] delays = new double[links];
+            final double[] bandwidths = new double[links];
+            buffer.asIntBuffer().get(offsets).get(targets);
+            buffer.position(buffer.position() + (offsets.length + links) * Integer.BYTES);
+            buffer.asDoubleBuffer().get(delays).get(bandwidths);
+
+            return new SparseTopologicalGraph(directed, offsets, targets, delays, bandwidths);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static long getFileSize(final int nodes, final int links) {
+        return (HEADER_INTS + nodes + 1L + links) * Integer.BYTES + 2L * links * Double.BYTES;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+            "%s: %d nodes and %d links", getClass().getSimpleName(), getNumberOfNodes(), getNumberOfLinks());
+    }
+}
@@ -0,0 +1,459 @@
+/*
+ * CloudSim Plus: A modern, highly-extensible and easier-to-use Framework for
+ * Modeling and Simulation of Cloud Computing Infrastructures and Services.
+ * http://cloudsimplus.org
+ *
+ *     Copyright (C) 2015-2018 Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Plus.
+ *
+ *     CloudSim Plus is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Plus. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudbus.cloudsim.network.topologies.readers;
+
+import org.cloudbus.cloudsim.network.topologies.SparseTopologicalGraph;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * A network graph (topology) reader that creates a {@link SparseTopologicalGraph} from
+ * a file in the <a href="http://www.cs.bu.edu/brite/user_manual/node29.html">BRITE format</a>,
+ * intended for large generated topologies.
+ * See {@link TopologyReaderBrite} for details about the file format.
+ *
+ * <p>Instead of reading the file line by line and creating objects for every node and link,
+ * it maps the file into memory and parses the numbers directly from its bytes,
+ * storing the links into primitive arrays that are then
+ * converted to the CSR format.
+ * Since the nodes coordinates are not required to compute delays, they are not stored.</p>
+ *
+ * <p>The parsed topology can be optionally saved into a compact binary cache file,
+ * which is loaded instead of parsing the BRITE file again,
+ * while the cache is not older than such a file (see {@link #readSparseGraph(Path, Path)}).</p>
+ *
+ * @author Manoel Campos da Silva Filho
+ * @since CloudSim Plus 5.5.0
+ */
+public class TopologyReaderBriteMapped {
+    private static final Logger LOGGER = LoggerFactory.getLogger(TopologyReaderBriteMapped.class.getSimpleName());
+
+    private static final byte[] NODES_SECTION = "Nodes:".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] EDGES_SECTION = "Edges:".getBytes(StandardCharsets.US_ASCII);
+
+    /**
+     * The initial capacity of the links arrays
+     * when the number of links is not declared in the file.
+     */
+    private static final int DEFAULT_LINKS_CAPACITY = 1024;
+
+    /**
+     * The maximum power of 10 which is exactly represented as a double.
+     */
+    private static final int MAX_EXACT_POWER_OF_10 = 22;
+
+    /**
+     * The maximum integer which is exactly represented as a double.
+     */
+    private static final long MAX_EXACT_MANTISSA = 1L << 53;
+
+    private static final double[] POWERS_OF_10 = new double[MAX_EXACT_POWER_OF_10 + 1];
+    static {
+        POWERS_OF_10[0] = 1;
+        for (int i = 1; i < POWERS_OF_10.length; i++) {
+            POWERS_OF_10[i] = POWERS_OF_10[i - 1] * 10;
+        }
+    }
+
+    private final boolean directed;
+
+    /** The buffer mapping the file being read. */
+    private MappedByteBuffer buffer;
+
+    /** The position in the buffer where the last parsed number started. */
+    private int numberStart;
+
+    private int nodes;
+    private int links;
+    private int[] sources;
+    private int[] destinations;
+    private double[] delays;
+    private double[] bandwidths;
+
+    /**
+     * Creates a reader that builds undirected graphs,
+     * as used by {@link org.cloudbus.cloudsim.network.topologies.BriteNetworkTopology}.
+     */
+    public TopologyReaderBriteMapped() {
+        this(false);
+    }
+
+    /**
+     * Creates a reader.
+     * @param directed true to build directed graphs; false otherwise
+     */
+    public TopologyReaderBriteMapped(final boolean directed) {
+        this.directed = directed;
+    }
+
+    /**
+     * Reads a sparse graph from a BRITE file, using a binary cache file to speed up
+     * further readings. If the cache file exists and it's not older than the BRITE file,
+     * the graph is loaded from the cache. Otherwise, the BRITE file is parsed
+     * and the cache is (re)created.
+     *
+     * @param file the path of the BRITE file
+     * @param cacheFile the path of the binary cache file
+     * @return the graph read
+     * @throws UncheckedIOException when the BRITE file cannot be accessed
+     */
+    public SparseTopologicalGraph readSparseGraph(final Path file, final Path cacheFile) {
+        try {
+            if (Files.exists(cacheFile) &&
+                Files.getLastModifiedTime(cacheFile).compareTo(Files.getLastModifiedTime(file)) >= 0)
+            {
+                final SparseTopologicalGraph graph = SparseTopologicalGraph.read(cacheFile);
+                if (graph.isDirected() == directed) {
+                    return graph;
+                }
+            }
+        } catch (IOException | UncheckedIOException | IllegalArgumentException e) {
+            LOGGER.warn("Topology cache file {} couldn't be loaded: {}", cacheFile, e.getMessage());
+        }
+
+        final SparseTopologicalGraph graph = readSparseGraph(file);
+        try {
+            graph.write(cacheFile);
+        } catch (UncheckedIOException e) {
+            LOGGER.warn("Topology cache file {} couldn't be written: {}", cacheFile, e.getMessage());
+        }
+
+        return graph;
+    }
+
+    /**
+     * Reads a sparse graph from a BRITE file.
+     *
+     * @param file the path of the BRITE file
+     * @return the graph read
+     * @throws UncheckedIOException when the file cannot be accessed
+     * @throws IllegalArgumentException when the file is larger than 2GB
+     */
+    public SparseTopologicalGraph readSparseGraph(final Path file) {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("BRITE files larger than 2GB are not supported: " + file);
+            }
+
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return parse();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            buffer = null;
+            sources = destinations = null;
+            delays = bandwidths = null;
+        }
+    }
+
+    private SparseTopologicalGraph parse() {
+        nodes = 0;
+        links = 0;
+        if (skipUntilSection(NODES_SECTION)) {
+            /* The BRITE section header declares the number of elements, such as "Nodes: ( 5 )".
+             * Nodes ids usually go from 0 to such a number - 1,
+             * but that is checked when the links are added. */
+            nodes = Math.max(0, (int) parseSectionSize(0));
+            skipLine();
+            parseNodes();
+        }
+
+        if (buffer.hasRemaining()) {
+            allocateLinks((int) Math.max(parseSectionSize(DEFAULT_LINKS_CAPACITY), 1));
+            skipLine();
+            parseEdges();
+        } else {
+            allocateLinks(0);
+        }
+
+        return new SparseTopologicalGraph(nodes, links, sources, destinations, delays, bandwidths, directed);
+    }
+
+    /**
+     * Parses node lines until the edges section is found.
+     * Just the node id is used, to ensure the number of nodes in the graph includes it.
+     */
+    private void parseNodes() {
+        while (buffer.hasRemaining()) {
+            skipSpaces();
+            if (lineStartsWith(EDGES_SECTION)) {
+                return;
+            }
+
+            if (isNumberStart()) {
+                nodes = Math.max(nodes, (int) parseLong() + 1);
+            }
+
+            skipLine();
+        }
+    }
+
+    /**
+     * Parses edge lines until the end of the file.
+     * Each line has the fields:
+     * EdgeID, fromNode, toNode, euclideanLength, linkDelay, linkBandwidth, AS_from, AS_to, type.
+     */
+    private void parseEdges() {
+        while (buffer.hasRemaining()) {
+            skipSpaces();
+            if (isNumberStart()) {
+                parseLong();
+                final int src = (int) nextLong();
+                final int dest = (int) nextLong();
+                nextDouble();
+                final double delay = nextDouble();
+                final double bw = nextDouble();
+                addLink(src, dest, delay, bw);
+            }
+
+            skipLine();
+        }
+    }
+
+    private void allocateLinks(final int capacity) {
+        sources = new int[capacity];
+        destinations = new int[capacity];
+        delays = new double[capacity];
+        bandwidths = new double[capacity];
+    }
+
+    private void addLink(final int src, final int dest, final double delay, final double bw) {
+        if (links == sources.length) {
+            final int capacity = links * 2;
+            sources = Arrays.copyOf(sources, capacity);
+            destinations = Arrays.copyOf(destinations, capacity);
+            delays = Arrays.copyOf(delays, capacity);
+            bandwidths = Arrays.copyOf(bandwidths, capacity);
+        }
+
+        sources[links] = src;
+        destinations[links] = dest;
+        delays[links] = delay;
+        bandwidths[links] = bw;
+        links++;
+    }
+
+    /**
+     * Moves the buffer position to the line containing a given section header,
+     * right after such a header.
+     * @param section the section header to find
+     * @return true if the section was found, false if the end of the file was reached
+     */
+    private boolean skipUntilSection(final byte[] section) {
+        while (buffer.hasRemaining()) {
+            skipSpaces();
+            if (lineStartsWith(section)) {
+                return true;
+            }
+
+            skipLine();
+        }
+
+        return false;
+    }
+
+    /**
+     * Checks if the line starts at the current position with a given text,
+     * moving the position after that text if so.
+     */
+    private boolean lineStartsWith(final byte[] text) {
+        final int pos = buffer.position();
+        if (buffer.limit() - pos < text.length) {
+            return false;
+        }
+
+        for (int i = 0; i < text.length; i++) {
+            if (buffer.get(pos + i) != text[i]) {
+                return false;
+            }
+        }
+
+        buffer.position(pos + text.length);
+        return true;
+    }
+
+    /**
+     * Parses the number of elements declared in a section header, such as "( 5 )",
+     * starting from the current position.
+     * @param defaultValue the value to return if no number is found in the line
+     */
+    private long parseSectionSize(final long defaultValue) {
+        while (buffer.hasRemaining() && !isNumberStart()) {
+            final byte b = buffer.get(buffer.position());
+            if (b == '\n' || b == '\r') {
+                return defaultValue;
+            }
+
+            buffer.get();
+        }
+
+        return buffer.hasRemaining() ? parseLong() : defaultValue;
+    }
+
+    private void skipLine() {
+        while (buffer.hasRemaining() && buffer.get() != '\n') {
+            //just moves to the next line
+        }
+    }
+
+    private void skipSpaces() {
+        while (buffer.hasRemaining()) {
+            final byte b = buffer.get(buffer.position());
+            if (b != ' ' && b != '\t' && b != '\r') {
+                return;
+            }
+
+            buffer.get();
+        }
+    }
+
+    private boolean isNumberStart() {
+        if (!buffer.hasRemaining()) {
+            return false;
+        }
+
+        final byte b = buffer.get(buffer.position());
+        return isDigit(b) || b == '-' || b == '+' || b == '.';
+    }
+
+    private static boolean isDigit(final byte b) {
+        return b >= '0' && b <= '9';
+    }
+
+    /**
+     * Skips the spaces in the current line then parses the next field as a long.
+     */
+    private long nextLong() {
+        skipSpaces();
+        return parseLong();
+    }
+
+    /**
+     * Skips the spaces in the current line then parses the next field as a double.
+     */
+    private double nextDouble() {
+        skipSpaces();
+        return parseDouble();
+    }
+
+    /**
+     * Parses an integer number starting at the current position,
+     * ignoring any decimal part.
+     * @return the parsed number
+     */
+    private long parseLong() {
+        final double value = parseDouble();
+        return (long) value;
+    }
+
+    /**
+     * Parses a decimal number starting at the current position, without creating any String.
+     * The number is computed as an integer mantissa scaled by a power of 10,
+     * which gives the same result as {@link Double#parseDouble(String)}
+     * when both the mantissa and the power are exactly represented as doubles.
+     * Otherwise, it falls back to {@link Double#parseDouble(String)}.
+     *
+     * @return the parsed number
+     * @throws NumberFormatException when there is no valid number at the current position
+     */
+    private double parseDouble() {
+        numberStart = buffer.position();
+        boolean negative = false;
+        if (buffer.hasRemaining() && (peek() == '-' || peek() == '+')) {
+            negative = buffer.get() == '-';
+        }
+
+        long mantissa = 0;
+        int scale = 0;
+        boolean decimalPart = false;
+        while (buffer.hasRemaining()) {
+            final byte b = peek();
+            if (isDigit(b)) {
+                mantissa = mantissa * 10 + (b - '0');
+                scale -= decimalPart ? 1 : 0;
+            } else if (b == '.' && !decimalPart) {
+                decimalPart = true;
+            } else {
+                break;
+            }
+
+            buffer.get();
+            if (mantissa > MAX_EXACT_MANTISSA) {
+                return parseDoubleSlowly();
+            }
+        }
+
+        if (buffer.hasRemaining() && (peek() == 'e' || peek() == 'E')) {
+            return parseDoubleSlowly();
+        }
+
+        if (buffer.position() == numberStart || (buffer.position() == numberStart + 1 && !isDigit(buffer.get(numberStart)))) {
+            throw new NumberFormatException("Invalid number at position " + numberStart + " of the topology file");
+        }
+
+        if (-scale > MAX_EXACT_POWER_OF_10) {
+            return parseDoubleSlowly();
+        }
+
+        final double value = scale == 0 ? mantissa : mantissa / POWERS_OF_10[-scale];
+        return negative ? -value : value;
+    }
+
+    /**
+     * Parses the number started at {@link #numberStart} using {@link Double#parseDouble(String)}.
+     * @return the parsed number
+     */
+    private double parseDoubleSlowly() {
+        buffer.position(numberStart);
+        while (buffer.hasRemaining()) {
+            final byte b = peek();
+            if (b == ' ' || b == '\t' || b == '\r' || b == '\n') {
+                break;
+            }
+
+            buffer.get();
+        }
+
+        final byte[] bytes = new byte[buffer.position() - numberStart];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = buffer.get(numberStart + i);
+        }
+
+        return Double.parseDouble(new String(bytes, StandardCharsets.US_ASCII));
+    }
+
+    private byte peek() {
+        return buffer.get(buffer.position());
+    }
+}
@@ -0,0 +1,124 @@
+package org.cloudbus.cloudsim.power.models;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * A table with the power supply precomputed for a {@link PowerModel}
+ * at fixed CPU utilization steps, which estimates the power supply for any utilization
+ * by linear interpolation between the two closest steps.
+ * This way, getting the power supply costs just two array accesses,
+ * independently of how expensive the actual power model is.
+ *
+ * <p>Power models supplying the same power for any utilization share a table,
+ * identified by a {@link PowerModelAbstract#getLookupTableKey() key},
+ * such as {@link PowerModelSimple}s with the same power function, max power and static power percentage
+ * or {@link PowerModelSpecPower}s of the same class.
+ * Shared tables are weakly referenced by the cache,
+ * so that a table is discarded when no power model uses it anymore.</p>
+ *
+ * @author Manoel Campos da Silva Filho
+ * @since CloudSim Plus 5.5.0
+ */
+final class PowerLookupTable {
+    /**
+     * The number of utilization steps in a table,
+     * which defines that the power supply is precomputed
+     * for every 0.1% of CPU utilization.
+     */
+    static final int RESOLUTION = 1000;
+
+    /**
+     * The shared tables already computed, where each key identifies the power models sharing a table.
+     */
+    private static final Map<Object, TableReference> SHARED_TABLES = new HashMap<>();
+
+    /**
+     * The queue where references to shared tables discarded by the garbage collector are added,
+     * so that their entries are removed from the {@link #SHARED_TABLES}.
+     */
+    private static final ReferenceQueue<PowerLookupTable> DISCARDED_TABLES = new ReferenceQueue<>();
+
+    /**
+     * The power supply in Watts (W) for each utilization step,
+     * where the index {@code i} represents the utilization {@code i/RESOLUTION}.
+     */
+    private final double[] power;
+
+    /**
+     * Creates a table to be used by a single power model.
+     *
+     * @param powerFunction a function that computes the actual power supply (in Watts)
+     *                      for a given utilization percentage between [0 and 1]
+     */
+    PowerLookupTable(final DoubleUnaryOperator powerFunction) {
+        this.power = new double[RESOLUTION + 1];
+        for (int i = 0; i <= RESOLUTION; i++) {
+            power[i] = powerFunction.applyAsDouble((double) i / RESOLUTION);
+        }
+    }
+
+    /**
+     * Gets the table shared by the power models identified by a given key,
+     * creating it if it wasn't created yet or was already discarded.
+     *
+     * @param key the key identifying the power models that share the table
+     * @param powerFunction a function that computes the actual power supply (in Watts)
+     *                      for a given utilization percentage between [0 and 1]
+     * @return the power lookup table for the given key
+     */
+    static synchronized PowerLookupTable getSharedInstance(final Object key, final DoubleUnaryOperator powerFunction) {
+        removeDiscardedTables();
+        final TableReference reference = SHARED_TABLES.get(key);
+        final PowerLookupTable existingTable = reference == null ? null : reference.get();
+        if(existingTable != null) {
+            return existingTable;
+        }
+
+        final PowerLookupTable table = new PowerLookupTable(powerFunction);
+        SHARED_TABLES.put(key, new TableReference(key, table));
+        return table;
+    }
+
+    private static void removeDiscardedTables() {
+        Reference<? extends PowerLookupTable> reference;
+        while((reference = DISCARDED_TABLES.poll()) != null) {
+            final TableReference tableReference = (TableReference) reference;
+            SHARED_TABLES.remove(tableReference.key, tableReference);
+        }
+    }
+
+    /**
+     * Gets the power supply in Watts (W) for a given utilization percentage
+     * by linear interpolation between the two closest utilization steps.
+     *
+     * @param utilization the utilization percentage between [0 and 1]
+     * @return the estimated power supply in Watts (W)
+     */
+    double getPower(final double utilization) {
+        final double step = utilization * RESOLUTION;
+        final int index = (int) step;
+        if (index >= RESOLUTION) {
+            return power[RESOLUTION];
+        }
+
+        return power[index] + (power[index + 1] - power[index]) * (step - index);
+    }
+
+    /**
+     * A weak reference to a shared table, which keeps the table key
+     * to remove its entry from the cache after the table is discarded.
+     */
+    private static final class TableReference extends WeakReference<PowerLookupTable> {
+        private final Object key;
+
+        private TableReference(final Object key, final PowerLookupTable table) {
+            super(table, DISCARDED_TABLES);
+            this.key = key;
+        }
+    }
+}
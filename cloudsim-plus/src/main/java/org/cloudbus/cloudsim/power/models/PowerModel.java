@@ -78,6 +78,29 @@ public interface PowerModel extends PowerAware {
      */
     double getPower(double utilization) throws IllegalArgumentException;
 
+    /**
+     * Gets an <b>estimation</b> of the power supply in Watts (W), according to the utilization
+     * percentage of a critical resource, such as CPU,
+     * from a table where the power supply is precomputed at fixed utilization steps.
+     * The power supply for a utilization between two steps is estimated by linear interpolation.
+     *
+     * <p>This method is intended for algorithms that need to evaluate the power supply
+     * many times, such as power-aware VM placement policies.
+     * The result is exact for power models that are linear between the utilization steps,
+     * such as {@link PowerModelLinear} and {@link PowerModelSpecPower}.
+     * By default, it just returns the actual {@link #getPower(double) power supply}.</p>
+     *
+     * @param utilization the utilization percentage (between [0 and 1]) of a
+     * resource that impacts power supply.
+     * @return the estimated power supply in Watts (W)
+     * @throws IllegalArgumentException when the utilization percentage is not
+     * between [0 and 1]
+     * @see #getPower(double)
+     */
+    default double getPowerFromLookupTable(double utilization) throws IllegalArgumentException {
+        return getPower(utilization);
+    }
+
     /**
      * Gets an <b>estimation</b> of energy consumption using linear interpolation of the utilization
      * change for a given time interval.
@@ -13,6 +13,9 @@ import java.util.Objects;
 public abstract class PowerModelAbstract implements PowerModel {
     private Host host;
 
+    /** @see #getPowerFromLookupTable(double) */
+    private PowerLookupTable lookupTable;
+
     @Override
     public Host getHost() {
         return host;
@@ -30,13 +33,7 @@ public abstract class PowerModelAbstract implements PowerModel {
 
     @Override
     public final double getPower(final double utilization) throws IllegalArgumentException {
-		if (utilization < 0 || utilization > 1) {
-			throw new IllegalArgumentException(
-                String.format(
-                    "Utilization value must be between 0 and 1. The given value was %f",
-                    utilization));
-		}
-
+        validateUtilization(utilization);
 		if(!host.isActive()){
 		    return 0;
         }
@@ -44,6 +41,61 @@ public abstract class PowerModelAbstract implements PowerModel {
         return getPowerInternal(utilization);
     }
 
+    @Override
+    public final double getPowerFromLookupTable(final double utilization) throws IllegalArgumentException {
+        validateUtilization(utilization);
+        if(!host.isActive()){
+            return 0;
+        }
+
+        if(!isLookupTableUsed()){
+            return getPowerInternal(utilization);
+        }
+
+        if(lookupTable == null){
+            final Object key = getLookupTableKey();
+            lookupTable = key == null ?
+                            new PowerLookupTable(this::getPowerInternal) :
+                            PowerLookupTable.getSharedInstance(key, this::getPowerInternal);
+        }
+
+        return lookupTable.getPower(utilization);
+    }
+
+    private void validateUtilization(final double utilization) {
+        if (utilization < 0 || utilization > 1) {
+            throw new IllegalArgumentException(
+                String.format(
+                    "Utilization value must be between 0 and 1. The given value was %f",
+                    utilization));
+        }
+    }
+
+    /**
+     * Checks if the {@link #getPowerFromLookupTable(double)} uses a power lookup table
+     * or just computes the actual power supply,
+     * which is preferred when computing it is as cheap as a table lookup.
+     * By default, a table is used.
+     *
+     * @return true if a power lookup table is used, false otherwise
+     */
+    protected boolean isLookupTableUsed() {
+        return true;
+    }
+
+    /**
+     * Gets the key that identifies the {@link #getPowerFromLookupTable(double) power lookup table}
+     * shared by power models supplying the same power for any utilization,
+     * or null if the table must belong just to this power model (the default).
+     * The key must implement {@link Object#equals(Object)} and {@link Object#hashCode()},
+     * being equal just for power models supplying the same power.
+     *
+     * @return the key of the shared power lookup table or null if the table isn't shared
+     */
+    protected Object getLookupTableKey() {
+        return null;
+    }
+
     /**
      * An internal method to be implemented by sub classes
      * to get the power supply for the current CPU utilization.
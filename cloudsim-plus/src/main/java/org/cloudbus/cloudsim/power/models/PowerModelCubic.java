@@ -8,6 +8,8 @@
 
 package org.cloudbus.cloudsim.power.models;
 
+import java.util.function.UnaryOperator;
+
 /**
  * Implements a power model where the power consumption is the cube of the resource usage.
  *
@@ -26,6 +28,12 @@ package org.cloudbus.cloudsim.power.models;
  * @since CloudSim Toolkit 2.0
  */
 public class PowerModelCubic extends PowerModelSimple {
+    /**
+     * A function indicating that the base power consumption is the cube of the CPU utilization.
+     * It's shared by all instances, so that the ones having the same max power and
+     * static power percentage share the same power lookup table.
+     */
+    private static final UnaryOperator<Double> POWER_FUNCTION = utilizationPercent -> Math.pow(utilizationPercent, 3);
 
     /**
      * Instantiates a new power model cubic.
@@ -34,6 +42,6 @@ public class PowerModelCubic extends PowerModelSimple {
      * @param staticPowerPercent the static power usage percentage between 0 and 1.
      */
     public PowerModelCubic(final double maxPower, final double staticPowerPercent) {
-        super(maxPower, staticPowerPercent, utilizationPercent -> Math.pow(utilizationPercent, 3));
+        super(maxPower, staticPowerPercent, POWER_FUNCTION);
     }
 }
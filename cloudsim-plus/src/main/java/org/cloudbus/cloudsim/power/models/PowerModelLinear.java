@@ -37,4 +37,16 @@ public class PowerModelLinear  extends PowerModelSimple {
          * that indicates the base power consumption is linear to CPU utilization.*/
 	    super(maxPower, staticPowerPercent, utilizationPercent -> utilizationPercent);
 	}
+
+    /**
+     * {@inheritDoc}
+     * Since the power supply is linear to the utilization,
+     * computing it is exact and as cheap as a table lookup,
+     * so that no table is used.
+     * @return {@inheritDoc}
+     */
+    @Override
+    protected boolean isLookupTableUsed() {
+        return false;
+    }
 }
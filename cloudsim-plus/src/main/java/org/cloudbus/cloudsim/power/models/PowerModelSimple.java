@@ -1,5 +1,6 @@
 package org.cloudbus.cloudsim.power.models;
 
+import java.util.Arrays;
 import java.util.Objects;
 import java.util.function.UnaryOperator;
 
@@ -128,6 +129,18 @@ public class PowerModelSimple extends PowerModelAbstract {
         return (maxPower - getStaticPower()) / powerFunction.apply(ONE_HUNDRED);
     }
 
+    /**
+     * {@inheritDoc}
+     * The table is shared by the power models of the same class, having the same
+     * power function instance, max power and static power percentage.
+     * Subclasses whose power supply depends on other attributes must override this method.
+     * @return {@inheritDoc}
+     */
+    @Override
+    protected Object getLookupTableKey() {
+        return Arrays.asList(getClass(), powerFunction, maxPower, staticPowerPercent);
+    }
+
     @Override
     protected double getPowerInternal(final double utilization) throws IllegalArgumentException {
         return getStaticPower() + getConstant() * powerFunction.apply(utilization * ONE_HUNDRED);
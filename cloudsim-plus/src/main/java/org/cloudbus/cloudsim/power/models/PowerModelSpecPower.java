@@ -31,6 +31,17 @@ public abstract class PowerModelSpecPower extends PowerModelAbstract {
         return getPower(1);
     }
 
+    /**
+     * {@inheritDoc}
+     * Since the power data is the same for every instance of a given class,
+     * all of them share the same table.
+     * @return {@inheritDoc}
+     */
+    @Override
+    protected Object getLookupTableKey() {
+        return getClass();
+    }
+
     @Override
 	protected double getPowerInternal(final double utilization) throws IllegalArgumentException {
 		if (utilization % 0.1 == 0) {
@@ -8,6 +8,8 @@
 
 package org.cloudbus.cloudsim.power.models;
 
+import java.util.function.UnaryOperator;
+
 /**
  * Implements a power model where the power consumption is the square of the resource usage.
  * <p>
@@ -26,6 +28,12 @@ package org.cloudbus.cloudsim.power.models;
  * @since CloudSim Toolkit 2.0
  */
 public class PowerModelSquare extends PowerModelSimple {
+    /**
+     * A function indicating that the base power consumption is the square of the CPU utilization.
+     * It's shared by all instances, so that the ones having the same max power and
+     * static power percentage share the same power lookup table.
+     */
+    private static final UnaryOperator<Double> POWER_FUNCTION = utilizationPercent -> Math.pow(utilizationPercent, 2);
 
     /**
      * Instantiates a new power model square.
@@ -34,6 +42,6 @@ public class PowerModelSquare extends PowerModelSimple {
      * @param staticPowerPercent the static power usage percentage between 0 and 1.
      */
     public PowerModelSquare(final double maxPower, final double staticPowerPercent) {
-        super(maxPower, staticPowerPercent, utilizationPercent -> Math.pow(utilizationPercent, 2));
+        super(maxPower, staticPowerPercent, POWER_FUNCTION);
     }
 }
@@ -151,6 +151,18 @@ public abstract class CloudletSchedulerAbstract implements CloudletScheduler {
             LOGGER.warn("Requested {} PEs but {} has just {}", currentMipsShare.size(), vm, vm.getNumberOfPes());
         }
         this.currentMipsShare = currentMipsShare;
+        notifyCpuUtilizationChanged();
+    }
+
+    /**
+     * Notifies the {@link #getVm() Vm} that the CPU utilization of its Cloudlets may have changed,
+     * so that any cached utilization value is discarded.
+     * It must be called every time the execution list or the MIPS share changes.
+     */
+    protected void notifyCpuUtilizationChanged() {
+        if(vm instanceof VmSimple) {
+            ((VmSimple) vm).invalidateCpuUtilization();
+        }
     }
 
     /**
@@ -296,6 +308,7 @@ public abstract class CloudletSchedulerAbstract implements CloudletScheduler {
         cle.setLastProcessingTime(getVm().getSimulation().clock());
         cloudletExecList.add(cle);
         addUsedPes(cle.getNumberOfPes());
+        notifyCpuUtilizationChanged();
     }
 
     @Override
@@ -758,7 +771,12 @@ public abstract class CloudletSchedulerAbstract implements CloudletScheduler {
      */
     protected CloudletExecution removeCloudletFromExecList(final CloudletExecution cle) {
         removeUsedPes(cle.getNumberOfPes());
-        return cloudletExecList.remove(cle) ? cle : CloudletExecution.NULL;
+        if(cloudletExecList.remove(cle)) {
+            notifyCpuUtilizationChanged();
+            return cle;
+        }
+
+        return CloudletExecution.NULL;
     }
 
     /**
@@ -1074,6 +1092,7 @@ public abstract class CloudletSchedulerAbstract implements CloudletScheduler {
         pesToRemove = Math.min(pesToRemove, currentMipsShare.size());
         removeUsedPes(pesToRemove);
         IntStream.range(0, pesToRemove).forEach(idx -> currentMipsShare.remove(0));
+        notifyCpuUtilizationChanged();
     }
 
     @Override
@@ -1122,5 +1141,6 @@ public abstract class CloudletSchedulerAbstract implements CloudletScheduler {
     public void clear() {
         this.cloudletWaitingList.clear();
         this.cloudletExecList.clear();
+        notifyCpuUtilizationChanged();
     }
 }
@@ -17,7 +17,6 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.*;
-import java.util.stream.Collectors;
 
 /**
  * Implements a policy of scheduling performed by a
@@ -47,11 +46,19 @@ public class CloudletTaskSchedulerSimple implements CloudletTaskScheduler {
     private final List<VmPacket> vmPacketsToSend;
 
     /**
-     * A map of {@link VmPacket}'s received, where each key is the
-     * sender VM and each value is the list of packets sent by that VM
-     * targeting the VM of this scheduler.
+     * A map of {@link VmPacket}'s received and not delivered yet, where each key is the
+     * sender VM and each value is another map.
+     * In the latter map, each key is a receiver Cloudlet and each value is the list of packets
+     * sent by that VM targeting such a Cloudlet (inside the VM of this scheduler).
+     * This way, the packets expected by a {@link CloudletReceiveTask}
+     * are found in constant time.
      */
-    private final Map<Vm, List<VmPacket>> vmPacketsReceivedMap;
+    private final Map<Vm, Map<Cloudlet, List<VmPacket>>> vmPacketsReceivedMap;
+
+    /**
+     * @see #getPendingPacketsNumber()
+     */
+    private long pendingPacketsNumber;
 
     /**
      * Creates a CloudletTaskSchedulerSimple object.
@@ -157,7 +164,7 @@ public class CloudletTaskSchedulerSimple implements CloudletTaskScheduler {
     private void receivePackets(final NetworkCloudlet candidateDestinationCloudlet) {
         final Optional<CloudletReceiveTask> optional = getCloudletCurrentTask(candidateDestinationCloudlet);
         optional.ifPresent(task -> {
-            final List<VmPacket> receivedPkts = getPacketsSentToCloudlet(task);
+            final List<VmPacket> receivedPkts = removePacketsSentToCloudlet(task);
             // Assumption: packet will not arrive in the same cycle
             receivedPkts.forEach(task::receivePacket);
             receivedPkts.forEach(pkt ->
@@ -168,11 +175,6 @@ public class CloudletTaskSchedulerSimple implements CloudletTaskScheduler {
                     pkt.getSize(), pkt.getSenderCloudlet(), pkt.getSource())
             );
 
-            /*Removes the received packets from the list of sent packets of the VM,
-            to indicate they were in fact received and have to be removed
-            from the list of the sender VM*/
-            getListOfPacketsSentFromVm(task.getSourceVm()).removeAll(receivedPkts);
-
             /*
              * @TODO author: manoelcampos The task has to wait the reception
              *       of the expected packets up to a given timeout.
@@ -196,19 +198,30 @@ public class CloudletTaskSchedulerSimple implements CloudletTaskScheduler {
      * Checks if there are packets sent to a given {@link NetworkCloudlet},
      * to be processed by a {@link CloudletReceiveTask}, and returns them to be
      * delivered for that Cloudlet.
+     * The returned packets are removed from the received packets,
+     * to indicate they were in fact delivered.
      *
      * @param receiveTask the {@link CloudletReceiveTask} that is waiting for packets
      * @return the list of packets targeting the {@link NetworkCloudlet} or an empty list
      *         if there are no packets received that are targeting such a Cloudlet.
      */
-    private List<VmPacket> getPacketsSentToCloudlet(final CloudletReceiveTask receiveTask) {
-        final List<VmPacket> pktsFromExpectedSenderVm = getListOfPacketsSentFromVm(receiveTask.getSourceVm());
-
-        return pktsFromExpectedSenderVm
-                .stream()
-                .filter(pkt -> pkt.getDestination().equals(receiveTask.getCloudlet().getVm()))
-                .filter(pkt -> pkt.getReceiverCloudlet().equals(receiveTask.getCloudlet()))
-                .collect(Collectors.toList());
+    private List<VmPacket> removePacketsSentToCloudlet(final CloudletReceiveTask receiveTask) {
+        final Map<Cloudlet, List<VmPacket>> pktsFromExpectedSenderVm = vmPacketsReceivedMap.get(receiveTask.getSourceVm());
+        if (pktsFromExpectedSenderVm == null) {
+            return Collections.emptyList();
+        }
+
+        final List<VmPacket> pkts = pktsFromExpectedSenderVm.remove(receiveTask.getCloudlet());
+        if (pkts == null) {
+            return Collections.emptyList();
+        }
+
+        if (pktsFromExpectedSenderVm.isEmpty()) {
+            vmPacketsReceivedMap.remove(receiveTask.getSourceVm());
+        }
+
+        pendingPacketsNumber -= pkts.size();
+        return pkts;
     }
 
     /**
@@ -244,19 +257,21 @@ public class CloudletTaskSchedulerSimple implements CloudletTaskScheduler {
     }
 
     /**
-     * Gets the list of packets received that were sent from a given VM,
-     * targeting the VM of this scheduler.
-     *
-     * @param sourceVm VM to get the list of packets sent from
-     * @return the list of packets sent from the given VM
+     * Gets the number of packets received by the VM of this scheduler
+     * that weren't delivered to the receiver Cloudlets yet.
+     * @return
      */
-    private List<VmPacket> getListOfPacketsSentFromVm(final Vm sourceVm){
-        vmPacketsReceivedMap.putIfAbsent(sourceVm, new ArrayList<>());
-        return vmPacketsReceivedMap.get(sourceVm);
+    public long getPendingPacketsNumber() {
+        return pendingPacketsNumber;
     }
 
     @Override
     public boolean addPacketToListOfPacketsSentFromVm(final VmPacket pkt){
-        return getListOfPacketsSentFromVm(pkt.getSource()).add(pkt);
+        final List<VmPacket> pkts =
+            vmPacketsReceivedMap
+                .computeIfAbsent(pkt.getSource(), sourceVm -> new HashMap<>())
+                .computeIfAbsent(pkt.getReceiverCloudlet(), receiverCloudlet -> new ArrayList<>());
+        pendingPacketsNumber++;
+        return pkts.add(pkt);
     }
 }
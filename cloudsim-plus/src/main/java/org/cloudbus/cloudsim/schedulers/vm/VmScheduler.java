@@ -153,6 +153,22 @@ public interface VmScheduler {
      */
     boolean isSuitableForVm(final Vm vm, final List<Double> requestedMips);
 
+    /**
+     * Checks if a list of MIPS requested by a VM is allowed to be allocated or not,
+     * considering that some MIPS are already reserved to other VMs which are
+     * not placed yet into the Host.
+     * It enables checking if a set of VMs fits into the Host
+     * without actually placing any of them (for instance, when VM migrations are being planned).
+     *
+     * @param vm the {@link Vm} to check if there are enough MIPS to allocate to
+     * @param requestedMips a list of MIPS requested by a VM
+     * @param reservedMips a list of MIPS reserved to VMs not placed into the Host yet
+     *                     (where each item is the MIPS of a VM PE)
+     * @return true if the requested MIPS List is allowed to be allocated to the VM, false otherwise
+     * @see #isSuitableForVm(Vm, List)
+     */
+    boolean isSuitableForVm(Vm vm, List<Double> requestedMips, List<Double> reservedMips);
+
     /**
      * Gets the actual total allocated MIPS for a VM along all its allocated PEs.
      * If the VM is migrating into the Host, then just a fraction
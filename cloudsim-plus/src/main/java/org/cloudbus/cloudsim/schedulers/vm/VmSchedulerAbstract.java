@@ -10,6 +10,7 @@ import org.cloudbus.cloudsim.hosts.Host;
 import org.cloudbus.cloudsim.hosts.HostSimple;
 import org.cloudbus.cloudsim.resources.Pe;
 import org.cloudbus.cloudsim.vms.Vm;
+import org.cloudbus.cloudsim.vms.VmSimple;
 
 import java.util.*;
 import java.util.stream.IntStream;
@@ -76,6 +77,11 @@ public abstract class VmSchedulerAbstract implements VmScheduler {
 
     @Override
     public final boolean isSuitableForVm(final Vm vm, final List<Double> requestedMips) {
+        return isSuitableForVm(vm, requestedMips, Collections.emptyList());
+    }
+
+    @Override
+    public final boolean isSuitableForVm(final Vm vm, final List<Double> requestedMips, final List<Double> reservedMips) {
         if(requestedMips.isEmpty()){
             LOGGER.warn(
                 "{}: {}: It was requested an empty list of PEs for {} in {}",
@@ -88,11 +94,33 @@ public abstract class VmSchedulerAbstract implements VmScheduler {
             return false;
         }
 
-        return isSuitableForVmInternal(vm, requestedMips);
+        return reservedMips.isEmpty() ?
+                    isSuitableForVmInternal(vm, requestedMips) :
+                    isSuitableForVmInternal(vm, requestedMips, reservedMips);
     }
 
     protected abstract boolean isSuitableForVmInternal(Vm vm, List<Double> requestedMips);
 
+    /**
+     * Checks if a list of MIPS requested by a VM is allowed to be allocated,
+     * considering a non-empty list of MIPS reserved to VMs not placed into the Host yet.
+     * The default implementation subtracts the total reserved MIPS from the
+     * {@link #getTotalAvailableMips() total available MIPS} and then checks the requested MIPS
+     * by the {@link #isSuitableForVmInternal(Vm, List)}.
+     * Sub-classes that assign MIPS to specific PEs should override it accordingly.
+     *
+     * @param vm the {@link Vm} to check if there are enough MIPS to allocate to
+     * @param requestedMips a list of MIPS requested by a VM
+     * @param reservedMips a list of MIPS reserved to VMs not placed into the Host yet
+     * @return true if the requested MIPS List is allowed to be allocated to the VM, false otherwise
+     */
+    protected boolean isSuitableForVmInternal(final Vm vm, final List<Double> requestedMips, final List<Double> reservedMips) {
+        final double totalReservedMips = reservedMips.stream().mapToDouble(mips -> mips).sum();
+        final double totalRequestedMips = requestedMips.stream().mapToDouble(mips -> mips).sum();
+        return getTotalAvailableMips() - totalReservedMips >= totalRequestedMips &&
+               isSuitableForVmInternal(vm, requestedMips);
+    }
+
     @Override
     public final boolean allocatePesForVm(final Vm vm) {
         final List<Double> mipsShareRequested =
@@ -161,6 +189,15 @@ public abstract class VmSchedulerAbstract implements VmScheduler {
 
         deallocatePesFromVmInternal(vm, pesToRemove);
         updateHostUsedPesToFree();
+
+        /*The list of allocated MIPS is changed in place and it is
+        * the same list used as the MIPS share by the VM's CloudletScheduler.*/
+        if(vm instanceof VmSimple) {
+            ((VmSimple) vm).invalidateCpuUtilization();
+        }
+        if(host instanceof HostSimple) {
+            ((HostSimple) host).invalidateCpuUtilization();
+        }
     }
 
     /**
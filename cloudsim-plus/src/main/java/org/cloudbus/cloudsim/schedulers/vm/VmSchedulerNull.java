@@ -34,6 +34,7 @@ final class VmSchedulerNull implements VmScheduler {
         return false;
     }
     @Override public boolean isSuitableForVm(Vm vm, List<Double> requestedMips) { return false; }
+    @Override public boolean isSuitableForVm(Vm vm, List<Double> requestedMips, List<Double> reservedMips) { return false; }
     @Override public double getVmMigrationCpuOverhead() { return 0.0; }
     @Override public Host getHost() {
         return Host.NULL;
@@ -56,6 +56,18 @@ public class VmSchedulerSpaceShared extends VmSchedulerAbstract {
         return selectedPes.size() >= requestedMips.size();
     }
 
+    /**
+     * Checks if there are free PEs for the reserved MIPS and then for the requested ones,
+     * assigning them to PEs in that order.
+     */
+    @Override
+    protected boolean isSuitableForVmInternal(final Vm vm, final List<Double> requestedMips, final List<Double> reservedMips) {
+        final List<Double> mipsList = new ArrayList<>(reservedMips.size() + requestedMips.size());
+        mipsList.addAll(reservedMips);
+        mipsList.addAll(requestedMips);
+        return isSuitableForVmInternal(vm, mipsList);
+    }
+
     /**
      * Checks if the requested amount of MIPS is available to be allocated to a VM
      * @param requestedMips a list of MIPS requested by a VM
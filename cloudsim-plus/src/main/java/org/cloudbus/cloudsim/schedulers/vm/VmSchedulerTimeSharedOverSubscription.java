@@ -76,6 +76,15 @@ public class VmSchedulerTimeSharedOverSubscription extends VmSchedulerTimeShared
         return getHost().getWorkingPesNumber() >= requestedMips.size();
     }
 
+    /**
+     * Since this scheduler allows over-subscription, reserved MIPS
+     * don't prevent the allocation of the requested ones.
+     */
+    @Override
+    protected boolean isSuitableForVmInternal(final Vm vm, final List<Double> requestedMips, final List<Double> reservedMips) {
+        return isSuitableForVmInternal(vm, requestedMips);
+    }
+
     @Override
     protected void allocateMipsShareForVm(final Vm vm, final List<Double> requestedMipsReduced) {
         if(requestedMipsReduced.isEmpty()){
@@ -11,6 +11,8 @@ package org.cloudbus.cloudsim.selectionpolicies;
 import org.cloudbus.cloudsim.hosts.Host;
 import org.cloudbus.cloudsim.vms.Vm;
 
+import java.util.List;
+
 /**
  * An interface to be used to implement VM selection policies for a list of migratable VMs.
  * The selection is defined by sub classes.
@@ -38,4 +40,22 @@ public interface VmSelectionPolicy {
      * @return the vm to migrate or {@link Vm#NULL} if there is not Vm to migrate
      */
     Vm getVmToMigrate(Host host);
+
+    /**
+     * Gets a VM to migrate from a given host, selecting it from a given list of migratable VMs.
+     * It enables selecting VMs while migrations are being planned,
+     * when some VMs from the Host are already selected to be migrated
+     * and must not be considered anymore.
+     *
+     * <p>The default implementation calls {@link #getVmToMigrate(Host)}
+     * and returns the selected VM only if it's inside the given list.</p>
+     *
+     * @param host the host to get a Vm to migrate from
+     * @param migratableVms the VMs from the Host that can be selected
+     * @return the vm to migrate or {@link Vm#NULL} if there is not Vm to migrate
+     */
+    default Vm getVmToMigrate(final Host host, final List<Vm> migratableVms) {
+        final Vm vm = getVmToMigrate(host);
+        return migratableVms.contains(vm) ? vm : Vm.NULL;
+    }
 }
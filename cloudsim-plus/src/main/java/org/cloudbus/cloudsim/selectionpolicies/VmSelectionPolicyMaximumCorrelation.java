@@ -9,15 +9,15 @@
 package org.cloudbus.cloudsim.selectionpolicies;
 
 import org.cloudbus.cloudsim.hosts.Host;
-import org.cloudbus.cloudsim.vms.UtilizationHistory;
 import org.cloudbus.cloudsim.vms.Vm;
+import org.cloudsimplus.listeners.EventListener;
+import org.cloudsimplus.listeners.VmHostEventInfo;
 
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 
-import static org.cloudbus.cloudsim.util.MathUtil.correlationCoefficients;
-
 /**
  * A VM selection policy that selects for migration the VM with the Maximum Correlation Coefficient (MCC) among
  * a list of migratable VMs.
@@ -40,6 +40,20 @@ public class VmSelectionPolicyMaximumCorrelation implements VmSelectionPolicy {
     /** @see #getFallbackPolicy() */
     private VmSelectionPolicy fallbackPolicy;
 
+    /**
+     * A map where each key is a Host and each value is the object
+     * computing the correlation of the utilization history of the Host's VMs,
+     * which is kept between calls to avoid computing it from scratch.
+     */
+    private final Map<Host, VmUtilizationCorrelation> correlations;
+
+    /**
+     * A listener registered for every VM whose correlation is computed,
+     * which drops the correlation of a Host's VMs when any of them is removed from that Host.
+     * This way, the policy doesn't keep references to VMs which were migrated or destroyed.
+     */
+    private final EventListener<VmHostEventInfo> vmDeallocationListener;
+
     /**
      * Instantiates a new PowerVmSelectionPolicyMaximumCorrelation.
      *
@@ -47,22 +61,30 @@ public class VmSelectionPolicyMaximumCorrelation implements VmSelectionPolicy {
      */
     public VmSelectionPolicyMaximumCorrelation(final VmSelectionPolicy fallbackPolicy) {
         super();
+        this.correlations = new HashMap<>();
+        this.vmDeallocationListener = info -> correlations.remove(info.getHost());
         setFallbackPolicy(fallbackPolicy);
     }
 
     @Override
     public Vm getVmToMigrate(final Host host) {
-        final List<Vm> migratableVms = host.getMigratableVms();
+        return getVmToMigrate(host, host.getMigratableVms());
+    }
+
+    @Override
+    public Vm getVmToMigrate(final Host host, final List<Vm> migratableVms) {
         if (migratableVms.isEmpty()) {
             return Vm.NULL;
         }
 
+        final VmUtilizationCorrelation correlation = correlations.computeIfAbsent(host, key -> new VmUtilizationCorrelation());
+        migratableVms.forEach(vm -> vm.addOnHostDeallocationListener(vmDeallocationListener));
         try {
-            final List<Double> metrics = correlationCoefficients(getUtilizationMatrix(migratableVms));
+            final double[] metrics = correlation.getCoefficients(migratableVms, host.getSimulation().clock());
             double maxMetric = Double.MIN_VALUE;
             int maxIndex = 0;
-            for (int i = 0; i < metrics.size(); i++) {
-                final double metric = metrics.get(i);
+            for (int i = 0; i < metrics.length; i++) {
+                final double metric = metrics[i];
                 if (metric > maxMetric) {
                     maxMetric = metric;
                     maxIndex = i;
@@ -71,43 +93,17 @@ public class VmSelectionPolicyMaximumCorrelation implements VmSelectionPolicy {
 
             return migratableVms.get(maxIndex);
         } catch (IllegalArgumentException e) { // the degrees of freedom must be greater than zero
-            return getFallbackPolicy().getVmToMigrate(host);
+            return getFallbackPolicy().getVmToMigrate(host, migratableVms);
         }
     }
 
     /**
-     * Gets the CPU utilization percentage matrix for a given list of VMs.
-     *
-     * @param vmList the VM list
-     * @return the CPU utilization percentage matrix, where each line i
-     * is a VM and each column j is a CPU utilization percentage history for that VM.
-     */
-    private double[][] getUtilizationMatrix(final List<Vm> vmList) {
-        final int numberVms = vmList.size();
-        final int minHistorySize = getMinUtilizationHistorySize(vmList);
-        final double[][] utilization = new double[numberVms][minHistorySize];
-
-        for (int i = 0; i < numberVms; i++) {
-            final double[] vmUtilization = vmList.get(i).getUtilizationHistory().getHistory().values().stream().mapToDouble(v -> v).toArray();
-            if (minHistorySize >= 0) {
-                System.arraycopy(vmUtilization, 0, utilization[i], 0, minHistorySize);
-            }
-        }
-        return utilization;
-    }
-
-    /**
-     * Gets the min CPU utilization percentage history size between a list of VMs.
-     *
-     * @param vmList the VM list
-     * @return the min CPU utilization percentage history size of the VM list
+     * Checks if the correlation of the VMs from a given Host is kept to be updated in the next calls.
+     * @param host the Host to check
+     * @return
      */
-    private int getMinUtilizationHistorySize(final List<Vm> vmList) {
-        return vmList.stream()
-            .map(Vm::getUtilizationHistory)
-            .map(UtilizationHistory::getHistory)
-            .mapToInt(Map::size)
-            .min().orElse(0);
+    boolean isCorrelationKept(final Host host) {
+        return correlations.containsKey(host);
     }
 
     /**
@@ -32,7 +32,11 @@ import java.util.List;
 public class VmSelectionPolicyMinimumMigrationTime implements VmSelectionPolicy {
 	@Override
 	public Vm getVmToMigrate(final Host host) {
-		final List<Vm> migratableVms = host.getMigratableVms();
+		return getVmToMigrate(host, host.getMigratableVms());
+	}
+
+	@Override
+	public Vm getVmToMigrate(final Host host, final List<Vm> migratableVms) {
 		if (migratableVms.isEmpty()) {
 			return Vm.NULL;
 		}
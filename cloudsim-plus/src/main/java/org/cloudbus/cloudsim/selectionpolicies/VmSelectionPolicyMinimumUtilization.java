@@ -36,7 +36,11 @@ import java.util.function.Predicate;
 public class VmSelectionPolicyMinimumUtilization implements VmSelectionPolicy {
     @Override
     public Vm getVmToMigrate(final Host host) {
-        final List<? extends Vm> migratableVms = host.getMigratableVms();
+        return getVmToMigrate(host, host.getMigratableVms());
+    }
+
+    @Override
+    public Vm getVmToMigrate(final Host host, final List<Vm> migratableVms) {
         if (migratableVms.isEmpty()) {
             return Vm.NULL;
         }
@@ -3,6 +3,8 @@ package org.cloudbus.cloudsim.selectionpolicies;
 import org.cloudbus.cloudsim.hosts.Host;
 import org.cloudbus.cloudsim.vms.Vm;
 
+import java.util.List;
+
 /**
  * A class that implements the Null Object Design Pattern for {@link VmSelectionPolicy}
  * class.
@@ -13,4 +15,5 @@ import org.cloudbus.cloudsim.vms.Vm;
  */
 final class VmSelectionPolicyNull implements VmSelectionPolicy {
     @Override public Vm getVmToMigrate(Host host) { return Vm.NULL; }
+    @Override public Vm getVmToMigrate(Host host, List<Vm> migratableVms) { return Vm.NULL; }
 }
@@ -57,7 +57,11 @@ public class VmSelectionPolicyRandomSelection implements VmSelectionPolicy {
 
 	@Override
 	public Vm getVmToMigrate(final Host host) {
-		final List<Vm> migratableVms = host.getMigratableVms();
+		return getVmToMigrate(host, host.getMigratableVms());
+	}
+
+	@Override
+	public Vm getVmToMigrate(final Host host, final List<Vm> migratableVms) {
 		if (migratableVms.isEmpty()) {
 			return Vm.NULL;
 		}
@@ -0,0 +1,379 @@
+package org.cloudbus.cloudsim.selectionpolicies;
+
+import org.cloudbus.cloudsim.vms.UtilizationHistory;
+import org.cloudbus.cloudsim.vms.Vm;
+
+import java.nio.DoubleBuffer;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+
+import static org.cloudbus.cloudsim.util.MathUtil.correlationCoefficients;
+
+/**
+ * Computes the multiple correlation coefficient (R²) of the CPU utilization history of each VM
+ * in a list, relative to the utilization history of the other VMs,
+ * as computed by {@link org.cloudbus.cloudsim.util.MathUtil#correlationCoefficients(double[][])}.
+ * The i-th value in the history of every VM defines a row of the data,
+ * which has as many rows as the smallest history.
+ *
+ * <p>Instead of fitting a linear regression for each VM, it keeps running sums
+ * and co-moment sums (sums of products) of the utilization values for a set of VMs,
+ * which are updated just with the rows added since the last call.
+ * The coefficients are then computed from the correlation matrix R of the VMs
+ * as {@code 1 - 1/inverse(R)[i][i]}.
+ * Co-moments for a subset of the VMs (such as when some VMs were already selected to migrate)
+ * are taken from the sums of the entire set.</p>
+ *
+ * <p>Since history entries collected for the current second may be replaced or inserted,
+ * just rows whose entries were collected before the current second are kept in the sums.
+ * Rows after that are added to the sums every time the coefficients are computed.
+ * If the list of VMs changes or some VM discards old history entries, the sums are computed again.
+ * If the correlation matrix is singular, the coefficients are computed by linear regressions.</p>
+ *
+ * @author Manoel Campos da Silva Filho
+ * @since CloudSim Plus 5.5.0
+ */
+final class VmUtilizationCorrelation {
+    /**
+     * The minimum absolute value of a pivot when inverting the correlation matrix,
+     * below which the matrix is considered singular.
+     */
+    private static final double SINGULARITY_THRESHOLD = 1e-12;
+
+    /** The VMs which the sums refer to. */
+    private Vm[] vms;
+
+    /** A map where each key is a VM and each value is its index inside {@link #vms}. */
+    private final Map<Vm, Integer> vmIndexes;
+
+    /** The time of the first history entry of each VM when the sums were computed from scratch. */
+    private double[] firstTimes;
+
+    /**
+     * The first utilization value of each VM, which is subtracted from all values of that VM
+     * before they are added to the sums, avoiding loss of precision when computing the co-moments.
+     */
+    private double[] shifts;
+
+    /** The sum of the (shifted) utilization values of each VM. */
+    private double[] sums;
+
+    /** The sum of the products of the (shifted) utilization values of each pair of VMs. */
+    private double[][] products;
+
+    /** The number of rows added to the sums. */
+    private int rows;
+
+    VmUtilizationCorrelation() {
+        this.vmIndexes = new IdentityHashMap<>();
+        reset(new Vm[0]);
+    }
+
+    /**
+     * Computes the multiple correlation coefficient of each VM in a list.
+     *
+     * @param vmList the list of VMs to compute the coefficients
+     * @param time the current simulation time
+     * @return an array where each element is the coefficient of the VM at the same position in the list
+     * @throws IllegalArgumentException when there isn't enough data to compute the coefficients
+     * (the number of VMs is smaller than 2 or the smallest history has less entries than the number of VMs)
+     */
+    double[] getCoefficients(final List<Vm> vmList, final double time) {
+        final int vmsNumber = vmList.size();
+        final int historySize = getMinHistorySize(vmList);
+        if (vmsNumber < 2 || historySize < vmsNumber) {
+            throw new IllegalArgumentException(
+                "There isn't enough utilization history for the " + vmsNumber + " VMs to compute correlation coefficients.");
+        }
+
+        final int[] indexes = update(vmList, historySize, Math.floor(time));
+        final double[][] covariance = getCovariance(indexes, historySize);
+        final double[] coefficients = computeCoefficients(covariance);
+        return coefficients == null ? computeCoefficientsByRegression(vmList, historySize) : coefficients;
+    }
+
+    /**
+     * Adds to the sums the rows collected before the current second,
+     * computing the sums again if the sums cannot be used for the given VMs.
+     *
+     * @param vmList the list of VMs to compute the coefficients
+     * @param historySize the smallest history size among the VMs
+     * @param currentSecond the integer part of the current simulation time
+     * @return an array with the index inside the sums for each VM in the list
+     */
+    private int[] update(final List<Vm> vmList, final int historySize, final double currentSecond) {
+        int[] indexes = getIndexes(vmList);
+        /* The sums can be used for a subset of the VMs just if all VMs have at least the same number of rows,
+         * otherwise, new rows would be required just for that subset. */
+        if (indexes == null || (vmList.size() < vms.length && getMinHistorySize(Arrays.asList(vms)) != historySize)) {
+            reset(vmList.toArray(new Vm[0]));
+            indexes = getIndexes(vmList);
+        }
+
+        int finalRows = getMinHistorySize(Arrays.asList(vms));
+        for (final Vm vm : vms) {
+            finalRows = Math.min(finalRows, vm.getUtilizationHistory().getHistory().headMap(currentSecond).size());
+        }
+
+        if (finalRows < rows) {
+            reset(vms);
+        }
+
+        addRows(sums, products, allIndexes(), rows, finalRows);
+        rows = Math.max(rows, finalRows);
+        return indexes;
+    }
+
+    /**
+     * Gets the index inside the sums for each VM in a list.
+     * @param vmList the list of VMs
+     * @return an array with the index of each VM in the list
+     *         or null if some VM isn't in the sums or has discarded history entries
+     */
+    private int[] getIndexes(final List<Vm> vmList) {
+        final int[] indexes = new int[vmList.size()];
+        for (int i = 0; i < indexes.length; i++) {
+            final Integer index = vmIndexes.get(vmList.get(i));
+            if (index == null || getFirstTime(vms[index]) != firstTimes[index]) {
+                return null;
+            }
+
+            indexes[i] = index;
+        }
+
+        return indexes;
+    }
+
+    private void reset(final Vm[] vms) {
+        this.vms = vms;
+        this.vmIndexes.clear();
+        this.firstTimes = new double[vms.length];
+        this.shifts = new double[vms.length];
+        this.sums = new double[vms.length];
+        this.products = new double[vms.length][vms.length];
+        this.rows = 0;
+        for (int i = 0; i < vms.length; i++) {
+            vmIndexes.put(vms[i], i);
+            firstTimes[i] = getFirstTime(vms[i]);
+            final DoubleBuffer view = vms[i].getUtilizationHistory().getUtilizationView();
+            shifts[i] = view.hasRemaining() ? view.get(0) : 0;
+        }
+    }
+
+    private double getFirstTime(final Vm vm) {
+        final SortedMap<Double, Double> history = vm.getUtilizationHistory().getHistory();
+        return history.isEmpty() ? Double.NaN : history.firstKey();
+    }
+
+    private int[] allIndexes() {
+        final int[] indexes = new int[vms.length];
+        Arrays.setAll(indexes, i -> i);
+        return indexes;
+    }
+
+    /**
+     * Adds rows of the utilization history of some VMs to given sums.
+     *
+     * @param sums the sums of the utilization values of the VMs to update
+     * @param products the sums of the products of the utilization values to update
+     * @param indexes the indexes of the VMs (inside {@link #vms}) which the sums refer to
+     * @param fromRow the first row to add (inclusive)
+     * @param toRow the last row to add (exclusive)
+     */
+    private void addRows(final double[] sums, final double[][] products, final int[] indexes, final int fromRow, final int toRow) {
+        if (fromRow >= toRow) {
+            return;
+        }
+
+        final DoubleBuffer[] views = new DoubleBuffer[indexes.length];
+        for (int i = 0; i < indexes.length; i++) {
+            views[i] = vms[indexes[i]].getUtilizationHistory().getUtilizationView();
+        }
+
+        final double[] values = new double[indexes.length];
+        for (int row = fromRow; row < toRow; row++) {
+            for (int i = 0; i < indexes.length; i++) {
+                values[i] = views[i].get(row) - shifts[indexes[i]];
+                sums[i] += values[i];
+            }
+
+            for (int i = 0; i < indexes.length; i++) {
+                for (int j = i; j < indexes.length; j++) {
+                    products[i][j] += values[i] * values[j];
+                }
+            }
+        }
+    }
+
+    /**
+     * Gets the covariance matrix (scaled by the number of rows) for some VMs,
+     * including the rows not added to the sums yet.
+     *
+     * @param indexes the indexes of the VMs inside the sums
+     * @param historySize the number of rows to consider
+     * @return the covariance matrix
+     */
+    private double[][] getCovariance(final int[] indexes, final int historySize) {
+        final int size = indexes.length;
+        final double[] selectedSums = new double[size];
+        final double[][] selectedProducts = new double[size][size];
+        for (int i = 0; i < size; i++) {
+            selectedSums[i] = sums[indexes[i]];
+            for (int j = i; j < size; j++) {
+                final int a = Math.min(indexes[i], indexes[j]);
+                final int b = Math.max(indexes[i], indexes[j]);
+                selectedProducts[i][j] = products[a][b];
+            }
+        }
+
+        addRows(selectedSums, selectedProducts, indexes, rows, historySize);
+
+        final double[][] covariance = new double[size][size];
+        for (int i = 0; i < size; i++) {
+            for (int j = i; j < size; j++) {
+                covariance[i][j] = selectedProducts[i][j] - selectedSums[i] * selectedSums[j] / historySize;
+                covariance[j][i] = covariance[i][j];
+            }
+        }
+
+        return covariance;
+    }
+
+    /**
+     * Computes the coefficients from a covariance matrix.
+     * @param covariance the covariance matrix
+     * @return the coefficients or null if the matrix is singular
+     */
+    private static double[] computeCoefficients(final double[][] covariance) {
+        final int size = covariance.length;
+        final double[] deviations = new double[size];
+        for (int i = 0; i < size; i++) {
+            if (covariance[i][i] <= 0) {
+                return null;
+            }
+
+            deviations[i] = Math.sqrt(covariance[i][i]);
+        }
+
+        final double[][] correlation = new double[size][size];
+        for (int i = 0; i < size; i++) {
+            for (int j = 0; j < size; j++) {
+                correlation[i][j] = covariance[i][j] / (deviations[i] * deviations[j]);
+            }
+        }
+
+        final double[][] inverse = invert(correlation);
+        if (inverse == null) {
+            return null;
+        }
+
+        final double[] coefficients = new double[size];
+        for (int i = 0; i < size; i++) {
+            coefficients[i] = 1 - 1 / inverse[i][i];
+        }
+
+        return coefficients;
+    }
+
+    /**
+     * Inverts a matrix using Gauss-Jordan elimination with partial pivoting.
+     * @param matrix the matrix to invert (which is changed)
+     * @return the inverse matrix or null if the matrix is singular
+     */
+    private static double[][] invert(final double[][] matrix) {
+        final int size = matrix.length;
+        final double[][] inverse = new double[size][size];
+        for (int i = 0; i < size; i++) {
+            inverse[i][i] = 1;
+        }
+
+        for (int col = 0; col < size; col++) {
+            int pivot = col;
+            for (int row = col + 1; row < size; row++) {
+                if (Math.abs(matrix[row][col]) > Math.abs(matrix[pivot][col])) {
+                    pivot = row;
+                }
+            }
+
+            if (Math.abs(matrix[pivot][col]) < SINGULARITY_THRESHOLD) {
+                return null;
+            }
+
+            swap(matrix, col, pivot);
+            swap(inverse, col, pivot);
+            final double pivotValue = matrix[col][col];
+            for (int j = 0; j < size; j++) {
+                matrix[col][j] /= pivotValue;
+                inverse[col][j] /= pivotValue;
+            }
+
+            for (int row = 0; row < size; row++) {
+                final double factor = matrix[row][col];
+                if (row == col || factor == 0) {
+                    continue;
+                }
+
+                for (int j = 0; j < size; j++) {
+                    matrix[row][j] -= factor * matrix[col][j];
+                    inverse[row][j] -= factor * inverse[col][j];
+                }
+            }
+        }
+
+        return inverse;
+    }
+
+    private static void swap(final double[][] matrix, final int row1, final int row2) {
+        final double[] row = matrix[row1];
+        matrix[row1] = matrix[row2];
+        matrix[row2] = row;
+    }
+
+    /**
+     * Computes the coefficients by fitting a linear regression for each VM.
+     * @param vmList the list of VMs to compute the coefficients
+     * @param historySize the number of history entries to use for each VM
+     * @return an array where each element is the coefficient of the VM at the same position in the list
+     * @see org.cloudbus.cloudsim.util.MathUtil#correlationCoefficients(double[][])
+     */
+    private static double[] computeCoefficientsByRegression(final List<Vm> vmList, final int historySize) {
+        return correlationCoefficients(getUtilizationMatrix(vmList, historySize))
+                    .stream()
+                    .mapToDouble(coefficient -> coefficient)
+                    .toArray();
+    }
+
+    /**
+     * Gets the CPU utilization percentage matrix for a given list of VMs.
+     *
+     * @param vmList the VM list
+     * @param historySize the number of history entries to get for each VM
+     * @return the CPU utilization percentage matrix, where each line i
+     * is a VM and each column j is a CPU utilization percentage history for that VM.
+     */
+    static double[][] getUtilizationMatrix(final List<Vm> vmList, final int historySize) {
+        final double[][] utilization = new double[vmList.size()][historySize];
+        for (int i = 0; i < vmList.size(); i++) {
+            vmList.get(i).getUtilizationHistory().getUtilizationView().get(utilization[i], 0, historySize);
+        }
+
+        return utilization;
+    }
+
+    /**
+     * Gets the min CPU utilization percentage history size between a list of VMs.
+     *
+     * @param vmList the VM list
+     * @return the min CPU utilization percentage history size of the VM list
+     */
+    static int getMinHistorySize(final List<Vm> vmList) {
+        return vmList.stream()
+            .map(Vm::getUtilizationHistory)
+            .map(UtilizationHistory::getHistory)
+            .mapToInt(Map::size)
+            .min().orElse(0);
+    }
+}
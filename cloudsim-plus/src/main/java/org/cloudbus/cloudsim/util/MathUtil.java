@@ -10,6 +10,7 @@ package org.cloudbus.cloudsim.util;
 
 import org.apache.commons.math3.linear.Array2DRowRealMatrix;
 import org.apache.commons.math3.stat.descriptive.DescriptiveStatistics;
+import org.apache.commons.math3.stat.descriptive.rank.Percentile;
 import org.apache.commons.math3.stat.regression.OLSMultipleLinearRegression;
 import org.apache.commons.math3.stat.regression.SimpleRegression;
 
@@ -65,7 +66,22 @@ public final class MathUtil {
      * @return the median
      */
     public static double median(final double... list) {
-        return getStatistics(list).getPercentile(50);
+        return median(list, 0, list.length);
+    }
+
+    /**
+     * Gets the median from a range of an array of numbers,
+     * without requiring the caller to copy such a range to a new array.
+     * The range is copied internally to compute the median,
+     * so that the given array is not changed.
+     *
+     * @param data the array of numbers
+     * @param offset the index of the first number in the range
+     * @param length the number of elements in the range
+     * @return the median
+     */
+    public static double median(final double[] data, final int offset, final int length) {
+        return new Percentile().evaluate(data, offset, length, 50);
     }
 
     /**
@@ -143,14 +159,29 @@ public final class MathUtil {
      * @return the mad
      */
     public static double mad(final double... data) {
-        if (data.length == 0) {
+        return mad(data, 0, data.length);
+    }
+
+    /**
+     * Gets the <a href="https://en.wikipedia.org/wiki/Median_absolute_deviation">Median Absolute Deviation (MAD)</a>
+     * from a range of an array of numbers, without requiring the caller to copy such a range to a new array.
+     * The given array is not changed, but the deviations from the median
+     * of the numbers in the range are stored in a new array.
+     *
+     * @param data the array of numbers
+     * @param offset the index of the first number in the range
+     * @param length the number of elements in the range
+     * @return the mad
+     */
+    public static double mad(final double[] data, final int offset, final int length) {
+        if (length == 0) {
             return 0;
         }
 
-        final double median = median(data);
-        final double[] deviationSum = new double[data.length];
-        for (int i = 0; i < data.length; i++) {
-            deviationSum[i] = Math.abs(median - data[i]);
+        final double median = median(data, offset, length);
+        final double[] deviationSum = new double[length];
+        for (int i = 0; i < length; i++) {
+            deviationSum[i] = Math.abs(median - data[offset + i]);
         }
 
         return median(deviationSum);
@@ -164,10 +195,25 @@ public final class MathUtil {
      * @return the IQR
      */
     public static double iqr(final double... data) {
-        Arrays.sort(data);
-        final int quartile1 = (int) Math.round(0.25 * (data.length + 1)) - 1;
-        final int quartile3 = (int) Math.round(0.75 * (data.length + 1)) - 1;
-        return data[quartile3] - data[quartile1];
+        return iqr(data, 0, data.length);
+    }
+
+    /**
+     * Gets the <a href="https://en.wikipedia.org/wiki/Interquartile_range">Inter-quartile Range (IQR)</a>
+     * from a range of an array of numbers, without copying such a range to a new array.
+     * As in {@link #iqr(double...)}, the numbers in the range are sorted in place,
+     * while the ones outside it are not changed.
+     *
+     * @param data the array of numbers
+     * @param offset the index of the first number in the range
+     * @param length the number of elements in the range
+     * @return the IQR
+     */
+    public static double iqr(final double[] data, final int offset, final int length) {
+        Arrays.sort(data, offset, offset + length);
+        final int quartile1 = (int) Math.round(0.25 * (length + 1)) - 1;
+        final int quartile3 = (int) Math.round(0.75 * (length + 1)) - 1;
+        return data[offset + quartile3] - data[offset + quartile1];
     }
 
     /**
@@ -194,8 +240,21 @@ public final class MathUtil {
      * @return the Loess parameter estimates
      */
     public static double[] getLoessParameterEstimates(final double... y) {
-        final double[] x = createIndependentArray(y.length);
-        return createWeightedLinearRegression(x, y, getTricubeWeights(y.length))
+        return getLoessParameterEstimates(y, 0, y.length);
+    }
+
+    /**
+     * Gets the Local Regression (Loess) parameter estimates
+     * for a range of an array, without copying such a range to a new array.
+     *
+     * @param y the array containing the dependent variable
+     * @param offset the index of the first value of the dependent variable
+     * @param length the number of values of the dependent variable
+     * @return the Loess parameter estimates
+     */
+    public static double[] getLoessParameterEstimates(final double[] y, final int offset, final int length) {
+        final double[] x = createIndependentArray(length);
+        return createWeightedLinearRegression(x, y, offset, getTricubeWeights(length))
                 .regress().getParameterEstimates();
     }
 
@@ -244,15 +303,17 @@ public final class MathUtil {
     /**
      * Creates a a weighted linear regression.
      * @param x the independent variable
-     * @param y the dependent variable
+     * @param y the array containing the dependent variable
+     * @param offset the index of the first value of the dependent variable inside y,
+     *               which has the same number of values as x
      * @param weights the weights to apply to x and y
      * @return
      */
     private static SimpleRegression createWeightedLinearRegression(
-        final double[] x, final double[] y, final double[] weights)
+        final double[] x, final double[] y, final int offset, final double[] weights)
     {
         final double[] weightedX = new double[x.length];
-        final double[] weightedY = new double[y.length];
+        final double[] weightedY = new double[x.length];
 
         final long numZeroWeights = Arrays.stream(weights).filter(weight -> weight <= 0).count();
 
@@ -260,10 +321,10 @@ public final class MathUtil {
             if (numZeroWeights >= 0.4 * weights.length) {
                 // See: http://www.ncsu.edu/crsc/events/ugw07/Presentations/Crooks_Qiao/Crooks_Qiao_Alt_Presentation.pdf
                 weightedX[i] = Math.sqrt(weights[i]) * x[i];
-                weightedY[i] = Math.sqrt(weights[i]) * y[i];
+                weightedY[i] = Math.sqrt(weights[i]) * y[offset + i];
             } else {
                 weightedX[i] = x[i];
-                weightedY[i] = y[i];
+                weightedY[i] = y[offset + i];
             }
         }
 
@@ -277,15 +338,28 @@ public final class MathUtil {
      * @return the robust loess parameter estimates
      */
     public static double[] getRobustLoessParameterEstimates(final double... y) {
-        final double[] x = createIndependentArray(y.length);
+        return getRobustLoessParameterEstimates(y, 0, y.length);
+    }
+
+    /**
+     * Gets the robust loess parameter estimates
+     * for a range of an array, without copying such a range to a new array.
+     *
+     * @param y the array containing the dependent variable
+     * @param offset the index of the first value of the dependent variable
+     * @param length the number of values of the dependent variable
+     * @return the robust loess parameter estimates
+     */
+    public static double[] getRobustLoessParameterEstimates(final double[] y, final int offset, final int length) {
+        final double[] x = createIndependentArray(length);
         final SimpleRegression tricubeRegression =
-                createWeightedLinearRegression(x, y, getTricubeWeights(y.length));
-        final double[] residuals = new double[y.length];
-        for (int i = 0; i < y.length; i++) {
-            residuals[i] = y[i] - tricubeRegression.predict(x[i]);
+                createWeightedLinearRegression(x, y, offset, getTricubeWeights(length));
+        final double[] residuals = new double[length];
+        for (int i = 0; i < length; i++) {
+            residuals[i] = y[offset + i] - tricubeRegression.predict(x[i]);
         }
         final SimpleRegression tricubeBySqrRegression =
-                createWeightedLinearRegression(x, y, getTricubeBisquareWeights(residuals));
+                createWeightedLinearRegression(x, y, offset, getTricubeBisquareWeights(residuals));
 
         final double[] estimates = tricubeBySqrRegression.regress().getParameterEstimates();
         if (Double.isNaN(estimates[0]) || Double.isNaN(estimates[1])) {
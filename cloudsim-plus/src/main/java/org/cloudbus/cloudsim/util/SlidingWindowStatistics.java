@@ -0,0 +1,472 @@
+package org.cloudbus.cloudsim.util;
+
+import java.util.Arrays;
+
+/**
+ * Keeps a sliding window with the latest values of a time series
+ * and incrementally maintains the data required to compute
+ * statistics such as median, <a href="https://en.wikipedia.org/wiki/Median_absolute_deviation">Median Absolute Deviation (MAD)</a>,
+ * <a href="https://en.wikipedia.org/wiki/Interquartile_range">Inter-quartile Range (IQR)</a>
+ * and a linear regression over such values.
+ * It avoids rebuilding and sorting the entire series every time some statistic is required.
+ *
+ * <p>The window stores the values in arrival order and also keeps
+ * a sorted copy of them. This way:
+ * <ul>
+ *   <li>adding a value takes O(log w) to find its position inside the sorted window
+ *   (plus a bulk array copy to open room for it), where w is the window size;</li>
+ *   <li>the median and the IQR are got in O(1);</li>
+ *   <li>the MAD is got in O(log w), since the absolute deviations from the median
+ *   are two sorted sequences (the values before and after the median),
+ *   so that the median deviation is found by a binary search over such sequences;</li>
+ *   <li>the linear regression parameters are got in O(1) from rolling sums.</li>
+ * </ul>
+ * </p>
+ *
+ * <p>The statistics are computed exactly as the ones provided by {@link MathUtil}
+ * for an array containing the values inside the window (in arrival order).</p>
+ *
+ * @author Manoel Campos da Silva Filho
+ * @since CloudSim Plus 5.5.0
+ */
+public final class SlidingWindowStatistics {
+    private static final int INITIAL_CAPACITY = 16;
+
+    /**
+     * The minimum number of values added before the rolling sums
+     * used for the linear regression are recomputed from scratch,
+     * to avoid accumulating floating-point errors.
+     */
+    private static final int MIN_ADDITIONS_TO_RECOMPUTE_SUMS = 64;
+
+    /** @see #getMaxSize() */
+    private int maxSize;
+
+    /**
+     * The values in arrival order. The window is inside the positions [start, start + size).
+     * The positions before the start contain the latest values removed from the window,
+     * which are kept to enable restoring them when {@link #removeNewest()} is called.
+     */
+    private double[] values;
+
+    /** The values inside the window in ascending order, at the positions [0, size). */
+    private double[] sorted;
+
+    private int start;
+
+    /** @see #size() */
+    private int size;
+
+    /**
+     * The number of values removed from the window (because it was full)
+     * that are still stored before the {@link #start} position.
+     */
+    private int retained;
+
+    /** The number of zeros at the end of the window. */
+    private int trailingZeros;
+
+    /** The sum of the values inside the window. */
+    private double sumY;
+
+    /**
+     * The sum of the values multiplied by their position in reverse arrival order,
+     * where the newest value has position 1 and the oldest value has position {@link #size}.
+     */
+    private double sumXY;
+
+    /** The number of values added since the last time {@link #sumY} and {@link #sumXY} were recomputed. */
+    private int additions;
+
+    /**
+     * Creates a sliding window with unlimited size,
+     * so that statistics are computed for all added values.
+     */
+    public SlidingWindowStatistics() {
+        this(Integer.MAX_VALUE);
+    }
+
+    /**
+     * Creates a sliding window with a given maximum size.
+     * @param maxSize the maximum number of values inside the window
+     */
+    public SlidingWindowStatistics(final int maxSize) {
+        this.values = new double[INITIAL_CAPACITY];
+        this.sorted = new double[INITIAL_CAPACITY];
+        setMaxSize(maxSize);
+    }
+
+    /**
+     * Gets the maximum number of values inside the window.
+     * When the window is full, adding a value removes the oldest one.
+     * @return
+     */
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * Sets the maximum number of values inside the window.
+     * If there are more values than the given size, the oldest ones are removed.
+     * @param maxSize the maximum size to set
+     * @return
+     */
+    public SlidingWindowStatistics setMaxSize(final int maxSize) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("The maximum size of the window must be greater than zero.");
+        }
+
+        this.maxSize = maxSize;
+        while (size > maxSize) {
+            removeOldest();
+        }
+
+        retained = 0;
+        trailingZeros = Math.min(trailingZeros, size);
+        computeSums();
+        return this;
+    }
+
+    /**
+     * Gets the number of values currently inside the window.
+     * @return
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Checks if the window has reached its {@link #getMaxSize() maximum size}.
+     * @return
+     */
+    public boolean isFull() {
+        return size == maxSize;
+    }
+
+    /**
+     * Removes all values from the window.
+     */
+    public void clear() {
+        start = 0;
+        size = 0;
+        retained = 0;
+        trailingZeros = 0;
+        computeSums();
+    }
+
+    /**
+     * Adds a value to the window.
+     * If the window is full, the oldest value is removed.
+     * @param value the value to add
+     */
+    public void add(final double value) {
+        if (isFull()) {
+            removeOldest();
+            retained++;
+        }
+
+        ensureCapacity();
+        values[start + size] = value;
+        insertSorted(value);
+        size++;
+
+        trailingZeros = value == 0 ? trailingZeros + 1 : 0;
+
+        //The existing values move one position ahead and the new one takes the 1st position
+        sumXY += sumY + value;
+        sumY += value;
+        if (++additions >= Math.max(size, MIN_ADDITIONS_TO_RECOMPUTE_SUMS)) {
+            computeSums();
+        }
+    }
+
+    /**
+     * Removes the newest value from the window, undoing the last {@link #add(double)}.
+     * If such an addition removed the oldest value because the window was full,
+     * that value is put back into the window, if it's still stored.
+     *
+     * @return true if the window was restored to the state it had
+     *         before the newest value was added; false if the window is empty
+     *         or the value removed by the last addition couldn't be restored
+     *         (since only a limited number of removed values is stored).
+     */
+    public boolean removeNewest() {
+        if (size == 0) {
+            return false;
+        }
+
+        final boolean wasFull = isFull();
+        final double value = values[start + size - 1];
+        size--;
+        removeSorted(value);
+        sumY -= value;
+        sumXY -= sumY + value;
+
+        trailingZeros = 0;
+        while (trailingZeros < size && values[start + size - 1 - trailingZeros] == 0) {
+            trailingZeros++;
+        }
+
+        if (!wasFull) {
+            return true;
+        }
+
+        if (retained == 0) {
+            return false;
+        }
+
+        retained--;
+        start--;
+        final double oldest = values[start];
+        insertSorted(oldest);
+        size++;
+        sumY += oldest;
+        sumXY += size * oldest;
+        if (trailingZeros == size - 1 && oldest == 0) {
+            trailingZeros++;
+        }
+
+        return true;
+    }
+
+    /**
+     * Gets the values inside the window, from the oldest to the newest.
+     * @return a new array with the values
+     */
+    public double[] getValues() {
+        return Arrays.copyOfRange(values, start, start + size);
+    }
+
+    /**
+     * Gets the values inside the window, from the newest to the oldest.
+     * @return a new array with the values
+     */
+    public double[] getValuesNewestFirst() {
+        final double[] reversed = new double[size];
+        for (int i = 0; i < size; i++) {
+            reversed[i] = values[start + size - 1 - i];
+        }
+
+        return reversed;
+    }
+
+    /**
+     * Counts the values inside the window from the oldest one up to the last value different of zero,
+     * as in {@link MathUtil#countNonZeroBeginning(double...)}.
+     * @return the number of values up to the last non-zero one
+     *         (or 1 if there is no such a value)
+     */
+    public int countNonZeroBeginning() {
+        return trailingZeros < size ? size - trailingZeros : 1;
+    }
+
+    /**
+     * Gets the median of the values inside the window.
+     * @return the median or {@link Double#NaN} if the window is empty
+     * @see MathUtil#median(double...)
+     */
+    public double median() {
+        if (size == 0) {
+            return Double.NaN;
+        }
+
+        if (size % 2 == 1) {
+            return sorted[size / 2];
+        }
+
+        return interpolate(sorted[size / 2 - 1], sorted[size / 2]);
+    }
+
+    /**
+     * Gets the <a href="https://en.wikipedia.org/wiki/Median_absolute_deviation">Median Absolute Deviation (MAD)</a>
+     * of the values inside the window.
+     * @return the MAD or 0 if the window is empty
+     * @see MathUtil#mad(double...)
+     */
+    public double mad() {
+        if (size == 0) {
+            return 0;
+        }
+
+        final double median = median();
+        //Number of values lower than the median, which have their deviations in descending order
+        final int lower = lowerBound(median);
+        if (size % 2 == 1) {
+            return kthDeviation(median, lower, size / 2);
+        }
+
+        return interpolate(kthDeviation(median, lower, size / 2 - 1), kthDeviation(median, lower, size / 2));
+    }
+
+    /**
+     * Gets the <a href="https://en.wikipedia.org/wiki/Interquartile_range">Inter-quartile Range (IQR)</a>
+     * of the values inside the window.
+     * @return the IQR or 0 if the window is empty
+     * @see MathUtil#iqr(double...)
+     */
+    public double iqr() {
+        if (size == 0) {
+            return 0;
+        }
+
+        final int quartile1 = (int) Math.round(0.25 * (size + 1)) - 1;
+        final int quartile3 = Math.min((int) Math.round(0.75 * (size + 1)) - 1, size - 1);
+        return sorted[quartile3] - sorted[quartile1];
+    }
+
+    /**
+     * Gets the parameter estimates of a linear regression over the values inside the window,
+     * where the independent variable is the position of each value in reverse arrival order
+     * (the newest value is at position 1 and the oldest one at position {@link #size()}).
+     * That is the same as the {@link MathUtil#getLoessParameterEstimates(double...)} for
+     * the {@link #getValuesNewestFirst() values in reverse order}.
+     *
+     * @return an array where the first element is the intercept and the second one is the slope
+     *         (both {@link Double#NaN} if there are less than 2 values)
+     */
+    public double[] getLinearRegressionEstimates() {
+        if (size < 2) {
+            return new double[]{Double.NaN, Double.NaN};
+        }
+
+        final double n = size;
+        final double sumX = n * (n + 1) / 2.0;
+        final double meanX = sumX / n;
+        final double meanY = sumY / n;
+        //Sums of squared deviations of x and of the product of x and y deviations from their means
+        final double sxx = n * (n * n - 1) / 12.0;
+        final double sxy = sumXY - sumX * meanY;
+        final double slope = sxy / sxx;
+        return new double[]{meanY - slope * meanX, slope};
+    }
+
+    /**
+     * Gets the value between two ones, in the same way the
+     * {@link org.apache.commons.math3.stat.descriptive.rank.Percentile} does
+     * to compute the median of an even number of values.
+     */
+    private static double interpolate(final double lower, final double upper) {
+        return lower + 0.5 * (upper - lower);
+    }
+
+    /**
+     * Gets the k-th smallest (0-based) absolute deviation from the median.
+     * The deviations of the values before the given position are in descending order
+     * and the deviations of the other ones are in ascending order.
+     * This way, the k-th deviation is found as the k-th element of two sorted sequences.
+     *
+     * @param median the median of the values
+     * @param lower the number of values lower than the median
+     * @param k the index of the deviation to get
+     * @return the k-th deviation
+     */
+    private double kthDeviation(final double median, final int lower, final int k) {
+        final int upper = size - lower;
+        //Number of deviations taken from the lower values (binary searched)
+        int low = Math.max(0, k + 1 - upper);
+        int high = Math.min(k + 1, lower);
+        while (low < high) {
+            final int i = (low + high) >>> 1;
+            if (lowerDeviation(median, lower, i) < upperDeviation(median, lower, k - i)) {
+                low = i + 1;
+            } else {
+                high = i;
+            }
+        }
+
+        final int j = k + 1 - low;
+        final double fromLower = low > 0 ? lowerDeviation(median, lower, low - 1) : Double.NEGATIVE_INFINITY;
+        final double fromUpper = j > 0 ? upperDeviation(median, lower, j - 1) : Double.NEGATIVE_INFINITY;
+        return Math.max(fromLower, fromUpper);
+    }
+
+    /** Gets the i-th smallest deviation among the values lower than the median. */
+    private double lowerDeviation(final double median, final int lower, final int i) {
+        return Math.abs(median - sorted[lower - 1 - i]);
+    }
+
+    /** Gets the j-th smallest deviation among the values greater than or equal to the median. */
+    private double upperDeviation(final double median, final int lower, final int j) {
+        return Math.abs(median - sorted[lower + j]);
+    }
+
+    /**
+     * Gets the number of values inside the window that are lower than a given one.
+     */
+    private int lowerBound(final double value) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            final int mid = (low + high) >>> 1;
+            if (sorted[mid] < value) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+
+        return low;
+    }
+
+    private void insertSorted(final double value) {
+        if (size == sorted.length) {
+            sorted = Arrays.copyOf(sorted, sorted.length * 2);
+        }
+
+        final int index = Arrays.binarySearch(sorted, 0, size, value);
+        final int position = index >= 0 ? index : -index - 1;
+        System.arraycopy(sorted, position, sorted, position + 1, size - position);
+        sorted[position] = value;
+    }
+
+    /**
+     * Removes a value from the sorted window.
+     * The {@link #size} must be already decremented.
+     */
+    private void removeSorted(final double value) {
+        final int position = Arrays.binarySearch(sorted, 0, size + 1, value);
+        System.arraycopy(sorted, position + 1, sorted, position, size - position);
+    }
+
+    private void removeOldest() {
+        final double oldest = values[start];
+        start++;
+        size--;
+        removeSorted(oldest);
+        sumXY -= (size + 1) * oldest;
+        sumY -= oldest;
+        trailingZeros = Math.min(trailingZeros, size);
+    }
+
+    /**
+     * Ensures there is room to store a new value after the window.
+     * If there is no room, the window (and some of the values removed from it)
+     * is moved to the beginning of the array, or the array is enlarged
+     * if that wouldn't release enough room.
+     */
+    private void ensureCapacity() {
+        if (start + size < values.length) {
+            return;
+        }
+
+        final int keep = Math.min(retained, size);
+        final int length = keep + size;
+        final double[] target = length > values.length / 2 ? new double[values.length * 2] : values;
+        System.arraycopy(values, start - keep, target, 0, length);
+        values = target;
+        start = keep;
+        retained = keep;
+    }
+
+    private void computeSums() {
+        sumY = 0;
+        sumXY = 0;
+        for (int i = 0; i < size; i++) {
+            final double value = values[start + i];
+            sumY += value;
+            sumXY += (size - i) * value;
+        }
+
+        additions = 0;
+    }
+}
@@ -131,4 +131,21 @@ public interface UtilizationModel {
      * @return
      */
     UtilizationModel setOverCapacityRequestAllowed(boolean allow);
+
+    /**
+     * Checks if the model doesn't change its state when the utilization is requested,
+     * such as when it always returns the same value for a given time
+     * without storing any data.
+     * That way, it can be shared by Cloudlets from different Hosts
+     * which are {@link org.cloudbus.cloudsim.datacenters.DatacenterSimple#enableParallelHostsProcessing() processed in parallel}.
+     *
+     * <p>Models which store the last requested time and utilization (such as the {@link UtilizationModelDynamic})
+     * or generate random values (such as the {@link UtilizationModelStochastic}) are not stateless.
+     * If in doubt, an implementation must return false (the default value).</p>
+     *
+     * @return true if the model is stateless, false otherwise
+     */
+    default boolean isStateless() {
+        return false;
+    }
 }
@@ -28,4 +28,9 @@ public class UtilizationModelFull extends UtilizationModelAbstract {
     protected final double getUtilizationInternal(final double time) {
         return 1;
     }
+
+    @Override
+    public boolean isStateless() {
+        return true;
+    }
 }
@@ -27,4 +27,5 @@ final class UtilizationModelNull implements UtilizationModel {
     }
     @Override public boolean isOverCapacityRequestAllowed() { return false; }
     @Override public UtilizationModel setOverCapacityRequestAllowed(boolean allow) { return this; }
+    @Override public boolean isStateless() { return true; }
 }
@@ -344,6 +344,16 @@ public class UtilizationModelPlanetLab extends UtilizationModelAbstract {
         return (utilization[prevIndex] + utilization[nextIndex]) / 2.0;
     }
 
+    /**
+     * {@inheritDoc}
+     * The utilization is just read from the trace data, which isn't changed after loaded.
+     * @return {@inheritDoc}
+     */
+    @Override
+    public boolean isStateless() {
+        return true;
+    }
+
     /**
      * Gets the index of the {@link #utilization} inside the trace file that corresponds to a given time.
      * The trace file contains utilization according to a {@link #getSchedulingInterval()}.
@@ -3,6 +3,7 @@ package org.cloudbus.cloudsim.vms;
 import org.cloudbus.cloudsim.core.AbstractMachine;
 import org.cloudbus.cloudsim.datacenters.Datacenter;
 
+import java.nio.DoubleBuffer;
 import java.util.SortedMap;
 
 /**
@@ -20,7 +21,10 @@ public interface UtilizationHistory {
     UtilizationHistory NULL = new UtilizationHistoryNull();
 
     /**
-     * Gets the utilization Median Absolute Deviation (MAD) in MIPS.
+     * Gets the utilization Median Absolute Deviation (MAD).
+     * Differently from the {@link #getUtilizationMean() mean} and {@link #getUtilizationVariance() variance},
+     * it's computed straight from the utilization percentages,
+     * so it's not scaled by the VM MIPS capacity.
      *
      * @return
      */
@@ -60,6 +64,24 @@ public interface UtilizationHistory {
      */
     SortedMap<Double, Double> getHistory();
 
+    /**
+     * Gets a <b>read-only</b> view of the CPU utilization percentages (between [0 and 1])
+     * in the history, ordered from the oldest to the newest entry,
+     * without copying them.
+     * The view must not be used after new entries are added to the history.
+     *
+     * <p>The default implementation copies the values from the {@link #getHistory()}.
+     * Implementations storing such values in an array should override it
+     * to avoid the copy.</p>
+     *
+     * @return a {@link DoubleBuffer} whose remaining elements are the utilization percentages
+     * @see #getHistory()
+     */
+    default DoubleBuffer getUtilizationView() {
+        final double[] values = getHistory().values().stream().mapToDouble(Double::doubleValue).toArray();
+        return DoubleBuffer.wrap(values).asReadOnlyBuffer();
+    }
+
     /**
      * Computes the amount of power the VM is using, relative to the total Host's power consumption
      * (in watt-sec).
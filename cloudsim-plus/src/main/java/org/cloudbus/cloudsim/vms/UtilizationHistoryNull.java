@@ -1,5 +1,6 @@
 package org.cloudbus.cloudsim.vms;
 
+import java.nio.DoubleBuffer;
 import java.util.Collections;
 import java.util.SortedMap;
 
@@ -17,6 +18,7 @@ final class UtilizationHistoryNull implements UtilizationHistory {
     @Override public double getUtilizationVariance() { return 0; }
     @Override public void addUtilizationHistory(double time) {/**/}
     @Override public SortedMap<Double, Double> getHistory() { return Collections.emptySortedMap(); }
+    @Override public DoubleBuffer getUtilizationView() { return DoubleBuffer.allocate(0).asReadOnlyBuffer(); }
     @Override public double getHostCpuUtilization(double time) { return 0; }
     @Override public double powerConsumption(double time) { return 0; }
     @Override public boolean isEnabled() { return false; }
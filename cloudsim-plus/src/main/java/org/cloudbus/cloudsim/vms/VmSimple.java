@@ -11,8 +11,10 @@ import org.cloudbus.cloudsim.brokers.DatacenterBroker;
 import org.cloudbus.cloudsim.cloudlets.Cloudlet;
 import org.cloudbus.cloudsim.core.AbstractMachine;
 import org.cloudbus.cloudsim.core.CustomerEntityAbstract;
+import org.cloudbus.cloudsim.core.DeferredActions;
 import org.cloudbus.cloudsim.datacenters.Datacenter;
 import org.cloudbus.cloudsim.hosts.Host;
+import org.cloudbus.cloudsim.hosts.HostSimple;
 import org.cloudbus.cloudsim.resources.*;
 import org.cloudbus.cloudsim.schedulers.cloudlet.CloudletScheduler;
 import org.cloudbus.cloudsim.schedulers.cloudlet.CloudletSchedulerTimeShared;
@@ -113,6 +115,20 @@ public class VmSimple extends CustomerEntityAbstract implements Vm {
     private VmGroup group;
     private double timeZone;
 
+    /**
+     * The last CPU utilization percentage computed by {@link #getCpuPercentUtilization(double)},
+     * which is cached since computing it requires iterating over all running Cloudlets.
+     * @see #cpuUtilizationTime
+     */
+    private double cpuPercentUtilization;
+
+    /**
+     * The time the cached {@link #cpuPercentUtilization} refers to,
+     * or a negative value if it isn't valid anymore.
+     * @see #invalidateCpuUtilization()
+     */
+    private double cpuUtilizationTime = -1;
+
     /**
      * Creates a Vm with 1024 MEGA of RAM, 100 Megabits/s of Bandwidth and 1024 MEGA of Storage Size.
      * To change these values, use the respective setters. While the Vm {@link #isCreated()
@@ -288,7 +304,7 @@ public class VmSimple extends CustomerEntityAbstract implements Vm {
          */
         final double decimals = currentTime - (int) currentTime;
         utilizationHistory.addUtilizationHistory(currentTime);
-        getBroker().requestIdleVmDestruction(this);
+        requestIdleVmDestruction();
         if (nextSimulationDelay == Double.MAX_VALUE) {
             return nextSimulationDelay;
         }
@@ -296,6 +312,16 @@ public class VmSimple extends CustomerEntityAbstract implements Vm {
         return nextSimulationDelay - decimals < 0 ? nextSimulationDelay : nextSimulationDelay - decimals;
     }
 
+    /**
+     * Requests the broker to destroy this VM if it's idle.
+     * Since the broker is shared among VMs from different Hosts,
+     * the request is deferred if Hosts are being processed in parallel.
+     * @see DeferredActions
+     */
+    private void requestIdleVmDestruction() {
+        DeferredActions.runOrDefer(() -> getBroker().requestIdleVmDestruction(this));
+    }
+
     @Override
     public long getFreePesNumber() {
         return freePesNumber;
@@ -359,7 +385,25 @@ public class VmSimple extends CustomerEntityAbstract implements Vm {
 
     @Override
     public double getCpuPercentUtilization(final double time) {
-        return cloudletScheduler.getRequestedCpuPercentUtilization(time);
+        if(time != cpuUtilizationTime || time < 0) {
+            cpuPercentUtilization = cloudletScheduler.getRequestedCpuPercentUtilization(time);
+            cpuUtilizationTime = time;
+        }
+
+        return cpuPercentUtilization;
+    }
+
+    /**
+     * Discards the cached CPU utilization of this VM and of its Host.
+     * It's called by the {@link CloudletScheduler}
+     * every time the CPU used by its Cloudlets may have changed
+     * (such as when a Cloudlet starts or finishes or the VM MIPS share changes).
+     */
+    public void invalidateCpuUtilization() {
+        cpuUtilizationTime = -1;
+        if(host instanceof HostSimple) {
+            ((HostSimple) host).invalidateCpuUtilization();
+        }
     }
 
     @Override
@@ -502,6 +546,7 @@ public class VmSimple extends CustomerEntityAbstract implements Vm {
      */
     protected final void setMips(final double mips) {
         processor.setMips(mips);
+        invalidateCpuUtilization();
     }
 
     @Override
@@ -511,6 +556,7 @@ public class VmSimple extends CustomerEntityAbstract implements Vm {
 
     private void setNumberOfPes(final long numberOfPes) {
         processor.setCapacity(numberOfPes);
+        invalidateCpuUtilization();
     }
 
     @Override
@@ -607,7 +653,10 @@ public class VmSimple extends CustomerEntityAbstract implements Vm {
         if (Objects.requireNonNull(host) == Host.NULL) {
             setCreated(false);
         }
+
+        invalidateCpuUtilization();
         this.host = host;
+        invalidateCpuUtilization();
     }
 
     @Override
@@ -629,6 +678,7 @@ public class VmSimple extends CustomerEntityAbstract implements Vm {
 
         this.cloudletScheduler = cloudletScheduler;
         this.cloudletScheduler.setVm(this);
+        invalidateCpuUtilization();
         return this;
     }
 
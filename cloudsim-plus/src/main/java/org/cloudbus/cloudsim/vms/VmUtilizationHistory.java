@@ -2,14 +2,22 @@ package org.cloudbus.cloudsim.vms;
 
 import org.cloudbus.cloudsim.util.MathUtil;
 
-import java.util.Collections;
-import java.util.SortedMap;
-import java.util.TreeMap;
-import java.util.stream.Stream;
+import java.nio.DoubleBuffer;
+import java.util.*;
+
+import static java.util.Objects.requireNonNull;
 
 /**
  * Stores resource utilization data for a specific {@link Vm}.
  *
+ * <p>The history is stored in primitive arrays used as a circular buffer
+ * holding at most {@link #getMaxHistoryEntries()} entries,
+ * which is ordered by time.
+ * The sum and sum of squares of the utilization values are updated
+ * as entries are added or discarded, so that the
+ * {@link #getUtilizationMean() mean} and {@link #getUtilizationVariance() variance}
+ * are computed in constant time.</p>
+ *
  * @author Anton Beloglazov
  * @author Manoel Campos da Silva Filho
  * @since CloudSim Plus 1.4
@@ -18,6 +26,44 @@ public class VmUtilizationHistory implements UtilizationHistory {
     private boolean enabled;
     private int maxHistoryEntries;
 
+    /**
+     * The initial capacity of the arrays storing the history,
+     * which grow as entries are added, up to {@link #maxHistoryEntries}.
+     */
+    private static final int INITIAL_CAPACITY = 16;
+
+    /**
+     * The times of the history entries, which are valid from the position {@link #start}
+     * up to {@link #size} elements.
+     */
+    private double[] times;
+
+    /**
+     * The CPU utilization percentages of the history entries,
+     * where each element is related to the time at the same position in {@link #times}.
+     */
+    private double[] utilization;
+
+    /**
+     * The position of the oldest entry inside the arrays.
+     */
+    private int start;
+
+    /**
+     * The number of entries in the history.
+     */
+    private int size;
+
+    /**
+     * The sum of the utilization percentages in the history.
+     */
+    private double utilizationSum;
+
+    /**
+     * The sum of squares of the utilization percentages in the history.
+     */
+    private double utilizationSquaredSum;
+
     /** @see #getHistory() */
     private final SortedMap<Double, Double> history;
     private final Vm vm;
@@ -37,7 +83,9 @@ public class VmUtilizationHistory implements UtilizationHistory {
      *                in order to reduce memory usage
      */
     public VmUtilizationHistory(final Vm vm, final boolean enabled) {
-        this.history = new TreeMap<>();
+        this.times = new double[INITIAL_CAPACITY];
+        this.utilization = new double[INITIAL_CAPACITY];
+        this.history = new HistoryMap(null, null);
         this.vm = vm;
         this.enabled = enabled;
         this.setMaxHistoryEntries(Integer.MAX_VALUE);
@@ -54,56 +102,33 @@ public class VmUtilizationHistory implements UtilizationHistory {
 
     @Override
     public double getUtilizationMad() {
-        if (history.isEmpty()) {
+        if (size == 0) {
             return 0;
         }
 
-        final int maxEntries = getNumEntriesToComputeStats();
-        final double median = MathUtil.median(getHistory().values());
-        final double[] deviationSum = new double[maxEntries];
-        for (int i = 0; i < maxEntries; i++) {
-            deviationSum[i] = Math.abs(median - getHistory().get(i));
-        }
-
-        return MathUtil.median(deviationSum);
-    }
-
-    /**
-     * Gets the actual number of entries to be used to compute statistics.
-     * @return
-     */
-    private int getNumEntriesToComputeStats() {
-        return Math.min(getMaxHistoryEntries(), getHistory().size());
+        return MathUtil.mad(utilization, start, size);
     }
 
     @Override
     public double getUtilizationMean() {
-        final int maxEntries = getNumEntriesToComputeStats();
-        final double usagePercentMean = getHistoryLimitedStream(maxEntries)
-            .mapToDouble(usagePercent -> usagePercent)
-            .average()
-            .orElse(0);
-
-        return usagePercentMean * vm.getMips();
-    }
+        if (size == 0) {
+            return 0;
+        }
 
-    private Stream<Double> getHistoryLimitedStream(final int maxEntries) {
-        return getHistory().values().stream().limit(maxEntries);
+        return utilizationSum / size * vm.getMips();
     }
 
     @Override
     public double getUtilizationVariance() {
-        if (history.isEmpty()) {
+        if (size == 0) {
             return 0;
         }
 
-        final double mean = getUtilizationMean();
-        final int maxEntries = getNumEntriesToComputeStats();
-        return getHistoryLimitedStream(maxEntries)
-            .mapToDouble(usagePercent -> usagePercent * vm.getMips())
-            .map(usageValue -> usageValue - mean)
-            .map(usageValue -> usageValue * usageValue)
-            .average().orElse(0);
+        final double mean = utilizationSum / size;
+        final double variance = utilizationSquaredSum / size - mean * mean;
+        final double mips = vm.getMips();
+        //Avoids negative values due to rounding errors
+        return Math.max(variance, 0) * mips * mips;
     }
 
     @Override
@@ -112,9 +137,9 @@ public class VmUtilizationHistory implements UtilizationHistory {
             return;
         }
 
-        final double utilization = vm.getCpuPercentUtilization(vm.getCloudletScheduler().getPreviousTime());
+        final double utilizationPercent = vm.getCpuPercentUtilization(vm.getCloudletScheduler().getPreviousTime());
         time = vm.isIdle() ? time : (int)time;
-        addUtilizationHistoryValue(time, utilization);
+        addUtilizationHistoryValue(time, utilizationPercent);
         this.previousTime = time;
     }
 
@@ -156,20 +181,142 @@ public class VmUtilizationHistory implements UtilizationHistory {
 
     /**
      * Adds a CPU utilization percentage history value.
+     * If there is already a value for the given time, it's replaced.
+     * If the history is full, the oldest entry is discarded.
      *
      * @param time the time this utilization was collected
      * @param utilizationPercent the CPU utilization percentage to add
      */
-    private void addUtilizationHistoryValue(final double time, final double utilizationPercent) {
-        history.put(time, utilizationPercent);
-        if (getHistory().size() > maxHistoryEntries) {
-            history.remove(maxHistoryEntries);
+    void addUtilizationHistoryValue(final double time, final double utilizationPercent) {
+        int index = search(time);
+        if (index >= 0) {
+            removeFromSums(utilization[index]);
+            utilization[index] = utilizationPercent;
+            addToSums(utilizationPercent);
+            return;
+        }
+
+        if (size == maxHistoryEntries) {
+            if (time < times[start]) {
+                //The entry is older than all the entries kept, so it would be the one discarded
+                return;
+            }
+
+            removeOldestEntries(1);
+            index = search(time);
+        }
+
+        insertEntry(-(index + 1), time, utilizationPercent);
+    }
+
+    /**
+     * Inserts an entry at a given position of the arrays,
+     * shifting the entries after it (if any).
+     *
+     * @param position the position to insert the entry
+     * @param time the time of the entry
+     * @param utilizationPercent the CPU utilization percentage of the entry
+     */
+    private void insertEntry(int position, final double time, final double utilizationPercent) {
+        if (start + size == times.length) {
+            final int previousStart = start;
+            ensureCapacity();
+            position -= previousStart - start;
+        }
+
+        final int end = start + size;
+        if (position < end) {
+            System.arraycopy(times, position, times, position + 1, end - position);
+            System.arraycopy(utilization, position, utilization, position + 1, end - position);
+        }
+
+        times[position] = time;
+        utilization[position] = utilizationPercent;
+        size++;
+        addToSums(utilizationPercent);
+    }
+
+    /**
+     * Makes room for a new entry at the end of the arrays,
+     * moving the entries to the beginning of the arrays when at least half of them is free
+     * or increasing the arrays' capacity otherwise.
+     * When the entries are moved, the sums are computed again
+     * to discard rounding errors accumulated from discarded entries.
+     */
+    private void ensureCapacity() {
+        if (start > 0 && size <= times.length / 2) {
+            System.arraycopy(times, start, times, 0, size);
+            System.arraycopy(utilization, start, utilization, 0, size);
+            start = 0;
+            computeSums();
+            return;
+        }
+
+        final int newCapacity = (int)Math.min((long)times.length * 2, Integer.MAX_VALUE - 8);
+        times = Arrays.copyOf(times, newCapacity);
+        utilization = Arrays.copyOf(utilization, newCapacity);
+    }
+
+    /**
+     * Discards a given number of entries from the beginning of the history.
+     * @param entriesToRemove the number of entries to remove
+     */
+    private void removeOldestEntries(final int entriesToRemove) {
+        for (int i = 0; i < entriesToRemove; i++) {
+            removeFromSums(utilization[start++]);
+            size--;
+        }
+
+        if (size == 0) {
+            start = 0;
+            computeSums();
+        }
+    }
+
+    private void addToSums(final double utilizationPercent) {
+        utilizationSum += utilizationPercent;
+        utilizationSquaredSum += utilizationPercent * utilizationPercent;
+    }
+
+    private void removeFromSums(final double utilizationPercent) {
+        utilizationSum -= utilizationPercent;
+        utilizationSquaredSum -= utilizationPercent * utilizationPercent;
+    }
+
+    private void computeSums() {
+        utilizationSum = 0;
+        utilizationSquaredSum = 0;
+        for (int i = start; i < start + size; i++) {
+            addToSums(utilization[i]);
+        }
+    }
+
+    /**
+     * Searches the position of an entry with a given time inside the arrays.
+     * Since entries are usually added in time order,
+     * it first checks if the time is after the last entry.
+     *
+     * @param time the time to search
+     * @return the position of the entry if it exists;
+     *         otherwise {@code (-(insertion point) - 1)}, as in {@link Arrays#binarySearch(double[], int, int, double)}
+     */
+    private int search(final double time) {
+        final int end = start + size;
+        if (size == 0 || times[end - 1] < time) {
+            return -(end + 1);
         }
+
+        return Arrays.binarySearch(times, start, end, time);
     }
 
     @Override
     public SortedMap<Double, Double> getHistory() {
-        return Collections.unmodifiableSortedMap(history);
+        return history;
+    }
+
+    @Override
+    public DoubleBuffer getUtilizationView() {
+        return DoubleBuffer.wrap(utilization, start, size).slice().asReadOnlyBuffer();
     }
 
     @Override
@@ -191,8 +338,8 @@ public class VmUtilizationHistory implements UtilizationHistory {
     @Override
     public double getHostCpuUtilization(final double time){
         //VM CPU usage relative to the VM capacity.
-        final double vmCpuUtilizationPercent = history.get(time);
-        return vm.getExpectedHostCpuUtilization(vmCpuUtilizationPercent);
+        final int index = search(time);
+        return index < 0 ? 0 : vm.getExpectedHostCpuUtilization(utilization[index]);
     }
 
     @Override
@@ -217,11 +364,171 @@ public class VmUtilizationHistory implements UtilizationHistory {
 
     @Override
     public void setMaxHistoryEntries(final int maxHistoryEntries) {
+        if (maxHistoryEntries <= 0) {
+            throw new IllegalArgumentException("The maximum number of history entries must be greater than zero.");
+        }
+
         this.maxHistoryEntries = maxHistoryEntries;
+        if (size > maxHistoryEntries) {
+            removeOldestEntries(size - maxHistoryEntries);
+            computeSums();
+        }
     }
 
     @Override
     public Vm getVm() {
         return vm;
     }
+
+    /**
+     * A read-only {@link SortedMap} view of the history arrays,
+     * where each key is a time and each value is the utilization percentage at that time.
+     * Getting a value for a time uses a binary search.
+     * Sub-map views are backed by the same arrays, just restricting the range of times
+     * (the range of array positions is found by binary search when the view is accessed).
+     */
+    private final class HistoryMap extends AbstractMap<Double, Double> implements SortedMap<Double, Double> {
+        /** The lowest time (inclusive) in this view or null if there is no lower bound. */
+        private final Double fromKey;
+
+        /** The highest time (exclusive) in this view or null if there is no upper bound. */
+        private final Double toKey;
+
+        private HistoryMap(final Double fromKey, final Double toKey) {
+            this.fromKey = fromKey;
+            this.toKey = toKey;
+        }
+
+        /**
+         * Gets the position of the first entry inside this view.
+         */
+        private int firstIndex() {
+            return fromKey == null ? start : insertionIndex(fromKey);
+        }
+
+        /**
+         * Gets the position after the last entry inside this view.
+         */
+        private int endIndex() {
+            return toKey == null ? start + size : insertionIndex(toKey);
+        }
+
+        /**
+         * Gets the position of the entry with a given time or,
+         * if there isn't such an entry, the position where it would be inserted.
+         */
+        private int insertionIndex(final double time) {
+            final int index = search(time);
+            return index >= 0 ? index : -index - 1;
+        }
+
+        private boolean inRange(final double time) {
+            return (fromKey == null || time >= fromKey) && (toKey == null || time < toKey);
+        }
+
+        @Override
+        public Set<Entry<Double, Double>> entrySet() {
+            return new AbstractSet<Entry<Double, Double>>() {
+                @Override
+                public Iterator<Entry<Double, Double>> iterator() {
+                    return new Iterator<Entry<Double, Double>>() {
+                        private int next = firstIndex();
+                        private final int end = endIndex();
+
+                        @Override
+                        public boolean hasNext() {
+                            return next < end;
+                        }
+
+                        @Override
+                        public Entry<Double, Double> next() {
+                            if (!hasNext()) {
+                                throw new NoSuchElementException();
+                            }
+
+                            final Entry<Double, Double> entry = new SimpleImmutableEntry<>(times[next], utilization[next]);
+                            next++;
+                            return entry;
+                        }
+                    };
+                }
+
+                @Override
+                public int size() {
+                    return HistoryMap.this.size();
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            return Math.max(0, endIndex() - firstIndex());
+        }
+
+        @Override
+        public Double get(final Object key) {
+            if (!containsKey(key)) {
+                return null;
+            }
+
+            return utilization[search((Double) key)];
+        }
+
+        @Override
+        public boolean containsKey(final Object key) {
+            return key instanceof Double && inRange((Double) key) && search((Double) key) >= 0;
+        }
+
+        @Override
+        public Comparator<? super Double> comparator() {
+            return null;
+        }
+
+        @Override
+        public SortedMap<Double, Double> subMap(final Double fromKey, final Double toKey) {
+            if (fromKey > toKey) {
+                throw new IllegalArgumentException("fromKey cannot be greater than toKey");
+            }
+
+            return new HistoryMap(lowerBound(fromKey), upperBound(toKey));
+        }
+
+        @Override
+        public SortedMap<Double, Double> headMap(final Double toKey) {
+            return new HistoryMap(fromKey, upperBound(toKey));
+        }
+
+        @Override
+        public SortedMap<Double, Double> tailMap(final Double fromKey) {
+            return new HistoryMap(lowerBound(fromKey), toKey);
+        }
+
+        private Double lowerBound(final Double fromKey) {
+            return this.fromKey == null ? requireNonNull(fromKey) : Math.max(this.fromKey, fromKey);
+        }
+
+        private Double upperBound(final Double toKey) {
+            return this.toKey == null ? requireNonNull(toKey) : Math.min(this.toKey, toKey);
+        }
+
+        @Override
+        public Double firstKey() {
+            final int first = firstIndex();
+            if (first >= endIndex()) {
+                throw new NoSuchElementException();
+            }
+
+            return times[first];
+        }
+
+        @Override
+        public Double lastKey() {
+            final int end = endIndex();
+            if (firstIndex() >= end) {
+                throw new NoSuchElementException();
+            }
+
+            return times[end - 1];
+        }
+    }
 }
@@ -24,6 +24,7 @@
 package org.cloudsimplus.autoscaling;
 
 import org.cloudbus.cloudsim.brokers.DatacenterBroker;
+import org.cloudbus.cloudsim.core.DeferredActions;
 import org.cloudbus.cloudsim.vms.Vm;
 import org.cloudsimplus.listeners.VmHostEventInfo;
 import org.slf4j.Logger;
@@ -109,7 +110,8 @@ public class HorizontalVmScalingSimple extends VmScalingAbstract implements Hori
         LOGGER.info(
             "{}: {}{}: Requesting creation of {} to receive new Cloudlets in order to balance load of {}. {} CPU usage is {}%",
             timeStr, getClass().getSimpleName(), getVm(), newVm, getVm(), getVm().getId(), vmCpuUsagePercent);
-        getVm().getBroker().submitVm(newVm);
+        //The broker is shared among VMs from different Hosts, which may be processed in parallel
+        DeferredActions.runOrDefer(() -> getVm().getBroker().submitVm(newVm));
 
         cloudletCreationRequests = getVm().getBroker().getCloudletCreatedList().size();
         return true;
@@ -0,0 +1,157 @@
+/*
+ * CloudSim Plus: A modern, highly-extensible and easier-to-use Framework for
+ * Modeling and Simulation of Cloud Computing Infrastructures and Services.
+ * http://cloudsimplus.org
+ *
+ *     Copyright (C) 2015-2018 Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Plus.
+ *
+ *     CloudSim Plus is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Plus. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudsimplus.builders;
+
+import org.cloudbus.cloudsim.core.CloudSim;
+import org.cloudbus.cloudsim.datacenters.network.NetworkDatacenter;
+import org.cloudbus.cloudsim.hosts.network.NetworkHost;
+import org.cloudbus.cloudsim.network.switches.AbstractSwitch;
+import org.cloudbus.cloudsim.network.switches.EcmpRoutingTable;
+import org.cloudbus.cloudsim.network.switches.Switch;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * A base class for builders that create the {@link Switch}es of a {@link NetworkDatacenter},
+ * connect its {@link NetworkHost}s to them and set an {@link EcmpRoutingTable}
+ * for the Datacenter, so that packets are spread across the multiple paths between Hosts.
+ *
+ * @author Manoel Campos da Silva Filho
+ * @since CloudSim Plus 5.5.0
+ */
+public abstract class DatacenterNetworkBuilder implements Builder {
+    /**
+     * @see #getLinkBandwidth()
+     */
+    private double linkBandwidth;
+
+    /**
+     * The Switches created for the Datacenter being built.
+     */
+    private final List<Switch> switches;
+
+    protected DatacenterNetworkBuilder() {
+        super();
+        this.switches = new ArrayList<>();
+    }
+
+    /**
+     * Creates the Switches of a Datacenter network, connects the Datacenter Hosts to them
+     * (in the order of the Datacenter Host list), adds the Switches to the Datacenter and
+     * sets the Datacenter routing table.
+     *
+     * @param datacenter the Datacenter to build the network, whose Hosts must be {@link NetworkHost}s
+     * @return the routing table set for the Datacenter
+     * @throws IllegalArgumentException if the network cannot connect all Hosts of the Datacenter
+     */
+    public EcmpRoutingTable build(final NetworkDatacenter datacenter) {
+        Objects.requireNonNull(datacenter);
+        final List<NetworkHost> hosts = datacenter.getHostList();
+        final int maxHosts = getMaxHostsNumber();
+        if(hosts.size() > maxHosts) {
+            throw new IllegalArgumentException(
+                String.format("%s can connect up to %d Hosts, but %s has %d.", this, maxHosts, datacenter, hosts.size()));
+        }
+
+        switches.clear();
+        createSwitches((CloudSim) datacenter.getSimulation(), datacenter, hosts);
+        switches.forEach(datacenter::addSwitch);
+
+        final EcmpRoutingTable routingTable = new EcmpRoutingTable(switches);
+        datacenter.setRoutingTable(routingTable);
+        return routingTable;
+    }
+
+    /**
+     * Creates the Switches of the Datacenter network and connects the Hosts and Switches.
+     * Each created Switch must be {@link #addSwitch(AbstractSwitch, int) added} to the builder.
+     *
+     * @param simulation The CloudSim instance that represents the simulation the Switches are related to
+     * @param datacenter the Datacenter to build the network
+     * @param hosts the Hosts to connect
+     */
+    protected abstract void createSwitches(CloudSim simulation, NetworkDatacenter datacenter, List<NetworkHost> hosts);
+
+    /**
+     * Gets the maximum number of Hosts the network can connect.
+     * @return
+     */
+    public abstract int getMaxHostsNumber();
+
+    /**
+     * Adds a Switch created for the Datacenter network,
+     * setting its number of ports and {@link #getLinkBandwidth() link bandwidth}.
+     *
+     * @param sw the Switch to add
+     * @param ports the number of ports of the Switch
+     * @param <T> the type of the Switch
+     * @return the given Switch
+     */
+    protected <T extends AbstractSwitch> T addSwitch(final T sw, final int ports) {
+        sw.setPorts(ports);
+        if(linkBandwidth > 0) {
+            sw.setUplinkBandwidth(linkBandwidth);
+            sw.setDownlinkBandwidth(linkBandwidth);
+        }
+
+        switches.add(sw);
+        return sw;
+    }
+
+    /**
+     * Connects two Switches in adjacent layers of the network.
+     *
+     * @param lower the Switch in the lower layer, which has the upper one as an uplink
+     * @param upper the Switch in the upper layer, which has the lower one as a downlink
+     */
+    protected static void connect(final Switch lower, final Switch upper) {
+        lower.getUplinkSwitches().add(upper);
+        upper.getDownlinkSwitches().add(lower);
+    }
+
+    /**
+     * Gets the bandwidth of every link in the network (in Megabits/s),
+     * including the ones between Hosts and Switches.
+     * @return the link bandwidth or 0 if the default bandwidth of each kind of Switch is used
+     */
+    public double getLinkBandwidth() {
+        return linkBandwidth;
+    }
+
+    /**
+     * Sets the bandwidth of every link in the network (in Megabits/s),
+     * including the ones between Hosts and Switches.
+     * If not set, the default bandwidth of each kind of Switch is used.
+     *
+     * @param linkBandwidth the link bandwidth to set
+     * @return
+     */
+    public DatacenterNetworkBuilder setLinkBandwidth(final double linkBandwidth) {
+        validateAmount(linkBandwidth);
+        this.linkBandwidth = linkBandwidth;
+        return this;
+    }
+}
@@ -0,0 +1,120 @@
+/*
+ * CloudSim Plus: A modern, highly-extensible and easier-to-use Framework for
+ * Modeling and Simulation of Cloud Computing Infrastructures and Services.
+ * http://cloudsimplus.org
+ *
+ *     Copyright (C) 2015-2018 Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Plus.
+ *
+ *     CloudSim Plus is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Plus. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudsimplus.builders;
+
+import org.cloudbus.cloudsim.core.CloudSim;
+import org.cloudbus.cloudsim.datacenters.network.NetworkDatacenter;
+import org.cloudbus.cloudsim.hosts.network.NetworkHost;
+import org.cloudbus.cloudsim.network.switches.AggregateSwitch;
+import org.cloudbus.cloudsim.network.switches.EdgeSwitch;
+import org.cloudbus.cloudsim.network.switches.RootSwitch;
+
+import java.util.List;
+
+/**
+ * Builds a <a href="https://doi.org/10.1145/1402958.1402967">k-ary fat-tree</a> network for a {@link NetworkDatacenter},
+ * made of Switches with k ports each.
+ * Every Edge and Aggregate Switch uses k/2 ports for downlinks and k/2 ports for uplinks,
+ * while every core Switch uses its k ports for downlinks (one for each pod).
+ * The network has k pods, each one with k/2 {@link EdgeSwitch}es connected to k/2 Hosts each
+ * and k/2 {@link AggregateSwitch}es, where every Edge Switch is connected to all Aggregate Switches in the pod.
+ * There are (k/2)² core ({@link RootSwitch}) Switches,
+ * where the i-th Aggregate Switch of every pod is connected to the i-th group of k/2 core Switches.
+ * This way, the network can connect up to k³/4 Hosts,
+ * with (k/2)² equal-cost paths between Hosts in different pods.
+ *
+ * <p>Just the pods needed to connect the Datacenter Hosts are created.</p>
+ *
+ * @author Manoel Campos da Silva Filho
+ * @since CloudSim Plus 5.5.0
+ */
+public class FatTreeNetworkBuilder extends DatacenterNetworkBuilder {
+    private final int ports;
+
+    /**
+     * Creates a builder for a k-ary fat-tree network.
+     *
+     * @param ports the number of ports of each Switch (the k parameter), which must be even
+     */
+    public FatTreeNetworkBuilder(final int ports) {
+        super();
+        if(ports < 2 || ports % 2 != 0) {
+            throw new IllegalArgumentException("The number of ports must be an even number greater than 0.");
+        }
+
+        this.ports = ports;
+    }
+
+    @Override
+    protected void createSwitches(final CloudSim simulation, final NetworkDatacenter datacenter, final List<NetworkHost> hosts) {
+        final int half = ports / 2;
+        final int hostsByPod = half * half;
+        final int pods = Math.max(1, (hosts.size() + hostsByPod - 1) / hostsByPod);
+
+        final RootSwitch[] coreSwitches = new RootSwitch[half * half];
+        for (int i = 0; i < coreSwitches.length; i++) {
+            coreSwitches[i] = addSwitch(new RootSwitch(simulation, datacenter), ports);
+        }
+
+        for (int pod = 0; pod < pods; pod++) {
+            final AggregateSwitch[] aggregateSwitches = new AggregateSwitch[half];
+            for (int i = 0; i < half; i++) {
+                aggregateSwitches[i] = addSwitch(new AggregateSwitch(simulation, datacenter), ports);
+                for (int j = 0; j < half; j++) {
+                    connect(aggregateSwitches[i], coreSwitches[i * half + j]);
+                }
+            }
+
+            for (int i = 0; i < half; i++) {
+                final EdgeSwitch edgeSwitch = addSwitch(new EdgeSwitch(simulation, datacenter), ports);
+                for (final AggregateSwitch aggregateSwitch : aggregateSwitches) {
+                    connect(edgeSwitch, aggregateSwitch);
+                }
+
+                final int firstHost = pod * hostsByPod + i * half;
+                for (int h = firstHost; h < Math.min(firstHost + half, hosts.size()); h++) {
+                    edgeSwitch.connectHost(hosts.get(h));
+                }
+            }
+        }
+    }
+
+    @Override
+    public int getMaxHostsNumber() {
+        return ports * ports * ports / 4;
+    }
+
+    /**
+     * Gets the number of ports of each Switch (the k parameter).
+     * @return
+     */
+    public int getPorts() {
+        return ports;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d-ary fat-tree network", ports);
+    }
+}
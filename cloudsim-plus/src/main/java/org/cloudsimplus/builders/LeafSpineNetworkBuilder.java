@@ -0,0 +1,109 @@
+/*
+ * CloudSim Plus: A modern, highly-extensible and easier-to-use Framework for
+ * Modeling and Simulation of Cloud Computing Infrastructures and Services.
+ * http://cloudsimplus.org
+ *
+ *     Copyright (C) 2015-2018 Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Plus.
+ *
+ *     CloudSim Plus is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Plus. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudsimplus.builders;
+
+import org.cloudbus.cloudsim.core.CloudSim;
+import org.cloudbus.cloudsim.datacenters.network.NetworkDatacenter;
+import org.cloudbus.cloudsim.hosts.network.NetworkHost;
+import org.cloudbus.cloudsim.network.switches.AggregateSwitch;
+import org.cloudbus.cloudsim.network.switches.EdgeSwitch;
+
+import java.util.List;
+
+/**
+ * Builds a two-layer leaf-spine network for a {@link NetworkDatacenter}.
+ * Hosts are connected to leaf ({@link EdgeSwitch}) Switches and every leaf Switch
+ * is connected to all spine ({@link AggregateSwitch}) Switches.
+ * This way, there is one equal-cost path through each spine Switch between Hosts in different leaves.
+ *
+ * <p>The number of leaf Switches is defined by the number of Datacenter Hosts
+ * and the number of Hosts by leaf Switch.</p>
+ *
+ * @author Manoel Campos da Silva Filho
+ * @since CloudSim Plus 5.5.0
+ */
+public class LeafSpineNetworkBuilder extends DatacenterNetworkBuilder {
+    private final int spines;
+    private final int hostsByLeaf;
+
+    /**
+     * Creates a builder for a leaf-spine network.
+     *
+     * @param spines the number of spine Switches
+     * @param hostsByLeaf the number of Hosts connected to each leaf Switch
+     */
+    public LeafSpineNetworkBuilder(final int spines, final int hostsByLeaf) {
+        super();
+        validateAmount(spines);
+        validateAmount(hostsByLeaf);
+        this.spines = spines;
+        this.hostsByLeaf = hostsByLeaf;
+    }
+
+    @Override
+    protected void createSwitches(final CloudSim simulation, final NetworkDatacenter datacenter, final List<NetworkHost> hosts) {
+        final int leaves = Math.max(1, (hosts.size() + hostsByLeaf - 1) / hostsByLeaf);
+        final AggregateSwitch[] spineSwitches = new AggregateSwitch[spines];
+        for (int i = 0; i < spines; i++) {
+            spineSwitches[i] = addSwitch(new AggregateSwitch(simulation, datacenter), leaves);
+        }
+
+        for (int i = 0; i < leaves; i++) {
+            final EdgeSwitch leafSwitch = addSwitch(new EdgeSwitch(simulation, datacenter), hostsByLeaf + spines);
+            for (final AggregateSwitch spineSwitch : spineSwitches) {
+                connect(leafSwitch, spineSwitch);
+            }
+
+            for (int h = i * hostsByLeaf; h < Math.min((i + 1) * hostsByLeaf, hosts.size()); h++) {
+                leafSwitch.connectHost(hosts.get(h));
+            }
+        }
+    }
+
+    @Override
+    public int getMaxHostsNumber() {
+        return Integer.MAX_VALUE;
+    }
+
+    /**
+     * Gets the number of spine Switches.
+     * @return
+     */
+    public int getSpines() {
+        return spines;
+    }
+
+    /**
+     * Gets the number of Hosts connected to each leaf Switch.
+     * @return
+     */
+    public int getHostsByLeaf() {
+        return hostsByLeaf;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Leaf-spine network with %d spines and %d Hosts by leaf", spines, hostsByLeaf);
+    }
+}
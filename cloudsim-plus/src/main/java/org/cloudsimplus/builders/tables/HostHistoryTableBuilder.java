@@ -24,8 +24,14 @@
 package org.cloudsimplus.builders.tables;
 
 import org.cloudbus.cloudsim.hosts.Host;
+import org.cloudbus.cloudsim.hosts.HostStateHistory;
 import org.cloudbus.cloudsim.hosts.HostStateHistoryEntry;
 
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntFunction;
+
 /**
  * Builds a table for printing {@link HostStateHistoryEntry} entries from the
  * {@link Host#getStateHistory()}.
@@ -36,12 +42,27 @@ import org.cloudbus.cloudsim.hosts.HostStateHistoryEntry;
  * giving a Host to print its history, and then
  * calling the {@link #build()} method.</p>
  *
+ * <p>The default columns read the data directly from the {@link HostStateHistory},
+ * using the getters which receive an entry index, so that no {@link HostStateHistoryEntry}
+ * object is created for them. Such objects are just created for the rows of
+ * tables having columns {@link #addColumn(TableColumn, java.util.function.Function) added}
+ * by the user, whose data functions receive an entry.</p>
+ *
  * @author Manoel Campos da Silva Filho
  * @since CloudSim Plus 2.3.2
  */
 public class HostHistoryTableBuilder extends TableBuilderAbstract<HostStateHistoryEntry>{
     private final Host host;
 
+    /**
+     * A Map containing a function that receives the index of an entry
+     * in the {@link HostStateHistory} and returns the data to be printed
+     * from that entry to the associated default column.
+     * It's created when the columns are created, which happens
+     * inside the super class constructor.
+     */
+    private Map<TableColumn, IntFunction<Object>> columnsIndexDataFunctions;
+
     /**
      * Instantiates a builder to print the history of a Host using the a
      * default {@link TextTable}.
@@ -68,24 +89,57 @@ public class HostHistoryTableBuilder extends TableBuilderAbstract<HostStateHisto
 
     @Override
     protected void createTableColumns() {
+        columnsIndexDataFunctions = new HashMap<>();
         TableColumn col = getTable().addColumn("Time ").setFormat("%5.0f");
-        addColumnDataFunction(col, HostStateHistoryEntry::getTime);
+        addColumnIndexDataFunction(col, index -> host.getStateHistory().getTime(index));
 
         col = getTable().addColumn("Requested").setFormat("%9.0f");
-        addColumnDataFunction(col, HostStateHistoryEntry::getRequestedMips);
+        addColumnIndexDataFunction(col, index -> host.getStateHistory().getRequestedMips(index));
 
         col = getTable().addColumn("Allocated").setFormat("%9.0f");
-        addColumnDataFunction(col, HostStateHistoryEntry::getAllocatedMips);
+        addColumnIndexDataFunction(col, index -> host.getStateHistory().getAllocatedMips(index));
 
         col = getTable().addColumn("Used").setFormat("%3.0f%%");
-        addColumnDataFunction(col, history -> history.getPercentUsage()*100);
+        addColumnIndexDataFunction(col, index -> host.getStateHistory().getPercentUsage(index)*100);
 
-        addColumnDataFunction(getTable().addColumn("Host Active"), HostStateHistoryEntry::isActive);
+        addColumnIndexDataFunction(getTable().addColumn("Host Active"), index -> host.getStateHistory().isActive(index));
 
         col = getTable().addColumn("Host Total MIPS").setFormat("%9.0f");
-        addColumnDataFunction(col, history -> host.getTotalMipsCapacity());
+        addColumnIndexDataFunction(col, index -> host.getTotalMipsCapacity());
 
         col = getTable().addColumn("Host Total Usage").setFormat("%5.1f%%");
-        addColumnDataFunction(col, history -> history.getAllocatedMips()/host.getTotalMipsCapacity()*100);
+        addColumnIndexDataFunction(col, index -> host.getStateHistory().getAllocatedMips(index)/host.getTotalMipsCapacity()*100);
+    }
+
+    private void addColumnIndexDataFunction(final TableColumn col, final IntFunction<Object> function) {
+        columnsIndexDataFunctions.put(col, function);
+    }
+
+    /**
+     * {@inheritDoc}
+     * The data is read from the {@link HostStateHistory} by the index of each entry.
+     * A {@link HostStateHistoryEntry} is just created for a row if some column
+     * doesn't read its data by such an index.
+     */
+    @Override
+    protected void addRows() {
+        final HostStateHistory history = host.getStateHistory();
+        for (int i = 0; i < history.size(); i++) {
+            final List<Object> row = getTable().newRow();
+            HostStateHistoryEntry entry = null;
+            for (final TableColumn col : getTable().getColumns()) {
+                final IntFunction<Object> indexFunction = columnsIndexDataFunctions.get(col);
+                if (indexFunction != null) {
+                    row.add(indexFunction.apply(i));
+                    continue;
+                }
+
+                if (entry == null) {
+                    entry = history.get(i);
+                }
+
+                row.add(getColumnDataFunction(col).apply(entry));
+            }
+        }
     }
 }
@@ -184,10 +184,17 @@ public abstract class TableBuilderAbstract<T> {
             getTable().setTitle("SIMULATION RESULTS");
         }
 
-        list.forEach(cloudlet -> addDataToRow(cloudlet, getTable().newRow()));
+        addRows();
         getTable().print();
     }
 
+    /**
+     * Adds a row to the table being generated for each object in the list of objects to print.
+     */
+    protected void addRows() {
+        list.forEach(object -> addDataToRow(object, getTable().newRow()));
+    }
+
     /**
      * Add data to a row of the table being generated.
      * @param object The object T to get to data to show in the row of the table
@@ -199,6 +206,16 @@ public abstract class TableBuilderAbstract<T> {
             .forEach(col -> row.add(columnsDataFunctions.get(col).apply(object)));
     }
 
+    /**
+     * Gets the function that receives an object T and returns the data to be printed
+     * for a given column.
+     * @param col the column to get its data function
+     * @return the column data function or null if the column has no data function
+     */
+    protected Function<T, Object> getColumnDataFunction(final TableColumn col) {
+        return columnsDataFunctions.get(col);
+    }
+
     protected TableBuilderAbstract<T> addColumnDataFunction(final TableColumn col, final Function<T, Object> function){
         columnsDataFunctions.put(requireNonNull(col), requireNonNull(function));
         return this;
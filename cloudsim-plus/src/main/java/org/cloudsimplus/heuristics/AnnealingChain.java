@@ -0,0 +1,134 @@
+/*
+ * CloudSim Plus: A modern, highly-extensible and easier-to-use Framework for
+ * Modeling and Simulation of Cloud Computing Infrastructures and Services.
+ * http://cloudsimplus.org
+ *
+ *     Copyright (C) 2015-2018 Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Plus.
+ *
+ *     CloudSim Plus is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Plus. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudsimplus.heuristics;
+
+import org.cloudbus.cloudsim.distributions.ContinuousDistribution;
+
+/**
+ * An independent Simulated Annealing chain used by a {@link CloudletToVmMappingSimulatedAnnealing}
+ * when {@link CloudletToVmMappingSimulatedAnnealing#setChainsNumber(int) multiple chains} are enabled.
+ * Each chain has its own solution, temperature and random number generator,
+ * so that chains can run in parallel without sharing any state.
+ *
+ * <p>Neighbor solutions are generated by swapping the VMs of two random mapped Cloudlets
+ * directly into the chain solution, which is a {@link CloudletToVmMappingArraySolution}.
+ * The cost change is computed in constant time before the swap,
+ * so that a rejected neighbor requires no change at all and the search doesn't allocate any object.</p>
+ *
+ * @author Manoel Campos da Silva Filho
+ * @since CloudSim Plus 5.5.0
+ */
+final class AnnealingChain {
+    private final ContinuousDistribution random;
+
+    /** @see #getSolution() */
+    private CloudletToVmMappingArraySolution solution;
+
+    /** @see #getTemperature() */
+    private double temperature;
+
+    /**
+     * Creates a chain.
+     * @param solution the solution the chain starts from (which will be changed by the chain)
+     * @param random the random number generator exclusive for this chain
+     */
+    AnnealingChain(final CloudletToVmMappingArraySolution solution, final ContinuousDistribution random) {
+        this.solution = solution;
+        this.random = random;
+    }
+
+    /**
+     * Runs a number of annealing iterations, cooling the chain after each one.
+     *
+     * @param iterations the number of iterations to run
+     * @param neighborhoodSearches the number of neighbors to try at each iteration
+     * @param coolingRate the percentage rate in which the chain is cooled, in scale from [0 to 1[
+     */
+    void run(final int iterations, final int neighborhoodSearches, final double coolingRate) {
+        //Cloudlets not mapped to a VM (such as when there are no VMs) can't have their VMs swapped
+        final int[] mappedCloudlets = solution.getMappedCloudletIndexes();
+        final int size = mappedCloudlets.length;
+        if(size < 2) {
+            return;
+        }
+
+        for (int iteration = 0; iteration < iterations; iteration++) {
+            for (int i = 0; i < neighborhoodSearches; i++) {
+                final int firstIdx = mappedCloudlets[getRandomValue(size)];
+                final int secondIdx = mappedCloudlets[getRandomValue(size)];
+                if(firstIdx == secondIdx) {
+                    continue;
+                }
+
+                final double delta = solution.getSwapCostDelta(firstIdx, secondIdx);
+                if (delta <= 0 || Math.exp(-delta / temperature) > random.sample()) {
+                    solution.swapVms(firstIdx, secondIdx);
+                }
+            }
+
+            temperature *= 1 - coolingRate;
+        }
+    }
+
+    /**
+     * Gets a random number between 0 (inclusive) and maxValue (exclusive).
+     * @see HeuristicAbstract#getRandomValue(int)
+     */
+    private int getRandomValue(final int maxValue) {
+        final double uniform = random.sample();
+        return (int)(uniform >= 1 ? uniform % maxValue : uniform * maxValue);
+    }
+
+    /**
+     * Gets the current solution of the chain.
+     * @return
+     */
+    CloudletToVmMappingArraySolution getSolution() {
+        return solution;
+    }
+
+    /**
+     * Sets the current solution of the chain.
+     * @param solution the solution to set (which will be changed by the chain)
+     */
+    void setSolution(final CloudletToVmMappingArraySolution solution) {
+        this.solution = solution;
+    }
+
+    /**
+     * Gets the current temperature of the chain.
+     * @return
+     */
+    double getTemperature() {
+        return temperature;
+    }
+
+    /**
+     * Sets the current temperature of the chain.
+     * @param temperature the temperature to set
+     */
+    void setTemperature(final double temperature) {
+        this.temperature = temperature;
+    }
+}
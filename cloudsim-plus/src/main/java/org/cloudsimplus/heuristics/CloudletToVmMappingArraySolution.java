@@ -0,0 +1,390 @@
+/*
+ * CloudSim Plus: A modern, highly-extensible and easier-to-use Framework for
+ * Modeling and Simulation of Cloud Computing Infrastructures and Services.
+ * http://cloudsimplus.org
+ *
+ *     Copyright (C) 2015-2018 Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Plus.
+ *
+ *     CloudSim Plus is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Plus. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudsimplus.heuristics;
+
+import org.cloudbus.cloudsim.cloudlets.Cloudlet;
+import org.cloudbus.cloudsim.vms.Vm;
+
+import java.util.*;
+
+/**
+ * A compact solution for mapping a set of Cloudlets to a set of Vm's,
+ * where Cloudlets and VMs are identified by their index in the lists given to the constructor.
+ * It's an alternative to the {@link CloudletToVmMappingSolution} that stores
+ * the mapping as an array of VM indexes (one for each Cloudlet)
+ * and keeps the load of each VM into primitive arrays.
+ *
+ * <p>Neighbor solutions are generated by {@link #swapVms(int, int) swapping}
+ * the VMs of two Cloudlets in place, so that a rejected neighbor
+ * (whose {@link #getSwapCostDelta(int, int) cost change} is computed before the swap)
+ * requires no change at all. Swapping, as well as
+ * {@link #copyFrom(CloudletToVmMappingArraySolution) copying} another solution,
+ * don't allocate any object and update the {@link #getCost() cost} in constant time.
+ * Only the lists of Cloudlets and VMs are shared among copies of a solution.</p>
+ *
+ * @author Manoel Campos da Silva Filho
+ * @see CloudletToVmMappingSolution
+ * @since CloudSim Plus 5.5.0
+ */
+public class CloudletToVmMappingArraySolution implements HeuristicSolution<Map<Cloudlet, Vm>> {
+    /**
+     * The value in the {@link #cloudletVms} indicating a Cloudlet is not mapped to any VM.
+     */
+    private static final int NO_VM = -1;
+
+    private final Heuristic heuristic;
+
+    private final List<Cloudlet> cloudletList;
+
+    private final List<Vm> vmList;
+
+    /**
+     * The number of PEs required by each Cloudlet, where each index is a Cloudlet index.
+     */
+    private final long[] cloudletPes;
+
+    /**
+     * The number of PEs of each VM, where each index is a VM index.
+     */
+    private final long[] vmPes;
+
+    /**
+     * The index of the VM each Cloudlet is mapped to, where each index is a Cloudlet index.
+     */
+    private final int[] cloudletVms;
+
+    /**
+     * The number of Cloudlets mapped to each VM, where each index is a VM index.
+     */
+    private final int[] vmCloudlets;
+
+    /**
+     * The total number of PEs required by the Cloudlets mapped to each VM,
+     * where each index is a VM index.
+     */
+    private final long[] vmRequestedPes;
+
+    /** @see #getCost() */
+    private double cost;
+
+    /**
+     * Creates a solution where no Cloudlet is mapped to a VM yet.
+     *
+     * @param heuristic the heuristic that generated this solution
+     * @param cloudletList the list of Cloudlets to map, which must not be changed while the solution is in use
+     * @param vmList the list of VMs to map the Cloudlets to, which must not be changed while the solution is in use
+     * @see #bindCloudletToVm(int, int)
+     */
+    public CloudletToVmMappingArraySolution(
+        final Heuristic heuristic, final List<Cloudlet> cloudletList, final List<Vm> vmList)
+    {
+        this.heuristic = heuristic;
+        this.cloudletList = cloudletList;
+        this.vmList = vmList;
+        this.cloudletPes = cloudletList.stream().mapToLong(Cloudlet::getNumberOfPes).toArray();
+        this.vmPes = vmList.stream().mapToLong(Vm::getNumberOfPes).toArray();
+        this.cloudletVms = new int[cloudletList.size()];
+        this.vmCloudlets = new int[vmList.size()];
+        this.vmRequestedPes = new long[vmList.size()];
+        Arrays.fill(cloudletVms, NO_VM);
+    }
+
+    /**
+     * Creates a solution with the same mapping of a given {@link CloudletToVmMappingSolution}.
+     * Cloudlets in the given list which aren't mapped by the given solution are kept unmapped.
+     *
+     * @param solution the solution to get the mapping from
+     * @param cloudletList the list of Cloudlets to map, which must not be changed while the solution is in use
+     * @param vmList the list of VMs the Cloudlets in the given solution may be mapped to,
+     *               which must not be changed while the solution is in use
+     */
+    public CloudletToVmMappingArraySolution(
+        final CloudletToVmMappingSolution solution, final List<Cloudlet> cloudletList, final List<Vm> vmList)
+    {
+        this(solution.getHeuristic(), cloudletList, vmList);
+        final Map<Vm, Integer> vmIndexes = new HashMap<>(vmList.size());
+        for (int i = 0; i < vmList.size(); i++) {
+            vmIndexes.put(vmList.get(i), i);
+        }
+
+        final Map<Cloudlet, Vm> result = solution.getResult();
+        for (int i = 0; i < cloudletList.size(); i++) {
+            final Vm vm = result.get(cloudletList.get(i));
+            if(vm == null) {
+                continue;
+            }
+
+            final Integer vmIdx = vmIndexes.get(vm);
+            if(vmIdx == null) {
+                throw new IllegalArgumentException(
+                    "The VM of " + cloudletList.get(i) + " isn't in the given VM list.");
+            }
+
+            bindCloudletToVm(i, vmIdx);
+        }
+    }
+
+    /**
+     * A clone constructor that receives a solution
+     * and creates a new one with the same content.
+     *
+     * @param solution the solution to be cloned
+     */
+    public CloudletToVmMappingArraySolution(final CloudletToVmMappingArraySolution solution) {
+        this.heuristic = solution.heuristic;
+        this.cloudletList = solution.cloudletList;
+        this.vmList = solution.vmList;
+        this.cloudletPes = solution.cloudletPes;
+        this.vmPes = solution.vmPes;
+        this.cloudletVms = solution.cloudletVms.clone();
+        this.vmCloudlets = solution.vmCloudlets.clone();
+        this.vmRequestedPes = solution.vmRequestedPes.clone();
+        this.cost = solution.cost;
+    }
+
+    /**
+     * Copies the mapping of another solution into this one, without allocating any object.
+     *
+     * @param solution the solution to copy the mapping from,
+     *                 which must be created for the same lists of Cloudlets and VMs
+     */
+    public void copyFrom(final CloudletToVmMappingArraySolution solution) {
+        if(solution.cloudletList != cloudletList || solution.vmList != vmList) {
+            throw new IllegalArgumentException("The solutions must map the same lists of Cloudlets and VMs.");
+        }
+
+        System.arraycopy(solution.cloudletVms, 0, cloudletVms, 0, cloudletVms.length);
+        System.arraycopy(solution.vmCloudlets, 0, vmCloudlets, 0, vmCloudlets.length);
+        System.arraycopy(solution.vmRequestedPes, 0, vmRequestedPes, 0, vmRequestedPes.length);
+        this.cost = solution.cost;
+    }
+
+    /**
+     * Binds a Cloudlet to be executed by a given Vm.
+     *
+     * @param cloudletIdx the index of the Cloudlet to be added to a Vm
+     * @param vmIdx the index of the Vm to assign the Cloudlet to
+     */
+    public void bindCloudletToVm(final int cloudletIdx, final int vmIdx) {
+        final int previousVmIdx = cloudletVms[cloudletIdx];
+        if(previousVmIdx != NO_VM) {
+            cost -= getVmCost(previousVmIdx);
+            vmCloudlets[previousVmIdx]--;
+            vmRequestedPes[previousVmIdx] -= cloudletPes[cloudletIdx];
+            cost += getVmCost(previousVmIdx);
+        }
+
+        cost -= getVmCost(vmIdx);
+        cloudletVms[cloudletIdx] = vmIdx;
+        vmCloudlets[vmIdx]++;
+        vmRequestedPes[vmIdx] += cloudletPes[cloudletIdx];
+        cost += getVmCost(vmIdx);
+    }
+
+    /**
+     * Computes the cost of all Cloudlets mapped to a given VM,
+     * which is zero if there is no Cloudlet mapped to it.
+     *
+     * @param vmIdx the index of the VM to compute the cost
+     * @return the VM cost to host its Cloudlets
+     * @see CloudletToVmMappingSolution#getVmCost(Vm, List)
+     */
+    private long getVmCost(final int vmIdx) {
+        return vmCloudlets[vmIdx] == 0 ? 0 : Math.abs(vmPes[vmIdx] - vmRequestedPes[vmIdx]);
+    }
+
+    /**
+     * Computes how much the {@link #getCost() cost} of this solution would change
+     * if the VMs of two Cloudlets were swapped.
+     * Since each VM loses one Cloudlet and receives another one,
+     * just the cost of such two VMs changes.
+     *
+     * @param firstIdx the index of the first Cloudlet
+     * @param secondIdx the index of the second Cloudlet
+     * @return the cost change (which is negative if the cost would be reduced),
+     *         that is zero if any of the Cloudlets {@link #isMapped(int) isn't mapped} to a VM
+     * @see #swapVms(int, int)
+     */
+    public double getSwapCostDelta(final int firstIdx, final int secondIdx) {
+        final int vm0 = cloudletVms[firstIdx];
+        final int vm1 = cloudletVms[secondIdx];
+        if(vm0 == vm1 || vm0 == NO_VM || vm1 == NO_VM) {
+            return 0;
+        }
+
+        final long pesDiff = cloudletPes[secondIdx] - cloudletPes[firstIdx];
+        return getVmCostDelta(vm0, pesDiff) + getVmCostDelta(vm1, -pesDiff);
+    }
+
+    /**
+     * Gets the change in the cost of a VM if the number of PEs required by its Cloudlets changes
+     * (while the number of Cloudlets is kept).
+     */
+    private long getVmCostDelta(final int vmIdx, final long pesDiff) {
+        final long freePes = vmPes[vmIdx] - vmRequestedPes[vmIdx];
+        return Math.abs(freePes - pesDiff) - Math.abs(freePes);
+    }
+
+    /**
+     * Swaps the VMs of two Cloudlets in place to generate a neighbor solution,
+     * updating the {@link #getCost() cost} in constant time.
+     * If any of the Cloudlets {@link #isMapped(int) isn't mapped} to a VM,
+     * the solution is not changed.
+     *
+     * @param firstIdx the index of the first Cloudlet
+     * @param secondIdx the index of the second Cloudlet
+     * @return the cost change (which is negative if the cost was reduced)
+     */
+    public double swapVms(final int firstIdx, final int secondIdx) {
+        final int vm0 = cloudletVms[firstIdx];
+        final int vm1 = cloudletVms[secondIdx];
+        if(vm0 == vm1 || vm0 == NO_VM || vm1 == NO_VM) {
+            return 0;
+        }
+
+        final double delta = getSwapCostDelta(firstIdx, secondIdx);
+        cloudletVms[firstIdx] = vm1;
+        cloudletVms[secondIdx] = vm0;
+        final long pesDiff = cloudletPes[secondIdx] - cloudletPes[firstIdx];
+        vmRequestedPes[vm0] += pesDiff;
+        vmRequestedPes[vm1] -= pesDiff;
+        cost += delta;
+        return delta;
+    }
+
+    /**
+     * Gets the number of Cloudlets in this solution.
+     * @return
+     */
+    public int getCloudletsNumber() {
+        return cloudletVms.length;
+    }
+
+    /**
+     * Gets the index of the VM a Cloudlet is mapped to.
+     *
+     * @param cloudletIdx the index of the Cloudlet
+     * @return the VM index or -1 if the Cloudlet isn't mapped to a VM
+     */
+    public int getVmIndex(final int cloudletIdx) {
+        return cloudletVms[cloudletIdx];
+    }
+
+    /**
+     * Checks if a Cloudlet is mapped to a VM.
+     *
+     * @param cloudletIdx the index of the Cloudlet
+     * @return true if the Cloudlet is mapped to a VM, false otherwise
+     */
+    public boolean isMapped(final int cloudletIdx) {
+        return cloudletVms[cloudletIdx] != NO_VM;
+    }
+
+    /**
+     * Gets the indexes of the Cloudlets which are mapped to a VM,
+     * which are the only ones that can have their VMs {@link #swapVms(int, int) swapped}.
+     * Since swaps don't change which Cloudlets are mapped,
+     * the returned indexes remain valid while the solution is just changed by swaps.
+     *
+     * @return a new array with the indexes of mapped Cloudlets
+     */
+    public int[] getMappedCloudletIndexes() {
+        int count = 0;
+        for (final int vmIdx : cloudletVms) {
+            if(vmIdx != NO_VM) {
+                count++;
+            }
+        }
+
+        final int[] indexes = new int[count];
+        count = 0;
+        for (int i = 0; i < cloudletVms.length; i++) {
+            if(cloudletVms[i] != NO_VM) {
+                indexes[count++] = i;
+            }
+        }
+
+        return indexes;
+    }
+
+    @Override
+    public Heuristic<HeuristicSolution<Map<Cloudlet, Vm>>> getHeuristic() {
+        return heuristic;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * It's the cost of the entire mapping between Vm's and Cloudlets,
+     * which is kept up-to-date as the mapping changes.
+     *
+     * @return {@inheritDoc}
+     */
+    @Override
+    public double getCost() {
+        return cost;
+    }
+
+    /**
+     * Compares this solution with another given one, based on the solution
+     * cost. The current object is considered to be:
+     * equal to the given object if they have the same cost;
+     * greater than the given object if it has a lower cost;
+     * lower than the given object if it has a higher cost;
+     *
+     * @param solution the solution to compare this instance to
+     * @return {@inheritDoc}
+     * @see CloudletToVmMappingSolution#compareTo(HeuristicSolution)
+     */
+    @Override
+    public int compareTo(final HeuristicSolution solution) {
+        final double diff = this.getCost() - solution.getCost();
+
+        if(Math.abs(diff) <= CloudletToVmMappingSolution.MIN_DIFF) {
+            return 0;
+        }
+
+        return (diff > 0 ? -1 : 1);
+    }
+
+    /**
+     * {@inheritDoc}
+     * Since the mapping is stored in arrays, every call creates a new Map,
+     * where Cloudlets are in the order of the list given to the constructor
+     * and the ones not mapped to a VM are not included.
+     *
+     * @return {@inheritDoc}
+     */
+    @Override
+    public Map<Cloudlet, Vm> getResult() {
+        final Map<Cloudlet, Vm> result = new LinkedHashMap<>(cloudletVms.length);
+        for (int i = 0; i < cloudletVms.length; i++) {
+            if(cloudletVms[i] != NO_VM) {
+                result.put(cloudletList.get(i), vmList.get(cloudletVms[i]));
+            }
+        }
+
+        return result;
+    }
+}
@@ -25,8 +25,10 @@ package org.cloudsimplus.heuristics;
 
 import org.cloudbus.cloudsim.cloudlets.Cloudlet;
 import org.cloudbus.cloudsim.distributions.ContinuousDistribution;
+import org.cloudbus.cloudsim.distributions.UniformDistr;
 import org.cloudbus.cloudsim.vms.Vm;
 
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -34,6 +36,18 @@ import java.util.List;
  * to find a sub-optimal mapping among a set of Cloudlets and VMs in order to reduce
  * the number of idle or overloaded Vm Pe's.
  *
+ * <p>If {@link #setChainsNumber(int) multiple chains} are set, the heuristic runs in
+ * <a href="https://en.wikipedia.org/wiki/Parallel_tempering">Parallel Tempering</a> mode:
+ * independent annealing chains, each one starting from a different solution
+ * and at a different temperature, run in parallel.
+ * After every {@link #getExchangeInterval() exchange interval},
+ * the best solution found so far is updated and
+ * chains at adjacent temperatures exchange their solutions according to the Metropolis criterion.
+ * Inside each chain, the solution is represented by a {@link CloudletToVmMappingArraySolution}:
+ * neighbors are evaluated in constant time by the cost change of
+ * swapping the VMs of two Cloudlets, and accepted ones are changed in place,
+ * so that large sets of Cloudlets can be mapped in a reasonable time.</p>
+ *
  * @author Manoel Campos da Silva Filho
  * @since CloudSim Plus 1.0
  */
@@ -41,8 +55,25 @@ public class CloudletToVmMappingSimulatedAnnealing
       extends SimulatedAnnealing<CloudletToVmMappingSolution>
       implements CloudletToVmMappingHeuristic
 {
+    /**
+     * The default value for the {@link #getExchangeInterval()}.
+     */
+    public static final int DEFAULT_EXCHANGE_INTERVAL = 50;
+
+    /**
+     * The ratio between the temperatures of two adjacent chains,
+     * where the first chain has the {@link #getCurrentTemperature() current temperature}.
+     */
+    private static final double TEMPERATURE_LADDER_RATIO = 0.5;
+
     private CloudletToVmMappingSolution initialSolution;
 
+    /** @see #getChainsNumber() */
+    private int chainsNumber;
+
+    /** @see #getExchangeInterval() */
+    private int exchangeInterval;
+
     /** @see #getVmList() */
     private List<Vm> vmList;
 
@@ -61,6 +92,170 @@ public class CloudletToVmMappingSimulatedAnnealing
         super(random, CloudletToVmMappingSolution.class);
 	    setCurrentTemperature(initialTemperature);
         initialSolution = new CloudletToVmMappingSolution(this);
+        chainsNumber = 1;
+        exchangeInterval = DEFAULT_EXCHANGE_INTERVAL;
+    }
+
+    /**
+     * {@inheritDoc}
+     * If {@link #setChainsNumber(int) multiple chains} are set,
+     * runs the heuristic in Parallel Tempering mode.
+     *
+     * @return {@inheritDoc}
+     */
+    @Override
+    public CloudletToVmMappingSolution solve() {
+        if(chainsNumber == 1) {
+            return super.solve();
+        }
+
+        final long startTime = System.currentTimeMillis();
+        final List<AnnealingChain> chains = createChains();
+        final CloudletToVmMappingArraySolution bestSolution = new CloudletToVmMappingArraySolution(chains.get(0).getSolution());
+        while (!isToStopSearch()) {
+            final int iterations = coolUntilNextExchange();
+            chains.parallelStream().forEach(chain -> chain.run(iterations, getNeighborhoodSearchesByIteration(), getCoolingRate()));
+            updateBestSolution(chains, bestSolution);
+            exchangeSolutions(chains);
+            LOGGER.debug(
+                "{}: Best solution cost so far is {}, current system temperature is {}",
+                System.currentTimeMillis(), bestSolution.getCost(), getCurrentTemperature());
+        }
+
+        final CloudletToVmMappingSolution solution = new CloudletToVmMappingSolution(this);
+        bestSolution.getResult().forEach(solution::bindCloudletToVm);
+        setBestSolutionSoFar(solution);
+        setNeighborSolution(solution);
+        setSolveTime((System.currentTimeMillis() - startTime)/1000.0);
+        return solution;
+    }
+
+    /**
+     * Creates the chains for the Parallel Tempering mode.
+     * The first chain starts from the {@link #getInitialSolution() initial solution}
+     * and the other ones from random solutions.
+     * @return the list of chains, from the hottest to the coldest one
+     */
+    private List<AnnealingChain> createChains() {
+        final List<AnnealingChain> chains = new ArrayList<>(chainsNumber);
+        double temperature = getCurrentTemperature();
+        for (int i = 0; i < chainsNumber; i++) {
+            final CloudletToVmMappingSolution solution =
+                i == 0 || !isReadToGenerateInitialSolution() ? getInitialSolution() : generateRandomSolution();
+            final CloudletToVmMappingArraySolution arraySolution =
+                new CloudletToVmMappingArraySolution(solution, cloudletList, vmList);
+
+            final AnnealingChain chain = new AnnealingChain(arraySolution, new UniformDistr(getRandomValue(Integer.MAX_VALUE)));
+            chain.setTemperature(temperature);
+            chains.add(chain);
+            temperature *= TEMPERATURE_LADDER_RATIO;
+        }
+
+        return chains;
+    }
+
+    /**
+     * Cools the system for the number of iterations the chains will run until the next
+     * solution exchange, which may be less than the {@link #getExchangeInterval()}
+     * if the system gets cold before that.
+     * @return the number of iterations the chains have to run
+     */
+    private int coolUntilNextExchange() {
+        int iterations = 0;
+        while (iterations < exchangeInterval && !isToStopSearch()) {
+            setCurrentTemperature(getCurrentTemperature() * (1 - getCoolingRate()));
+            iterations++;
+        }
+
+        return iterations;
+    }
+
+    /**
+     * Copies the solution of the chain with the lowest cost into the best solution found so far,
+     * if that chain solution is better.
+     * @param chains the list of chains
+     * @param bestSolution the best solution found so far, to be updated
+     */
+    private void updateBestSolution(final List<AnnealingChain> chains, final CloudletToVmMappingArraySolution bestSolution) {
+        CloudletToVmMappingArraySolution best = bestSolution;
+        for (final AnnealingChain chain : chains) {
+            if (chain.getSolution().getCost() < best.getCost()) {
+                best = chain.getSolution();
+            }
+        }
+
+        if(best != bestSolution) {
+            bestSolution.copyFrom(best);
+        }
+    }
+
+    /**
+     * Exchanges the solutions of chains at adjacent temperatures.
+     * A hotter chain with a better solution always gives it to the colder chain,
+     * while a worse solution is given with a probability that decreases
+     * as the cost and temperature differences increase.
+     * @param chains the list of chains, from the hottest to the coldest one
+     */
+    private void exchangeSolutions(final List<AnnealingChain> chains) {
+        for (int i = 0; i < chains.size() - 1; i++) {
+            final AnnealingChain hotter = chains.get(i);
+            final AnnealingChain colder = chains.get(i + 1);
+            final double costDiff = hotter.getSolution().getCost() - colder.getSolution().getCost();
+            final double inverseTemperatureDiff = 1 / hotter.getTemperature() - 1 / colder.getTemperature();
+            if (Math.exp(costDiff * inverseTemperatureDiff) > getRandom().sample()) {
+                final CloudletToVmMappingArraySolution solution = hotter.getSolution();
+                hotter.setSolution(colder.getSolution());
+                colder.setSolution(solution);
+            }
+        }
+    }
+
+    /**
+     * Gets the number of independent annealing chains to run in parallel.
+     * If it's 1 (the default value), the heuristic runs a single Simulated Annealing chain.
+     * @return
+     */
+    public int getChainsNumber() {
+        return chainsNumber;
+    }
+
+    /**
+     * Sets the number of independent annealing chains to run in parallel.
+     * If it's greater than 1, the heuristic runs in Parallel Tempering mode.
+     * @param chainsNumber the number of chains to set
+     * @return
+     */
+    public CloudletToVmMappingSimulatedAnnealing setChainsNumber(final int chainsNumber) {
+        if(chainsNumber < 1){
+            throw new IllegalArgumentException("The number of chains must be at least 1.");
+        }
+
+        this.chainsNumber = chainsNumber;
+        return this;
+    }
+
+    /**
+     * Gets the number of iterations after which the chains exchange their solutions,
+     * when {@link #setChainsNumber(int) multiple chains} are set.
+     * @return
+     */
+    public int getExchangeInterval() {
+        return exchangeInterval;
+    }
+
+    /**
+     * Sets the number of iterations after which the chains exchange their solutions,
+     * when {@link #setChainsNumber(int) multiple chains} are set.
+     * @param exchangeInterval the number of iterations to set
+     * @return
+     */
+    public CloudletToVmMappingSimulatedAnnealing setExchangeInterval(final int exchangeInterval) {
+        if(exchangeInterval < 1){
+            throw new IllegalArgumentException("The exchange interval must be at least 1 iteration.");
+        }
+
+        this.exchangeInterval = exchangeInterval;
+        return this;
     }
 
     private CloudletToVmMappingSolution generateRandomSolution() {
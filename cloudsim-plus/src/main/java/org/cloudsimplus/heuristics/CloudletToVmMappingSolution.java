@@ -51,6 +51,26 @@ public class CloudletToVmMappingSolution implements HeuristicSolution<Map<Cloudl
      */
     private final Map<Cloudlet, Vm> cloudletVmMap;
 
+    /**
+     * The Cloudlets in the {@link #cloudletVmMap}, in the order they were bound to a VM,
+     * enabling to select a random Cloudlet in constant time.
+     */
+    private final List<Cloudlet> cloudletList;
+
+    /**
+     * A map where each key is a VM and each value is the load
+     * of the Cloudlets mapped to that VM,
+     * enabling to compute the cost change of swapping the VMs of two Cloudlets in constant time.
+     * @see #recomputeLoads
+     */
+    private final Map<Vm, VmLoad> vmLoadMap;
+
+    /**
+     * Indicates if the {@link #vmLoadMap} has to be recomputed
+     * because the {@link #cloudletVmMap} was changed by {@link #swapVmsOfTwoMapEntries(List)}.
+     */
+    private boolean recomputeLoads;
+
     /**
      * Indicates if the {@link #getCost() ()} has to be recomputed
      * due to changes in {@link #cloudletVmMap}.
@@ -78,12 +98,17 @@ public class CloudletToVmMappingSolution implements HeuristicSolution<Map<Cloudl
      * being created.
      */
     public CloudletToVmMappingSolution(final Heuristic heuristic){
-        this(heuristic, new HashMap<>());
+        this(heuristic, new HashMap<>(), new ArrayList<>(), new HashMap<>());
     }
 
-    private CloudletToVmMappingSolution(final Heuristic heuristic, final Map<Cloudlet, Vm> cloudletVmMap){
+    private CloudletToVmMappingSolution(
+        final Heuristic heuristic, final Map<Cloudlet, Vm> cloudletVmMap,
+        final List<Cloudlet> cloudletList, final Map<Vm, VmLoad> vmLoadMap)
+    {
         this.heuristic = heuristic;
         this.cloudletVmMap = cloudletVmMap;
+        this.cloudletList = cloudletList;
+        this.vmLoadMap = vmLoadMap;
     }
 
     /**
@@ -92,10 +117,12 @@ public class CloudletToVmMappingSolution implements HeuristicSolution<Map<Cloudl
      * @param solution the solution to be cloned
      */
     public CloudletToVmMappingSolution(final CloudletToVmMappingSolution solution){
-        this(solution.heuristic, new HashMap<>(solution.cloudletVmMap));
+        this(solution.heuristic, new HashMap<>(solution.cloudletVmMap),
+             new ArrayList<>(solution.cloudletList), new HashMap<>(solution.vmLoadMap.size()));
         this.recomputeCost = solution.recomputeCost;
         this.lastCost = solution.lastCost;
-        this.cloudletVmMap.putAll(solution.cloudletVmMap);
+        this.recomputeLoads = solution.recomputeLoads;
+        solution.vmLoadMap.forEach((vm, load) -> vmLoadMap.put(vm, new VmLoad(load)));
     }
 
     /**
@@ -105,10 +132,21 @@ public class CloudletToVmMappingSolution implements HeuristicSolution<Map<Cloudl
      * @param vm the Vm to assign a cloudlet to
      */
     public void bindCloudletToVm(final Cloudlet cloudlet, final Vm vm){
-        cloudletVmMap.put(cloudlet, vm);
+        final Vm previousVm = cloudletVmMap.put(cloudlet, vm);
+        if(previousVm == null) {
+            cloudletList.add(cloudlet);
+        } else {
+            getVmLoad(previousVm).remove(cloudlet);
+        }
+
+        getVmLoad(vm).add(cloudlet);
         recomputeCost = true;
     }
 
+    private VmLoad getVmLoad(final Vm vm) {
+        return vmLoadMap.computeIfAbsent(vm, key -> new VmLoad());
+    }
+
     @Override
     public Heuristic<HeuristicSolution<Map<Cloudlet, Vm>>> getHeuristic() {
         return heuristic;
@@ -124,22 +162,23 @@ public class CloudletToVmMappingSolution implements HeuristicSolution<Map<Cloudl
     }
 
     private double computeCostOfAllVms() {
-        return groupCloudletsByVm()
-                .entrySet()
-                .stream()
-                .mapToDouble(this::getVmCost)
-                .sum();
+        recomputeLoadsIfRequested();
+        double cost = 0;
+        for (final Map.Entry<Vm, VmLoad> entry : vmLoadMap.entrySet()) {
+            cost += entry.getValue().getCost(entry.getKey());
+        }
+
+        return cost;
     }
 
-    /**
-     * Gets a Map of Cloudlets grouped by their VMs,
-     * where each key is a VM and the value is a List of Map Entries
-     * containing the Cloudlets running in that VM.
-     * @return
-     */
-    private Map<Vm, List<Map.Entry<Cloudlet, Vm>>> groupCloudletsByVm() {
-        return cloudletVmMap.entrySet().stream()
-            .collect(Collectors.groupingBy(Map.Entry::getValue));
+    private void recomputeLoadsIfRequested() {
+        if(!recomputeLoads) {
+            return;
+        }
+
+        vmLoadMap.clear();
+        cloudletVmMap.forEach((cloudlet, vm) -> getVmLoad(vm).add(cloudlet));
+        recomputeLoads = false;
     }
 
     /**
@@ -268,6 +307,8 @@ public class CloudletToVmMappingSolution implements HeuristicSolution<Map<Cloudl
         final Vm vm1 = entries.get(1).getValue();
         entries.get(0).setValue(vm1);
         entries.get(1).setValue(vm0);
+        recomputeLoads = true;
+        recomputeCost = true;
 
         return true;
     }
@@ -285,7 +326,80 @@ public class CloudletToVmMappingSolution implements HeuristicSolution<Map<Cloudl
      * @return true if the Cloudlet's VMs where swapped, false otherwise
      */
     boolean swapVmsOfTwoRandomSelectedMapEntries() {
-        return swapVmsOfTwoMapEntries(getRandomMapEntries());
+        final int size = cloudletList.size();
+        if(size < 2) {
+            return false;
+        }
+
+        final int firstIdx = heuristic.getRandomValue(size);
+        final int secondIdx = heuristic.getRandomValue(size);
+        if(firstIdx == secondIdx) {
+            return false;
+        }
+
+        swapVms(firstIdx, secondIdx);
+        return true;
+    }
+
+    /**
+     * Gets the number of Cloudlets mapped to VMs.
+     * @return
+     */
+    int getCloudletsNumber() {
+        return cloudletList.size();
+    }
+
+    /**
+     * Computes, in constant time, how much the {@link #getCost() cost} of this solution would change
+     * if the VMs of two Cloudlets were swapped.
+     * Since each VM loses one Cloudlet and receives another one,
+     * just the cost of such two VMs changes.
+     *
+     * @param firstIdx the index of the first Cloudlet, in the order Cloudlets were bound to VMs
+     * @param secondIdx the index of the second Cloudlet, in the order Cloudlets were bound to VMs
+     * @return the cost change (which is negative if the cost would be reduced)
+     * @see #swapVms(int, int)
+     */
+    double getSwapCostDelta(final int firstIdx, final int secondIdx) {
+        recomputeLoadsIfRequested();
+        final Cloudlet cloudlet0 = cloudletList.get(firstIdx);
+        final Cloudlet cloudlet1 = cloudletList.get(secondIdx);
+        final Vm vm0 = cloudletVmMap.get(cloudlet0);
+        final Vm vm1 = cloudletVmMap.get(cloudlet1);
+        if(vm0.equals(vm1)) {
+            return 0;
+        }
+
+        final long pesDiff = cloudlet1.getNumberOfPes() - cloudlet0.getNumberOfPes();
+        return vmLoadMap.get(vm0).getCostDelta(vm0, pesDiff) + vmLoadMap.get(vm1).getCostDelta(vm1, -pesDiff);
+    }
+
+    /**
+     * Swaps the VMs of two Cloudlets in place, updating the {@link #getCost() cost}
+     * in constant time.
+     *
+     * @param firstIdx the index of the first Cloudlet, in the order Cloudlets were bound to VMs
+     * @param secondIdx the index of the second Cloudlet, in the order Cloudlets were bound to VMs
+     * @see #getSwapCostDelta(int, int)
+     */
+    void swapVms(final int firstIdx, final int secondIdx) {
+        final double delta = getSwapCostDelta(firstIdx, secondIdx);
+        final Cloudlet cloudlet0 = cloudletList.get(firstIdx);
+        final Cloudlet cloudlet1 = cloudletList.get(secondIdx);
+        final Vm vm0 = cloudletVmMap.get(cloudlet0);
+        final Vm vm1 = cloudletVmMap.get(cloudlet1);
+        if(vm0.equals(vm1)) {
+            return;
+        }
+
+        cloudletVmMap.put(cloudlet0, vm1);
+        cloudletVmMap.put(cloudlet1, vm0);
+        final long pesDiff = cloudlet1.getNumberOfPes() - cloudlet0.getNumberOfPes();
+        vmLoadMap.get(vm0).pes += pesDiff;
+        vmLoadMap.get(vm1).pes -= pesDiff;
+        if(!recomputeCost) {
+            lastCost += delta;
+        }
     }
 
     /**
@@ -354,4 +468,48 @@ public class CloudletToVmMappingSolution implements HeuristicSolution<Map<Cloudl
 
         return selected;
     }
+
+    /**
+     * The load of the Cloudlets mapped to a VM.
+     */
+    private static final class VmLoad {
+        /** The number of Cloudlets mapped to the VM. */
+        private int cloudlets;
+
+        /** The total number of PEs required by the Cloudlets mapped to the VM. */
+        private long pes;
+
+        private VmLoad() {/**/}
+
+        private VmLoad(final VmLoad source) {
+            this.cloudlets = source.cloudlets;
+            this.pes = source.pes;
+        }
+
+        private void add(final Cloudlet cloudlet) {
+            cloudlets++;
+            pes += cloudlet.getNumberOfPes();
+        }
+
+        private void remove(final Cloudlet cloudlet) {
+            cloudlets--;
+            pes -= cloudlet.getNumberOfPes();
+        }
+
+        /**
+         * Gets the cost of the VM, which is zero if it has no Cloudlet.
+         * @see #getVmCost(Vm, List)
+         */
+        private double getCost(final Vm vm) {
+            return cloudlets == 0 ? 0 : Math.abs(vm.getNumberOfPes() - pes);
+        }
+
+        /**
+         * Gets the change in the VM cost if the number of PEs required by its Cloudlets changes
+         * (while the number of Cloudlets is kept).
+         */
+        private double getCostDelta(final Vm vm, final long pesDiff) {
+            return Math.abs(vm.getNumberOfPes() - pes - pesDiff) - Math.abs(vm.getNumberOfPes() - pes);
+        }
+    }
 }
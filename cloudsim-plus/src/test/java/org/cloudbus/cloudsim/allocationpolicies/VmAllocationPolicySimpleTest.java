@@ -2,15 +2,21 @@ package org.cloudbus.cloudsim.allocationpolicies;
 
 import org.cloudbus.cloudsim.datacenters.Datacenter;
 import org.cloudbus.cloudsim.hosts.Host;
+import org.cloudbus.cloudsim.hosts.HostSimple;
 import org.cloudbus.cloudsim.hosts.HostSimpleTest;
+import org.cloudbus.cloudsim.resources.Pe;
+import org.cloudbus.cloudsim.resources.PeSimple;
 import org.cloudbus.cloudsim.schedulers.cloudlet.CloudletScheduler;
 import org.cloudbus.cloudsim.vms.Vm;
 import org.cloudbus.cloudsim.vms.VmTestUtil;
+import org.cloudsimplus.listeners.EventListener;
+import org.cloudsimplus.listeners.HostEventInfo;
 import org.easymock.EasyMock;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -50,6 +56,13 @@ public class VmAllocationPolicySimpleTest {
             hosts.add(host);
         }
 
+        return createVmAllocationPolicy(hosts);
+    }
+
+    /**
+     * Creates a VmAllocationPolicy for a Datacenter with a given (mutable) list of Hosts.
+     */
+    private VmAllocationPolicySimple createVmAllocationPolicy(final List<Host> hosts) {
         final VmAllocationPolicySimple policy = new VmAllocationPolicySimple();
 
         final Datacenter datacenter = EasyMock.createMock(Datacenter.class);
@@ -87,4 +100,134 @@ public class VmAllocationPolicySimpleTest {
         final Vm vm = VmTestUtil.createVm(0, 1000, 10);
         assertFalse(policy.allocateHostForVm(vm));
     }
+
+    @Test
+    public void allocateHostForVm_WhenMultipleVmsAreGiven_AllocateHostWithMostFreePesAfterEachAllocation() {
+        final List<Host> hosts = policy.getDatacenter().getHostList();
+        final int[] expectedHostIndexes = {2, 3, 0, 2};
+        for (int i = 0; i < expectedHostIndexes.length; i++) {
+            final Vm vm = VmTestUtil.createVm(i, 1000, 2);
+            assertTrue(policy.allocateHostForVm(vm));
+            assertEquals(hosts.get(expectedHostIndexes[i]), vm.getHost(), "Wrong Host for " + vm);
+        }
+    }
+
+    @Test
+    public void allocateHostForVm_WhenHostWithMostFreePesIsInactive_AllocateActiveHost() {
+        final List<Host> hosts = policy.getDatacenter().getHostList();
+        hosts.get(2).setActive(false);
+
+        final Vm vm = VmTestUtil.createVm(0, 1000, 2);
+        assertTrue(policy.allocateHostForVm(vm));
+        assertEquals(hosts.get(3), vm.getHost());
+    }
+
+    @Test
+    public void allocateHostForVmList_WhenMultipleVmsAreGiven_AllocateLargestVmsFirst() {
+        assertVmListAllocatedFromLargestVm();
+    }
+
+    @Test
+    public void allocateHostForVmList_WhenParallelSearchIsEnabled_AllocateSameHostsOfSequentialSearch() {
+        policy.setHostCountForParallelSearch(1);
+        assertVmListAllocatedFromLargestVm();
+    }
+
+    private void assertVmListAllocatedFromLargestVm() {
+        final List<Host> hosts = policy.getDatacenter().getHostList();
+        final List<Vm> vmList = new ArrayList<>();
+        vmList.add(VmTestUtil.createVm(0, 1000, 1));
+        vmList.add(VmTestUtil.createVm(1, 1000, 3));
+        vmList.add(VmTestUtil.createVm(2, 1000, 10));
+        vmList.add(VmTestUtil.createVm(3, 1000, 2));
+
+        final Map<Vm, Host> placement = policy.allocateHostForVmList(vmList);
+        assertEquals(3, placement.size());
+        assertFalse(placement.containsKey(vmList.get(2)));
+        assertEquals(vmList.get(1), placement.keySet().iterator().next());
+        assertAll(
+            () -> assertEquals(hosts.get(0), vmList.get(0).getHost()),
+            () -> assertEquals(hosts.get(2), vmList.get(1).getHost()),
+            () -> assertEquals(hosts.get(3), vmList.get(3).getHost())
+        );
+    }
+
+    @Test
+    public void allocateHostForVmList_WhenVmIsAlreadyCreated_IncludeItWithCurrentHost() {
+        checkAllocateHostForVmListWithVmAlreadyCreated();
+    }
+
+    @Test
+    public void allocateHostForVmList_WhenFindHostFunctionIsSetAndVmIsAlreadyCreated_IncludeItWithCurrentHost() {
+        policy.setFindHostForVmFunction((policy, vm) -> policy.getHostList().stream().filter(host -> host.isSuitableForVm(vm)).findFirst());
+        checkAllocateHostForVmListWithVmAlreadyCreated();
+    }
+
+    private void checkAllocateHostForVmListWithVmAlreadyCreated() {
+        final Vm createdVm = VmTestUtil.createVm(0, 1000, 1);
+        assertTrue(policy.allocateHostForVm(createdVm));
+        final Host host = createdVm.getHost();
+
+        final Vm newVm = VmTestUtil.createVm(1, 1000, 2);
+        final Map<Vm, Host> placement = policy.allocateHostForVmList(Arrays.asList(createdVm, newVm));
+        assertAll(
+            () -> assertEquals(2, placement.size()),
+            () -> assertSame(host, placement.get(createdVm)),
+            () -> assertSame(host, createdVm.getHost()),
+            () -> assertSame(newVm.getHost(), placement.get(newVm))
+        );
+    }
+
+    @Test
+    public void allocateHostForVm_WhenHostIsReplaced_AllocateNewHost() {
+        final List<Host> hosts = policy.getDatacenter().getHostList();
+        assertTrue(policy.allocateHostForVm(VmTestUtil.createVm(0, 1000, 2)));
+
+        //The number of Hosts doesn't change
+        final Host newHost = HostSimpleTest.createHostSimple(4, 8, HOST_MIPS, HOST_RAM, HOST_BW, HOST_BASE_STORAGE);
+        hosts.set(2, newHost);
+
+        final Vm vm = VmTestUtil.createVm(1, 1000, 2);
+        assertTrue(policy.allocateHostForVm(vm));
+        assertEquals(newHost, vm.getHost());
+    }
+
+    @Test
+    public void allocateHostForVm_WhenHostIsRemoved_StopListeningToHostCapacityChanges() {
+        final int[] listeners = {0};
+        final Host removedHost = new HostSimple(HOST_RAM, HOST_BW, HOST_BASE_STORAGE, createPes(2)) {
+            @Override
+            public Host addOnCapacityChangeListener(final EventListener<HostEventInfo> listener) {
+                listeners[0]++;
+                return super.addOnCapacityChangeListener(listener);
+            }
+
+            @Override
+            public boolean removeOnCapacityChangeListener(final EventListener<HostEventInfo> listener) {
+                final boolean removed = super.removeOnCapacityChangeListener(listener);
+                listeners[0] -= removed ? 1 : 0;
+                return removed;
+            }
+        };
+
+        final List<Host> hosts = new ArrayList<>();
+        hosts.add(removedHost);
+        hosts.add(new HostSimple(HOST_RAM, HOST_BW, HOST_BASE_STORAGE, createPes(2)));
+        final VmAllocationPolicySimple policy = createVmAllocationPolicy(hosts);
+        assertTrue(policy.allocateHostForVm(VmTestUtil.createVm(0, 1000, 1)));
+        assertEquals(1, listeners[0]);
+
+        hosts.remove(removedHost);
+        assertTrue(policy.allocateHostForVm(VmTestUtil.createVm(1, 1000, 1)));
+        assertEquals(0, listeners[0]);
+    }
+
+    private static List<Pe> createPes(final int pesNumber) {
+        final List<Pe> peList = new ArrayList<>(pesNumber);
+        for (int i = 0; i < pesNumber; i++) {
+            peList.add(new PeSimple(HOST_MIPS));
+        }
+
+        return peList;
+    }
 }
@@ -0,0 +1,115 @@
+package org.cloudbus.cloudsim.allocationpolicies.migration;
+
+import org.cloudbus.cloudsim.hosts.Host;
+import org.cloudbus.cloudsim.hosts.HostSimpleTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Manoel Campos da Silva Filho
+ */
+public class HostLoadClassificationTest {
+    private static final int HOSTS = 5;
+
+    private List<Host> hostList;
+    private Set<Host> overloaded;
+    private Set<Host> underloaded;
+    private Map<Host, Double> utilization;
+    private Map<Host, Integer> versions;
+
+    /**
+     * The number of times the load state of each Host was checked.
+     */
+    private Map<Host, Integer> checks;
+
+    @BeforeEach
+    public void setUp() {
+        hostList = new ArrayList<>();
+        utilization = new HashMap<>();
+        versions = new HashMap<>();
+        checks = new HashMap<>();
+        for (int i = 0; i < HOSTS; i++) {
+            final Host host = HostSimpleTest.createHostSimple(i, 1);
+            hostList.add(host);
+            utilization.put(host, 0.1 * (HOSTS - i));
+        }
+
+        overloaded = new HashSet<>(Collections.singletonList(hostList.get(0)));
+        underloaded = new HashSet<>(hostList.subList(1, HOSTS));
+    }
+
+    private HostLoadClassification classify() {
+        return new HostLoadClassification(
+            hostList,
+            host -> {
+                checks.merge(host, 1, Integer::sum);
+                return overloaded.contains(host);
+            },
+            underloaded::contains,
+            utilization::get,
+            host -> versions.getOrDefault(host, 0));
+    }
+
+    @Test
+    public void testEachHostIsCheckedOnce() {
+        final HostLoadClassification classification = classify();
+        assertEquals(overloaded, classification.getOverloadedHosts());
+        hostList.forEach(host -> assertEquals(1, checks.get(host).intValue(), host.toString()));
+    }
+
+    @Test
+    public void testPollUnderloadedHostsInUtilizationOrder() {
+        final HostLoadClassification classification = classify();
+        for (int i = HOSTS - 1; i > 0; i--) {
+            assertSame(hostList.get(i), classification.pollUnderloadedHost(Collections.emptySet()));
+        }
+
+        assertSame(Host.NULL, classification.pollUnderloadedHost(Collections.emptySet()));
+    }
+
+    @Test
+    public void testPollUnderloadedHostsWithSameUtilizationInListOrder() {
+        hostList.forEach(host -> utilization.put(host, 0.1));
+        final HostLoadClassification classification = classify();
+        for (int i = 1; i < HOSTS; i++) {
+            assertSame(hostList.get(i), classification.pollUnderloadedHost(Collections.emptySet()));
+        }
+    }
+
+    @Test
+    public void testPollUnderloadedHostIgnoresExcludedAndNoLongerUnderloadedHosts() {
+        final HostLoadClassification classification = classify();
+        underloaded.remove(hostList.get(4));
+        final Set<Host> excluded = Collections.singleton(hostList.get(3));
+        assertSame(hostList.get(2), classification.pollUnderloadedHost(excluded));
+    }
+
+    @Test
+    public void testPollUnderloadedHostReordersHostWhosePlanChanged() {
+        final HostLoadClassification classification = classify();
+
+        //VMs are planned to migrate into the least loaded Host, which becomes the most loaded one
+        final Host host = hostList.get(4);
+        utilization.put(host, 0.45);
+        versions.put(host, 1);
+
+        assertSame(hostList.get(3), classification.pollUnderloadedHost(Collections.emptySet()));
+        assertSame(hostList.get(2), classification.pollUnderloadedHost(Collections.emptySet()));
+        assertSame(hostList.get(1), classification.pollUnderloadedHost(Collections.emptySet()));
+        assertSame(host, classification.pollUnderloadedHost(Collections.emptySet()));
+    }
+
+    @Test
+    public void testPollUnderloadedHostKeepsPositionWhenPlanIsNotChanged() {
+        final HostLoadClassification classification = classify();
+
+        //The utilization changes by itself, but no VM migration was planned for the Host
+        final Host host = hostList.get(4);
+        utilization.put(host, 0.45);
+        assertSame(host, classification.pollUnderloadedHost(Collections.emptySet()));
+    }
+}
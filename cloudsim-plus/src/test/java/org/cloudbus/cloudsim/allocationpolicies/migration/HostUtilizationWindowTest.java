@@ -0,0 +1,91 @@
+package org.cloudbus.cloudsim.allocationpolicies.migration;
+
+import org.cloudbus.cloudsim.core.CloudSim;
+import org.cloudbus.cloudsim.core.Simulation;
+import org.cloudbus.cloudsim.hosts.HostSimple;
+import org.cloudbus.cloudsim.mocks.CloudSimMocker;
+import org.cloudbus.cloudsim.resources.PeSimple;
+import org.cloudbus.cloudsim.vms.UtilizationHistory;
+import org.cloudbus.cloudsim.vms.Vm;
+import org.easymock.EasyMock;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+
+/**
+ * @author Manoel Campos da Silva Filho
+ */
+public class HostUtilizationWindowTest {
+    private static final double DELTA = 0.00001;
+
+    @Test
+    public void testUpdateWhenVmIsReplacedByAnotherOne() {
+        final List<Vm> vmList = new ArrayList<>();
+        vmList.add(createVm(0.2, 0.4));
+        vmList.add(createVm(0.1, 0.1));
+        final HostUtilizationWindow window = new HostUtilizationWindow(createHost(vmList), Integer.MAX_VALUE);
+        assertArrayEquals(new double[]{0.3, 0.5}, window.update().getValues(), DELTA);
+
+        //The number of VMs is the same, but the window must include the history of the new VM
+        vmList.set(1, createVm(0.6, 0.6));
+        assertArrayEquals(new double[]{0.8, 1.0}, window.update().getValues(), DELTA);
+    }
+
+    @Test
+    public void testUpdateWhenVmListIsNotChanged() {
+        final List<Vm> vmList = new ArrayList<>();
+        vmList.add(createVm(0.2, 0.4));
+        final HostUtilizationWindow window = new HostUtilizationWindow(createHost(vmList), Integer.MAX_VALUE);
+        window.update();
+        assertArrayEquals(new double[]{0.2, 0.4}, window.update().getValues(), DELTA);
+    }
+
+    /**
+     * Creates a Host whose VMs are the ones inside a given list
+     * and where the relative utilization of each VM is equal to its own utilization.
+     */
+    private HostSimple createHost(final List<Vm> vmList) {
+        final CloudSim simulation = CloudSimMocker.createMock(mocker -> mocker.clock(10).anyTimes());
+        return new HostSimple(1000, 1000, 1000, Collections.singletonList(new PeSimple(1000))) {
+            @Override
+            public <T extends Vm> List<T> getVmCreatedList() {
+                return (List<T>) vmList;
+            }
+
+            @Override
+            public Simulation getSimulation() {
+                return simulation;
+            }
+
+            @Override
+            public double getExpectedRelativeCpuUtilization(final Vm vm, final double vmCpuUtilizationPercent) {
+                return vmCpuUtilizationPercent;
+            }
+        };
+    }
+
+    /**
+     * Creates a VM with a given utilization history, where each value is collected at every second.
+     */
+    private Vm createVm(final double... values) {
+        final SortedMap<Double, Double> history = new TreeMap<>();
+        for (int time = 0; time < values.length; time++) {
+            history.put((double) time, values[time]);
+        }
+
+        final UtilizationHistory utilizationHistory = EasyMock.createMock(UtilizationHistory.class);
+        EasyMock.expect(utilizationHistory.getHistory()).andReturn(history).anyTimes();
+        EasyMock.replay(utilizationHistory);
+
+        final Vm vm = EasyMock.createMock(Vm.class);
+        EasyMock.expect(vm.getUtilizationHistory()).andReturn(utilizationHistory).anyTimes();
+        EasyMock.replay(vm);
+        return vm;
+    }
+}
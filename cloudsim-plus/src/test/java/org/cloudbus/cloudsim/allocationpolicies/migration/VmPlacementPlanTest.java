@@ -0,0 +1,115 @@
+package org.cloudbus.cloudsim.allocationpolicies.migration;
+
+import org.cloudbus.cloudsim.hosts.Host;
+import org.cloudbus.cloudsim.hosts.HostSimple;
+import org.cloudbus.cloudsim.hosts.HostSimpleTest;
+import org.cloudbus.cloudsim.schedulers.cloudlet.CloudletScheduler;
+import org.cloudbus.cloudsim.schedulers.vm.VmScheduler;
+import org.cloudbus.cloudsim.schedulers.vm.VmSchedulerSpaceShared;
+import org.cloudbus.cloudsim.schedulers.vm.VmSchedulerTimeShared;
+import org.cloudbus.cloudsim.vms.Vm;
+import org.cloudbus.cloudsim.vms.VmTestUtil;
+import org.junit.jupiter.api.Test;
+
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author Manoel Campos da Silva Filho
+ */
+public class VmPlacementPlanTest {
+    private static final int HOST_PES = 4;
+    private static final double HOST_MIPS = 1000;
+    private static final long HOST_CAPACITY = 100000;
+
+    /**
+     * The number of PEs and MIPS of VMs placed one after the other.
+     */
+    private static final double[][] VMS = {{2, 1000}, {1, 500}, {1, 1000}, {1, 400}, {2, 300}, {1, 100}};
+
+    @Test
+    public void testReservedMipsPreventDoubleBookingTimeShared() {
+        checkReservedMipsPreventDoubleBooking(VmSchedulerTimeShared::new);
+    }
+
+    @Test
+    public void testReservedMipsPreventDoubleBookingSpaceShared() {
+        checkReservedMipsPreventDoubleBooking(VmSchedulerSpaceShared::new);
+    }
+
+    private void checkReservedMipsPreventDoubleBooking(final Supplier<VmScheduler> schedulerSupplier) {
+        final Host host = createHost(schedulerSupplier);
+        final VmPlacementPlan plan = new VmPlacementPlan();
+
+        plan.addVm(host, createVm(0, 2, HOST_MIPS));
+        assertTrue(plan.isSuitableForVm(host, createVm(1, 2, HOST_MIPS)));
+
+        plan.addVm(host, createVm(1, 2, HOST_MIPS));
+        final Vm vm = createVm(2, 1, HOST_MIPS / 2);
+        assertFalse(plan.isSuitableForVm(host, vm));
+
+        //The actual Host state isn't changed by the plan
+        assertTrue(host.isSuitableForVm(vm));
+    }
+
+    @Test
+    public void testPlanMatchesTemporaryVmPlacementTimeShared() {
+        checkPlanMatchesTemporaryVmPlacement(VmSchedulerTimeShared::new);
+    }
+
+    @Test
+    public void testPlanMatchesTemporaryVmPlacementSpaceShared() {
+        checkPlanMatchesTemporaryVmPlacement(VmSchedulerSpaceShared::new);
+    }
+
+    /**
+     * Checks if the VMs the plan accepts for a Host are the same ones
+     * that could be placed by temporarily creating them into an identical Host,
+     * as migrations used to be planned.
+     */
+    private void checkPlanMatchesTemporaryVmPlacement(final Supplier<VmScheduler> schedulerSupplier) {
+        final Host plannedHost = createHost(schedulerSupplier);
+        final Host actualHost = createHost(schedulerSupplier);
+        final VmPlacementPlan plan = new VmPlacementPlan();
+
+        for (int i = 0; i < VMS.length; i++) {
+            final Vm vm = createVm(i, (int) VMS[i][0], VMS[i][1]);
+            final boolean planned = plan.isSuitableForVm(plannedHost, vm);
+            if (planned) {
+                plan.addVm(plannedHost, vm);
+            }
+
+            assertEquals(actualHost.createTemporaryVm(vm), planned, "VM " + i);
+        }
+    }
+
+    @Test
+    public void testVersionChangesWhenVmsAreAddedOrRemoved() {
+        final Host host = createHost(VmSchedulerTimeShared::new);
+        final VmPlacementPlan plan = new VmPlacementPlan();
+        assertEquals(0, plan.getVersion(host));
+
+        final Vm vm = createVm(0, 1, HOST_MIPS);
+        plan.addVm(host, vm);
+        assertEquals(1, plan.getVersion(host));
+
+        plan.removeVm(host, vm);
+        assertEquals(2, plan.getVersion(host));
+
+        plan.clear();
+        assertEquals(0, plan.getVersion(host));
+    }
+
+    private HostSimple createHost(final Supplier<VmScheduler> schedulerSupplier) {
+        final HostSimple host = HostSimpleTest.createHostSimple(0, HOST_PES, HOST_MIPS, HOST_CAPACITY, HOST_CAPACITY, HOST_CAPACITY);
+        host.setVmScheduler(schedulerSupplier.get());
+        return host;
+    }
+
+    private Vm createVm(final int id, final int pes, final double mips) {
+        return VmTestUtil.createVm(id, mips, pes, 1000, 1000, 1000, CloudletScheduler.NULL);
+    }
+}
@@ -0,0 +1,120 @@
+package org.cloudbus.cloudsim.brokers;
+
+import org.cloudbus.cloudsim.cloudlets.Cloudlet;
+import org.cloudbus.cloudsim.cloudlets.CloudletSimple;
+import org.cloudbus.cloudsim.core.ActionsEntity;
+import org.cloudbus.cloudsim.core.CloudSim;
+import org.cloudbus.cloudsim.core.CloudSimTags;
+import org.cloudbus.cloudsim.datacenters.DatacenterSimple;
+import org.cloudbus.cloudsim.hosts.Host;
+import org.cloudbus.cloudsim.hosts.HostSimple;
+import org.cloudbus.cloudsim.resources.PeSimple;
+import org.cloudbus.cloudsim.utilizationmodels.UtilizationModelFull;
+import org.cloudbus.cloudsim.vms.Vm;
+import org.cloudbus.cloudsim.vms.VmSimple;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Manoel Campos da Silva Filho
+ */
+public class DatacenterBrokerSimpleTest {
+    private static final double VM_DELAY = 10;
+
+    @Test
+    public void testCloudletsBoundToVmNotCreatedYetAreSubmittedInOrderWhenVmIsCreated() {
+        final CloudSim simulation = new CloudSim();
+        final List<Host> hostList = Collections.singletonList(
+            new HostSimple(10000, 100000, 100000, Arrays.asList(new PeSimple(1000), new PeSimple(1000))));
+        final DatacenterSimple dc = new DatacenterSimple(simulation, hostList);
+        final DatacenterBrokerSimple broker = new DatacenterBrokerSimple(simulation);
+
+        final Vm vm0 = createVm();
+        final Vm vm1 = createVm();
+        vm1.setSubmissionDelay(VM_DELAY);
+        broker.submitVmList(Arrays.asList(vm0, vm1));
+
+        final List<Cloudlet> cloudlets = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            final Cloudlet cloudlet = new CloudletSimple(i, 1000, 1).setUtilizationModel(new UtilizationModelFull());
+            cloudlet.setVm(i == 1 ? vm0 : vm1);
+            cloudlets.add(cloudlet);
+        }
+        broker.submitCloudletList(cloudlets);
+
+        final List<Cloudlet> submitted = new ArrayList<>();
+        final List<Double> submissionTimes = new ArrayList<>();
+        simulation.addOnEventProcessingListener(evt -> {
+            if (evt.getTag() == CloudSimTags.CLOUDLET_SUBMIT && evt.getDestination() == dc) {
+                submitted.add((Cloudlet) evt.getData());
+                submissionTimes.add(evt.getTime());
+            }
+        });
+        simulation.start();
+
+        final List<Cloudlet> expectedOrder =
+            Arrays.asList(cloudlets.get(1), cloudlets.get(0), cloudlets.get(2), cloudlets.get(3), cloudlets.get(4));
+        assertEquals(expectedOrder, submitted);
+        assertTrue(submissionTimes.get(0) < VM_DELAY);
+        submissionTimes.subList(1, submissionTimes.size()).forEach(time -> assertTrue(time >= VM_DELAY, time.toString()));
+        cloudlets.forEach(cloudlet -> assertAll(
+            () -> assertEquals(Cloudlet.Status.SUCCESS, cloudlet.getStatus()),
+            () -> assertEquals(1, submitted.stream().filter(cloudlet::equals).count())
+        ));
+        assertTrue(broker.getCloudletWaitingList().isEmpty());
+    }
+
+    @Test
+    public void testUnboundCloudletsWaitingVmAreJustMappedAgainWhenSomeVmIsCreated() {
+        final CloudSim simulation = new CloudSim();
+        final List<Host> hostList = Collections.singletonList(
+            new HostSimple(10000, 100000, 100000, Arrays.asList(new PeSimple(1000), new PeSimple(1000))));
+        new DatacenterSimple(simulation, hostList);
+        final DatacenterBrokerSimple broker = new DatacenterBrokerSimple(simulation);
+        final ActionsEntity submitter = new ActionsEntity(simulation);
+
+        final Vm vm0 = createVm();
+        final Vm vm1 = createVm();
+        vm1.setSubmissionDelay(VM_DELAY);
+        broker.submitVmList(Arrays.asList(vm0, vm1));
+
+        //The first Cloudlets are mapped to the VM which is created later
+        final int unboundCloudlets = 3;
+        final Map<Cloudlet, Integer> mappings = new HashMap<>();
+        broker.setVmMapper(cloudlet -> {
+            mappings.merge(cloudlet, 1, Integer::sum);
+            return cloudlet.getId() < unboundCloudlets ? vm1 : vm0;
+        });
+
+        final List<Cloudlet> cloudlets = new ArrayList<>();
+        for (int i = 0; i < unboundCloudlets; i++) {
+            cloudlets.add(new CloudletSimple(i, 1000, 1).setUtilizationModel(new UtilizationModelFull()));
+        }
+        broker.submitCloudletList(cloudlets);
+
+        //Submitting another Cloudlet before the VM is created must not map the postponed ones again
+        final Cloudlet lateCloudlet = new CloudletSimple(unboundCloudlets, 1000, 1).setUtilizationModel(new UtilizationModelFull());
+        submitter.at(VM_DELAY/2, () -> broker.submitCloudlet(lateCloudlet));
+        simulation.start();
+
+        cloudlets.forEach(cloudlet -> assertAll(
+            () -> assertEquals(Cloudlet.Status.SUCCESS, cloudlet.getStatus()),
+            () -> assertSame(vm1, cloudlet.getVm()),
+            () -> assertEquals(2, mappings.get(cloudlet))
+        ));
+        assertEquals(Cloudlet.Status.SUCCESS, lateCloudlet.getStatus());
+        assertTrue(broker.getCloudletWaitingList().isEmpty());
+    }
+
+    private static Vm createVm() {
+        return new VmSimple(1000, 1).setRam(1000).setBw(1000).setSize(1000);
+    }
+}
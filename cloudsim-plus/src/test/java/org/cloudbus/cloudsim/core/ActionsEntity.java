@@ -0,0 +1,49 @@
+package org.cloudbus.cloudsim.core;
+
+import org.cloudbus.cloudsim.core.events.SimEvent;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * An entity that runs actions at given simulation times,
+ * enabling tests to interact with other entities while the simulation is running.
+ *
+ * @author Manoel Campos da Silva Filho
+ */
+public final class ActionsEntity extends CloudSimEntity {
+    private static final int RUN_ACTION = 1;
+    private final List<Runnable> actions = new ArrayList<>();
+    private final List<Double> times = new ArrayList<>();
+
+    public ActionsEntity(final Simulation simulation) {
+        super(simulation);
+    }
+
+    /**
+     * Adds an action to be run at a given simulation time.
+     *
+     * @param time the time to run the action
+     * @param action the action to run
+     * @return
+     */
+    public ActionsEntity at(final double time, final Runnable action) {
+        times.add(time);
+        actions.add(action);
+        return this;
+    }
+
+    @Override
+    protected void startEntity() {
+        for (int i = 0; i < actions.size(); i++) {
+            schedule(this, times.get(i), RUN_ACTION, actions.get(i));
+        }
+    }
+
+    @Override
+    public void processEvent(final SimEvent evt) {
+        if (evt.getTag() == RUN_ACTION && evt.getData() instanceof Runnable) {
+            ((Runnable) evt.getData()).run();
+        }
+    }
+}
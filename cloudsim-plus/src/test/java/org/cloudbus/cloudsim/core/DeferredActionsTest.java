@@ -0,0 +1,44 @@
+package org.cloudbus.cloudsim.core;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Manoel Campos da Silva Filho
+ */
+public class DeferredActionsTest {
+    @Test
+    public void testRunOrDeferWhenNotCollecting() {
+        final List<Integer> executed = new ArrayList<>();
+        assertFalse(DeferredActions.isDeferring());
+        assertFalse(DeferredActions.runOrDefer(() -> executed.add(1)));
+        assertEquals(1, executed.size());
+    }
+
+    @Test
+    public void testCollectKeepsRequestOrder() {
+        final List<Integer> executed = new ArrayList<>();
+        final List<Runnable> actions = DeferredActions.collect(() -> {
+            assertTrue(DeferredActions.isDeferring());
+            DeferredActions.runOrDefer(() -> executed.add(1));
+            DeferredActions.runOrDefer(() -> executed.add(2));
+        });
+
+        assertTrue(executed.isEmpty());
+        assertFalse(DeferredActions.isDeferring());
+
+        DeferredActions.apply(actions);
+        assertEquals(Arrays.asList(1, 2), executed);
+    }
+
+    @Test
+    public void testCollectWhenAlreadyCollecting() {
+        DeferredActions.collect(() ->
+            assertThrows(IllegalStateException.class, () -> DeferredActions.collect(() -> {})));
+    }
+}
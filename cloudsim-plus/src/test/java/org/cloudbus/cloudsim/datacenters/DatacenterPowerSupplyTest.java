@@ -0,0 +1,79 @@
+package org.cloudbus.cloudsim.datacenters;
+
+import org.cloudbus.cloudsim.brokers.DatacenterBroker;
+import org.cloudbus.cloudsim.brokers.DatacenterBrokerSimple;
+import org.cloudbus.cloudsim.cloudlets.Cloudlet;
+import org.cloudbus.cloudsim.cloudlets.CloudletSimple;
+import org.cloudbus.cloudsim.core.CloudSim;
+import org.cloudbus.cloudsim.hosts.Host;
+import org.cloudbus.cloudsim.hosts.HostSimple;
+import org.cloudbus.cloudsim.power.models.PowerModelLinear;
+import org.cloudbus.cloudsim.resources.Pe;
+import org.cloudbus.cloudsim.resources.PeSimple;
+import org.cloudbus.cloudsim.utilizationmodels.UtilizationModelFull;
+import org.cloudbus.cloudsim.vms.Vm;
+import org.cloudbus.cloudsim.vms.VmSimple;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * @author Manoel Campos da Silva Filho
+ */
+public class DatacenterPowerSupplyTest {
+    private static final double DELTA = 0.000001;
+    private static final double MAX_POWER = 100;
+    private static final double STATIC_POWER_PERCENT = 0.5;
+
+    @Test
+    public void testNullObject() {
+        assertAll(
+            () -> assertEquals(-1, DatacenterPowerSupply.NULL.getPower()),
+            () -> assertEquals(-1, DatacenterPowerSupply.NULL.getHostPower(Host.NULL))
+        );
+    }
+
+    /**
+     * Runs a Cloudlet using half of the CPU of a Host for 10 seconds,
+     * while another Host stays idle.
+     * The power supplied to each Host is constant between the
+     * times their processing is updated (10.1 and 10.201 seconds).
+     */
+    @Test
+    public void testGetPowerWhenOneHostIsBusy() {
+        final CloudSim simulation = new CloudSim();
+        final List<Host> hostList = new ArrayList<>();
+        for (int i = 0; i < 2; i++) {
+            final List<Pe> peList = Arrays.asList(new PeSimple(1000), new PeSimple(1000));
+            final Host host = new HostSimple(10000, 10000, 100000, peList);
+            host.setPowerModel(new PowerModelLinear(MAX_POWER, STATIC_POWER_PERCENT));
+            hostList.add(host);
+        }
+
+        final Datacenter datacenter = new DatacenterSimple(simulation, hostList);
+        datacenter.setPowerSupply(new DatacenterPowerSupply());
+        final DatacenterBroker broker = new DatacenterBrokerSimple(simulation);
+
+        final Vm vm = new VmSimple(1000, 1);
+        final Cloudlet cloudlet = new CloudletSimple(10000, 1).setUtilizationModelCpu(new UtilizationModelFull());
+        cloudlet.setVm(vm);
+        broker.submitVm(vm);
+        broker.submitCloudlet(cloudlet);
+        simulation.start();
+
+        final double lastUpdateTime = simulation.clock() - cloudlet.getFinishTime();
+        final double busyHostPower = 75 * cloudlet.getFinishTime() + 50 * lastUpdateTime;
+        final double idleHostPower = 50 * simulation.clock();
+        final DatacenterPowerSupply powerSupply = datacenter.getPowerSupply();
+        assertAll(
+            () -> assertEquals(busyHostPower, powerSupply.getHostPower(hostList.get(0)), DELTA),
+            () -> assertEquals(idleHostPower, powerSupply.getHostPower(hostList.get(1)), DELTA),
+            () -> assertEquals(busyHostPower + idleHostPower, datacenter.getPower(), DELTA)
+        );
+    }
+}
@@ -0,0 +1,134 @@
+package org.cloudbus.cloudsim.datacenters;
+
+import org.cloudbus.cloudsim.brokers.DatacenterBroker;
+import org.cloudbus.cloudsim.brokers.DatacenterBrokerSimple;
+import org.cloudbus.cloudsim.cloudlets.Cloudlet;
+import org.cloudbus.cloudsim.cloudlets.CloudletSimple;
+import org.cloudbus.cloudsim.core.CloudSim;
+import org.cloudbus.cloudsim.hosts.Host;
+import org.cloudbus.cloudsim.hosts.HostSimple;
+import org.cloudbus.cloudsim.resources.PeSimple;
+import org.cloudbus.cloudsim.utilizationmodels.UtilizationModel;
+import org.cloudbus.cloudsim.utilizationmodels.UtilizationModelDynamic;
+import org.cloudbus.cloudsim.utilizationmodels.UtilizationModelFull;
+import org.cloudbus.cloudsim.vms.Vm;
+import org.cloudbus.cloudsim.vms.VmSimple;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author Manoel Campos da Silva Filho
+ */
+public class DatacenterSimpleParallelHostsProcessingTest {
+    /**
+     * The number of Hosts, which must be enough to split them into multiple partitions.
+     */
+    private static final int HOSTS = 600;
+    private static final int CLOUDLETS_BY_VM = 2;
+    private static final int PARALLELISM = 4;
+
+    /**
+     * Creates a model whose utilization increases as the simulation time goes by.
+     */
+    private static UtilizationModel createDynamicModel() {
+        return new UtilizationModelDynamic(0.2)
+                    .setUtilizationUpdateFunction(model -> Math.min(0.2 + model.getTimeSpan() * 0.05, 1));
+    }
+
+    @Test
+    public void testParallelProcessingFinishTimesAreTheSameOfSequential() {
+        final double[] sequential = runSimulation(0, DatacenterSimpleParallelHostsProcessingTest::createDynamicModel);
+        final double[] parallel = runSimulation(PARALLELISM, DatacenterSimpleParallelHostsProcessingTest::createDynamicModel);
+
+        assertTrue(sequential[sequential.length-1] > 0);
+        assertArrayEquals(sequential, parallel);
+    }
+
+    @Test
+    public void testParallelProcessingWithSharedStatefulModelFallsBackToSequential() {
+        final UtilizationModel sequentialModel = createDynamicModel();
+        final double[] sequential = runSimulation(0, () -> sequentialModel);
+
+        final UtilizationModel parallelModel = createDynamicModel();
+        final double[] parallel = runSimulation(PARALLELISM, () -> parallelModel);
+
+        assertArrayEquals(sequential, parallel);
+    }
+
+    @Test
+    public void testParallelProcessingWithSharedStatelessModel() {
+        final UtilizationModel model = new UtilizationModelFull();
+        final double[] sequential = runSimulation(0, () -> model);
+        final double[] parallel = runSimulation(PARALLELISM, () -> model);
+
+        assertArrayEquals(sequential, parallel);
+    }
+
+    /**
+     * Runs a simulation and gets the finish time of every Cloudlet, in the order of Cloudlet IDs.
+     *
+     * @param parallelism the number of threads to process Hosts in parallel or 0 to process them sequentially
+     * @param modelSupplier a {@link Supplier} that provides the CPU utilization model for each Cloudlet
+     */
+    private double[] runSimulation(final int parallelism, final Supplier<UtilizationModel> modelSupplier) {
+        final ForkJoinPool pool = parallelism > 0 ? new ForkJoinPool(parallelism) : null;
+        try {
+            return runSimulation(pool, modelSupplier);
+        } finally {
+            if(pool != null) {
+                pool.shutdown();
+            }
+        }
+    }
+
+    /**
+     * Runs a simulation and gets the finish time of every Cloudlet, in the order of Cloudlet IDs.
+     *
+     * @param pool the pool to process Hosts in parallel or null to process them sequentially
+     * @param modelSupplier a {@link Supplier} that provides the CPU utilization model for each Cloudlet
+     */
+    private double[] runSimulation(final ForkJoinPool pool, final Supplier<UtilizationModel> modelSupplier) {
+        final CloudSim simulation = new CloudSim();
+        final List<Host> hostList = new ArrayList<>(HOSTS);
+        for (int i = 0; i < HOSTS; i++) {
+            hostList.add(new HostSimple(2048, 10000, 100000, Collections.singletonList(new PeSimple(1000))));
+        }
+
+        final DatacenterSimple dc = new DatacenterSimple(simulation, hostList);
+        dc.setSchedulingInterval(1);
+        if(pool != null) {
+            dc.enableParallelHostsProcessing(pool);
+        }
+
+        final DatacenterBroker broker = new DatacenterBrokerSimple(simulation);
+        final List<Vm> vmList = new ArrayList<>(HOSTS);
+        final List<Cloudlet> cloudletList = new ArrayList<>(HOSTS * CLOUDLETS_BY_VM);
+        for (int i = 0; i < HOSTS; i++) {
+            final Vm vm = new VmSimple(1000, 1).setRam(512).setBw(1000).setSize(1000);
+            vmList.add(vm);
+            for (int j = 0; j < CLOUDLETS_BY_VM; j++) {
+                final Cloudlet cloudlet = new CloudletSimple(1000 + (i % 7) * 500 + j * 300, 1, modelSupplier.get());
+                cloudlet.setUtilizationModelRam(UtilizationModel.NULL).setUtilizationModelBw(UtilizationModel.NULL);
+                cloudlet.setVm(vm);
+                cloudletList.add(cloudlet);
+            }
+        }
+
+        broker.submitVmList(vmList);
+        broker.submitCloudletList(cloudletList);
+        simulation.start();
+
+        return broker.getCloudletFinishedList().stream()
+                     .sorted((c1, c2) -> Long.compare(c1.getId(), c2.getId()))
+                     .mapToDouble(Cloudlet::getFinishTime)
+                     .toArray();
+    }
+}
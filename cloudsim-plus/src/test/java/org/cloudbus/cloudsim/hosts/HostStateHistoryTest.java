@@ -0,0 +1,120 @@
+package org.cloudbus.cloudsim.hosts;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Manoel Campos da Silva Filho
+ */
+public class HostStateHistoryTest {
+    @Test
+    public void testAddEntriesBeyondOneChunk() {
+        final HostStateHistory history = new HostStateHistory();
+        final int entries = HostStateHistory.CHUNK_SIZE * 2 + 10;
+        for (int i = 0; i < entries; i++) {
+            history.add(i, i * 10, i * 20, i % 2 == 0);
+        }
+
+        assertEquals(entries, history.size());
+        final int last = entries - 1;
+        assertAll(
+            () -> assertEquals(last, history.getTime(last)),
+            () -> assertEquals(last * 10, history.getAllocatedMips(last)),
+            () -> assertEquals(last * 20, history.getRequestedMips(last)),
+            () -> assertFalse(history.isActive(last)),
+            () -> assertTrue(history.isActive(last - 1))
+        );
+    }
+
+    @Test
+    public void testAddEntryWithSameTimeReplacesLastOne() {
+        final HostStateHistory history = new HostStateHistory();
+        history.add(1, 100, 200, true);
+        history.add(1, 300, 400, false);
+
+        assertEquals(1, history.size());
+        final HostStateHistoryEntry entry = history.get(0);
+        assertAll(
+            () -> assertEquals(1, entry.getTime()),
+            () -> assertEquals(300, entry.getAllocatedMips()),
+            () -> assertEquals(400, entry.getRequestedMips()),
+            () -> assertFalse(entry.isActive())
+        );
+    }
+
+    @Test
+    public void testBoundedHistoryDiscardsOldestEntries() {
+        final HostStateHistory history = new HostStateHistory().setMaxEntries(3);
+        for (int i = 0; i < 5; i++) {
+            history.add(i, i, i, true);
+        }
+
+        assertEquals(3, history.size());
+        assertEquals(2, history.getTime(0));
+        assertEquals(4, history.getTime(2));
+    }
+
+    @Test
+    public void testSetMaxEntriesKeepsNewestEntries() {
+        final HostStateHistory history = new HostStateHistory();
+        for (int i = 0; i < 5; i++) {
+            history.add(i, i, i, true);
+        }
+
+        history.setMaxEntries(2);
+        assertEquals(2, history.size());
+        assertEquals(3, history.getTime(0));
+        assertEquals(4, history.getTime(1));
+    }
+
+    @Test
+    public void testAggregationWindowAveragesEntries() {
+        final HostStateHistory history = new HostStateHistory().setAggregationWindow(10);
+        history.add(1, 100, 200, false);
+        history.add(5, 300, 400, true);
+        history.add(9, 500, 600, false);
+        history.add(12, 1000, 1000, false);
+
+        assertEquals(2, history.size());
+        assertAll(
+            () -> assertEquals(9, history.getTime(0)),
+            () -> assertEquals(300, history.getAllocatedMips(0)),
+            () -> assertEquals(400, history.getRequestedMips(0)),
+            () -> assertTrue(history.isActive(0)),
+            () -> assertEquals(12, history.getTime(1)),
+            () -> assertFalse(history.isActive(1))
+        );
+    }
+
+    @Test
+    public void testGetInvalidIndex() {
+        final HostStateHistory history = new HostStateHistory();
+        history.add(0, 0, 0, true);
+        assertThrows(IndexOutOfBoundsException.class, () -> history.getTime(1));
+    }
+
+    @Test
+    public void testHistoryIsReadOnly() {
+        final HostStateHistory history = new HostStateHistory();
+        assertThrows(UnsupportedOperationException.class, () -> history.add(new HostStateHistoryEntry(0, 0, 0, true)));
+    }
+
+    @Test
+    public void testHostSettersConfigureTheHistory() {
+        final Host host = HostSimpleTest.createHostSimple(0, 1)
+                                        .setStateHistoryMaxEntries(2)
+                                        .setStateHistoryAggregationWindow(10);
+        assertAll(
+            () -> assertEquals(2, host.getStateHistory().getMaxEntries()),
+            () -> assertEquals(10, host.getStateHistory().getAggregationWindow())
+        );
+    }
+
+    @Test
+    public void testNullHostSharesAnEmptyHistory() {
+        assertSame(Host.NULL.getStateHistory(), Host.NULL.getStateHistory());
+        assertSame(Host.NULL, Host.NULL.setStateHistoryMaxEntries(2));
+        assertTrue(Host.NULL.getStateHistory().isEmpty());
+    }
+}
@@ -0,0 +1,110 @@
+package org.cloudbus.cloudsim.network;
+
+import org.cloudbus.cloudsim.network.topologies.TopologicalGraph;
+import org.cloudbus.cloudsim.network.topologies.TopologicalLink;
+import org.cloudbus.cloudsim.network.topologies.TopologicalNode;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * @author Manoel Campos da Silva Filho
+ */
+public class DijkstraShortestPathsTest {
+    private static TopologicalGraph createGraph(final int nodes, final int links, final long seed) {
+        final TopologicalGraph graph = new TopologicalGraph();
+        for (int i = 0; i < nodes; i++) {
+            graph.addNode(new TopologicalNode(i));
+        }
+
+        //Avoids duplicated links, since the DelayMatrix just keeps the last one
+        final boolean[][] linked = new boolean[nodes][nodes];
+        final Random random = new Random(seed);
+        for (int i = 0; i < links; i++) {
+            final int src = random.nextInt(nodes);
+            final int dest = random.nextInt(nodes);
+            if (src != dest && !linked[src][dest]) {
+                linked[src][dest] = linked[dest][src] = true;
+                graph.addLink(new TopologicalLink(src, dest, 1 + random.nextInt(10), 100));
+            }
+        }
+
+        return graph;
+    }
+
+    @Test
+    public void testGetDelayPath() {
+        final TopologicalGraph graph = createGraph(3, 0, 0);
+        graph.addLink(new TopologicalLink(0, 1, 2, 100));
+        graph.addLink(new TopologicalLink(1, 2, 3, 100));
+        graph.addLink(new TopologicalLink(0, 2, 10, 100));
+
+        final DijkstraShortestPaths instance = new DijkstraShortestPaths(graph, false);
+        assertEquals(0, instance.getDelay(0, 0));
+        assertEquals(5, instance.getDelay(0, 2));
+        assertEquals(5, instance.getDelay(2, 0));
+    }
+
+    @Test
+    public void testGetDelayNoPath() {
+        final TopologicalGraph graph = createGraph(3, 0, 0);
+        graph.addLink(new TopologicalLink(0, 1, 2, 100));
+
+        final DijkstraShortestPaths instance = new DijkstraShortestPaths(graph, true);
+        assertEquals(DijkstraShortestPaths.NO_PATH, instance.getDelay(1, 0));
+        assertEquals(DijkstraShortestPaths.NO_PATH, instance.getDelay(0, 2));
+    }
+
+    @Test
+    public void testGetDelayInvalidNode() {
+        final DijkstraShortestPaths instance = new DijkstraShortestPaths(createGraph(3, 0, 0), false);
+        assertThrows(ArrayIndexOutOfBoundsException.class, () -> instance.getDelay(-1, 0));
+        assertThrows(ArrayIndexOutOfBoundsException.class, () -> instance.getDelay(0, 3));
+    }
+
+    @Test
+    public void testGetDelaySameAsFloydWarshall() {
+        final int nodes = 300;
+        for (final boolean directed : new boolean[]{false, true}) {
+            final TopologicalGraph graph = createGraph(nodes, 900, 1);
+            final DelayMatrix matrix = new DelayMatrix(graph, directed);
+            final DijkstraShortestPaths instance = new DijkstraShortestPaths(graph, directed);
+            for (int i = 0; i < nodes; i++) {
+                for (int j = 0; j < nodes; j++) {
+                    assertEquals(matrix.getDelay(i, j), instance.getDelay(i, j), 0.000001, "delay from " + i + " to " + j);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testSetMaxCachedRows() {
+        final DijkstraShortestPaths instance = new DijkstraShortestPaths(createGraph(10, 20, 2), false);
+        instance.setMaxCachedRows(2);
+        for (int i = 0; i < 5; i++) {
+            instance.getDelay(i, 0);
+        }
+        assertEquals(2, instance.getCachedRowsNumber());
+
+        instance.setMaxCachedRows(1);
+        assertEquals(1, instance.getCachedRowsNumber());
+        assertThrows(IllegalArgumentException.class, () -> instance.setMaxCachedRows(0));
+    }
+
+    @Test
+    public void testDefaultMaxCachedRowsIsBoundedBySize() {
+        assertAll(
+            () -> assertEquals(DijkstraShortestPaths.DEFAULT_MAX_CACHED_ROWS, DijkstraShortestPaths.getDefaultMaxCachedRows(0)),
+            () -> assertEquals(DijkstraShortestPaths.DEFAULT_MAX_CACHED_ROWS, DijkstraShortestPaths.getDefaultMaxCachedRows(300)),
+            () -> assertEquals(41, DijkstraShortestPaths.getDefaultMaxCachedRows(100_000)),
+            () -> assertEquals(1, DijkstraShortestPaths.getDefaultMaxCachedRows(Integer.MAX_VALUE))
+        );
+
+        final DijkstraShortestPaths instance = new DijkstraShortestPaths(createGraph(10, 20, 2), false);
+        assertEquals(DijkstraShortestPaths.getDefaultMaxCachedRows(10), instance.getMaxCachedRows());
+    }
+}
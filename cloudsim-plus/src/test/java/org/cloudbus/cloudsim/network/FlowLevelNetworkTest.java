@@ -0,0 +1,185 @@
+package org.cloudbus.cloudsim.network;
+
+import org.cloudbus.cloudsim.allocationpolicies.VmAllocationPolicySimple;
+import org.cloudbus.cloudsim.cloudlets.Cloudlet;
+import org.cloudbus.cloudsim.core.ActionsEntity;
+import org.cloudbus.cloudsim.core.CloudSim;
+import org.cloudbus.cloudsim.core.CloudSimTags;
+import org.cloudbus.cloudsim.datacenters.network.NetworkDatacenter;
+import org.cloudbus.cloudsim.hosts.network.NetworkHost;
+import org.cloudbus.cloudsim.network.switches.AggregateSwitch;
+import org.cloudbus.cloudsim.network.switches.EdgeSwitch;
+import org.cloudbus.cloudsim.network.switches.Switch;
+import org.cloudbus.cloudsim.resources.PeSimple;
+import org.cloudbus.cloudsim.vms.Vm;
+import org.cloudbus.cloudsim.vms.network.NetworkVm;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Manoel Campos da Silva Filho
+ */
+public class FlowLevelNetworkTest {
+    private static final double DELTA = 0.000001;
+
+    /**
+     * The number of bytes in 1 Megabit.
+     */
+    private static final long MEGABIT = 131072;
+
+    private static final double SWITCHING_DELAY = 0.1;
+    private static final double EDGE_DOWNLINK_BW = 100;
+    private static final double EDGE_UPLINK_BW = 30;
+    private static final double AGGREGATE_DOWNLINK_BW = 100;
+
+    private CloudSim simulation;
+    private ActionsEntity requester;
+    private FlowLevelNetwork network;
+
+    /**
+     * Hosts 0 and 1 are connected to the 1st Edge Switch and Hosts 2 and 3 to the 2nd one.
+     * Both Edge Switches are connected to an Aggregate Switch.
+     * Host 4 is connected to an Edge Switch without any uplink.
+     */
+    private List<NetworkHost> hosts;
+    private List<EdgeSwitch> edgeSwitches;
+
+    /**
+     * The time each packet was delivered to its destination Host.
+     */
+    private Map<HostPacket, Double> deliveryTimes;
+
+    @BeforeEach
+    public void setUp() {
+        simulation = new CloudSim();
+        requester = new ActionsEntity(simulation);
+        hosts = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            hosts.add(new NetworkHost(10000, 10000, 100000, Collections.singletonList(new PeSimple(1000))));
+        }
+
+        final NetworkDatacenter dc = new NetworkDatacenter(simulation, hosts, new VmAllocationPolicySimple());
+        dc.enableFlowLevelNetwork();
+        network = dc.getFlowLevelNetwork();
+
+        final AggregateSwitch aggregateSwitch = new AggregateSwitch(simulation, dc);
+        aggregateSwitch.setDownlinkBandwidth(AGGREGATE_DOWNLINK_BW);
+        aggregateSwitch.setSwitchingDelay(SWITCHING_DELAY);
+
+        edgeSwitches = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            final EdgeSwitch edgeSwitch = new EdgeSwitch(simulation, dc);
+            edgeSwitch.setDownlinkBandwidth(EDGE_DOWNLINK_BW);
+            edgeSwitch.setUplinkBandwidth(EDGE_UPLINK_BW);
+            edgeSwitch.setSwitchingDelay(SWITCHING_DELAY);
+            edgeSwitches.add(edgeSwitch);
+        }
+
+        connect(edgeSwitches.get(0), aggregateSwitch);
+        connect(edgeSwitches.get(1), aggregateSwitch);
+        for (int i = 0; i < hosts.size(); i++) {
+            edgeSwitches.get(Math.min(i / 2, 2)).connectHost(hosts.get(i));
+        }
+
+        deliveryTimes = new HashMap<>();
+        simulation.addOnEventProcessingListener(evt -> {
+            if (evt.getTag() == CloudSimTags.NETWORK_EVENT_HOST && evt.getDestination() == network) {
+                deliveryTimes.put((HostPacket) evt.getData(), evt.getTime());
+            }
+        });
+    }
+
+    private static void connect(final Switch lower, final Switch upper) {
+        lower.getUplinkSwitches().add(upper);
+        upper.getDownlinkSwitches().add(lower);
+    }
+
+    private HostPacket createPacket(final int sourceHost, final int destinationHost, final long megabits) {
+        final Vm destinationVm = new NetworkVm(destinationHost, 1000, 1);
+        destinationVm.setHost(hosts.get(destinationHost));
+        final VmPacket vmPacket = new VmPacket(Vm.NULL, destinationVm, megabits * MEGABIT, Cloudlet.NULL, Cloudlet.NULL);
+        return new HostPacket(hosts.get(sourceHost), vmPacket);
+    }
+
+    @Test
+    public void testFlowsSharingLinksGetEqualRates() {
+        //Both flows share the same links, so each one gets half of the bandwidth
+        final HostPacket pkt1 = createPacket(0, 1, 50);
+        final HostPacket pkt2 = createPacket(0, 1, 100);
+        requester.at(0, () -> network.startFlows(Arrays.asList(pkt1, pkt2)));
+        simulation.start();
+
+        /* The 1st flow sends 50 Mb at 50 Mb/s. The 2nd one sends 50 Mb at 50 Mb/s
+         * and the remaining 50 Mb alone at 100 Mb/s. Packets cross a single Switch. */
+        assertAll(
+            () -> assertEquals(1 + SWITCHING_DELAY, deliveryTimes.get(pkt1), DELTA),
+            () -> assertEquals(1.5 + SWITCHING_DELAY, deliveryTimes.get(pkt2), DELTA),
+            () -> assertEquals(2, network.getFinishedFlowsNumber()),
+            () -> assertEquals(0, network.getActiveFlowsNumber())
+        );
+    }
+
+    @Test
+    public void testBandwidthNotUsedByBottleneckedFlowIsRedistributed() {
+        /* The 1st flow is limited by the 30 Mb/s uplink of its Edge Switch.
+         * The 2nd flow shares just the link to Host 2 with the 1st one, getting the remaining 70 Mb/s,
+         * instead of an equal share of 50 Mb/s. */
+        final HostPacket pkt1 = createPacket(0, 2, 30);
+        final HostPacket pkt2 = createPacket(3, 2, 140);
+        requester.at(0, () -> network.startFlows(Arrays.asList(pkt1, pkt2)));
+        simulation.start();
+
+        /* The 1st flow finishes at time 1, crossing 3 Switches.
+         * The 2nd one sends 70 Mb at 70 Mb/s and the remaining 70 Mb alone at 100 Mb/s. */
+        assertAll(
+            () -> assertEquals(1 + 3 * SWITCHING_DELAY, deliveryTimes.get(pkt1), DELTA),
+            () -> assertEquals(1.7 + SWITCHING_DELAY, deliveryTimes.get(pkt2), DELTA)
+        );
+    }
+
+    @Test
+    public void testFlowsStartedLaterShareTheRemainingData() {
+        final HostPacket pkt1 = createPacket(0, 1, 100);
+        final HostPacket pkt2 = createPacket(0, 1, 50);
+        requester.at(0, () -> network.startFlows(Collections.singletonList(pkt1)));
+        requester.at(0.5, () -> network.startFlows(Collections.singletonList(pkt2)));
+        simulation.start();
+
+        /* The 1st flow sends 50 Mb alone, then both flows share the bandwidth until finishing at time 1.5. */
+        assertAll(
+            () -> assertEquals(1.5 + SWITCHING_DELAY, deliveryTimes.get(pkt1), DELTA),
+            () -> assertEquals(1.5 + SWITCHING_DELAY, deliveryTimes.get(pkt2), DELTA)
+        );
+    }
+
+    @Test
+    public void testUnroutablePacketIsDroppedAndCounted() {
+        final HostPacket unroutable = createPacket(0, 4, 10);
+        final HostPacket routable = createPacket(0, 1, 10);
+        requester.at(0, () -> network.startFlows(Arrays.asList(unroutable, routable)));
+        simulation.start();
+
+        assertAll(
+            () -> assertEquals(1, network.getDroppedPacketsNumber()),
+            () -> assertEquals(1, network.getFinishedFlowsNumber()),
+            () -> assertFalse(deliveryTimes.containsKey(unroutable)),
+            () -> assertTrue(deliveryTimes.containsKey(routable))
+        );
+    }
+
+    @Test
+    public void testLinkWithoutBandwidthIsRejected() {
+        edgeSwitches.get(0).setUplinkBandwidth(0);
+        final List<HostPacket> packets = Collections.singletonList(createPacket(0, 2, 10));
+        assertThrows(IllegalStateException.class, () -> network.startFlows(packets));
+    }
+}
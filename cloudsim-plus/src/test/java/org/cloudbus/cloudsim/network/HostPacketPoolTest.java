@@ -0,0 +1,77 @@
+package org.cloudbus.cloudsim.network;
+
+import org.cloudbus.cloudsim.cloudlets.Cloudlet;
+import org.cloudbus.cloudsim.vms.Vm;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Manoel Campos da Silva Filho
+ */
+public class HostPacketPoolTest {
+    private static VmPacket createVmPacket(final long size) {
+        return new VmPacket(Vm.NULL, Vm.NULL, size, Cloudlet.NULL, Cloudlet.NULL);
+    }
+
+    @Test
+    public void testAcquireCreatesPacketWhenPoolIsEmpty() {
+        final HostPacketPool pool = new HostPacketPool();
+        final VmPacket vmPacket = createVmPacket(10);
+        final HostPacket pkt = pool.acquire(null, vmPacket);
+        assertSame(vmPacket, pkt.getVmPacket());
+        assertEquals(0, pool.size());
+    }
+
+    @Test
+    public void testReleasedPacketIsReused() {
+        final HostPacketPool pool = new HostPacketPool();
+        final HostPacket pkt = pool.acquire(null, createVmPacket(10));
+        pool.release(pkt);
+        assertAll(
+            () -> assertEquals(1, pool.size()),
+            () -> assertNull(pkt.getVmPacket())
+        );
+
+        final VmPacket vmPacket = createVmPacket(20);
+        assertSame(pkt, pool.acquire(null, vmPacket));
+        assertAll(
+            () -> assertSame(vmPacket, pkt.getVmPacket()),
+            () -> assertEquals(20, pkt.getSize()),
+            () -> assertEquals(0, pool.size())
+        );
+    }
+
+    @Test
+    public void testReleaseTwiceDoesNotDuplicatePacket() {
+        final HostPacketPool pool = new HostPacketPool();
+        final HostPacket pkt = pool.acquire(null, createVmPacket(10));
+        pool.release(pkt);
+        pool.release(pkt);
+        assertEquals(1, pool.size());
+
+        assertSame(pkt, pool.acquire(null, createVmPacket(10)));
+        assertNotSame(pkt, pool.acquire(null, createVmPacket(10)));
+    }
+
+    @Test
+    public void testReleaseAfterReacquireReturnsPacketToPool() {
+        final HostPacketPool pool = new HostPacketPool();
+        final HostPacket pkt = pool.acquire(null, createVmPacket(10));
+        pool.release(pkt);
+        pool.acquire(null, createVmPacket(10));
+        pool.release(pkt);
+        assertEquals(1, pool.size());
+    }
+
+    @Test
+    public void testReleaseWhenPoolIsFull() {
+        final HostPacketPool pool = new HostPacketPool(1);
+        final HostPacket pkt0 = pool.acquire(null, createVmPacket(10));
+        final HostPacket pkt1 = pool.acquire(null, createVmPacket(10));
+        pool.release(pkt0);
+        pool.release(pkt1);
+        assertEquals(1, pool.size());
+        assertSame(pkt0, pool.acquire(null, createVmPacket(10)));
+    }
+}
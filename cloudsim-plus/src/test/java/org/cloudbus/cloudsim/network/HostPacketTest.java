@@ -0,0 +1,65 @@
+package org.cloudbus.cloudsim.network;
+
+import org.cloudbus.cloudsim.cloudlets.Cloudlet;
+import org.cloudbus.cloudsim.vms.Vm;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Manoel Campos da Silva Filho
+ */
+public class HostPacketTest {
+    private static HostPacket createPacket(final long size) {
+        return new HostPacket(null, new VmPacket(Vm.NULL, Vm.NULL, size, Cloudlet.NULL, Cloudlet.NULL));
+    }
+
+    @Test
+    public void testGroupBySizeEmptyList() {
+        assertTrue(HostPacket.groupBySize(Collections.emptyList()).isEmpty());
+    }
+
+    @Test
+    public void testGroupBySizeWhenAllPacketsHaveTheSameSize() {
+        final List<HostPacket> packets = Arrays.asList(createPacket(10), createPacket(10), createPacket(10));
+        final List<List<HostPacket>> batches = new ArrayList<>(HostPacket.groupBySize(packets));
+        assertEquals(1, batches.size());
+        assertEquals(packets, batches.get(0));
+        assertNotSame(packets, batches.get(0));
+    }
+
+    @Test
+    public void testGroupBySizeKeepsPacketsOrder() {
+        final HostPacket pkt0 = createPacket(20);
+        final HostPacket pkt1 = createPacket(10);
+        final HostPacket pkt2 = createPacket(20);
+        final HostPacket pkt3 = createPacket(30);
+        final HostPacket pkt4 = createPacket(10);
+
+        final List<List<HostPacket>> batches =
+            new ArrayList<>(HostPacket.groupBySize(Arrays.asList(pkt0, pkt1, pkt2, pkt3, pkt4)));
+        assertAll(
+            () -> assertEquals(3, batches.size()),
+            () -> assertEquals(Arrays.asList(pkt0, pkt2), batches.get(0)),
+            () -> assertEquals(Arrays.asList(pkt1, pkt4), batches.get(1)),
+            () -> assertEquals(Collections.singletonList(pkt3), batches.get(2))
+        );
+    }
+
+    @Test
+    public void testToEventDataSinglePacket() {
+        final HostPacket pkt = createPacket(10);
+        assertSame(pkt, HostPacket.toEventData(Collections.singletonList(pkt)));
+    }
+
+    @Test
+    public void testToEventDataMultiplePackets() {
+        final List<HostPacket> batch = Arrays.asList(createPacket(10), createPacket(10));
+        assertSame(batch, HostPacket.toEventData(batch));
+    }
+}
@@ -0,0 +1,102 @@
+package org.cloudbus.cloudsim.network;
+
+import org.cloudbus.cloudsim.allocationpolicies.VmAllocationPolicySimple;
+import org.cloudbus.cloudsim.cloudlets.Cloudlet;
+import org.cloudbus.cloudsim.core.CloudSim;
+import org.cloudbus.cloudsim.datacenters.network.NetworkDatacenter;
+import org.cloudbus.cloudsim.hosts.network.NetworkHost;
+import org.cloudbus.cloudsim.network.switches.EdgeSwitch;
+import org.cloudbus.cloudsim.network.switches.Switch;
+import org.cloudbus.cloudsim.resources.PeSimple;
+import org.cloudbus.cloudsim.vms.Vm;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Manoel Campos da Silva Filho
+ */
+public class NetworkLinkTest {
+    private static final double DELTA = 0.000001;
+
+    /**
+     * The number of bytes in 1 Megabit.
+     */
+    private static final long MEGABIT = 131072;
+
+    private static HostPacket createPacket(final long megabits) {
+        return new HostPacket(null, new VmPacket(Vm.NULL, Vm.NULL, megabits * MEGABIT, Cloudlet.NULL, Cloudlet.NULL));
+    }
+
+    @Test
+    public void testTransmitSimultaneousPacketsShareBandwidth() {
+        final NetworkLink link = new NetworkLink(Switch.NULL, Switch.NULL, 10);
+        final List<HostPacket> packets = Arrays.asList(createPacket(2), createPacket(1), createPacket(1));
+        final Map<Long, Double> delays = new HashMap<>();
+        link.transmit(0, packets, (batch, delay) -> delays.put(batch.get(0).getSize() / MEGABIT, delay));
+
+        assertAll(
+            () -> assertEquals(2, delays.size()),
+            () -> assertEquals(0.3, delays.get(1L), DELTA),
+            () -> assertEquals(0.4, delays.get(2L), DELTA),
+            () -> assertEquals(4, link.getTransferredData(), DELTA),
+            () -> assertEquals(3, link.getTransferredPackets())
+        );
+    }
+
+    @Test
+    public void testTransmitWaitsForQueuedData() {
+        final NetworkLink link = new NetworkLink(Switch.NULL, Switch.NULL, 10);
+        assertEquals(0.4, link.transmit(0, 4), DELTA);
+        assertEquals(3, link.getQueuedData(0.1), DELTA);
+
+        assertEquals(0.4, link.transmit(0.1, 1), DELTA);
+        assertAll(
+            () -> assertEquals(0.3, link.getMaxQueueingDelay(), DELTA),
+            () -> assertEquals(0.15, link.getAverageQueueingDelay(), DELTA),
+            () -> assertEquals(0.5, link.getBusyTime(1), DELTA),
+            () -> assertEquals(0.5, link.getUtilization(1), DELTA),
+            () -> assertEquals(0, link.getQueuedData(0.5), DELTA)
+        );
+    }
+
+    @Test
+    public void testBusyTimeExcludesQueuedData() {
+        final NetworkLink link = new NetworkLink(Switch.NULL, Switch.NULL, 10);
+        link.transmit(0, 4);
+        assertAll(
+            () -> assertEquals(0.1, link.getBusyTime(0.1), DELTA),
+            () -> assertEquals(1, link.getUtilization(0.1), DELTA),
+            () -> assertEquals(0.4, link.getBusyTime(0.8), DELTA),
+            () -> assertEquals(0.5, link.getUtilization(0.8), DELTA)
+        );
+    }
+
+    @Test
+    public void testInvalidBandwidth() {
+        assertThrows(IllegalArgumentException.class, () -> new NetworkLink(Switch.NULL, Switch.NULL, 0));
+    }
+
+    @Test
+    public void testGetNetworkLinkKeepsTheBandwidthOfAnExistingLink() {
+        final NetworkHost host = new NetworkHost(10000, 10000, 100000, Collections.singletonList(new PeSimple(1000)));
+        final NetworkDatacenter dc =
+            new NetworkDatacenter(new CloudSim(), Collections.singletonList(host), new VmAllocationPolicySimple());
+        final EdgeSwitch edgeSwitch = new EdgeSwitch((CloudSim) dc.getSimulation(), dc);
+
+        final NetworkLink link = dc.getNetworkLink(host, edgeSwitch, 10);
+        assertAll(
+            () -> assertSame(host, link.getSender()),
+            () -> assertSame(edgeSwitch, link.getReceiver()),
+            () -> assertSame(link, dc.getNetworkLink(host, edgeSwitch, 20)),
+            () -> assertEquals(10, link.getBandwidth(), DELTA),
+            () -> assertNotSame(link, dc.getNetworkLink(edgeSwitch, host, 20))
+        );
+    }
+}
@@ -0,0 +1,229 @@
+package org.cloudbus.cloudsim.network;
+
+import org.cloudbus.cloudsim.brokers.DatacenterBrokerAbstract;
+import org.cloudbus.cloudsim.brokers.DatacenterBrokerSimple;
+import org.cloudbus.cloudsim.cloudlets.Cloudlet;
+import org.cloudbus.cloudsim.cloudlets.CloudletSimple;
+import org.cloudbus.cloudsim.core.ActionsEntity;
+import org.cloudbus.cloudsim.core.CloudSim;
+import org.cloudbus.cloudsim.core.CloudSimTags;
+import org.cloudbus.cloudsim.core.SimEntity;
+import org.cloudbus.cloudsim.core.Simulation;
+import org.cloudbus.cloudsim.datacenters.DatacenterSimple;
+import org.cloudbus.cloudsim.hosts.Host;
+import org.cloudbus.cloudsim.hosts.HostSimple;
+import org.cloudbus.cloudsim.network.topologies.BriteNetworkTopology;
+import org.cloudbus.cloudsim.resources.PeSimple;
+import org.cloudbus.cloudsim.util.Conversion;
+import org.cloudbus.cloudsim.utilizationmodels.UtilizationModelFull;
+import org.cloudbus.cloudsim.vms.Vm;
+import org.cloudbus.cloudsim.vms.VmSimple;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * @author Manoel Campos da Silva Filho
+ */
+public class WanNetworkTest {
+    private static final double DELTA = 0.000001;
+
+    /**
+     * The bandwidth (in Megabits/s) of the link between the entities.
+     */
+    private static final double BANDWIDTH = 10;
+    private static final double LATENCY = 2;
+
+    @Test
+    public void testTransfersShareThePathBandwidthEqually() {
+        final CloudSim simulation = new CloudSim();
+        final ActionsEntity source = new ActionsEntity(simulation);
+        final ActionsEntity destination = new ActionsEntity(simulation);
+        final BriteNetworkTopology topology = createTopology(simulation, source, destination);
+        final WanNetwork wan = new WanNetwork(simulation);
+
+        final List<WanTransfer> transfers = new ArrayList<>();
+        source.at(0, () -> {
+            for (int i = 0; i < 3; i++) {
+                transfers.add(wan.transfer(source, destination, 30, transfer -> {}));
+            }
+
+            transfers.forEach(transfer -> assertEquals(BANDWIDTH / 3, transfer.getRate(), DELTA));
+        });
+        simulation.start();
+
+        final double delay = topology.getDelay(source.getId(), destination.getId());
+        assertEquals(3, wan.getFinishedTransfersNumber());
+        assertEquals(0, wan.getActiveTransfersNumber());
+        transfers.forEach(transfer -> assertEquals(9 + delay, transfer.getFinishTime(), DELTA));
+    }
+
+    @Test
+    public void testRatesAreRecomputedWhenTransferStartsAndFinishes() {
+        final CloudSim simulation = new CloudSim();
+        final ActionsEntity source = new ActionsEntity(simulation);
+        final ActionsEntity destination = new ActionsEntity(simulation);
+        final BriteNetworkTopology topology = createTopology(simulation, source, destination);
+        final WanNetwork wan = new WanNetwork(simulation);
+
+        final WanTransfer[] transfers = new WanTransfer[2];
+        source.at(0, () -> transfers[0] = wan.transfer(source, destination, 100, transfer -> {}));
+        source.at(5, () -> {
+            transfers[1] = wan.transfer(source, destination, 100, transfer -> {});
+            assertEquals(BANDWIDTH / 2, transfers[0].getRate(), DELTA);
+            assertEquals(50, transfers[0].getRemainingData(), DELTA);
+        });
+        simulation.start();
+
+        /* The 1st transfer sends 50 Mb alone and the remaining 50 Mb at half the bandwidth.
+         * The 2nd one sends 50 Mb at half the bandwidth and then 50 Mb alone. */
+        final double delay = topology.getDelay(source.getId(), destination.getId());
+        assertEquals(15 + delay, transfers[0].getFinishTime(), DELTA);
+        assertEquals(20 + delay, transfers[1].getFinishTime(), DELTA);
+    }
+
+    @Test
+    public void testStaleUpdateEventsAreIgnored() {
+        final CloudSim simulation = new CloudSim();
+        final ActionsEntity source = new ActionsEntity(simulation);
+        final ActionsEntity destination = new ActionsEntity(simulation);
+        createTopology(simulation, source, destination);
+        final WanNetwork wan = new WanNetwork(simulation);
+
+        final int[] updates = {0};
+        simulation.addOnEventProcessingListener(evt -> {
+            if (evt.getTag() == CloudSimTags.WAN_TRANSFER_UPDATE) {
+                updates[0]++;
+            }
+        });
+
+        source.at(0, () -> wan.transfer(source, destination, 100, transfer -> {}));
+        source.at(5, () -> wan.transfer(source, destination, 100, transfer -> {}));
+        simulation.start();
+
+        /* The update scheduled at time 10 (for the 1st transfer alone) becomes stale
+         * when the 2nd transfer starts. It must not schedule any other update,
+         * so that just the updates at times 10, 15 and 20 are processed. */
+        assertEquals(3, updates[0]);
+        assertEquals(2, wan.getFinishedTransfersNumber());
+    }
+
+    @Test
+    public void testBrokerSubmitsCloudletAfterInputFileTransfer() {
+        final long fileSize = 1_000_000;
+        final double withoutWan = runCloudletSubmission(fileSize, false);
+        final double withWan = runCloudletSubmission(fileSize, true);
+        assertEquals(Conversion.bytesToMegaBits(fileSize) / BANDWIDTH, withWan - withoutWan, DELTA);
+    }
+
+    /**
+     * Runs a simulation with a single Cloudlet and gets the time it starts executing.
+     */
+    private double runCloudletSubmission(final long fileSize, final boolean wanEnabled) {
+        final CloudSim simulation = new CloudSim();
+        final DatacenterSimple dc = new DatacenterSimple(simulation, Collections.singletonList(createHost()));
+        final DatacenterBrokerAbstract broker = new DatacenterBrokerSimple(simulation);
+        createTopology(simulation, broker, dc);
+        if (wanEnabled) {
+            broker.setWanNetwork(new WanNetwork(simulation));
+        }
+
+        final Cloudlet cloudlet = new CloudletSimple(1000, 1, new UtilizationModelFull());
+        cloudlet.setFileSize(fileSize);
+        broker.submitVm(createVm());
+        broker.submitCloudlet(cloudlet);
+        simulation.start();
+
+        assertEquals(Cloudlet.Status.SUCCESS, cloudlet.getStatus());
+        return cloudlet.getExecStartTime();
+    }
+
+    @Test
+    public void testVmMigrationToAnotherDatacenterWaitsForRamTransfer() {
+        final CloudSim simulation = new CloudSim();
+        final DatacenterSimple sourceDc = new DatacenterSimple(simulation, Collections.singletonList(createHost()));
+        final Host targetHost = createHost();
+        final DatacenterSimple targetDc = new DatacenterSimple(simulation, Collections.singletonList(targetHost));
+        final DatacenterBrokerAbstract broker = new DatacenterBrokerSimple(simulation);
+        final ActionsEntity requester = new ActionsEntity(simulation);
+        final BriteNetworkTopology topology = createTopology(simulation, sourceDc, targetDc);
+        sourceDc.setWanNetwork(new WanNetwork(simulation));
+
+        final Vm vm = createVm();
+        final double[] migrationFinishTime = {-1};
+        vm.addOnMigrationFinishListener(info -> migrationFinishTime[0] = info.getTime());
+        broker.submitVm(vm);
+        broker.submitCloudlet(new CloudletSimple(200000, 1, new UtilizationModelFull()));
+
+        final double migrationStartTime = 5;
+        requester.at(migrationStartTime, () -> sourceDc.requestVmMigration(vm, targetHost));
+        simulation.terminateAt(150);
+        simulation.start();
+
+        final double ramSize = Conversion.bytesToBits(vm.getRam().getCapacity());
+        final double delay = topology.getDelay(sourceDc.getId(), targetDc.getId());
+        assertAll(
+            () -> assertSame(targetHost, vm.getHost()),
+            () -> assertEquals(migrationStartTime + ramSize / BANDWIDTH + delay, migrationFinishTime[0], DELTA)
+        );
+    }
+
+    @Test
+    public void testVmMigrationWithoutTopologyUsesTheTargetHostBandwidth() {
+        final CloudSim simulation = new CloudSim();
+        final DatacenterSimple sourceDc = new DatacenterSimple(simulation, Collections.singletonList(createHost()));
+        final Host targetHost = createHost();
+        new DatacenterSimple(simulation, Collections.singletonList(targetHost));
+        final DatacenterBrokerAbstract broker = new DatacenterBrokerSimple(simulation);
+        final ActionsEntity requester = new ActionsEntity(simulation);
+        final WanNetwork wan = new WanNetwork(simulation);
+        sourceDc.setWanNetwork(wan);
+
+        final Vm vm = createVm();
+        final double[] migrationFinishTime = {-1};
+        vm.addOnMigrationFinishListener(info -> migrationFinishTime[0] = info.getTime());
+        broker.submitVm(vm);
+        broker.submitCloudlet(new CloudletSimple(200000, 1, new UtilizationModelFull()));
+
+        final double migrationStartTime = 5;
+        requester.at(migrationStartTime, () -> sourceDc.requestVmMigration(vm, targetHost));
+        simulation.terminateAt(150);
+        simulation.start();
+
+        /* Since there is no bandwidth between the Datacenters,
+         * the migration time is computed from the target Host bandwidth,
+         * instead of the VM being migrated instantly through the WAN. */
+        final double hostBw = Conversion.bitesToBytes(targetHost.getBw().getCapacity() * sourceDc.getBandwidthPercentForMigration());
+        assertAll(
+            () -> assertSame(targetHost, vm.getHost()),
+            () -> assertEquals(0, wan.getFinishedTransfersNumber()),
+            () -> assertEquals(migrationStartTime + vm.getRam().getCapacity() / hostBw, migrationFinishTime[0], DELTA)
+        );
+    }
+
+    private static BriteNetworkTopology createTopology(final Simulation simulation, final SimEntity source, final SimEntity destination) {
+        final BriteNetworkTopology topology = new BriteNetworkTopology();
+        topology.addLink(source.getId(), destination.getId(), BANDWIDTH, LATENCY);
+        simulation.setNetworkTopology(topology);
+        return topology;
+    }
+
+    /**
+     * Creates a Host with spare PEs, since the resources for a VM migrating into a Host
+     * are allocated when the migration starts and also when it finishes.
+     */
+    private static Host createHost() {
+        return new HostSimple(4096, 100000, 100000, Arrays.asList(new PeSimple(1000), new PeSimple(1000)));
+    }
+
+    private static Vm createVm() {
+        return new VmSimple(1000, 1).setRam(100).setBw(1000).setSize(1000);
+    }
+}
@@ -0,0 +1,214 @@
+package org.cloudbus.cloudsim.network.switches;
+
+import org.cloudbus.cloudsim.allocationpolicies.VmAllocationPolicySimple;
+import org.cloudbus.cloudsim.cloudlets.Cloudlet;
+import org.cloudbus.cloudsim.core.ActionsEntity;
+import org.cloudbus.cloudsim.core.CloudSim;
+import org.cloudbus.cloudsim.core.CloudSimTags;
+import org.cloudbus.cloudsim.datacenters.network.NetworkDatacenter;
+import org.cloudbus.cloudsim.hosts.network.NetworkHost;
+import org.cloudbus.cloudsim.network.HostPacket;
+import org.cloudbus.cloudsim.network.VmPacket;
+import org.cloudbus.cloudsim.resources.Pe;
+import org.cloudbus.cloudsim.resources.PeSimple;
+import org.cloudbus.cloudsim.vms.Vm;
+import org.cloudbus.cloudsim.vms.network.NetworkVm;
+import org.cloudsimplus.builders.FatTreeNetworkBuilder;
+import org.cloudsimplus.builders.LeafSpineNetworkBuilder;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Manoel Campos da Silva Filho
+ */
+public class EcmpRoutingTableTest {
+    private static NetworkDatacenter createDatacenter(final int hostsNumber) {
+        final List<NetworkHost> hostList = new ArrayList<>();
+        for (int i = 0; i < hostsNumber; i++) {
+            final List<Pe> peList = Collections.singletonList(new PeSimple(1000));
+            hostList.add(new NetworkHost(10000, 10000, 100000, peList));
+        }
+
+        return new NetworkDatacenter(new CloudSim(), hostList, new VmAllocationPolicySimple());
+    }
+
+    /**
+     * Follows the routing table from every Edge Switch to every other one,
+     * using different flow hashes, and checks the number of hops.
+     *
+     * @return the Switches used as next hops
+     */
+    private static Set<Switch> assertAllRoutes(final EcmpRoutingTable table, final List<Switch> edgeSwitches, final int maxHops) {
+        final Set<Switch> usedSwitches = new HashSet<>();
+        for (final Switch source : edgeSwitches) {
+            for (final Switch destination : edgeSwitches) {
+                for (int flowHash = 0; flowHash < 16; flowHash++) {
+                    Switch current = source;
+                    int hops = 0;
+                    while (current != destination) {
+                        current = table.getNextHop(current, (EdgeSwitch) destination, flowHash);
+                        assertNotSame(Switch.NULL, current);
+                        usedSwitches.add(current);
+                        assertTrue(++hops <= maxHops);
+                    }
+                }
+            }
+        }
+
+        return usedSwitches;
+    }
+
+    @Test
+    public void testFatTree() {
+        final NetworkDatacenter dc = createDatacenter(16);
+        final EcmpRoutingTable table = new FatTreeNetworkBuilder(4).build(dc);
+        final List<Switch> edgeSwitches = dc.getEdgeSwitch();
+
+        assertAll(
+            () -> assertSame(table, dc.getRoutingTable()),
+            () -> assertEquals(20, table.getSwitchesNumber()),
+            () -> assertEquals(8, edgeSwitches.size()),
+            () -> assertTrue(dc.<NetworkHost>getHostList().stream().allMatch(host -> host.getEdgeSwitch() != null))
+        );
+
+        final Set<Switch> usedSwitches = assertAllRoutes(table, edgeSwitches, 4);
+        assertEquals(20, usedSwitches.size(), "All paths between pods must be used.");
+    }
+
+    @Test
+    public void testLargerFatTree() {
+        final int ports = 8;
+        final NetworkDatacenter dc = createDatacenter(ports * ports * ports / 4);
+        final EcmpRoutingTable table = new FatTreeNetworkBuilder(ports).build(dc);
+        final List<Switch> edgeSwitches = dc.getEdgeSwitch();
+
+        //16 core Switches plus 8 pods with 4 Edge and 4 Aggregate Switches each
+        assertAll(
+            () -> assertEquals(80, table.getSwitchesNumber()),
+            () -> assertEquals(32, edgeSwitches.size()),
+            () -> assertTrue(dc.getSwitchMap().stream().allMatch(sw -> sw.getPorts() == ports), "All Switches must have k ports."),
+            () -> assertTrue(edgeSwitches.stream().allMatch(sw -> ((EdgeSwitch) sw).getHostList().size() == ports / 2))
+        );
+
+        final Set<Switch> usedSwitches = assertAllRoutes(table, edgeSwitches, 4);
+        assertEquals(80, usedSwitches.size(), "All paths between pods must be used.");
+    }
+
+    @Test
+    public void testFatTreeNextHopToSameEdgeSwitch() {
+        final NetworkDatacenter dc = createDatacenter(4);
+        final EcmpRoutingTable table = new FatTreeNetworkBuilder(4).build(dc);
+        final EdgeSwitch edgeSwitch = (EdgeSwitch) dc.getEdgeSwitch().get(0);
+        assertSame(Switch.NULL, table.getNextHop(edgeSwitch, edgeSwitch, 0));
+    }
+
+    @Test
+    public void testFatTreeWithMoreHostsThanSupported() {
+        final NetworkDatacenter dc = createDatacenter(3);
+        assertThrows(IllegalArgumentException.class, () -> new FatTreeNetworkBuilder(2).build(dc));
+    }
+
+    @Test
+    public void testLeafSpine() {
+        final NetworkDatacenter dc = createDatacenter(10);
+        final EcmpRoutingTable table = new LeafSpineNetworkBuilder(3, 4).build(dc);
+        final List<Switch> edgeSwitches = dc.getEdgeSwitch();
+
+        assertAll(
+            () -> assertEquals(6, table.getSwitchesNumber()),
+            () -> assertEquals(3, edgeSwitches.size()),
+            () -> assertEquals(2, ((EdgeSwitch) edgeSwitches.get(2)).getHostList().size())
+        );
+
+        assertAllRoutes(table, edgeSwitches, 2);
+    }
+
+    @Test
+    public void testLeafSpineGroupsAreShared() {
+        final NetworkDatacenter dc = createDatacenter(10);
+        final EcmpRoutingTable table = new LeafSpineNetworkBuilder(3, 4).build(dc);
+
+        /* There are 3 leaves (for 10 Hosts, with 4 Hosts by leaf) and 3 spines.
+         * Each leaf has a single group with all the spines, used for every other leaf.
+         * Each spine has a group with a single leaf for each leaf. */
+        assertEquals(3 + 3 * 3, table.getGroupsNumber());
+    }
+
+    @Test
+    public void testLargerLeafSpine() {
+        final int spines = 8;
+        final int hostsByLeaf = 16;
+        final NetworkDatacenter dc = createDatacenter(200);
+        final EcmpRoutingTable table = new LeafSpineNetworkBuilder(spines, hostsByLeaf).build(dc);
+        final List<Switch> edgeSwitches = dc.getEdgeSwitch();
+
+        //13 leaves are needed for 200 Hosts, where the last one has just 8 Hosts
+        final int leaves = 13;
+        assertAll(
+            () -> assertEquals(leaves + spines, table.getSwitchesNumber()),
+            () -> assertEquals(leaves, edgeSwitches.size()),
+            () -> assertEquals(8, ((EdgeSwitch) edgeSwitches.get(leaves - 1)).getHostList().size()),
+            () -> assertEquals(leaves + spines * leaves, table.getGroupsNumber()),
+            () -> assertTrue(edgeSwitches.stream().allMatch(sw -> sw.getPorts() == hostsByLeaf + spines))
+        );
+
+        final Set<Switch> usedSwitches = assertAllRoutes(table, edgeSwitches, 2);
+        assertEquals(leaves + spines, usedSwitches.size(), "All spines must be used.");
+    }
+
+    @Test
+    public void testFlowHashIsTheSameForPacketsOfTheSameCommunication() {
+        final NetworkDatacenter dc = createDatacenter(2);
+        final Vm sourceVm = new NetworkVm(0, 1000, 1);
+        final Vm destinationVm = new NetworkVm(1, 1000, 1);
+        final NetworkHost host = (NetworkHost) dc.getHost(0);
+        final HostPacket pkt1 = new HostPacket(host, new VmPacket(sourceVm, destinationVm, 1000, Cloudlet.NULL, Cloudlet.NULL));
+        final HostPacket pkt2 = new HostPacket(host, new VmPacket(sourceVm, destinationVm, 2000, Cloudlet.NULL, Cloudlet.NULL));
+        final HostPacket reverse = new HostPacket(host, new VmPacket(destinationVm, sourceVm, 1000, Cloudlet.NULL, Cloudlet.NULL));
+
+        assertAll(
+            () -> assertEquals(pkt1.getFlowHash(), pkt2.getFlowHash()),
+            () -> assertEquals(pkt1.getFlowHash(), EcmpRoutingTable.flowHash(pkt1)),
+            () -> assertEquals(Objects.hash(0L, 1L, Cloudlet.NULL.getId(), Cloudlet.NULL.getId()), pkt1.getFlowHash()),
+            () -> assertNotEquals(pkt1.getFlowHash(), reverse.getFlowHash())
+        );
+    }
+
+    @Test
+    public void testNextHopForSwitchNotInTable() {
+        final NetworkDatacenter dc = createDatacenter(10);
+        final EcmpRoutingTable table = new LeafSpineNetworkBuilder(3, 4).build(dc);
+        final EdgeSwitch destination = (EdgeSwitch) dc.getEdgeSwitch().get(0);
+        final EdgeSwitch newSwitch = new EdgeSwitch((CloudSim) dc.getSimulation(), dc);
+        assertThrows(IllegalArgumentException.class, () -> table.getNextHop(newSwitch, destination, 0));
+    }
+
+    @Test
+    public void testSwitchNotInTableDropsPacket() {
+        final NetworkDatacenter dc = createDatacenter(10);
+        new LeafSpineNetworkBuilder(3, 4).build(dc);
+        final CloudSim simulation = (CloudSim) dc.getSimulation();
+        final EdgeSwitch newSwitch = new EdgeSwitch(simulation, dc);
+
+        final Vm destinationVm = new NetworkVm(0, 1000, 1);
+        destinationVm.setHost(dc.getHost(0));
+        final VmPacket vmPacket = new VmPacket(Vm.NULL, destinationVm, 1000, Cloudlet.NULL, Cloudlet.NULL);
+        final HostPacket pkt = new HostPacket((NetworkHost) dc.getHost(1), vmPacket);
+
+        final ActionsEntity requester = new ActionsEntity(simulation);
+        requester.at(0, () -> simulation.send(requester, newSwitch, 0, CloudSimTags.NETWORK_EVENT_UP, pkt));
+        final List<Integer> forwardedTags = new ArrayList<>();
+        simulation.addOnEventProcessingListener(evt -> {
+            if (evt.getSource() == newSwitch) {
+                forwardedTags.add(evt.getTag());
+            }
+        });
+        simulation.start();
+
+        assertFalse(forwardedTags.contains(CloudSimTags.NETWORK_EVENT_UP));
+        assertFalse(forwardedTags.contains(CloudSimTags.NETWORK_EVENT_DOWN));
+    }
+}
@@ -0,0 +1,118 @@
+package org.cloudbus.cloudsim.network.switches;
+
+import org.cloudbus.cloudsim.allocationpolicies.VmAllocationPolicySimple;
+import org.cloudbus.cloudsim.cloudlets.Cloudlet;
+import org.cloudbus.cloudsim.core.ActionsEntity;
+import org.cloudbus.cloudsim.core.CloudSim;
+import org.cloudbus.cloudsim.core.CloudSimTags;
+import org.cloudbus.cloudsim.core.events.SimEvent;
+import org.cloudbus.cloudsim.datacenters.network.NetworkDatacenter;
+import org.cloudbus.cloudsim.hosts.network.NetworkHost;
+import org.cloudbus.cloudsim.network.HostPacket;
+import org.cloudbus.cloudsim.network.VmPacket;
+import org.cloudbus.cloudsim.resources.PeSimple;
+import org.cloudbus.cloudsim.vms.Vm;
+import org.cloudbus.cloudsim.vms.network.NetworkVm;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Manoel Campos da Silva Filho
+ */
+public class EdgeSwitchTest {
+    private CloudSim simulation;
+    private ActionsEntity requester;
+    private EdgeSwitch edgeSwitch;
+    private List<NetworkHost> hosts;
+
+    /**
+     * The events sending packets from the Switch to the Hosts.
+     */
+    private List<SimEvent> hostEvents;
+
+    @BeforeEach
+    public void setUp() {
+        simulation = new CloudSim();
+        requester = new ActionsEntity(simulation);
+        hosts = new ArrayList<>();
+        for (int i = 0; i < 2; i++) {
+            hosts.add(new NetworkHost(10000, 10000, 100000, Collections.singletonList(new PeSimple(1000))));
+        }
+
+        final NetworkDatacenter dc = new NetworkDatacenter(simulation, hosts, new VmAllocationPolicySimple());
+        edgeSwitch = new EdgeSwitch(simulation, dc);
+        hosts.forEach(edgeSwitch::connectHost);
+
+        hostEvents = new ArrayList<>();
+        simulation.addOnEventProcessingListener(evt -> {
+            if (evt.getTag() == CloudSimTags.NETWORK_EVENT_HOST && evt.getDestination() == edgeSwitch) {
+                hostEvents.add(evt);
+            }
+        });
+    }
+
+    private HostPacket createPacket(final long size) {
+        final Vm destinationVm = new NetworkVm(1, 1000, 1);
+        destinationVm.setHost(hosts.get(1));
+        final VmPacket vmPacket = new VmPacket(Vm.NULL, destinationVm, size, Cloudlet.NULL, Cloudlet.NULL);
+        return new HostPacket(hosts.get(0), vmPacket);
+    }
+
+    private void sendUp(final double time, final Object data) {
+        requester.at(time, () -> simulation.send(requester, edgeSwitch, 0, CloudSimTags.NETWORK_EVENT_UP, data));
+    }
+
+    @Test
+    public void testPacketsWithSameSizeAreForwardedByOneEvent() {
+        final HostPacket pkt0 = createPacket(1000);
+        final HostPacket pkt1 = createPacket(2000);
+        final HostPacket pkt2 = createPacket(1000);
+        sendUp(0, Arrays.asList(pkt0, pkt1, pkt2));
+        simulation.start();
+
+        assertEquals(2, hostEvents.size());
+        assertEquals(Arrays.asList(pkt0, pkt2), hostEvents.get(0).getData());
+        assertSame(pkt1, hostEvents.get(1).getData());
+    }
+
+    @Test
+    public void testSinglePacketIsForwardedAsHostPacket() {
+        final HostPacket pkt = createPacket(1000);
+        sendUp(0, pkt);
+        simulation.start();
+
+        assertEquals(1, hostEvents.size());
+        assertSame(pkt, hostEvents.get(0).getData());
+        assertSame(hosts.get(1), pkt.getDestination());
+    }
+
+    @Test
+    public void testPacketsReceivedAtTheSameTimeAreForwardedByOneEvent() {
+        final List<HostPacket> packets = Arrays.asList(createPacket(1000), createPacket(2000), createPacket(1000));
+        packets.forEach(pkt -> sendUp(0, pkt));
+
+        final List<SimEvent> forwardingEvents = new ArrayList<>();
+        simulation.addOnEventProcessingListener(evt -> {
+            if (evt.getTag() == CloudSimTags.NETWORK_EVENT_SEND && evt.getDestination() == edgeSwitch) {
+                forwardingEvents.add(evt);
+            }
+        });
+        simulation.start();
+
+        final List<HostPacket> delivered = new ArrayList<>();
+        for (final SimEvent evt : hostEvents) {
+            delivered.addAll(edgeSwitch.getEventPackets(evt));
+        }
+
+        assertEquals(1, forwardingEvents.size());
+        assertEquals(packets.size(), delivered.size());
+        assertTrue(delivered.containsAll(packets));
+    }
+}
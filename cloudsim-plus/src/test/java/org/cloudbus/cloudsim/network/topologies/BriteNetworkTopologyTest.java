@@ -0,0 +1,104 @@
+package org.cloudbus.cloudsim.network.topologies;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Manoel Campos da Silva Filho
+ */
+public class BriteNetworkTopologyTest {
+    private static final double DELTA = 0.000001;
+
+    /**
+     * Creates a topology where node 0 reaches node 3 by a direct 5 Mb/s link
+     * or through node 1 (10 Mb/s bottleneck) or node 2 (8 Mb/s bottleneck).
+     */
+    private static BriteNetworkTopology createTopology(final boolean sparse) {
+        final BriteNetworkTopology topology = new BriteNetworkTopology(sparse);
+        topology.addLink(0, 3, 5, 1);
+        topology.addLink(0, 1, 10, 1);
+        topology.addLink(1, 3, 20, 1);
+        topology.addLink(0, 2, 100, 1);
+        topology.addLink(2, 3, 8, 1);
+        return topology;
+    }
+
+    @Test
+    public void testGetBandwidthWidestPath() {
+        final BriteNetworkTopology topology = createTopology(false);
+        assertAll(
+            () -> assertEquals(10, topology.getBandwidth(0, 3), DELTA),
+            () -> assertEquals(100, topology.getBandwidth(0, 2), DELTA),
+            () -> assertEquals(10, topology.getBandwidth(3, 0), DELTA),
+            () -> assertEquals(0, topology.getBandwidth(0, 0), DELTA),
+            () -> assertEquals(0, topology.getBandwidth(0, 9), DELTA)
+        );
+    }
+
+    @Test
+    public void testGetBandwidthWidestPathSparse() {
+        final BriteNetworkTopology topology = createTopology(true);
+        assertAll(
+            () -> assertEquals(10, topology.getBandwidth(0, 3), DELTA),
+            () -> assertEquals(100, topology.getBandwidth(0, 2), DELTA),
+            () -> assertEquals(10, topology.getBandwidth(3, 0), DELTA)
+        );
+    }
+
+    @Test
+    public void testGetBandwidthUpdatedAfterAddingLink() {
+        final BriteNetworkTopology topology = createTopology(false);
+        assertEquals(10, topology.getBandwidth(0, 3), DELTA);
+        topology.addLink(2, 3, 50, 1);
+        assertEquals(50, topology.getBandwidth(0, 3), DELTA);
+    }
+
+    @Test
+    public void testGetBandwidthWhenCachedRowsAreEvicted() {
+        final BriteNetworkTopology topology = createTopology(false).setMaxCachedDelayRows(1);
+        for (int i = 0; i < 2; i++) {
+            assertEquals(10, topology.getBandwidth(0, 3), DELTA);
+            assertEquals(10, topology.getBandwidth(3, 0), DELTA);
+            assertEquals(20, topology.getBandwidth(1, 3), DELTA);
+        }
+    }
+
+    @Test
+    public void testGetDelaySparseSameAsDenseAfterAddingManyLinks() {
+        final BriteNetworkTopology dense = new BriteNetworkTopology(false);
+        final BriteNetworkTopology sparse = new BriteNetworkTopology(true);
+        final int nodes = 50;
+        //Avoids duplicated links, since the dense topology just keeps the last one
+        final boolean[][] linked = new boolean[nodes][nodes];
+        final Random random = new Random(1);
+        for (int i = 0; i < 150; i++) {
+            final int src = random.nextInt(nodes);
+            final int dest = random.nextInt(nodes);
+            if (src == dest || linked[src][dest]) {
+                continue;
+            }
+
+            linked[src][dest] = linked[dest][src] = true;
+            final double bw = 1 + random.nextInt(100);
+            final double latency = 1 + random.nextInt(10);
+            dense.addLink(src, dest, bw, latency);
+            sparse.addLink(src, dest, bw, latency);
+        }
+
+        for (int src = 0; src < nodes; src++) {
+            for (int dest = 0; dest < nodes; dest++) {
+                assertEquals(dense.getDelay(src, dest), sparse.getDelay(src, dest), DELTA, "delay from " + src + " to " + dest);
+            }
+        }
+
+        //Links added after the delays were computed must be considered too
+        dense.addLink(nodes, nodes + 1, 1000, 0.5);
+        sparse.addLink(nodes, nodes + 1, 1000, 0.5);
+        assertEquals(0.5, sparse.getDelay(nodes, nodes + 1), DELTA);
+        assertEquals(1000, sparse.getBandwidth(nodes, nodes + 1), DELTA);
+        assertEquals(dense.getDelay(0, nodes + 1), sparse.getDelay(0, nodes + 1), DELTA);
+    }
+}
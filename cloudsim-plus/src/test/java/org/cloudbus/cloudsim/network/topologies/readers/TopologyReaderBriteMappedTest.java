@@ -0,0 +1,96 @@
+package org.cloudbus.cloudsim.network.topologies.readers;
+
+import org.cloudbus.cloudsim.network.DelayMatrix;
+import org.cloudbus.cloudsim.network.DijkstraShortestPaths;
+import org.cloudbus.cloudsim.network.topologies.SparseTopologicalGraph;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author Manoel Campos da Silva Filho
+ */
+public class TopologyReaderBriteMappedTest {
+    private static final String TOPOLOGY =
+        "Topology: ( 5 Nodes, 8 Edges )\n" +
+        "Model (1 - RTWaxman):  5 5 5 1  2  0.15000000596046448 0.20000000298023224 1 1 10.0 1024.0 \n" +
+        "\n" +
+        "Nodes: ( 5 )\n" +
+        "0\t1\t3\t3\t3\t-1\tRT_NODE\n" +
+        "1\t0\t3\t3\t3\t-1\tRT_NODE\n" +
+        "2\t4\t3\t3\t3\t-1\tRT_NODE\n" +
+        "3\t3\t1\t3\t3\t-1\tRT_NODE\n" +
+        "4\t3\t3\t4\t4\t-1\tRT_NODE\n" +
+        "\n" +
+        "\n" +
+        "Edges: ( 8 )\n" +
+        "0\t2\t0\t3.0\t\t\t1.1\t10.0\t-1\t-1\tE_RT\tU\n" +
+        "1\t2\t1\t4.0\t\t\t2.1\t10.0\t-1\t-1\tE_RT\tU\n" +
+        "2\t3\t0\t2.8284271247461903\t3.9\t10.0\t-1\t-1\tE_RT\tU\n" +
+        "3\t3\t1\t3.605551275463989\t4.1\t10.0\t-1\t-1\tE_RT\tU\n" +
+        "4\t4\t3\t2.0\t\t\t5.0\t10.0\t-1\t-1\tE_RT\tU\n" +
+        "5\t4\t2\t1.0\t\t\t4.0\t10.0\t-1\t-1\tE_RT\tU\n" +
+        "6\t0\t4\t2.0\t\t\t3.0\t10.0\t-1\t-1\tE_RT\tU\n" +
+        "7\t1\t4\t3.0\t\t\t4.1\t12.5\t-1\t-1\tE_RT\tU\n";
+
+    @TempDir
+    Path tempDir;
+
+    private Path createTopologyFile() throws IOException {
+        final Path file = tempDir.resolve("topology.brite");
+        Files.write(file, TOPOLOGY.getBytes(StandardCharsets.US_ASCII));
+        return file;
+    }
+
+    @Test
+    public void testReadSparseGraph() throws IOException {
+        final SparseTopologicalGraph graph = new TopologyReaderBriteMapped().readSparseGraph(createTopologyFile());
+        assertEquals(5, graph.getNumberOfNodes());
+        assertEquals(16, graph.getNumberOfLinks());
+        assertEquals(2.1, graph.getLinkDelay(1, 2));
+        assertEquals(2.1, graph.getLinkDelay(2, 1));
+        assertEquals(12.5, graph.getLinkBw(4, 1));
+        assertEquals(0, graph.getLinkBw(0, 1));
+    }
+
+    @Test
+    public void testReadSparseGraphSameDelaysAsTopologyReaderBrite() throws IOException {
+        final SparseTopologicalGraph graph = new TopologyReaderBriteMapped().readSparseGraph(createTopologyFile());
+        final InputStreamReader reader = new InputStreamReader(
+            new ByteArrayInputStream(TOPOLOGY.getBytes(StandardCharsets.US_ASCII)), StandardCharsets.US_ASCII);
+        final DelayMatrix matrix = new DelayMatrix(new TopologyReaderBrite().readGraphFile(reader), false);
+
+        final DijkstraShortestPaths shortestPaths = new DijkstraShortestPaths(graph);
+        for (int i = 0; i < graph.getNumberOfNodes(); i++) {
+            for (int j = 0; j < graph.getNumberOfNodes(); j++) {
+                assertEquals(matrix.getDelay(i, j), shortestPaths.getDelay(i, j), 0.000001);
+            }
+        }
+    }
+
+    @Test
+    public void testReadSparseGraphFromCache() throws IOException {
+        final Path file = createTopologyFile();
+        final Path cacheFile = tempDir.resolve("topology.bin");
+        final SparseTopologicalGraph graph = new TopologyReaderBriteMapped().readSparseGraph(file, cacheFile);
+        assertTrue(Files.exists(cacheFile));
+
+        final SparseTopologicalGraph cached = new TopologyReaderBriteMapped().readSparseGraph(file, cacheFile);
+        assertEquals(graph.getNumberOfNodes(), cached.getNumberOfNodes());
+        assertEquals(graph.getNumberOfLinks(), cached.getNumberOfLinks());
+        for (int i = 0; i < graph.getNumberOfLinks(); i++) {
+            assertEquals(graph.getTargets()[i], cached.getTargets()[i]);
+            assertEquals(graph.getDelays()[i], cached.getDelays()[i]);
+            assertEquals(graph.getBandwidths()[i], cached.getBandwidths()[i]);
+        }
+    }
+}
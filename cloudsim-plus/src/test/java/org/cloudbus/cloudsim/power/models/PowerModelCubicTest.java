@@ -13,6 +13,8 @@ import org.junit.jupiter.api.Test;
 
 import static org.cloudbus.cloudsim.power.models.PowerModelTest.assignHostForPowerModel;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
 
 /**
  * @author	Anton Beloglazov
@@ -61,4 +63,31 @@ public class PowerModelCubicTest {
         assertEquals(expected, powerModel.getPower(0.5));
     }
 
+    @Test
+    public void testGetPowerFromLookupTable() {
+        Assertions.assertAll(
+            () -> assertEquals(powerModel.getPower(0), powerModel.getPowerFromLookupTable(0)),
+            () -> assertEquals(powerModel.getPower(0.5), powerModel.getPowerFromLookupTable(0.5), 0.000001),
+            () -> assertEquals(powerModel.getPower(0.7513), powerModel.getPowerFromLookupTable(0.7513), 0.001),
+            () -> assertEquals(MAX_POWER, powerModel.getPowerFromLookupTable(1))
+        );
+    }
+
+    @Test
+    public void testGetPowerFromLookupTableOfIdenticalModels() {
+        final PowerModelCubic other = assignHostForPowerModel(new PowerModelCubic(MAX_POWER, STATIC_POWER_PERCENT));
+        assertEquals(powerModel.getLookupTableKey(), other.getLookupTableKey());
+        assertEquals(powerModel.getPowerFromLookupTable(0.3333), other.getPowerFromLookupTable(0.3333));
+        assertSame(
+            PowerLookupTable.getSharedInstance(powerModel.getLookupTableKey(), powerModel::getPowerInternal),
+            PowerLookupTable.getSharedInstance(other.getLookupTableKey(), utilization -> 0));
+    }
+
+    @Test
+    public void testLookupTableOfModelsWithDifferentParametersIsNotShared() {
+        final PowerModelCubic other = assignHostForPowerModel(new PowerModelCubic(MAX_POWER, STATIC_POWER_PERCENT/2));
+        assertNotEquals(powerModel.getLookupTableKey(), other.getLookupTableKey());
+        assertNotEquals(powerModel.getPowerFromLookupTable(0.5), other.getPowerFromLookupTable(0.5));
+    }
+
 }
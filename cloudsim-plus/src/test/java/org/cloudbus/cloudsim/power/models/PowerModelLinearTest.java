@@ -12,6 +12,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 
 /**
  * @author	Anton Beloglazov
@@ -61,4 +62,10 @@ public class PowerModelLinearTest {
         assertEquals(expected, powerModel.getPower(0.5));
     }
 
+    @Test
+    public void testGetPowerFromLookupTableIsTheActualPower() {
+        assertFalse(powerModel.isLookupTableUsed());
+        assertEquals(powerModel.getPower(0.12345), powerModel.getPowerFromLookupTable(0.12345));
+    }
+
 }
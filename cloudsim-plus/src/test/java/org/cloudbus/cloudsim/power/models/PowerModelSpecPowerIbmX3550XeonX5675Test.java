@@ -12,6 +12,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
 
 /**
  * @author	Anton Beloglazov
@@ -51,4 +52,26 @@ public class PowerModelSpecPowerIbmX3550XeonX5675Test {
         );
     }
 
+    @Test
+    public void testLookupTableSharedByClass() {
+        final PowerModelSpecPower other = new PowerModelSpecPowerIbmX3550XeonX5675();
+        assertEquals(other.getClass(), other.getLookupTableKey());
+        assertSame(
+            PowerLookupTable.getSharedInstance(other.getLookupTableKey(), other::getPowerInternal),
+            PowerLookupTable.getSharedInstance(powerModel.getClass(), utilization -> 0));
+    }
+
+    @Test
+    public void testGetPowerFromLookupTable() {
+        for (int i = 0; i <= 100; i++) {
+            final double utilization = i * 0.0099;
+            assertEquals(powerModel.getPower(utilization), powerModel.getPowerFromLookupTable(utilization), 0.000001);
+        }
+    }
+
+    @Test()
+    public void testGetPowerFromLookupTableArgumentLargerThenOne() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> powerModel.getPowerFromLookupTable(1.01));
+    }
+
 }
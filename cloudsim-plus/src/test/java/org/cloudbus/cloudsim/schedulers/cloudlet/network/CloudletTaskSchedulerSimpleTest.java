@@ -0,0 +1,86 @@
+package org.cloudbus.cloudsim.schedulers.cloudlet.network;
+
+import org.cloudbus.cloudsim.cloudlets.Cloudlet;
+import org.cloudbus.cloudsim.cloudlets.network.CloudletReceiveTask;
+import org.cloudbus.cloudsim.cloudlets.network.NetworkCloudlet;
+import org.cloudbus.cloudsim.network.VmPacket;
+import org.cloudbus.cloudsim.vms.Vm;
+import org.cloudbus.cloudsim.vms.network.NetworkVm;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Manoel Campos da Silva Filho
+ */
+public class CloudletTaskSchedulerSimpleTest {
+    private CloudletTaskSchedulerSimple scheduler;
+    private Vm senderVm0;
+    private Vm senderVm1;
+    private Vm receiverVm;
+    private NetworkCloudlet receiver;
+
+    /**
+     * Receives 2 packets from the 1st sender VM, then 1 packet from the 2nd one.
+     */
+    private CloudletReceiveTask receiveTask0;
+    private CloudletReceiveTask receiveTask1;
+
+    @BeforeEach
+    public void setUp() {
+        senderVm0 = new NetworkVm(0, 1000, 1);
+        senderVm1 = new NetworkVm(1, 1000, 1);
+        receiverVm = new NetworkVm(2, 1000, 1);
+        scheduler = new CloudletTaskSchedulerSimple();
+        scheduler.setVm(receiverVm);
+
+        receiver = new NetworkCloudlet(0, 1000, 1);
+        receiveTask0 = new CloudletReceiveTask(0, senderVm0);
+        receiveTask0.setExpectedPacketsToReceive(2);
+        receiveTask1 = new CloudletReceiveTask(1, senderVm1);
+        receiveTask1.setExpectedPacketsToReceive(1);
+        receiver.addTask(receiveTask0).addTask(receiveTask1);
+    }
+
+    private VmPacket createPacket(final Vm senderVm, final Cloudlet receiverCloudlet) {
+        final NetworkCloudlet sender = new NetworkCloudlet(1000, 1);
+        return new VmPacket(senderVm, receiverVm, 1000, sender, receiverCloudlet);
+    }
+
+    @Test
+    public void testReceivePacketsFromSeveralSendersIncludingEarlyOnes() {
+        //Packets arriving before the receive tasks start
+        final VmPacket early0 = createPacket(senderVm0, receiver);
+        final VmPacket early1 = createPacket(senderVm1, receiver);
+        final VmPacket otherCloudletPkt = createPacket(senderVm1, new NetworkCloudlet(1, 1000, 1));
+        Arrays.asList(early0, early1, otherCloudletPkt).forEach(scheduler::addPacketToListOfPacketsSentFromVm);
+        assertEquals(3, scheduler.getPendingPacketsNumber());
+
+        //Starts the 1st receive task, which gets the early packet from its sender VM
+        scheduler.processCloudletTasks(receiver, 0);
+        scheduler.processCloudletTasks(receiver, 0);
+        assertEquals(Collections.singletonList(early0), receiveTask0.getPacketsReceived());
+        assertFalse(receiveTask0.isFinished());
+        assertEquals(2, scheduler.getPendingPacketsNumber());
+
+        //A packet from another Cloudlet in the same sender VM finishes the 1st task
+        final VmPacket late0 = createPacket(senderVm0, receiver);
+        scheduler.addPacketToListOfPacketsSentFromVm(late0);
+        scheduler.processCloudletTasks(receiver, 0);
+        assertEquals(Arrays.asList(early0, late0), receiveTask0.getPacketsReceived());
+        assertTrue(receiveTask0.isFinished());
+        assertSame(receiveTask1, receiver.getCurrentTask().orElse(null));
+
+        //The 2nd task gets the packet its sender VM sent before any task started
+        scheduler.processCloudletTasks(receiver, 0);
+        assertEquals(Collections.singletonList(early1), receiveTask1.getPacketsReceived());
+        assertTrue(receiveTask1.isFinished());
+
+        //Just the packet targeting another Cloudlet is still pending
+        assertEquals(1, scheduler.getPendingPacketsNumber());
+    }
+}
@@ -1,12 +1,19 @@
 package org.cloudbus.cloudsim.selectionpolicies;
 
+import org.cloudbus.cloudsim.hosts.Host;
+import org.cloudbus.cloudsim.hosts.HostSimpleTest;
 import org.cloudbus.cloudsim.util.MathUtil;
+import org.cloudbus.cloudsim.vms.Vm;
+import org.cloudbus.cloudsim.vms.VmTestUtil;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.Arrays;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class VmSelectionPolicyMaximumCorrelationTest {
 
@@ -33,4 +40,20 @@ public class VmSelectionPolicyMaximumCorrelationTest {
         }
     }
 
+    @Test
+    public void testCorrelationIsDroppedWhenVmLeavesHost() {
+        final Host host0 = HostSimpleTest.createHostSimple(0, 4);
+        final Host host1 = HostSimpleTest.createHostSimple(1, 4);
+        final List<Vm> vms0 = Arrays.asList(VmTestUtil.createVm(0, 1), VmTestUtil.createVm(1, 1));
+        final List<Vm> vms1 = Arrays.asList(VmTestUtil.createVm(2, 1), VmTestUtil.createVm(3, 1));
+
+        vmSelectionPolicyMaximumCorrelation.getVmToMigrate(host0, vms0);
+        vmSelectionPolicyMaximumCorrelation.getVmToMigrate(host1, vms1);
+        assertTrue(vmSelectionPolicyMaximumCorrelation.isCorrelationKept(host0));
+        assertTrue(vmSelectionPolicyMaximumCorrelation.isCorrelationKept(host1));
+
+        vms0.get(1).notifyOnHostDeallocationListeners(host0);
+        assertFalse(vmSelectionPolicyMaximumCorrelation.isCorrelationKept(host0));
+        assertTrue(vmSelectionPolicyMaximumCorrelation.isCorrelationKept(host1));
+    }
 }
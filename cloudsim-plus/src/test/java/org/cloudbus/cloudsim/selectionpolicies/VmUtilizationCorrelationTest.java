@@ -0,0 +1,99 @@
+package org.cloudbus.cloudsim.selectionpolicies;
+
+import org.cloudbus.cloudsim.util.MathUtil;
+import org.cloudbus.cloudsim.vms.UtilizationHistory;
+import org.cloudbus.cloudsim.vms.Vm;
+import org.easymock.EasyMock;
+import org.junit.jupiter.api.Test;
+
+import java.nio.DoubleBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+import static org.cloudbus.cloudsim.selectionpolicies.VmSelectionPolicyMaximumCorrelationTest.CORRELATION;
+import static org.cloudbus.cloudsim.selectionpolicies.VmSelectionPolicyMaximumCorrelationTest.DATA;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * @author Manoel Campos da Silva Filho
+ */
+public class VmUtilizationCorrelationTest {
+    private static final double DELTA = 0.00001;
+
+    @Test
+    public void getCoefficients_WhenHistoryIsComplete_ReturnsRegressionCoefficients() {
+        final List<Vm> vmList = createVms(DATA);
+        assertArrayEquals(CORRELATION, new VmUtilizationCorrelation().getCoefficients(vmList, 100), DELTA);
+    }
+
+    @Test
+    public void getCoefficients_WhenHistoryGrows_ReturnsSameCoefficientsOfComputingFromScratch() {
+        final Random random = new Random(1);
+        final List<SortedMap<Double, Double>> histories = new ArrayList<>();
+        final List<Vm> vmList = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            final SortedMap<Double, Double> history = new TreeMap<>();
+            histories.add(history);
+            vmList.add(createVm(history));
+        }
+
+        final VmUtilizationCorrelation correlation = new VmUtilizationCorrelation();
+        for (int time = 0; time < 30; time++) {
+            for (final SortedMap<Double, Double> history : histories) {
+                history.put((double) time, random.nextDouble());
+            }
+
+            if (time < vmList.size()) {
+                continue;
+            }
+
+            final double[][] data = VmUtilizationCorrelation.getUtilizationMatrix(vmList, time + 1);
+            final double[] expected = MathUtil.correlationCoefficients(data).stream().mapToDouble(value -> value).toArray();
+            assertArrayEquals(expected, correlation.getCoefficients(vmList, time), DELTA);
+
+            final List<Vm> subList = vmList.subList(1, vmList.size());
+            final double[][] subData = VmUtilizationCorrelation.getUtilizationMatrix(subList, time + 1);
+            final double[] subExpected = MathUtil.correlationCoefficients(subData).stream().mapToDouble(value -> value).toArray();
+            assertArrayEquals(subExpected, correlation.getCoefficients(subList, time), DELTA);
+        }
+    }
+
+    @Test
+    public void getCoefficients_WhenHistoryIsSmallerThanVmsNumber_ThrowsException() {
+        final double[][] data = {{1, 2}, {3, 5}, {4, 4}};
+        final VmUtilizationCorrelation correlation = new VmUtilizationCorrelation();
+        assertThrows(IllegalArgumentException.class, () -> correlation.getCoefficients(createVms(data), 100));
+    }
+
+    private List<Vm> createVms(final double[][] data) {
+        final List<Vm> vmList = new ArrayList<>();
+        for (final double[] values : data) {
+            final SortedMap<Double, Double> history = new TreeMap<>();
+            for (int time = 0; time < values.length; time++) {
+                history.put((double) time, values[time]);
+            }
+
+            vmList.add(createVm(history));
+        }
+
+        return vmList;
+    }
+
+    private Vm createVm(final SortedMap<Double, Double> history) {
+        final UtilizationHistory utilizationHistory = EasyMock.createMock(UtilizationHistory.class);
+        EasyMock.expect(utilizationHistory.getHistory()).andReturn(history).anyTimes();
+        EasyMock.expect(utilizationHistory.getUtilizationView())
+                .andAnswer(() -> DoubleBuffer.wrap(history.values().stream().mapToDouble(value -> value).toArray()))
+                .anyTimes();
+        EasyMock.replay(utilizationHistory);
+
+        final Vm vm = EasyMock.createMock(Vm.class);
+        EasyMock.expect(vm.getUtilizationHistory()).andReturn(utilizationHistory).anyTimes();
+        EasyMock.replay(vm);
+        return vm;
+    }
+}
@@ -34,6 +34,18 @@ public class MathUtilTest {
         assertEquals(IQR2, MathUtil.iqr(DATA2));
     }
 
+    @Test
+    public void testIqrRange() {
+        final double[] data = new double[DATA2.length + 2];
+        System.arraycopy(DATA2, 0, data, 1, DATA2.length);
+        data[0] = 100;
+        data[data.length - 1] = -100;
+
+        assertEquals(IQR2, MathUtil.iqr(data, 1, DATA2.length));
+        assertEquals(100, data[0]);
+        assertEquals(-100, data[data.length - 1]);
+    }
+
 	@Test
 	public void testCountNonZeroBeginning() {
 		assertEquals(NON_ZERO, MathUtil.countNonZeroBeginning(DATA4));
@@ -0,0 +1,112 @@
+package org.cloudbus.cloudsim.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Manoel Campos da Silva Filho
+ * @since CloudSim Plus 5.5.0
+ */
+public class SlidingWindowStatisticsTest {
+    private static final double DELTA = 0.000000001;
+
+    @Test
+    public void testStatisticsMatchMathUtilForUnlimitedWindow() {
+        final Random random = new Random(1);
+        final SlidingWindowStatistics window = new SlidingWindowStatistics();
+        for (int i = 0; i < 100; i++) {
+            window.add(Math.round(random.nextDouble() * 100) / 100.0);
+            assertStatisticsMatchMathUtil(window);
+        }
+    }
+
+    @Test
+    public void testStatisticsMatchMathUtilForLimitedWindow() {
+        final Random random = new Random(2);
+        final SlidingWindowStatistics window = new SlidingWindowStatistics(13);
+        for (int i = 0; i < 200; i++) {
+            window.add(random.nextDouble());
+            assertStatisticsMatchMathUtil(window);
+        }
+
+        assertEquals(13, window.size());
+    }
+
+    @Test
+    public void testRemoveNewestRestoresOldestValue() {
+        final SlidingWindowStatistics window = new SlidingWindowStatistics(3);
+        for (int i = 1; i <= 4; i++) {
+            window.add(i);
+        }
+
+        assertTrue(window.removeNewest());
+        assertArrayEquals(new double[]{1, 2, 3}, window.getValues());
+        assertStatisticsMatchMathUtil(window);
+    }
+
+    @Test
+    public void testRemoveNewestFromNotFullWindow() {
+        final SlidingWindowStatistics window = new SlidingWindowStatistics(3);
+        window.add(1);
+        window.add(2);
+
+        assertTrue(window.removeNewest());
+        assertArrayEquals(new double[]{1}, window.getValues());
+        assertTrue(window.removeNewest());
+        assertFalse(window.removeNewest());
+    }
+
+    @Test
+    public void testCountNonZeroBeginning() {
+        final SlidingWindowStatistics window = new SlidingWindowStatistics();
+        for (final double value : new double[]{0, 0.5, 0, 0.2, 0, 0}) {
+            window.add(value);
+            assertEquals(MathUtil.countNonZeroBeginning(window.getValues()), window.countNonZeroBeginning());
+        }
+
+        window.removeNewest();
+        assertEquals(MathUtil.countNonZeroBeginning(window.getValues()), window.countNonZeroBeginning());
+    }
+
+    @Test
+    public void testSetMaxSizeKeepsNewestValues() {
+        final SlidingWindowStatistics window = new SlidingWindowStatistics();
+        for (int i = 1; i <= 5; i++) {
+            window.add(i);
+        }
+
+        window.setMaxSize(2);
+        assertArrayEquals(new double[]{4, 5}, window.getValues());
+        assertArrayEquals(new double[]{5, 4}, window.getValuesNewestFirst());
+        assertThrows(IllegalArgumentException.class, () -> window.setMaxSize(0));
+    }
+
+    @Test
+    public void testEmptyWindow() {
+        final SlidingWindowStatistics window = new SlidingWindowStatistics();
+        assertAll(
+            () -> assertTrue(Double.isNaN(window.median())),
+            () -> assertEquals(0, window.mad()),
+            () -> assertEquals(0, window.iqr()),
+            () -> assertEquals(1, window.countNonZeroBeginning())
+        );
+    }
+
+    private void assertStatisticsMatchMathUtil(final SlidingWindowStatistics window) {
+        final double[] values = window.getValues();
+        final double[] reversed = window.getValuesNewestFirst();
+        assertEquals(MathUtil.median(values), window.median(), DELTA);
+        assertEquals(MathUtil.mad(values), window.mad(), DELTA);
+        if (values.length >= 3) {
+            assertEquals(MathUtil.iqr(Arrays.copyOf(values, values.length)), window.iqr(), DELTA);
+            final double[] expected = MathUtil.getLoessParameterEstimates(reversed);
+            final double[] actual = window.getLinearRegressionEstimates();
+            assertEquals(expected[0], actual[0], DELTA);
+            assertEquals(expected[1], actual[1], DELTA);
+        }
+    }
+}
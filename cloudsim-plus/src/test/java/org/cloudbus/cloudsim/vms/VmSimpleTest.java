@@ -7,6 +7,7 @@
 package org.cloudbus.cloudsim.vms;
 
 import org.cloudbus.cloudsim.brokers.DatacenterBroker;
+import org.cloudbus.cloudsim.cloudlets.CloudletTestUtil;
 import org.cloudbus.cloudsim.core.CloudSim;
 import org.cloudbus.cloudsim.hosts.HostSimple;
 import org.cloudbus.cloudsim.hosts.HostSimpleTest;
@@ -203,6 +204,18 @@ public class VmSimpleTest {
         assertEquals(0, vm.getCpuPercentUtilization(0));
     }
 
+    @Test
+    public void testGetTotalUtilizationChangesWhenCloudletIsSubmittedAtSameTime() {
+        final List<Double> mipsShare = new ArrayList<>(VmTestUtil.PES_NUMBER);
+        mipsShare.add(VmTestUtil.MIPS);
+        mipsShare.add(VmTestUtil.MIPS);
+        vm.updateProcessing(0, mipsShare);
+        assertEquals(0, vm.getCpuPercentUtilization(0));
+
+        cloudletScheduler.cloudletSubmit(CloudletTestUtil.createCloudlet(0, VmTestUtil.PES_NUMBER));
+        assertEquals(1, vm.getCpuPercentUtilization(0));
+    }
+
     @Test
     public void testGetTotalUtilizationMips() {
         assertEquals(0, vm.getTotalCpuMipsUtilization(0));
@@ -0,0 +1,113 @@
+package org.cloudbus.cloudsim.vms;
+
+import org.cloudbus.cloudsim.util.MathUtil;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.DoubleBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.SortedMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Manoel Campos da Silva Filho
+ * @since CloudSim Plus 5.5.0
+ */
+public class VmUtilizationHistoryTest {
+    private static final double DELTA = 0.000001;
+    private static final double[] UTILIZATION = {0.1, 0.5, 0.2, 0.9, 0.4};
+
+    private VmUtilizationHistory history;
+
+    @BeforeEach
+    public void setUp() {
+        history = new VmUtilizationHistory(VmTestUtil.createVm(0, 1));
+        for (int i = 0; i < UTILIZATION.length; i++) {
+            history.addUtilizationHistoryValue(i + 1, UTILIZATION[i]);
+        }
+    }
+
+    @Test
+    public void testGetUtilizationMean() {
+        final double expected = Arrays.stream(UTILIZATION).average().orElse(0) * VmTestUtil.MIPS;
+        assertEquals(expected, history.getUtilizationMean(), DELTA);
+    }
+
+    @Test
+    public void testGetUtilizationVariance() {
+        final double mean = Arrays.stream(UTILIZATION).average().orElse(0) * VmTestUtil.MIPS;
+        final double expected = Arrays.stream(UTILIZATION)
+                                      .map(usage -> usage * VmTestUtil.MIPS - mean)
+                                      .map(deviation -> deviation * deviation)
+                                      .average().orElse(0);
+        assertEquals(expected, history.getUtilizationVariance(), DELTA);
+    }
+
+    @Test
+    public void testGetUtilizationMad() {
+        assertEquals(MathUtil.mad(UTILIZATION), history.getUtilizationMad(), DELTA);
+    }
+
+    @Test
+    public void testEmptyHistoryStatistics() {
+        final VmUtilizationHistory emptyHistory = new VmUtilizationHistory(VmTestUtil.createVm(0, 1));
+        assertAll(
+            () -> assertEquals(0, emptyHistory.getUtilizationMean()),
+            () -> assertEquals(0, emptyHistory.getUtilizationVariance()),
+            () -> assertEquals(0, emptyHistory.getUtilizationMad()),
+            () -> assertTrue(emptyHistory.getHistory().isEmpty())
+        );
+    }
+
+    @Test
+    public void testAddValueForExistingTimeReplacesIt() {
+        history.addUtilizationHistoryValue(2, 0.3);
+        assertEquals(UTILIZATION.length, history.getHistory().size());
+        assertEquals(0.3, history.getHistory().get(2.0));
+    }
+
+    @Test
+    public void testAddValueOutOfOrderKeepsHistorySorted() {
+        history.addUtilizationHistoryValue(2.5, 0.7);
+        final SortedMap<Double, Double> map = history.getHistory();
+        assertEquals(Arrays.asList(1.0, 2.0, 2.5, 3.0, 4.0, 5.0), new ArrayList<>(map.keySet()));
+        assertEquals(5.0, map.lastKey());
+    }
+
+    @Test
+    public void testMaxHistoryEntriesDiscardsOldestEntries() {
+        history.setMaxHistoryEntries(3);
+        history.addUtilizationHistoryValue(6, 0.6);
+
+        final double expectedMean = (0.9 + 0.4 + 0.6) / 3 * VmTestUtil.MIPS;
+        assertAll(
+            () -> assertEquals(3, history.getHistory().size()),
+            () -> assertEquals(4.0, history.getHistory().firstKey()),
+            () -> assertEquals(expectedMean, history.getUtilizationMean(), DELTA)
+        );
+    }
+
+    @Test
+    public void testHistoryGrowsBeyondInitialCapacity() {
+        history.setMaxHistoryEntries(20);
+        for (int time = 6; time <= 100; time++) {
+            history.addUtilizationHistoryValue(time, 0.5);
+        }
+
+        assertEquals(20, history.getHistory().size());
+        assertEquals(81.0, history.getHistory().firstKey());
+        assertEquals(0.5 * VmTestUtil.MIPS, history.getUtilizationMean(), DELTA);
+        assertEquals(0, history.getUtilizationVariance(), DELTA);
+    }
+
+    @Test
+    public void testGetUtilizationView() {
+        final DoubleBuffer view = history.getUtilizationView();
+        final double[] values = new double[view.remaining()];
+        view.get(values);
+        assertArrayEquals(UTILIZATION, values);
+        assertTrue(history.getUtilizationView().isReadOnly());
+    }
+}
@@ -0,0 +1,187 @@
+/*
+ * CloudSim Plus: A modern, highly-extensible and easier-to-use Framework for
+ * Modeling and Simulation of Cloud Computing Infrastructures and Services.
+ * http://cloudsimplus.org
+ *
+ *     Copyright (C) 2015-2018 Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Plus.
+ *
+ *     CloudSim Plus is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Plus. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudsimplus.heuristics;
+
+import org.cloudbus.cloudsim.cloudlets.Cloudlet;
+import org.cloudbus.cloudsim.cloudlets.CloudletTestUtil;
+import org.cloudbus.cloudsim.distributions.UniformDistr;
+import org.cloudbus.cloudsim.vms.Vm;
+import org.cloudbus.cloudsim.vms.VmTestUtil;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Manoel Campos da Silva Filho
+ */
+public class CloudletToVmMappingArraySolutionTest {
+    private static final int CLOUDLETS = 20;
+    private static final int VMS = 4;
+
+    private final CloudletToVmMappingSimulatedAnnealing heuristic =
+        new CloudletToVmMappingSimulatedAnnealing(1, new UniformDistr(0, 1, 1));
+
+    @Test
+    public void testCostIsTheSameOfMapSolution() {
+        final CloudletToVmMappingSolution mapSolution = createMapSolution();
+        final CloudletToVmMappingArraySolution instance =
+            new CloudletToVmMappingArraySolution(mapSolution, createCloudlets(mapSolution), createVms(mapSolution));
+
+        assertEquals(mapSolution.getCost(), instance.getCost());
+        assertEquals(mapSolution.getResult(), instance.getResult());
+    }
+
+    @Test
+    public void testSwapVmsUpdatesCostIncrementally() {
+        final CloudletToVmMappingSolution mapSolution = createMapSolution();
+        final CloudletToVmMappingArraySolution instance =
+            new CloudletToVmMappingArraySolution(mapSolution, createCloudlets(mapSolution), createVms(mapSolution));
+
+        for (int i = 0; i < 100; i++) {
+            final int firstIdx = heuristic.getRandomValue(CLOUDLETS);
+            final int secondIdx = heuristic.getRandomValue(CLOUDLETS);
+            final double expectedCost = instance.getCost() + instance.getSwapCostDelta(firstIdx, secondIdx);
+            instance.swapVms(firstIdx, secondIdx);
+            assertEquals(expectedCost, instance.getCost());
+            assertEquals(expectedCost, computeCostOfMapSolution(instance));
+        }
+    }
+
+    @Test
+    public void testSwapVmsTwice() {
+        final CloudletToVmMappingSolution mapSolution = createMapSolution();
+        final CloudletToVmMappingArraySolution instance =
+            new CloudletToVmMappingArraySolution(mapSolution, createCloudlets(mapSolution), createVms(mapSolution));
+
+        final int vm0 = instance.getVmIndex(0);
+        final int vm1 = instance.getVmIndex(1);
+        instance.swapVms(0, 1);
+        assertEquals(vm1, instance.getVmIndex(0));
+        assertEquals(vm0, instance.getVmIndex(1));
+
+        instance.swapVms(0, 1);
+        assertEquals(mapSolution.getCost(), instance.getCost());
+        assertEquals(mapSolution.getResult(), instance.getResult());
+    }
+
+    @Test
+    public void testSwapVmsOfUnmappedCloudlets() {
+        final CloudletToVmMappingSolution mapSolution = createMapSolution();
+        final List<Cloudlet> cloudletList = createCloudlets(mapSolution);
+        cloudletList.add(CloudletTestUtil.createCloudlet(CLOUDLETS, 1000, 1));
+        cloudletList.add(CloudletTestUtil.createCloudlet(CLOUDLETS + 1, 1000, 2));
+        final CloudletToVmMappingArraySolution instance =
+            new CloudletToVmMappingArraySolution(mapSolution, cloudletList, createVms(mapSolution));
+
+        final int unmapped = CLOUDLETS;
+        assertAll(
+            () -> assertFalse(instance.isMapped(unmapped)),
+            () -> assertEquals(CLOUDLETS, instance.getMappedCloudletIndexes().length),
+            () -> assertEquals(0, instance.getSwapCostDelta(0, unmapped)),
+            () -> assertEquals(0, instance.swapVms(0, unmapped)),
+            () -> assertEquals(0, instance.swapVms(unmapped + 1, unmapped)),
+            () -> assertEquals(mapSolution.getCost(), instance.getCost()),
+            () -> assertEquals(mapSolution.getResult(), instance.getResult())
+        );
+    }
+
+    @Test
+    public void testSwapVmsWithoutVms() {
+        final List<Cloudlet> cloudletList = createCloudlets(createMapSolution());
+        final CloudletToVmMappingArraySolution instance =
+            new CloudletToVmMappingArraySolution(heuristic, cloudletList, new ArrayList<>());
+
+        assertEquals(0, instance.getMappedCloudletIndexes().length);
+        assertEquals(0, instance.swapVms(0, 1));
+        assertTrue(instance.getResult().isEmpty());
+    }
+
+    @Test
+    public void testCopyFrom() {
+        final CloudletToVmMappingSolution mapSolution = createMapSolution();
+        final CloudletToVmMappingArraySolution instance =
+            new CloudletToVmMappingArraySolution(mapSolution, createCloudlets(mapSolution), createVms(mapSolution));
+        final CloudletToVmMappingArraySolution copy = new CloudletToVmMappingArraySolution(instance);
+
+        instance.swapVms(0, 1);
+        instance.swapVms(2, 7);
+        copy.copyFrom(instance);
+        assertEquals(instance.getCost(), copy.getCost());
+        assertEquals(instance.getResult(), copy.getResult());
+    }
+
+    @Test
+    public void testCopyFromSolutionOfDifferentLists() {
+        final CloudletToVmMappingSolution mapSolution = createMapSolution();
+        final List<Vm> vmList = createVms(mapSolution);
+        final CloudletToVmMappingArraySolution instance1 =
+            new CloudletToVmMappingArraySolution(mapSolution, createCloudlets(mapSolution), vmList);
+        final CloudletToVmMappingArraySolution instance2 =
+            new CloudletToVmMappingArraySolution(mapSolution, createCloudlets(mapSolution), vmList);
+
+        assertThrows(IllegalArgumentException.class, () -> instance1.copyFrom(instance2));
+    }
+
+    private double computeCostOfMapSolution(final CloudletToVmMappingArraySolution solution) {
+        final CloudletToVmMappingSolution mapSolution = new CloudletToVmMappingSolution(heuristic);
+        solution.getResult().forEach(mapSolution::bindCloudletToVm);
+        return mapSolution.getCost();
+    }
+
+    private CloudletToVmMappingSolution createMapSolution() {
+        final CloudletToVmMappingSolution solution = new CloudletToVmMappingSolution(heuristic);
+        final List<Vm> vmList = new ArrayList<>(VMS);
+        for (int i = 0; i < VMS; i++) {
+            vmList.add(VmTestUtil.createVm(i, 1000, i + 1));
+        }
+
+        for (int i = 0; i < CLOUDLETS; i++) {
+            solution.bindCloudletToVm(CloudletTestUtil.createCloudlet(i, 1000, i % 3 + 1), vmList.get(i % VMS));
+        }
+
+        return solution;
+    }
+
+    /**
+     * Gets the Cloudlets in a map solution, sorted by ID.
+     */
+    private List<Cloudlet> createCloudlets(final CloudletToVmMappingSolution solution) {
+        final List<Cloudlet> cloudletList = new ArrayList<>(solution.getResult().keySet());
+        cloudletList.sort((c1, c2) -> Long.compare(c1.getId(), c2.getId()));
+        return cloudletList;
+    }
+
+    /**
+     * Gets the VMs in a map solution, sorted by ID.
+     */
+    private List<Vm> createVms(final CloudletToVmMappingSolution solution) {
+        final List<Vm> vmList = new ArrayList<>();
+        solution.getResult().values().stream().distinct().forEach(vmList::add);
+        vmList.sort((vm1, vm2) -> Long.compare(vm1.getId(), vm2.getId()));
+        return vmList;
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ * CloudSim Plus: A modern, highly-extensible and easier-to-use Framework for
+ * Modeling and Simulation of Cloud Computing Infrastructures and Services.
+ * http://cloudsimplus.org
+ *
+ *     Copyright (C) 2015-2018 Universidade da Beira Interior (UBI, Portugal) and
+ *     the Instituto Federal de Educação Ciência e Tecnologia do Tocantins (IFTO, Brazil).
+ *
+ *     This file is part of CloudSim Plus.
+ *
+ *     CloudSim Plus is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     CloudSim Plus is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with CloudSim Plus. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cloudsimplus.heuristics;
+
+import org.cloudbus.cloudsim.cloudlets.Cloudlet;
+import org.cloudbus.cloudsim.cloudlets.CloudletTestUtil;
+import org.cloudbus.cloudsim.distributions.UniformDistr;
+import org.cloudbus.cloudsim.vms.Vm;
+import org.cloudbus.cloudsim.vms.VmTestUtil;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author Manoel Campos da Silva Filho
+ */
+public class CloudletToVmMappingSimulatedAnnealingTest {
+    private static final int CLOUDLETS = 200;
+    private static final int VMS = 20;
+
+    @Test
+    public void testSolveWithMultipleChains() {
+        final CloudletToVmMappingSimulatedAnnealing heuristic = createHeuristic(4);
+        final double initialCost = heuristic.getInitialSolution().getCost();
+        final CloudletToVmMappingSolution solution = heuristic.solve();
+
+        assertEquals(CLOUDLETS, solution.getResult().size());
+        assertEquals(solution.getCost(true), solution.getCost());
+        assertTrue(solution.getCost() <= initialCost);
+    }
+
+    @Test
+    public void testSolveWithMultipleChainsIsDeterministic() {
+        final CloudletToVmMappingSolution solution1 = createHeuristic(4).solve();
+        final CloudletToVmMappingSolution solution2 = createHeuristic(4).solve();
+        assertEquals(solution1.getCost(), solution2.getCost());
+    }
+
+    @Test
+    public void testSolveWithMultipleChainsAndNoVms() {
+        final CloudletToVmMappingSimulatedAnnealing heuristic = createHeuristic(4);
+        heuristic.setVmList(new ArrayList<>());
+        assertTrue(heuristic.solve().getResult().isEmpty());
+    }
+
+    private CloudletToVmMappingSimulatedAnnealing createHeuristic(final int chainsNumber) {
+        final CloudletToVmMappingSimulatedAnnealing heuristic =
+            new CloudletToVmMappingSimulatedAnnealing(1, new UniformDistr(0, 1, 1));
+        heuristic.setChainsNumber(chainsNumber).setExchangeInterval(10);
+        heuristic.setColdTemperature(0.0001);
+        heuristic.setCoolingRate(0.01);
+        heuristic.setNeighborhoodSearchesByIteration(50);
+
+        final List<Vm> vmList = new ArrayList<>(VMS);
+        for (int i = 0; i < VMS; i++) {
+            vmList.add(VmTestUtil.createVm(i, 1000, i % 4 + 1));
+        }
+
+        final List<Cloudlet> cloudletList = new ArrayList<>(CLOUDLETS);
+        for (int i = 0; i < CLOUDLETS; i++) {
+            cloudletList.add(CloudletTestUtil.createCloudlet(i, 1000, i % 2 + 1));
+        }
+
+        heuristic.setVmList(vmList);
+        heuristic.setCloudletList(cloudletList);
+        return heuristic;
+    }
+}
@@ -25,6 +25,7 @@ package org.cloudsimplus.heuristics;
 
 import org.cloudbus.cloudsim.cloudlets.Cloudlet;
 import org.cloudbus.cloudsim.cloudlets.CloudletTestUtil;
+import org.cloudbus.cloudsim.distributions.UniformDistr;
 import org.cloudbus.cloudsim.vms.Vm;
 import org.cloudbus.cloudsim.vms.VmTestUtil;
 import org.junit.jupiter.api.Assertions;
@@ -186,4 +187,25 @@ public class CloudletToVmMappingSolutionTest {
             swappedVmsEntries.get(1).getValue().getId());
         assertEquals(swappedVmsEntries, originalEntries, msg);
     }
+
+    @Test
+    public void testSwapVmsUpdatesCostIncrementally() {
+        final CloudletToVmMappingSimulatedAnnealing heuristic =
+            new CloudletToVmMappingSimulatedAnnealing(1, new UniformDistr(0, 1, 1));
+        final CloudletToVmMappingSolution instance = new CloudletToVmMappingSolution(heuristic);
+        final Vm[] vms = createVms(4);
+        for (int i = 0; i < 20; i++) {
+            instance.bindCloudletToVm(CloudletTestUtil.createCloudlet(i, 1000, i % 3 + 1), vms[i % vms.length]);
+        }
+
+        instance.getCost();
+        for (int i = 0; i < 100; i++) {
+            final int firstIdx = heuristic.getRandomValue(instance.getCloudletsNumber());
+            final int secondIdx = heuristic.getRandomValue(instance.getCloudletsNumber());
+            final double expectedCost = instance.getCost() + instance.getSwapCostDelta(firstIdx, secondIdx);
+            instance.swapVms(firstIdx, secondIdx);
+            assertEquals(expectedCost, instance.getCost());
+            assertEquals(expectedCost, new CloudletToVmMappingSolution(instance).getCost(true));
+        }
+    }
 }